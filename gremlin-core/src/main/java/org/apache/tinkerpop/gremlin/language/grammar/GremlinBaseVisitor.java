@@ -1324,6 +1324,14 @@ public class GremlinBaseVisitor<T> extends AbstractParseTreeVisitor<T> implement
 		notImplemented(ctx); return null;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public T visitGremlinStringConstants_shortestPathStringConstants_bidirectional(final GremlinParser.GremlinStringConstants_shortestPathStringConstants_bidirectionalContext ctx) {
+		notImplemented(ctx); return null;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -1509,6 +1517,11 @@ public class GremlinBaseVisitor<T> extends AbstractParseTreeVisitor<T> implement
 		notImplemented(ctx); return null;
 	}
 
+	@Override
+	public T visitGremlinStringConstants_connectedComponentStringConstants_unionFind(final GremlinParser.GremlinStringConstants_connectedComponentStringConstants_unionFindContext ctx) {
+		notImplemented(ctx); return null;
+	}
+
 	@Override
 	public T visitConnectedComponentStringConstant(final GremlinParser.ConnectedComponentStringConstantContext ctx) {
 		notImplemented(ctx); return null;
@@ -59,6 +59,11 @@ public class GremlinStringConstantsVisitor extends GremlinBaseVisitor<Object> {
         return visitChildren(ctx);
     }
 
+    @Override
+    public Object visitConnectedComponentConstants(final GremlinParser.ConnectedComponentConstantsContext ctx) {
+        return visitChildren(ctx);
+    }
+
     @Override
     public Object visitPageRankStringConstants(final GremlinParser.PageRankStringConstantsContext ctx) {
         return visitChildren(ctx);
@@ -99,6 +104,11 @@ public class GremlinStringConstantsVisitor extends GremlinBaseVisitor<Object> {
         return ConnectedComponent.propertyName;
     }
 
+    @Override
+    public Object visitGremlinStringConstants_connectedComponentStringConstants_unionFind(final GremlinParser.GremlinStringConstants_connectedComponentStringConstants_unionFindContext ctx) {
+        return ConnectedComponent.unionFind;
+    }
+
     @Override
     public Object visitGremlinStringConstants_pageRankStringConstants_edges(final GremlinParser.GremlinStringConstants_pageRankStringConstants_edgesContext ctx) {
         return PageRank.edges;
@@ -154,6 +164,11 @@ public class GremlinStringConstantsVisitor extends GremlinBaseVisitor<Object> {
         return ShortestPath.includeEdges;
     }
 
+    @Override
+    public Object visitGremlinStringConstants_shortestPathStringConstants_bidirectional(final GremlinParser.GremlinStringConstants_shortestPathStringConstants_bidirectionalContext ctx) {
+        return ShortestPath.bidirectional;
+    }
+
     @Override
     public Object visitGremlinStringConstants_withOptionsStringConstants_tokens(final GremlinParser.GremlinStringConstants_withOptionsStringConstants_tokensContext ctx) {
         return WithOptions.tokens;
@@ -135,6 +135,22 @@ public interface GraphComputer {
      */
     public GraphComputer edges(final Traversal<Vertex, Edge> edgeFilter) throws IllegalArgumentException;
 
+    /**
+     * Add a projection that will limit which vertex and edge properties are loaded from the graph source.
+     * The projection is only a hint that allows the graph source to avoid decoding properties that the computation
+     * will never access and thus, a {@link GraphComputer} may load more properties than those requested.
+     * The default implementation simply does nothing and returns the {@link GraphComputer} unchanged, which is what
+     * computers over a graph that is already in memory, like {@code TinkerGraphComputer}, rely on as there is nothing
+     * to decode. Only computers that read their graph from an input format, such as those that extend
+     * {@code AbstractHadoopGraphComputer}, pass the projection on to the {@link GraphFilter} of their reader.
+     *
+     * @param propertyKeys the keys of the vertex and edge properties to load
+     * @return the updated GraphComputer with newly set property projection
+     */
+    public default GraphComputer properties(final String... propertyKeys) {
+        return this;
+    }
+
     /**
      * Set an arbitrary configuration key/value for the underlying {@code Configuration} in the {@link GraphComputer}.
      * Typically, the other fluent methods in {@link GraphComputer} should be used to configure the computation.
@@ -19,23 +19,32 @@
 
 package org.apache.tinkerpop.gremlin.process.computer;
 
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.step.branch.UnionStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.RangeGlobalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 
 /**
@@ -44,6 +53,7 @@ import java.util.stream.Collectors;
  * The vertex filter is a {@link Traversal} that can only check the id, label, and properties of the vertex.
  * The edge filter is a {@link Traversal} that starts at the vertex are emits all legal incident edges.
  * If no vertex filter is provided, then no vertices are filtered. If no edge filter is provided, then no edges are filtered.
+ * A property projection may further restrict the vertex and edge properties that are loaded to those with particular keys.
  * The use of a GraphFilter can greatly reduce the amount of data processed by the {@link GraphComputer}.
  * For instance, for {@code g.V().count()}, there is no reason to load edges, and thus, the edge filter can be {@code bothE().limit(0)}.
  *
@@ -83,6 +93,11 @@ public final class GraphFilter implements Cloneable, Serializable {
     private Traversal.Admin<Vertex, Edge> edgeFilter = null;
     private Map<Direction, Map<String, Legal>> edgeLegality = new EnumMap<>(Direction.class);
     private boolean allowNoEdges = false;
+    private Set<String> propertyProjection = null;
+    private Set<String> vertexFilterPropertyKeys = Collections.emptySet();
+    private Set<String> edgeFilterPropertyKeys = Collections.emptySet();
+    private List<HasContainer> vertexFilterLabelContainers = Collections.emptyList();
+    private boolean vertexFilterOnlyLabels = false;
 
     public GraphFilter() {
         // no args constructor
@@ -93,6 +108,8 @@ public final class GraphFilter implements Cloneable, Serializable {
             this.setVertexFilter(computer.getVertices());
         if (null != computer.getEdges())
             this.setEdgeFilter(computer.getEdges());
+        if (null != computer.getProperties())
+            this.setPropertyProjection(computer.getProperties());
     }
 
     /**
@@ -106,6 +123,32 @@ public final class GraphFilter implements Cloneable, Serializable {
         if (!TraversalHelper.isLocalProperties(vertexFilter.asAdmin()))
             throw GraphComputer.Exceptions.vertexFilterAccessesIncidentEdges(vertexFilter);
         this.vertexFilter = vertexFilter.asAdmin().clone();
+        ////
+        this.vertexFilterPropertyKeys = TraversalHelper.getPropertyKeys(this.vertexFilter);
+        this.vertexFilterLabelContainers = new ArrayList<>();
+        this.vertexFilterOnlyLabels = true;
+        for (final Step<?, ?> step : this.vertexFilter.getSteps()) {
+            if (!(step instanceof HasStep)) {
+                this.vertexFilterOnlyLabels = false;
+                break;
+            }
+            for (final HasContainer hasContainer : ((HasStep<?>) step).getHasContainers()) {
+                if (hasContainer.getKey().equals(T.label.getAccessor()))
+                    this.vertexFilterLabelContainers.add(hasContainer);
+                else
+                    this.vertexFilterOnlyLabels = false;
+            }
+        }
+    }
+
+    /**
+     * Set the keys of the vertex and edge properties to load from the source graph.
+     * The vertex and edge filters are applied before the projection and thus, can access properties that are not projected.
+     *
+     * @param propertyKeys The keys of the properties to keep.
+     */
+    public void setPropertyProjection(final Set<String> propertyKeys) {
+        this.propertyProjection = new HashSet<>(propertyKeys);
     }
 
     /**
@@ -118,6 +161,7 @@ public final class GraphFilter implements Cloneable, Serializable {
         if (!TraversalHelper.isLocalStarGraph(edgeFilter.asAdmin()))
             throw GraphComputer.Exceptions.edgeFilterAccessesAdjacentVertices(edgeFilter);
         this.edgeFilter = edgeFilter.asAdmin().clone();
+        this.edgeFilterPropertyKeys = TraversalHelper.getPropertyKeys(this.edgeFilter);
         ////
         this.edgeLegality = new EnumMap<>(Direction.class);
         this.edgeLegality.put(Direction.OUT, new HashMap<>());
@@ -206,6 +250,41 @@ public final class GraphFilter implements Cloneable, Serializable {
                 TraversalUtil.applyAll(vertex, this.edgeFilter);
     }
 
+    /**
+     * Get the legality of a vertex with a particular label. Only the label filters that lead the vertex filter are
+     * considered, so a vertex can be discarded as soon as its label is known.
+     *
+     * @param label the label of the vertex.
+     * @return {@link Legal#NO} if the vertex filter rejects the label, {@link Legal#YES} if the vertex filter only
+     * filters on labels and accepts the label, else {@link Legal#MAYBE}.
+     */
+    public Legal checkVertexLabelLegality(final String label) {
+        if (null == this.vertexFilter)
+            return Legal.YES;
+        for (final HasContainer hasContainer : this.vertexFilterLabelContainers) {
+            if (!((P<Object>) hasContainer.getPredicate()).test(label))
+                return Legal.NO;
+        }
+        return this.vertexFilterOnlyLabels ? Legal.YES : Legal.MAYBE;
+    }
+
+    /**
+     * Get the legality of the properties with a particular key.
+     *
+     * @param key the key of the vertex or edge property.
+     * @return {@link Legal#YES} if the key is projected, {@link Legal#MAYBE} if the key is not projected but is
+     * needed by the vertex or edge filter, else {@link Legal#NO}.
+     */
+    public Legal checkPropertyLegality(final String key) {
+        if (null == this.propertyProjection || this.propertyProjection.contains(key))
+            return Legal.YES;
+        else if (null == this.vertexFilterPropertyKeys || this.vertexFilterPropertyKeys.contains(key) ||
+                null == this.edgeFilterPropertyKeys || this.edgeFilterPropertyKeys.contains(key))
+            return Legal.MAYBE;
+        else
+            return Legal.NO;
+    }
+
     /**
      * Get the vertex filter associated with this graph filter.
      *
@@ -224,13 +303,22 @@ public final class GraphFilter implements Cloneable, Serializable {
         return this.edgeFilter;
     }
 
+    /**
+     * Get the property projection associated with this graph filter.
+     *
+     * @return the projected property keys or null if no property projection was provided.
+     */
+    public final Set<String> getPropertyProjection() {
+        return this.propertyProjection;
+    }
+
     /**
      * Whether filters have been defined.
      *
-     * @return true if either a vertex or edge filter has been provided.
+     * @return true if either a vertex filter, edge filter or property projection has been provided.
      */
     public boolean hasFilter() {
-        return this.vertexFilter != null || this.edgeFilter != null;
+        return this.vertexFilter != null || this.edgeFilter != null || this.propertyProjection != null;
     }
 
     /**
@@ -251,6 +339,15 @@ public final class GraphFilter implements Cloneable, Serializable {
         return this.vertexFilter != null;
     }
 
+    /**
+     * Whether a property projection has been defined.
+     *
+     * @return true if a property projection was provided.
+     */
+    public boolean hasPropertyProjection() {
+        return this.propertyProjection != null;
+    }
+
     /**
      * For a particular edge directionality, get all the {@link Legal#YES} or {@link Legal#MAYBE} edge labels.
      * If the label set contains {@code null}, then all edge labels for that direction are positively legal.
@@ -312,7 +409,8 @@ public final class GraphFilter implements Cloneable, Serializable {
 
     @Override
     public int hashCode() {
-        return (null == this.edgeFilter ? 111 : this.edgeFilter.hashCode()) ^ (null == this.vertexFilter ? 222 : this.vertexFilter.hashCode());
+        return (null == this.edgeFilter ? 111 : this.edgeFilter.hashCode()) ^ (null == this.vertexFilter ? 222 : this.vertexFilter.hashCode()) ^
+                (null == this.propertyProjection ? 333 : this.propertyProjection.hashCode());
     }
 
     @Override
@@ -323,6 +421,8 @@ public final class GraphFilter implements Cloneable, Serializable {
             return false;
         else if (((GraphFilter) object).hasEdgeFilter() && !((GraphFilter) object).edgeFilter.equals(this.edgeFilter))
             return false;
+        else if (((GraphFilter) object).hasPropertyProjection() && !((GraphFilter) object).propertyProjection.equals(this.propertyProjection))
+            return false;
         else
             return true;
     }
@@ -335,6 +435,8 @@ public final class GraphFilter implements Cloneable, Serializable {
                 clone.vertexFilter = this.vertexFilter.clone();
             if (null != this.edgeFilter)
                 clone.edgeFilter = this.edgeFilter.clone();
+            if (null != this.propertyProjection)
+                clone.propertyProjection = new HashSet<>(this.propertyProjection);
             return clone;
         } catch (final CloneNotSupportedException e) {
             throw new IllegalStateException(e.getMessage(), e);
@@ -345,11 +447,13 @@ public final class GraphFilter implements Cloneable, Serializable {
     public String toString() {
         if (!this.hasFilter())
             return "graphfilter[none]";
-        else if (this.hasVertexFilter() && this.hasEdgeFilter())
-            return "graphfilter[" + this.vertexFilter + "," + this.edgeFilter + "]";
-        else if (this.hasVertexFilter())
-            return "graphfilter[" + this.vertexFilter + "]";
-        else
-            return "graphfilter[" + this.edgeFilter + "]";
+        final List<Object> filters = new ArrayList<>(3);
+        if (this.hasVertexFilter())
+            filters.add(this.vertexFilter);
+        if (this.hasEdgeFilter())
+            filters.add(this.edgeFilter);
+        if (this.hasPropertyProjection())
+            filters.add(new TreeSet<>(this.propertyProjection));
+        return "graphfilter[" + filters.stream().map(Object::toString).collect(Collectors.joining(",")) + "]";
     }
 }
\ No newline at end of file
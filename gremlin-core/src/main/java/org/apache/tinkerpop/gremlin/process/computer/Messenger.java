@@ -46,4 +46,13 @@ public interface Messenger<M> {
      */
     public void sendMessage(final MessageScope messageScope, final M message);
 
+    /**
+     * The currently executing vertex votes to halt, which means that it has nothing more to do unless it receives
+     * messages. If the {@link VertexProgram} {@link VertexProgram.Features#supportsVertexHalting() supports halting},
+     * the {@link GraphComputer} may then skip the vertex in later iterations until a message is sent to it. The
+     * default implementation ignores the vote, which is always correct as halting only saves work.
+     */
+    public default void voteToHalt() {
+    }
+
 }
@@ -293,5 +293,27 @@ public interface VertexProgram<M> extends Cloneable {
         public default boolean requiresEdgePropertyRemoval() {
             return false;
         }
+
+        /**
+         * Determines if the vertices of the program may be skipped once they {@link Messenger#voteToHalt() vote to
+         * halt} until they receive a message, which requires that {@link VertexProgram#execute} does nothing for
+         * such a vertex in any later iteration, whatever the {@link Memory}.
+         */
+        public default boolean supportsVertexHalting() {
+            return false;
+        }
+
+        /**
+         * Determines if the program may be executed asynchronously, where the messages of a
+         * {@link MessageScope.Local} can be read in the iteration they are sent rather than only in the next. A
+         * vertex then reads the latest messages of each of its neighbors, be they sent in the current iteration or in
+         * the one before, which lets convergent programs in the manner of Gauss-Seidel iteration need fewer
+         * iterations. The program still decides when to terminate through the {@link Memory} at the end of each
+         * iteration and its local messages should not be mutated once sent. A {@link GraphComputer} that does not
+         * support asynchronous execution simply executes the program synchronously.
+         */
+        public default boolean supportsAsynchronousExecution() {
+            return false;
+        }
     }
 }
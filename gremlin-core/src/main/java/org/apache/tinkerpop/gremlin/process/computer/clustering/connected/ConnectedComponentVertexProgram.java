@@ -35,8 +35,10 @@ import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.IndexedTraverserSet;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
 import org.apache.tinkerpop.gremlin.process.traversal.util.PureTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Graph;
@@ -53,6 +55,17 @@ import java.util.Set;
 /**
  * Identifies "Connected Component" instances in a graph by assigning a component identifier (the lexicographically
  * least string value of the vertex in the component) to each vertex.
+ * <p/>
+ * By default the component identifiers are passed along the edges for as many iterations as the diameter of the
+ * largest component. When built with {@link Builder#unionFind(boolean)} the program instead gathers all edges in a
+ * union-find structure in {@link Memory} and finishes after two iterations, which is much faster on a single machine
+ * but requires memory proportional to the number of vertices on the master.
+ * <p/>
+ * When built with {@link Builder#changed(Traversal.Admin)} the program runs incrementally. It starts from the
+ * components found by a previous run, which must be present as vertex properties of the input graph, and only the
+ * vertices that pass the filter pass on their component. Since vertices vote to halt, later iterations only cost as
+ * much as the vertices whose component changes. This is only valid if vertices and edges were added since the
+ * previous run, as removals may split a component.
  *
  * @author Stephen Mallette (http://stephen.genoprime.com)
  * @author Daniel Kuppitz (http://gremlin.guru)
@@ -63,13 +76,19 @@ public class ConnectedComponentVertexProgram implements VertexProgram<String> {
     private static final String PROPERTY = "gremlin.connectedComponentVertexProgram.property";
     private static final String EDGE_TRAVERSAL = "gremlin.pageRankVertexProgram.edgeTraversal";
     private static final String VOTE_TO_HALT = "gremlin.connectedComponentVertexProgram.voteToHalt";
+    private static final String UNION_FIND = "gremlin.connectedComponentVertexProgram.unionFind";
+    private static final String DISJOINT_SETS = "gremlin.connectedComponentVertexProgram.disjointSets";
+    private static final String CHANGED_VERTEX_FILTER = "gremlin.connectedComponentVertexProgram.changedVertexFilter";
 
     private static final Set<MemoryComputeKey> MEMORY_COMPUTE_KEYS = Collections.singleton(MemoryComputeKey.of(VOTE_TO_HALT, Operator.and, false, true));
+    private static final Set<MemoryComputeKey> UNION_FIND_MEMORY_COMPUTE_KEYS = Collections.singleton(MemoryComputeKey.of(DISJOINT_SETS, UnionFind.Merge.INSTANCE, true, true));
 
     private MessageScope.Local<?> scope = MessageScope.Local.of(__::bothE);
     private Set<MessageScope> scopes;
     private String property = COMPONENT;
     private PureTraversal<Vertex, Edge> edgeTraversal = null;
+    private PureTraversal<Vertex, ?> changedVertexFilter = null;
+    private boolean unionFind;
     private Configuration configuration;
     private TraverserSet<Vertex> haltedTraversers;
     private IndexedTraverserSet<Vertex, Vertex> haltedTraversersIndex;
@@ -90,8 +109,18 @@ public class ConnectedComponentVertexProgram implements VertexProgram<String> {
 
         scopes = new HashSet<>(Collections.singletonList(scope));
 
+        if (configuration.containsKey(CHANGED_VERTEX_FILTER))
+            this.changedVertexFilter = PureTraversal.loadState(configuration, CHANGED_VERTEX_FILTER, graph);
+
         this.property = configuration.getString(PROPERTY, COMPONENT);
 
+        // a union joins both ends of an edge, which only yields the same components as the message passing if the
+        // edges are traversed in both directions. an incremental run always passes messages as it starts from the
+        // components of the previous run
+        this.unionFind = configuration.getBoolean(UNION_FIND, false) && null == this.changedVertexFilter && (null == this.edgeTraversal ||
+                TraversalHelper.getStepsOfAssignableClass(VertexStep.class, this.edgeTraversal.get()).stream()
+                        .allMatch(step -> step.getDirection() == Direction.BOTH));
+
         this.haltedTraversers = TraversalVertexProgram.loadHaltedTraversers(configuration);
         this.haltedTraversersIndex = new IndexedTraverserSet<>(v -> v);
         for (final Traverser.Admin<Vertex> traverser : this.haltedTraversers) {
@@ -109,39 +138,65 @@ public class ConnectedComponentVertexProgram implements VertexProgram<String> {
 
     @Override
     public void setup(final Memory memory) {
-        memory.set(VOTE_TO_HALT, true);
+        if (!this.unionFind)
+            memory.set(VOTE_TO_HALT, true);
     }
 
     @Override
     public void execute(final Vertex vertex, final Messenger<String> messenger, final Memory memory) {
+        if (this.unionFind) {
+            executeUnionFind(vertex, memory);
+            return;
+        }
+
         if (memory.isInitialIteration()) {
             copyHaltedTraversersFromMemory(vertex);
 
             // on the first pass, just initialize the component to its own id then pass it to all adjacent vertices
             // for evaluation
-            vertex.property(VertexProperty.Cardinality.single, property, vertex.id().toString());
+            String component = vertex.id().toString();
+
+            // an incremental run starts from the component of the previous run instead and only the changed vertices
+            // pass it on. unchanged vertices keep their component unless a changed neighbor sends a lesser one
+            if (null != this.changedVertexFilter) {
+                final String previousComponent = vertex.<String>property(property).orElse(null);
+                if (null != previousComponent) {
+                    component = previousComponent;
+                    if (!isChanged(vertex)) {
+                        vertex.property(VertexProperty.Cardinality.single, property, component);
+                        messenger.voteToHalt();
+                        return;
+                    }
+                }
+            }
+
+            vertex.property(VertexProperty.Cardinality.single, property, component);
 
             // vertices that have no edges remain in their own component - nothing to message pass here
             if (vertex.edges(Direction.BOTH).hasNext()) {
                 // since there was message passing we don't want to halt on the first round. this should only trigger
                 // a single pass finish if the graph is completely disconnected (technically, it won't even really
                 // work in cases where halted traversers come into play
-                messenger.sendMessage(scope, vertex.id().toString());
+                messenger.sendMessage(scope, component);
                 memory.add(VOTE_TO_HALT, false);
             }
         } else {
             // by the second iteration all vertices that matter should have a component assigned
             String currentComponent = vertex.value(property);
             boolean different = false;
+            boolean greater = false;
 
             // iterate through messages received and determine if there is a component that has a lesser value than
             // the currently assigned one
             final Iterator<String> componentIterator = messenger.receiveMessages();
             while(componentIterator.hasNext()) {
                 final String candidateComponent = componentIterator.next();
-                if (candidateComponent.compareTo(currentComponent) < 0) {
+                final int cmp = candidateComponent.compareTo(currentComponent);
+                if (cmp < 0) {
                     currentComponent = candidateComponent;
                     different = true;
+                } else if (cmp > 0) {
+                    greater = true;
                 }
             }
 
@@ -151,8 +206,17 @@ public class ConnectedComponentVertexProgram implements VertexProgram<String> {
                 vertex.property(VertexProperty.Cardinality.single, property, currentComponent);
                 messenger.sendMessage(scope, currentComponent);
                 memory.add(VOTE_TO_HALT, false);
+            } else if (greater && null != this.changedVertexFilter && 1 == memory.getIteration()) {
+                // an unchanged vertex that got a greater component over a new edge has to answer with its own lesser
+                // one, as the changed vertex on the other end does not know about it yet. any later message can not
+                // be greater, since neighbors of the previous run already share their component
+                messenger.sendMessage(scope, currentComponent);
+                memory.add(VOTE_TO_HALT, false);
             }
         }
+
+        // a vertex only has more to do if a neighbor finds a lesser component, which it would be sent as a message
+        messenger.voteToHalt();
     }
 
     @Override
@@ -164,7 +228,7 @@ public class ConnectedComponentVertexProgram implements VertexProgram<String> {
 
     @Override
     public Set<MemoryComputeKey> getMemoryComputeKeys() {
-        return MEMORY_COMPUTE_KEYS;
+        return this.unionFind ? UNION_FIND_MEMORY_COMPUTE_KEYS : MEMORY_COMPUTE_KEYS;
     }
 
     @Override
@@ -173,6 +237,13 @@ public class ConnectedComponentVertexProgram implements VertexProgram<String> {
             this.haltedTraversersIndex.clear();
         }
 
+        if (this.unionFind) {
+            // the first iteration gathers the disjoint sets, the second one assigns the components
+            if (!memory.isInitialIteration()) return true;
+            memory.set(DISJOINT_SETS, memory.<UnionFind>get(DISJOINT_SETS).compress());
+            return false;
+        }
+
         final boolean voteToHalt = memory.<Boolean>get(VOTE_TO_HALT);
         if (voteToHalt) {
             return true;
@@ -186,7 +257,7 @@ public class ConnectedComponentVertexProgram implements VertexProgram<String> {
 
     @Override
     public Set<MessageScope> getMessageScopes(final Memory memory) {
-        return scopes;
+        return this.unionFind ? Collections.emptySet() : scopes;
     }
 
     @Override
@@ -211,16 +282,53 @@ public class ConnectedComponentVertexProgram implements VertexProgram<String> {
         return new Features() {
             @Override
             public boolean requiresLocalMessageScopes() {
-                return true;
+                return !unionFind;
             }
 
             @Override
             public boolean requiresVertexPropertyAddition() {
                 return true;
             }
+
+            @Override
+            public boolean supportsVertexHalting() {
+                return !unionFind;
+            }
         };
     }
 
+    private boolean isChanged(final Vertex vertex) {
+        final Traversal.Admin<Vertex, ?> filterTraversal = this.changedVertexFilter.getPure();
+        filterTraversal.addStart(filterTraversal.getTraverserGenerator().generate(vertex, filterTraversal.getStartStep(), 1));
+        return filterTraversal.hasNext();
+    }
+
+    private void executeUnionFind(final Vertex vertex, final Memory memory) {
+        if (memory.isInitialIteration()) {
+            copyHaltedTraversersFromMemory(vertex);
+
+            final UnionFind disjointSets = new UnionFind();
+            disjointSets.add(vertex.id());
+            final Iterator<Edge> edges;
+            if (null == this.edgeTraversal) {
+                edges = vertex.edges(Direction.BOTH);
+            } else {
+                final Traversal.Admin<Vertex, Edge> traversal = this.edgeTraversal.getPure();
+                traversal.addStart(traversal.getTraverserGenerator().generate(vertex, traversal.getStartStep(), 1));
+                edges = traversal;
+            }
+            while (edges.hasNext()) {
+                final Edge edge = edges.next();
+                final Vertex otherV = edge.inVertex().equals(vertex) ? edge.outVertex() : edge.inVertex();
+                disjointSets.union(vertex.id(), otherV.id());
+            }
+            memory.add(DISJOINT_SETS, disjointSets);
+        } else {
+            final UnionFind disjointSets = memory.get(DISJOINT_SETS);
+            vertex.property(VertexProperty.Cardinality.single, property, disjointSets.getComponent(vertex.id()));
+        }
+    }
+
     private void copyHaltedTraversersFromMemory(final Vertex vertex) {
         final Collection<Traverser.Admin<Vertex>> traversers = this.haltedTraversersIndex.get(vertex);
         if (traversers != null) {
@@ -249,5 +357,26 @@ public class ConnectedComponentVertexProgram implements VertexProgram<String> {
             this.configuration.setProperty(PROPERTY, key);
             return this;
         }
+
+        /**
+         * Runs incrementally, starting from the components of a previous run that are held in the component property
+         * of the input graph, such as a persisted RDD or the original graph of a run that persisted its vertex
+         * properties. Only the vertices that pass the filter, those that were added or got new edges since the
+         * previous run, pass on their component in the first iteration.
+         */
+        public ConnectedComponentVertexProgram.Builder changed(final Traversal.Admin<Vertex, ?> changedVertexFilter) {
+            PureTraversal.storeState(this.configuration, CHANGED_VERTEX_FILTER, changedVertexFilter);
+            return this;
+        }
+
+        /**
+         * Computes the components with a union-find structure held in {@link Memory} rather than by passing messages.
+         * This only applies if the edges are traversed in both directions and is meant for single machine graph
+         * computers, where gathering a structure as large as the vertex set of the graph is cheap.
+         */
+        public ConnectedComponentVertexProgram.Builder unionFind(final boolean unionFind) {
+            this.configuration.setProperty(UNION_FIND, unionFind);
+            return this;
+        }
     }
 }
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.computer.clustering.connected;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BinaryOperator;
+
+/**
+ * A disjoint-set forest over vertex identifiers with union by size and path halving. Each set tracks the
+ * lexicographically least string value of the identifiers in it, which is the component identifier that
+ * {@link ConnectedComponentVertexProgram} assigns.
+ */
+final class UnionFind implements Serializable {
+
+    private final Map<Object, Object> parents = new HashMap<>();
+    private final Map<Object, Integer> sizes = new HashMap<>();
+    private final Map<Object, String> components = new HashMap<>();
+
+    public void add(final Object id) {
+        if (null == this.parents.putIfAbsent(id, id)) {
+            this.sizes.put(id, 1);
+            this.components.put(id, id.toString());
+        }
+    }
+
+    public void union(final Object a, final Object b) {
+        this.add(a);
+        this.add(b);
+        Object rootA = this.find(a);
+        Object rootB = this.find(b);
+        if (rootA.equals(rootB)) return;
+
+        if (this.sizes.get(rootA) < this.sizes.get(rootB)) {
+            final Object swap = rootA;
+            rootA = rootB;
+            rootB = swap;
+        }
+
+        // attach the smaller tree to the larger one and only keep size and component for the new root
+        this.parents.put(rootB, rootA);
+        this.sizes.put(rootA, this.sizes.get(rootA) + this.sizes.remove(rootB));
+        final String componentB = this.components.remove(rootB);
+        if (componentB.compareTo(this.components.get(rootA)) < 0)
+            this.components.put(rootA, componentB);
+    }
+
+    /**
+     * Adds all sets of the other forest to this one. Linking every identifier to its parent is enough to reproduce
+     * the sets of the other forest.
+     */
+    public void merge(final UnionFind other) {
+        for (final Map.Entry<Object, Object> entry : other.parents.entrySet()) {
+            this.union(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Points every identifier directly at its root, after which {@link #getComponent(Object)} no longer modifies the
+     * forest and may be called concurrently.
+     */
+    public UnionFind compress() {
+        for (final Map.Entry<Object, Object> entry : this.parents.entrySet()) {
+            entry.setValue(this.find(entry.getValue()));
+        }
+        return this;
+    }
+
+    public String getComponent(final Object id) {
+        final Object root = this.parents.get(id);
+        return null == root ? id.toString() : this.components.get(root);
+    }
+
+    public int size() {
+        return this.parents.size();
+    }
+
+    private Object find(final Object id) {
+        Object current = id;
+        Object parent = this.parents.get(current);
+        while (!parent.equals(current)) {
+            // path halving, every other node on the path is pointed at its grandparent
+            final Object grandparent = this.parents.get(parent);
+            this.parents.put(current, grandparent);
+            current = grandparent;
+            parent = this.parents.get(current);
+        }
+        return current;
+    }
+
+    /**
+     * Reduces the forests of the vertices, always merging the smaller forest into the larger one.
+     */
+    enum Merge implements BinaryOperator<UnionFind> {
+        INSTANCE;
+
+        @Override
+        public UnionFind apply(final UnionFind a, final UnionFind b) {
+            if (a.size() < b.size()) {
+                b.merge(a);
+                return b;
+            }
+            a.merge(b);
+            return a;
+        }
+    }
+}
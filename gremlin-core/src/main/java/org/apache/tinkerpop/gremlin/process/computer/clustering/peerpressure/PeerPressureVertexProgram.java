@@ -67,11 +67,13 @@ public class PeerPressureVertexProgram extends StaticVertexProgram<Pair<Serializ
     private static final String DISTRIBUTE_VOTE = "gremlin.peerPressureVertexProgram.distributeVote";
     private static final String EDGE_TRAVERSAL = "gremlin.peerPressureVertexProgram.edgeTraversal";
     private static final String VOTE_TO_HALT = "gremlin.peerPressureVertexProgram.voteToHalt";
+    private static final String ASYNCHRONOUS = "gremlin.peerPressureVertexProgram.asynchronous";
 
     private PureTraversal<Vertex, Edge> edgeTraversal = null;
     private PureTraversal<Vertex, ? extends Number> initialVoteStrengthTraversal = null;
     private int maxIterations = 30;
     private boolean distributeVote = false;
+    private boolean asynchronous = false;
     private String property = CLUSTER;
 
     private static final Set<MemoryComputeKey> MEMORY_COMPUTE_KEYS = Collections.singleton(MemoryComputeKey.of(VOTE_TO_HALT, Operator.and, false, true));
@@ -92,6 +94,7 @@ public class PeerPressureVertexProgram extends StaticVertexProgram<Pair<Serializ
         this.property = configuration.getString(PROPERTY, CLUSTER);
         this.maxIterations = configuration.getInt(MAX_ITERATIONS, 30);
         this.distributeVote = configuration.getBoolean(DISTRIBUTE_VOTE, false);
+        this.asynchronous = configuration.getBoolean(ASYNCHRONOUS, false);
     }
 
     @Override
@@ -100,6 +103,7 @@ public class PeerPressureVertexProgram extends StaticVertexProgram<Pair<Serializ
         configuration.setProperty(PROPERTY, this.property);
         configuration.setProperty(MAX_ITERATIONS, this.maxIterations);
         configuration.setProperty(DISTRIBUTE_VOTE, this.distributeVote);
+        configuration.setProperty(ASYNCHRONOUS, this.asynchronous);
         if (null != this.edgeTraversal)
             this.edgeTraversal.storeState(configuration, EDGE_TRAVERSAL);
         if (null != this.initialVoteStrengthTraversal)
@@ -234,6 +238,15 @@ public class PeerPressureVertexProgram extends StaticVertexProgram<Pair<Serializ
             return this;
         }
 
+        /**
+         * Lets the votes of neighbors be counted in the iteration they are cast where the {@link GraphComputer}
+         * supports asynchronous execution, which usually settles the clusters in fewer iterations.
+         */
+        public Builder asynchronous(final boolean asynchronous) {
+            this.configuration.setProperty(ASYNCHRONOUS, asynchronous);
+            return this;
+        }
+
         public Builder edges(final Traversal.Admin<Vertex, Edge> edgeTraversal) {
             PureTraversal.storeState(this.configuration, EDGE_TRAVERSAL, edgeTraversal);
             return this;
@@ -259,6 +272,11 @@ public class PeerPressureVertexProgram extends StaticVertexProgram<Pair<Serializ
             public boolean requiresVertexPropertyAddition() {
                 return true;
             }
+
+            @Override
+            public boolean supportsAsynchronousExecution() {
+                return asynchronous;
+            }
         };
     }
 }
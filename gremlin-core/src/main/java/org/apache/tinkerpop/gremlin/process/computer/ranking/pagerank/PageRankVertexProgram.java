@@ -64,6 +64,10 @@ public class PageRankVertexProgram implements VertexProgram<Double> {
     private static final String INITIAL_RANK_TRAVERSAL = "gremlin.pageRankVertexProgram.initialRankTraversal";
     private static final String TELEPORTATION_ENERGY = "gremlin.pageRankVertexProgram.teleportationEnergy";
     private static final String CONVERGENCE_ERROR = "gremlin.pageRankVertexProgram.convergenceError";
+    private static final String ASYNCHRONOUS = "gremlin.pageRankVertexProgram.asynchronous";
+    private static final String DELTA_THRESHOLD = "gremlin.pageRankVertexProgram.deltaThreshold";
+    private static final String INCOMING_RANK = "gremlin.pageRankVertexProgram.incomingRank";
+    private static final String SENT_RANK = "gremlin.pageRankVertexProgram.sentRank";
 
     private MessageScope.Local<Double> incidentMessageScope = MessageScope.Local.of(__::outE);
     private MessageScope.Local<Double> countMessageScope = MessageScope.Local.of(new MessageScope.Local.ReverseTraversalSupplier(this.incidentMessageScope));
@@ -72,6 +76,9 @@ public class PageRankVertexProgram implements VertexProgram<Double> {
     private double alpha = 0.85d;
     private double epsilon = 0.00001d;
     private int maxIterations = 20;
+    private boolean asynchronous = false;
+    private boolean delta = false;
+    private double deltaThreshold = 0.0d;
     private String property = PAGE_RANK;
     private Set<VertexComputeKey> vertexComputeKeys;
     private Set<MemoryComputeKey> memoryComputeKeys;
@@ -93,9 +100,16 @@ public class PageRankVertexProgram implements VertexProgram<Double> {
         this.epsilon = configuration.getDouble(EPSILON, this.epsilon);
         this.maxIterations = configuration.getInt(MAX_ITERATIONS, 20);
         this.property = configuration.getString(PROPERTY, PAGE_RANK);
+        this.asynchronous = configuration.getBoolean(ASYNCHRONOUS, false);
+        this.delta = configuration.containsKey(DELTA_THRESHOLD);
+        this.deltaThreshold = configuration.getDouble(DELTA_THRESHOLD, 0.0d);
         this.vertexComputeKeys = new HashSet<>(Arrays.asList(
                 VertexComputeKey.of(this.property, false),
                 VertexComputeKey.of(EDGE_COUNT, true)));
+        if (this.delta) {
+            this.vertexComputeKeys.add(VertexComputeKey.of(INCOMING_RANK, true));
+            this.vertexComputeKeys.add(VertexComputeKey.of(SENT_RANK, true));
+        }
         this.memoryComputeKeys = new HashSet<>(Arrays.asList(
                 MemoryComputeKey.of(TELEPORTATION_ENERGY, Operator.sum, true, true),
                 MemoryComputeKey.of(VERTEX_COUNT, Operator.sum, true, true),
@@ -109,6 +123,9 @@ public class PageRankVertexProgram implements VertexProgram<Double> {
         configuration.setProperty(EPSILON, this.epsilon);
         configuration.setProperty(PROPERTY, this.property);
         configuration.setProperty(MAX_ITERATIONS, this.maxIterations);
+        configuration.setProperty(ASYNCHRONOUS, this.asynchronous);
+        if (this.delta)
+            configuration.setProperty(DELTA_THRESHOLD, this.deltaThreshold);
         if (null != this.edgeTraversal)
             this.edgeTraversal.storeState(configuration, EDGE_TRAVERSAL);
         if (null != this.initialRankTraversal)
@@ -184,6 +201,11 @@ public class PageRankVertexProgram implements VertexProgram<Double> {
             } else {
                 edgeCount = vertex.value(EDGE_COUNT);
                 pageRank = IteratorUtils.reduce(messenger.receiveMessages(), 0.0d, (a, b) -> a + b);
+                if (this.delta) {
+                    // the messages only carry how much the ranks of the neighbors changed since they last sent
+                    pageRank = pageRank + vertex.<Double>property(INCOMING_RANK).orElse(0.0d);
+                    vertex.property(VertexProperty.Cardinality.single, INCOMING_RANK, pageRank);
+                }
             }
             //////////////////////////
             final double teleporationEnergy = memory.get(TELEPORTATION_ENERGY);
@@ -197,9 +219,18 @@ public class PageRankVertexProgram implements VertexProgram<Double> {
             vertex.property(VertexProperty.Cardinality.single, this.property, pageRank);
             memory.add(TELEPORTATION_ENERGY, (1.0d - this.alpha) * pageRank);
             pageRank = this.alpha * pageRank;
-            if (edgeCount > 0.0d)
-                messenger.sendMessage(this.incidentMessageScope, pageRank / edgeCount);
-            else
+            if (edgeCount > 0.0d) {
+                if (this.delta) {
+                    // a change too small to matter is held back until it adds up to more than the threshold
+                    final double sentRank = vertex.<Double>property(SENT_RANK).orElse(0.0d);
+                    if (Math.abs(pageRank - sentRank) > this.deltaThreshold) {
+                        messenger.sendMessage(this.incidentMessageScope, (pageRank - sentRank) / edgeCount);
+                        vertex.property(VertexProperty.Cardinality.single, SENT_RANK, pageRank);
+                    }
+                } else {
+                    messenger.sendMessage(this.incidentMessageScope, pageRank / edgeCount);
+                }
+            } else
                 memory.add(TELEPORTATION_ENERGY, pageRank);
         }
     }
@@ -248,6 +279,26 @@ public class PageRankVertexProgram implements VertexProgram<Double> {
             return this;
         }
 
+        /**
+         * Lets the rank that a vertex sends be used in the iteration it is sent where the {@link GraphComputer}
+         * supports asynchronous execution, which usually reaches the epsilon in fewer iterations.
+         */
+        public Builder asynchronous(final boolean asynchronous) {
+            this.configuration.setProperty(ASYNCHRONOUS, asynchronous);
+            return this;
+        }
+
+        /**
+         * Has each vertex send the change in its rank rather than the rank itself and only once it changed by more
+         * than the threshold since it last sent, so that the vertices that have settled stop sending messages. The
+         * ranks then differ from those computed otherwise by at most the threshold held back at each neighbor. The
+         * changes add up at the receivers so this mode is never executed asynchronously.
+         */
+        public Builder delta(final double threshold) {
+            this.configuration.setProperty(DELTA_THRESHOLD, threshold);
+            return this;
+        }
+
         public Builder edges(final Traversal.Admin<Vertex, Edge> edgeTraversal) {
             PureTraversal.storeState(this.configuration, EDGE_TRAVERSAL, edgeTraversal);
             return this;
@@ -273,6 +324,11 @@ public class PageRankVertexProgram implements VertexProgram<Double> {
             public boolean requiresVertexPropertyAddition() {
                 return true;
             }
+
+            @Override
+            public boolean supportsAsynchronousExecution() {
+                return asynchronous && !delta;
+            }
         };
     }
 }
\ No newline at end of file
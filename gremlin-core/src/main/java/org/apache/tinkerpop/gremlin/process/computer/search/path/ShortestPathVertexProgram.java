@@ -30,6 +30,7 @@ import org.apache.tinkerpop.gremlin.process.computer.traversal.TraversalVertexPr
 import org.apache.tinkerpop.gremlin.process.computer.traversal.step.map.ProgramVertexProgramStep;
 import org.apache.tinkerpop.gremlin.process.computer.traversal.step.map.VertexProgramStep;
 import org.apache.tinkerpop.gremlin.process.computer.util.AbstractVertexProgramBuilder;
+import org.apache.tinkerpop.gremlin.process.computer.util.VertexProgramHelper;
 import org.apache.tinkerpop.gremlin.process.traversal.Operator;
 import org.apache.tinkerpop.gremlin.process.traversal.Path;
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
@@ -78,15 +79,30 @@ public class ShortestPathVertexProgram implements VertexProgram<Triplet<Path, Ed
     private static final String DISTANCE_TRAVERSAL = "gremlin.shortestPathVertexProgram.distanceTraversal";
     private static final String MAX_DISTANCE = "gremlin.shortestPathVertexProgram.maxDistance";
     private static final String INCLUDE_EDGES = "gremlin.shortestPathVertexProgram.includeEdges";
+    private static final String BIDIRECTIONAL = "gremlin.shortestPathVertexProgram.bidirectional";
 
     private static final String STATE = "gremlin.shortestPathVertexProgram.state";
     private static final String PATHS = "gremlin.shortestPathVertexProgram.paths";
     private static final String VOTE_TO_HALT = "gremlin.shortestPathVertexProgram.voteToHalt";
 
+    // compute keys only used by the bidirectional search
+    private static final String BACKWARD_PATHS = "gremlin.shortestPathVertexProgram.backwardPaths";
+    private static final String FRONTIER = "gremlin.shortestPathVertexProgram.frontier";
+    private static final String FORWARD_FRONTIER_SIZE = "gremlin.shortestPathVertexProgram.forwardFrontierSize";
+    private static final String BACKWARD_FRONTIER_SIZE = "gremlin.shortestPathVertexProgram.backwardFrontierSize";
+    private static final String FORWARD_DEPTH = "gremlin.shortestPathVertexProgram.forwardDepth";
+    private static final String BACKWARD_DEPTH = "gremlin.shortestPathVertexProgram.backwardDepth";
+    private static final String MEETING_DISTANCE = "gremlin.shortestPathVertexProgram.meetingDistance";
+    private static final String DIRECTION = "gremlin.shortestPathVertexProgram.direction";
+
     private static final int SEARCH = 0;
     private static final int COLLECT_PATHS = 1;
     private static final int UPDATE_HALTED_TRAVERSERS = 2;
 
+    // frontier flags of the bidirectional search, a vertex can be on both frontiers at the same time
+    private static final int FORWARD = 1;
+    private static final int BACKWARD = 2;
+
     public static final PureTraversal<Vertex, ?> DEFAULT_VERTEX_FILTER_TRAVERSAL = new PureTraversal<>(
             __.<Vertex> identity().asAdmin()); // todo: new IdentityTraversal<>()
     public static final PureTraversal<Vertex, Edge> DEFAULT_EDGE_TRAVERSAL = new PureTraversal<>(__.bothE().asAdmin());
@@ -99,15 +115,19 @@ public class ShortestPathVertexProgram implements VertexProgram<Triplet<Path, Ed
     private PureTraversal<Vertex, ?> sourceVertexFilterTraversal = DEFAULT_VERTEX_FILTER_TRAVERSAL.clone();
     private PureTraversal<Vertex, ?> targetVertexFilterTraversal = DEFAULT_VERTEX_FILTER_TRAVERSAL.clone();
     private PureTraversal<Vertex, Edge> edgeTraversal = DEFAULT_EDGE_TRAVERSAL.clone();
+    private PureTraversal<Vertex, Edge> reversedEdgeTraversal;
     private PureTraversal<Edge, Number> distanceTraversal = DEFAULT_DISTANCE_TRAVERSAL.clone();
     private Step<Vertex, Path> programStep;
     private Number maxDistance;
     private boolean distanceEqualsNumberOfHops;
     private boolean includeEdges;
+    private boolean bidirectional;
     private boolean standalone;
 
     private static final Set<VertexComputeKey> VERTEX_COMPUTE_KEYS = new HashSet<>(Arrays.asList(
             VertexComputeKey.of(PATHS, true),
+            VertexComputeKey.of(BACKWARD_PATHS, true),
+            VertexComputeKey.of(FRONTIER, true),
             VertexComputeKey.of(TraversalVertexProgram.HALTED_TRAVERSERS, false)));
 
     private final Set<MemoryComputeKey> memoryComputeKeys = new HashSet<>(Arrays.asList(
@@ -138,6 +158,7 @@ public class ShortestPathVertexProgram implements VertexProgram<Triplet<Path, Ed
 
         this.distanceEqualsNumberOfHops = this.distanceTraversal.equals(DEFAULT_DISTANCE_TRAVERSAL);
         this.includeEdges = configuration.getBoolean(INCLUDE_EDGES, false);
+        this.bidirectional = configuration.getBoolean(BIDIRECTIONAL, false);
         this.standalone = !configuration.containsKey(VertexProgramStep.ROOT_TRAVERSAL);
 
         if (!this.standalone) {
@@ -159,6 +180,24 @@ public class ShortestPathVertexProgram implements VertexProgram<Triplet<Path, Ed
             this.haltedTraversersIndex.add(traverser.split());
         }
         this.memoryComputeKeys.add(MemoryComputeKey.of(SHORTEST_PATHS, Operator.addAll, true, !standalone));
+
+        if (this.bidirectional) {
+            if (!this.distanceEqualsNumberOfHops)
+                throw new IllegalArgumentException("The bidirectional shortest path search requires the distance to be the number of hops");
+            // the sources are known up front when they are halted traversers, otherwise a filter must select them
+            final boolean singleSource = this.standalone ?
+                    !this.sourceVertexFilterTraversal.equals(DEFAULT_VERTEX_FILTER_TRAVERSAL) :
+                    this.haltedTraversers.stream().map(Traverser::get).distinct().count() <= 1;
+            if (!singleSource || this.targetVertexFilterTraversal.equals(DEFAULT_VERTEX_FILTER_TRAVERSAL))
+                throw new IllegalArgumentException("The bidirectional shortest path search requires a single source and a single target vertex");
+            this.reversedEdgeTraversal = new PureTraversal<>(VertexProgramHelper.reverse(this.edgeTraversal.getPure()));
+            this.memoryComputeKeys.add(MemoryComputeKey.of(FORWARD_FRONTIER_SIZE, Operator.sumLong, false, true));
+            this.memoryComputeKeys.add(MemoryComputeKey.of(BACKWARD_FRONTIER_SIZE, Operator.sumLong, false, true));
+            this.memoryComputeKeys.add(MemoryComputeKey.of(FORWARD_DEPTH, Operator.max, true, true));
+            this.memoryComputeKeys.add(MemoryComputeKey.of(BACKWARD_DEPTH, Operator.max, false, true));
+            this.memoryComputeKeys.add(MemoryComputeKey.of(MEETING_DISTANCE, Operator.min, true, true));
+            this.memoryComputeKeys.add(MemoryComputeKey.of(DIRECTION, Operator.assign, true, true));
+        }
     }
 
     @Override
@@ -169,6 +208,7 @@ public class ShortestPathVertexProgram implements VertexProgram<Triplet<Path, Ed
         this.edgeTraversal.storeState(configuration, EDGE_TRAVERSAL);
         this.distanceTraversal.storeState(configuration, DISTANCE_TRAVERSAL);
         configuration.setProperty(INCLUDE_EDGES, this.includeEdges);
+        configuration.setProperty(BIDIRECTIONAL, this.bidirectional);
         if (this.maxDistance != null)
             configuration.setProperty(MAX_DISTANCE, maxDistance);
         if (this.traversal != null) {
@@ -199,6 +239,8 @@ public class ShortestPathVertexProgram implements VertexProgram<Triplet<Path, Ed
             final ShortestPathVertexProgram clone = (ShortestPathVertexProgram) super.clone();
             if (null != this.edgeTraversal)
                 clone.edgeTraversal = this.edgeTraversal.clone();
+            if (null != this.reversedEdgeTraversal)
+                clone.reversedEdgeTraversal = this.reversedEdgeTraversal.clone();
             if (null != this.sourceVertexFilterTraversal)
                 clone.sourceVertexFilterTraversal = this.sourceVertexFilterTraversal.clone();
             if (null != this.targetVertexFilterTraversal)
@@ -235,6 +277,14 @@ public class ShortestPathVertexProgram implements VertexProgram<Triplet<Path, Ed
     public void setup(final Memory memory) {
         memory.set(VOTE_TO_HALT, true);
         memory.set(STATE, SEARCH);
+        if (this.bidirectional) {
+            memory.set(FORWARD_FRONTIER_SIZE, 0L);
+            memory.set(BACKWARD_FRONTIER_SIZE, 0L);
+            memory.set(FORWARD_DEPTH, 0);
+            memory.set(BACKWARD_DEPTH, 0);
+            memory.set(MEETING_DISTANCE, Integer.MAX_VALUE);
+            memory.set(DIRECTION, FORWARD);
+        }
     }
 
     @Override
@@ -243,7 +293,10 @@ public class ShortestPathVertexProgram implements VertexProgram<Triplet<Path, Ed
         switch (memory.<Integer>get(STATE)) {
 
             case COLLECT_PATHS:
-                collectShortestPaths(vertex, memory);
+                if (this.bidirectional)
+                    collectBidirectionalShortestPaths(vertex, memory);
+                else
+                    collectShortestPaths(vertex, memory);
                 return;
 
             case UPDATE_HALTED_TRAVERSERS:
@@ -251,6 +304,11 @@ public class ShortestPathVertexProgram implements VertexProgram<Triplet<Path, Ed
                 return;
         }
 
+        if (this.bidirectional) {
+            searchBidirectionally(vertex, messenger, memory);
+            return;
+        }
+
         boolean voteToHalt = true;
 
         if (memory.isInitialIteration()) {
@@ -340,6 +398,10 @@ public class ShortestPathVertexProgram implements VertexProgram<Triplet<Path, Ed
         if (memory.isInitialIteration() && this.haltedTraversersIndex != null) {
             this.haltedTraversersIndex.clear();
         }
+        if (this.bidirectional && memory.<Integer>get(STATE) == SEARCH) {
+            updateBidirectionalSearch(memory);
+            return false;
+        }
         final boolean voteToHalt = memory.get(VOTE_TO_HALT);
         if (voteToHalt) {
             final int state = memory.get(STATE);
@@ -384,6 +446,10 @@ public class ShortestPathVertexProgram implements VertexProgram<Triplet<Path, Ed
 
         options.add(shortName.apply(INCLUDE_EDGES) + "=" + this.includeEdges);
 
+        if (this.bidirectional) {
+            options.add(shortName.apply(BIDIRECTIONAL) + "=" + this.bidirectional);
+        }
+
         return StringFactory.vertexProgramString(this, String.join(", ", options));
     }
 
@@ -528,6 +594,204 @@ public class ShortestPathVertexProgram implements VertexProgram<Triplet<Path, Ed
         }
     }
 
+    /**
+     * Runs one iteration of the bidirectional search. The forward search starts at the source vertex and follows the
+     * edge traversal, the backward search starts at the target vertex and follows the reversed edge traversal. Both
+     * searches are breadth-first, but only the frontier selected in {@link #updateBidirectionalSearch(Memory)} is
+     * expanded in an iteration. Messages of the backward search carry negative distances, which is how a receiving
+     * vertex tells the two searches apart.
+     */
+    private void searchBidirectionally(final Vertex vertex, final Messenger<Triplet<Path, Edge, Number>> messenger,
+                                       final Memory memory) {
+
+        Map<Vertex, Pair<Number, Set<Path>>> forwardPaths;
+        Map<Vertex, Pair<Number, Set<Path>>> backwardPaths;
+        int frontier = 0;
+
+        if (memory.isInitialIteration()) {
+            copyHaltedTraversersFromMemory(vertex);
+            forwardPaths = isStartVertex(vertex) ? startPaths(vertex) : null;
+            backwardPaths = isEndVertex(vertex) ? startPaths(vertex) : null;
+            if (null != forwardPaths) frontier |= FORWARD;
+            if (null != backwardPaths) frontier |= BACKWARD;
+        } else {
+            forwardPaths = vertex.<Map<Vertex, Pair<Number, Set<Path>>>>property(PATHS).orElse(null);
+            backwardPaths = vertex.<Map<Vertex, Pair<Number, Set<Path>>>>property(BACKWARD_PATHS).orElse(null);
+            frontier = vertex.<Integer>property(FRONTIER).orElse(0);
+
+            final Iterator<Triplet<Path, Edge, Number>> iterator = messenger.receiveMessages();
+            while (iterator.hasNext()) {
+                final Triplet<Path, Edge, Number> triplet = iterator.next();
+                final int distance = triplet.getValue2().intValue();
+                if (distance < 0) {
+                    if (null == backwardPaths) backwardPaths = new HashMap<>();
+                    if (addShortestPath(backwardPaths, triplet, -distance, vertex)) frontier |= BACKWARD;
+                } else {
+                    if (null == forwardPaths) forwardPaths = new HashMap<>();
+                    if (addShortestPath(forwardPaths, triplet, distance, vertex)) frontier |= FORWARD;
+                }
+            }
+        }
+
+        // vertices that were not reached by any of the two searches have nothing to do
+        if (null == forwardPaths && null == backwardPaths) return;
+
+        if (null != forwardPaths && null != backwardPaths)
+            memory.add(MEETING_DISTANCE, getDistance(forwardPaths) + getDistance(backwardPaths));
+
+        if ((frontier & FORWARD) != 0) {
+            memory.add(FORWARD_FRONTIER_SIZE, 1L);
+            memory.add(FORWARD_DEPTH, getDistance(forwardPaths));
+        }
+        if ((frontier & BACKWARD) != 0) {
+            memory.add(BACKWARD_FRONTIER_SIZE, 1L);
+            memory.add(BACKWARD_DEPTH, getDistance(backwardPaths));
+        }
+
+        final int direction = memory.get(DIRECTION);
+        if ((frontier & direction) != 0) {
+            final boolean backward = BACKWARD == direction;
+            for (final Pair<Number, Set<Path>> pair : (backward ? backwardPaths : forwardPaths).values()) {
+                final int distance = pair.getValue0().intValue() + 1;
+                for (final Path path : pair.getValue1()) {
+                    expandPath(vertex, path, backward ? -distance : distance, backward, messenger);
+                }
+            }
+            frontier &= ~direction;
+        }
+
+        if (null != forwardPaths) vertex.property(VertexProperty.Cardinality.single, PATHS, forwardPaths);
+        if (null != backwardPaths) vertex.property(VertexProperty.Cardinality.single, BACKWARD_PATHS, backwardPaths);
+        vertex.property(VertexProperty.Cardinality.single, FRONTIER, frontier);
+    }
+
+    private static Map<Vertex, Pair<Number, Set<Path>>> startPaths(final Vertex vertex) {
+        final Map<Vertex, Pair<Number, Set<Path>>> paths = new HashMap<>();
+        final Set<Path> pathSet = new HashSet<>();
+        pathSet.add(makePath(vertex));
+        paths.put(vertex, Pair.with(0, pathSet));
+        return paths;
+    }
+
+    private static int getDistance(final Map<Vertex, Pair<Number, Set<Path>>> paths) {
+        return paths.values().iterator().next().getValue0().intValue();
+    }
+
+    /**
+     * Adds the path of the message to the shortest paths of the vertex and returns {@code true} if the path is one of
+     * the shortest. Since a frontier only holds vertices of the same depth, a vertex receives all of its shortest paths
+     * in the same iteration and any later message carries a longer path.
+     */
+    private boolean addShortestPath(final Map<Vertex, Pair<Number, Set<Path>>> paths,
+                                    final Triplet<Path, Edge, Number> triplet, final int distance, final Vertex vertex) {
+        final Path sourcePath = triplet.getValue0();
+        final Vertex sourceVertex = sourcePath.get(0);
+        final Pair<Number, Set<Path>> pair = paths.get(sourceVertex);
+        if (null == pair) {
+            final Set<Path> pathSet = new HashSet<>();
+            pathSet.add(extendPath(sourcePath, triplet.getValue1(), vertex));
+            paths.put(sourceVertex, Pair.with(distance, pathSet));
+            return true;
+        } else if (pair.getValue0().intValue() == distance) {
+            pair.getValue1().add(extendPath(sourcePath, triplet.getValue1(), vertex));
+            return true;
+        }
+        return false;
+    }
+
+    private void expandPath(final Vertex vertex, final Path currentPath, final int distance, final boolean backward,
+                            final Messenger<Triplet<Path, Edge, Number>> messenger) {
+
+        final Traversal.Admin<Vertex, Edge> edgeTraversal =
+                (backward ? this.reversedEdgeTraversal : this.edgeTraversal).getPure();
+        edgeTraversal.addStart(edgeTraversal.getTraverserGenerator().generate(vertex, edgeTraversal.getStartStep(), 1));
+
+        while (edgeTraversal.hasNext()) {
+            final Edge edge = edgeTraversal.next();
+
+            Vertex otherV = edge.inVertex();
+            if (otherV.equals(vertex))
+                otherV = edge.outVertex();
+
+            if (!currentPath.objects().contains(otherV)) {
+                messenger.sendMessage(MessageScope.Global.of(otherV),
+                        Triplet.with(currentPath, this.includeEdges ? edge : null, distance));
+            }
+        }
+    }
+
+    /**
+     * Decides how the bidirectional search continues after an iteration. The search stops as soon as both searches
+     * met, since the first meeting already determines the length of all shortest paths. Otherwise the next iteration
+     * expands the smaller frontier, which keeps the number of visited vertices and sent messages low on graphs where
+     * one of the two sides fans out quickly.
+     */
+    private void updateBidirectionalSearch(final Memory memory) {
+        final long forwardFrontierSize = memory.get(FORWARD_FRONTIER_SIZE);
+        final long backwardFrontierSize = memory.get(BACKWARD_FRONTIER_SIZE);
+        // loadState() rejects the searches known to have several sources or targets, but a filter may still select
+        // several vertices which only shows once the search starts
+        if (memory.isInitialIteration() && (forwardFrontierSize > 1 || backwardFrontierSize > 1))
+            throw new IllegalStateException("The bidirectional shortest path search requires a single source and a single target vertex");
+
+        final int depth = memory.<Number>get(FORWARD_DEPTH).intValue() + memory.<Number>get(BACKWARD_DEPTH).intValue();
+        if (memory.<Number>get(MEETING_DISTANCE).intValue() < Integer.MAX_VALUE
+                || forwardFrontierSize == 0 || backwardFrontierSize == 0
+                || (null != this.maxDistance && NumberHelper.compare(depth, this.maxDistance) >= 0)) {
+            memory.set(STATE, COLLECT_PATHS);
+        } else {
+            memory.set(DIRECTION, forwardFrontierSize <= backwardFrontierSize ? FORWARD : BACKWARD);
+        }
+        memory.set(FORWARD_FRONTIER_SIZE, 0L);
+        memory.set(BACKWARD_FRONTIER_SIZE, 0L);
+    }
+
+    /**
+     * Joins the forward and backward paths of all vertices where both searches met at the shortest distance. Every
+     * shortest path passes exactly one such vertex at the depth of the forward search, so only those vertices join
+     * their paths.
+     */
+    private void collectBidirectionalShortestPaths(final Vertex vertex, final Memory memory) {
+
+        final VertexProperty<Map<Vertex, Pair<Number, Set<Path>>>> forwardProperty = vertex.property(PATHS);
+        final VertexProperty<Map<Vertex, Pair<Number, Set<Path>>>> backwardProperty = vertex.property(BACKWARD_PATHS);
+
+        if (forwardProperty.isPresent()) {
+            final List<Path> result = new ArrayList<>();
+            if (backwardProperty.isPresent()) {
+                final int forwardDistance = getDistance(forwardProperty.value());
+                final int distance = memory.<Number>get(MEETING_DISTANCE).intValue();
+                if (forwardDistance == memory.<Number>get(FORWARD_DEPTH).intValue()
+                        && forwardDistance + getDistance(backwardProperty.value()) == distance
+                        && (null == this.maxDistance || NumberHelper.compare(distance, this.maxDistance) <= 0)) {
+                    final Set<Path> backwardPaths = backwardProperty.value().values().iterator().next().getValue1();
+                    for (final Path forwardPath : forwardProperty.value().values().iterator().next().getValue1()) {
+                        for (final Path backwardPath : backwardPaths) {
+                            result.add(joinPaths(forwardPath, backwardPath));
+                        }
+                    }
+                }
+            }
+            forwardProperty.remove();
+            memory.add(SHORTEST_PATHS, result);
+        }
+
+        if (backwardProperty.isPresent()) backwardProperty.remove();
+
+        final VertexProperty<Integer> frontierProperty = vertex.property(FRONTIER);
+        if (frontierProperty.isPresent()) frontierProperty.remove();
+    }
+
+    private static Path joinPaths(final Path forwardPath, final Path backwardPath) {
+        // the backward path runs from the target to the meeting vertex, which is already the end of the forward path
+        Path result = forwardPath;
+        final List<Object> objects = backwardPath.objects();
+        for (int i = objects.size() - 2; i >= 0; i--) {
+            result = result.extend(objects.get(i), Collections.emptySet());
+        }
+        return result;
+    }
+
     //////////////////////////////
 
     public static Builder build() {
@@ -590,6 +854,16 @@ public class ShortestPathVertexProgram implements VertexProgram<Triplet<Path, Ed
             this.configuration.setProperty(INCLUDE_EDGES, include);
             return this;
         }
+
+        /**
+         * Searches from the source and the target vertex at the same time, always expanding the side with the smaller
+         * frontier, until both searches meet. This requires a single source and a single target vertex and the
+         * distance to be the number of hops.
+         */
+        public Builder bidirectional(final boolean bidirectional) {
+            this.configuration.setProperty(BIDIRECTIONAL, bidirectional);
+            return this;
+        }
     }
 
     ////////////////////////////
@@ -42,4 +42,11 @@ public class ConnectedComponent {
      * Configures the name of the property within which to store the pagerank value.
      */
     public static final String propertyName = Graph.Hidden.hide("tinkerpop.connectedComponent.propertyName");
+
+    /**
+     * Configures whether to gather the components in a union-find structure held in the {@code Memory} instead of
+     * passing messages. The structure is as large as the vertex set, so it is only meant for single machine graph
+     * computers.
+     */
+    public static final String unionFind = Graph.Hidden.hide("tinkerpop.connectedComponent.unionFind");
 }
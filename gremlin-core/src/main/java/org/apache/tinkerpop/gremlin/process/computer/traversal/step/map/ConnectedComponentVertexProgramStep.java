@@ -39,6 +39,7 @@ import org.apache.tinkerpop.gremlin.util.Serializer;
 
 import java.io.IOException;
 import java.util.Base64;
+import java.util.Objects;
 
 /**
  * @author Stephen Mallette (http://stephen.genoprime.com)
@@ -48,6 +49,11 @@ public final class ConnectedComponentVertexProgramStep extends VertexProgramStep
     private Parameters parameters = new Parameters();
     private PureTraversal<Vertex, Edge> edgeTraversal;
     private String clusterProperty = ConnectedComponentVertexProgram.COMPONENT;
+    /**
+     * Whether to use the union-find version of the program, or {@code null} when {@link ConnectedComponent#unionFind}
+     * was not given and a strategy of the graph computer may choose.
+     */
+    private Boolean unionFind = null;
 
     public ConnectedComponentVertexProgramStep(final Traversal.Admin traversal) {
         super(traversal);
@@ -65,6 +71,10 @@ public final class ConnectedComponentVertexProgramStep extends VertexProgramStep
             if (!(keyValues[1] instanceof String))
                 throw new IllegalArgumentException("ConnectedComponent.propertyName requires a String as its argument");
             this.clusterProperty = (String) keyValues[1];
+        } else if (keyValues[0].equals(ConnectedComponent.unionFind)) {
+            if (!(keyValues[1] instanceof Boolean))
+                throw new IllegalArgumentException("ConnectedComponent.unionFind requires a Boolean as its argument");
+            this.unionFind = (Boolean) keyValues[1];
         } else {
             this.parameters.set(this, keyValues);
         }
@@ -77,7 +87,15 @@ public final class ConnectedComponentVertexProgramStep extends VertexProgramStep
 
     @Override
     public int hashCode() {
-        return super.hashCode() ^ this.clusterProperty.hashCode();
+        return super.hashCode() ^ this.clusterProperty.hashCode() ^ Objects.hashCode(this.unionFind);
+    }
+
+    /**
+     * Determines if the traversal chose for or against the union-find version with {@link ConnectedComponent#unionFind},
+     * which a strategy of the graph computer should not override.
+     */
+    public boolean isUnionFindConfigured() {
+        return null != this.unionFind;
     }
 
     @Override
@@ -92,7 +110,9 @@ public final class ConnectedComponentVertexProgramStep extends VertexProgramStep
 
         final ConnectedComponentVertexProgram.Builder builder = ConnectedComponentVertexProgram.build().
                 edges(detachedTraversal).
-                property(this.clusterProperty);
+                property(this.clusterProperty).
+                // a vertex filter excludes vertices whose edges would still join components in the union-find version
+                unionFind(Boolean.TRUE.equals(this.unionFind) && null == this.getComputer().getVertices());
 
         if (memory.exists(TraversalVertexProgram.HALTED_TRAVERSERS)) {
             final TraverserSet<?> haltedTraversers = memory.get(TraversalVertexProgram.HALTED_TRAVERSERS);
@@ -55,6 +55,12 @@ public class ShortestPath {
      */
     public static final String includeEdges = Graph.Hidden.hide("tinkerpop.shortestPath.includeEdges");
 
+    /**
+     * Configures the search to start from the source and the target vertex at the same time. This requires a single
+     * source and a single target vertex and the distance to be the number of hops.
+     */
+    public static final String bidirectional = Graph.Hidden.hide("tinkerpop.shortestPath.bidirectional");
+
     static boolean configure(final ShortestPathVertexProgramStep step, final String key, final Object value) {
 
         if (target.equals(key)) {
@@ -103,6 +109,13 @@ public class ShortestPath {
             }
             else throw new IllegalArgumentException("ShortestPath.includeEdges requires a Boolean as its argument");
         }
+        else if (bidirectional.equals(key)) {
+            if (value instanceof Boolean) {
+                step.setBidirectional((Boolean) value);
+                return true;
+            }
+            else throw new IllegalArgumentException("ShortestPath.bidirectional requires a Boolean as its argument");
+        }
         return false;
     }
 }
@@ -56,6 +56,7 @@ public final class ShortestPathVertexProgramStep extends VertexProgramStep imple
     private PureTraversal<Edge, Number> distanceTraversal = ShortestPathVertexProgram.DEFAULT_DISTANCE_TRAVERSAL.clone();
     private Number maxDistance;
     private boolean includeEdges;
+    private boolean bidirectional;
 
     public ShortestPathVertexProgramStep(final Traversal.Admin<?, ?> traversal) {
         super(traversal);
@@ -81,6 +82,10 @@ public final class ShortestPathVertexProgramStep extends VertexProgramStep imple
         this.includeEdges = includeEdges;
     }
 
+    void setBidirectional(final boolean bidirectional) {
+        this.bidirectional = bidirectional;
+    }
+
     @Override
     public void configure(final Object... keyValues) {
         if (!ShortestPath.configure(this, (String) keyValues[0], keyValues[1])) {
@@ -121,7 +126,8 @@ public final class ShortestPathVertexProgramStep extends VertexProgramStep imple
                 .edgeTraversal(this.edgeTraversal.getPure())
                 .distanceTraversal(this.distanceTraversal.getPure())
                 .maxDistance(this.maxDistance)
-                .includeEdges(this.includeEdges);
+                .includeEdges(this.includeEdges)
+                .bidirectional(this.bidirectional);
 
         //noinspection unchecked
         final PureTraversal pureRootTraversal = new PureTraversal<>(this.traversal);
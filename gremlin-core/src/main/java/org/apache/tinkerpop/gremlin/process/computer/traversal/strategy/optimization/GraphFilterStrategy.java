@@ -24,12 +24,27 @@ import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
 import org.apache.tinkerpop.gremlin.process.computer.traversal.step.map.TraversalVertexProgramStep;
 import org.apache.tinkerpop.gremlin.process.computer.traversal.step.map.VertexProgramStep;
 import org.apache.tinkerpop.gremlin.process.computer.util.EmptyMemory;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.process.traversal.step.LambdaHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.SideEffectCapable;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.CountGlobalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.IdStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.LabelStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.MaxGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.MeanGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.MinGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.PropertiesStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.PropertyKeyStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.PropertyMapStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.PropertyValueStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.SumGlobalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.structure.Direction;
@@ -38,6 +53,7 @@ import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.EnumMap;
 import java.util.HashSet;
@@ -50,6 +66,18 @@ import java.util.Set;
 public final class GraphFilterStrategy extends AbstractTraversalStrategy<TraversalStrategy.OptimizationStrategy> implements TraversalStrategy.OptimizationStrategy {
 
     private static final GraphFilterStrategy INSTANCE = new GraphFilterStrategy();
+    private static final Set<Class> SCALAR_END_STEPS = new HashSet<>(Arrays.asList(
+            CountGlobalStep.class,
+            SumGlobalStep.class,
+            MeanGlobalStep.class,
+            MinGlobalStep.class,
+            MaxGlobalStep.class,
+            IdStep.class,
+            LabelStep.class,
+            PropertiesStep.class,
+            PropertyMapStep.class,
+            PropertyKeyStep.class,
+            PropertyValueStep.class));
 
     private GraphFilterStrategy() {
     }
@@ -63,12 +91,25 @@ public final class GraphFilterStrategy extends AbstractTraversalStrategy<Travers
             final Traversal.Admin<?, ?> computerTraversal = step.generateProgram(graph, EmptyMemory.instance()).getTraversal().get().clone();
             if (!computerTraversal.isLocked())
                 computerTraversal.applyStrategies();
-            final Computer computer = step.getComputer();
+            Computer computer = step.getComputer();
             if (null == computer.getEdges() && !GraphComputer.Persist.EDGES.equals(computer.getPersist())) {  // if edges() already set, use it
                 final Traversal.Admin<Vertex, Edge> edgeFilter = getEdgeFilter(computerTraversal);
                 if (null != edgeFilter)  // if no edges can be filtered, then don't set edges()
-                    step.setComputer(computer.edges(edgeFilter));
+                    computer = computer.edges(edgeFilter);
             }
+            // vertices and properties that are not loaded can not be persisted, so only filter them if nothing is persisted
+            final boolean persistNothing = null == computer.getPersist() || GraphComputer.Persist.NOTHING.equals(computer.getPersist());
+            if (persistNothing && null == computer.getVertices()) {  // if vertices() already set, use it
+                final Traversal.Admin<Vertex, Vertex> vertexFilter = getVertexFilter(computerTraversal);
+                if (null != vertexFilter)  // if no vertices can be filtered, then don't set vertices()
+                    computer = computer.vertices(vertexFilter);
+            }
+            if (persistNothing && null == computer.getProperties()) {  // if properties() already set, use it
+                final Set<String> propertyKeys = getPropertyKeys(computerTraversal);
+                if (null != propertyKeys)  // if any property may be accessed, then don't set properties()
+                    computer = computer.properties(propertyKeys.toArray(new String[propertyKeys.size()]));
+            }
+            step.setComputer(computer);
         }
     }
 
@@ -133,6 +174,31 @@ public final class GraphFilterStrategy extends AbstractTraversalStrategy<Travers
         }
     }
 
+    protected static Traversal.Admin<Vertex, Vertex> getVertexFilter(final Traversal.Admin<?, ?> traversal) {
+        if (!(traversal.getStartStep() instanceof GraphStep) || !((GraphStep) traversal.getStartStep()).returnsVertex() ||
+                0 != ((GraphStep) traversal.getStartStep()).getIds().length)
+            return null; // only a traversal over all vertices has its start vertices filtered
+        if (TraversalHelper.getStepsOfAssignableClassRecursively(GraphStep.class, traversal).size() > 1 ||
+                TraversalHelper.hasStepOfAssignableClassRecursively(VertexStep.class, traversal) ||
+                TraversalHelper.hasStepOfAssignableClassRecursively(LambdaHolder.class, traversal))
+            return null; // if the traversal can reach other vertices than its start vertices, they must all be loaded
+        final Traversal.Admin<Vertex, Vertex> vertexFilter = __.<Vertex>start().asAdmin();
+        Step<?, ?> step = traversal.getStartStep().getNextStep();
+        while (step instanceof HasStep) {
+            vertexFilter.addStep(new HasStep<>(vertexFilter, ((HasStep<?>) step).getHasContainers().toArray(new HasContainer[0])));
+            step = step.getNextStep();
+        }
+        return vertexFilter.getSteps().isEmpty() ? null : vertexFilter;
+    }
+
+    protected static Set<String> getPropertyKeys(final Traversal.Admin<?, ?> traversal) {
+        if (!SCALAR_END_STEPS.contains(traversal.getEndStep().getClass()))
+            return null; // results that are elements may be detached with all their properties
+        if (TraversalHelper.hasStepOfAssignableClassRecursively(SideEffectCapable.class, traversal))
+            return null; // side-effects may hold elements that are detached with all their properties
+        return TraversalHelper.getPropertyKeys(traversal);
+    }
+
     public static GraphFilterStrategy instance() {
         return INSTANCE;
     }
@@ -19,6 +19,7 @@
 package org.apache.tinkerpop.gremlin.process.traversal.util;
 
 import org.apache.tinkerpop.gremlin.process.computer.traversal.step.map.TraversalVertexProgramStep;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
 import org.apache.tinkerpop.gremlin.process.traversal.Scope;
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
@@ -27,7 +28,10 @@ import org.apache.tinkerpop.gremlin.process.traversal.lambda.AbstractLambdaTrave
 import org.apache.tinkerpop.gremlin.process.traversal.lambda.ValueTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.lambda.TokenTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.step.ByModulating;
+import org.apache.tinkerpop.gremlin.process.traversal.step.ComparatorHolder;
 import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.LambdaHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Mutating;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Scoping;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.branch.RepeatStep;
@@ -37,6 +41,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.filter.NotStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.WherePredicateStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.WhereTraversalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.EdgeVertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.ElementMapStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.LabelStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.MatchStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.PropertiesStep;
@@ -51,9 +56,11 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.javatuples.Pair;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
@@ -93,6 +100,63 @@ public final class TraversalHelper {
         return true;
     }
 
+    /**
+     * Gets the keys of the properties that the traversal may access on the elements it processes.
+     *
+     * @param traversal the traversal to analyze
+     * @return the accessed property keys or {@code null} if the traversal may access any property, as it does with
+     * keyless {@code properties()} and {@code valueMap()}, {@code elementMap()}, mutations and lambdas.
+     */
+    public static Set<String> getPropertyKeys(final Traversal.Admin<?, ?> traversal) {
+        final Set<String> propertyKeys = new HashSet<>();
+        return addPropertyKeys(traversal, propertyKeys) ? propertyKeys : null;
+    }
+
+    private static boolean addPropertyKeys(final Traversal.Admin<?, ?> traversal, final Set<String> propertyKeys) {
+        if (traversal instanceof ValueTraversal)
+            propertyKeys.add(((ValueTraversal<?, ?>) traversal).getPropertyKey());
+        for (final Step<?, ?> step : traversal.getSteps()) {
+            if (step instanceof LambdaHolder || step instanceof Mutating || step instanceof ElementMapStep)
+                return false;
+            if (step instanceof PropertiesStep || step instanceof PropertyMapStep) {
+                final String[] keys = step instanceof PropertiesStep ?
+                        ((PropertiesStep<?>) step).getPropertyKeys() :
+                        ((PropertyMapStep<?, ?>) step).getPropertyKeys();
+                if (0 == keys.length)
+                    return false;
+                Collections.addAll(propertyKeys, keys);
+            }
+            if (step instanceof HasContainerHolder) {
+                for (final HasContainer hasContainer : ((HasContainerHolder) step).getHasContainers()) {
+                    if (null != hasContainer.getKey() && !isTokenAccessor(hasContainer.getKey()))
+                        propertyKeys.add(hasContainer.getKey());
+                }
+            }
+            if (step instanceof ComparatorHolder) {
+                for (final Pair<?, ?> pair : ((ComparatorHolder<?, ?>) step).getComparators()) {
+                    if (!(pair.getValue1() instanceof Order))
+                        return false; // a lambda comparator may read any property
+                }
+            }
+            if (step instanceof TraversalParent) {
+                for (final Traversal.Admin<?, ?> local : ((TraversalParent) step).getLocalChildren()) {
+                    if (!addPropertyKeys(local, propertyKeys))
+                        return false;
+                }
+                for (final Traversal.Admin<?, ?> global : ((TraversalParent) step).getGlobalChildren()) {
+                    if (!addPropertyKeys(global, propertyKeys))
+                        return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean isTokenAccessor(final String key) {
+        return key.equals(T.id.getAccessor()) || key.equals(T.label.getAccessor()) ||
+                key.equals(T.key.getAccessor()) || key.equals(T.value.getAccessor());
+    }
+
     public static boolean isLocalStarGraph(final Traversal.Admin<?, ?> traversal) {
         return 'x' != isLocalStarGraph(traversal, 'v');
     }
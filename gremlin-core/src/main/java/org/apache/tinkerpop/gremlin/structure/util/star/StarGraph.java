@@ -575,11 +575,30 @@ public final class StarGraph implements Graph, Serializable {
                             this.inEdges = inEdges;
                     }
                 }
+                if (graphFilter.hasPropertyProjection())
+                    this.dropProperties(graphFilter);
                 return Optional.of(this);
             } else {
                 return Optional.empty();
             }
         }
+
+        private void dropProperties(final GraphFilter graphFilter) {
+            if (null != this.vertexProperties) {
+                for (final String key : new HashSet<>(this.vertexProperties.keySet())) {
+                    if (GraphFilter.Legal.YES != graphFilter.checkPropertyLegality(key)) {
+                        final List<VertexProperty> properties = this.vertexProperties.remove(key);
+                        if (null != metaProperties)
+                            properties.forEach(property -> metaProperties.remove(property.id()));
+                    }
+                }
+            }
+            if (null != edgeProperties) {
+                for (final Map<String, Object> properties : edgeProperties.values()) {
+                    properties.keySet().removeIf(key -> GraphFilter.Legal.YES != graphFilter.checkPropertyLegality(key));
+                }
+            }
+        }
     }
 
     ///////////////////////////////
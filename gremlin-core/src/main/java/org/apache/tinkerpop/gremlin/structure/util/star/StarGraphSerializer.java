@@ -78,7 +78,14 @@ public class StarGraphSerializer implements SerializerShim<StarGraph> {
     }
 
     /**
-     * If the returned {@link StarGraph} is null, that means that the {@link GraphFilter} filtered the vertex.
+     * If the returned {@link StarGraph} is null, that means that the {@link GraphFilter} filtered the vertex. The input
+     * is always left at the end of the serialized vertex, but once the label of the vertex is known to be illegal its
+     * edges and properties are only read past rather than added to the {@link StarGraph}.
+     * <p/>
+     * The version 1 format writes the edge and meta-property maps ahead of the label and has no lengths to skip by, so
+     * a rejected vertex and the values of the keys that are projected out are still decoded in full. Formats that need
+     * to skip whole vertices carry the label and length outside of this serialization, like the
+     * {@code BlockGryoInputFormat} of {@code hadoop-gremlin}.
      */
     @Override
     public <I extends InputShim> StarGraph read(final KryoShim<I, ?> kryo, final I input, final Class<StarGraph> clazz) {
@@ -86,21 +93,33 @@ public class StarGraphSerializer implements SerializerShim<StarGraph> {
         input.readByte();  // version field ignored for now - for future use with backward compatibility
         starGraph.edgeProperties = kryo.readObjectOrNull(input, HashMap.class);
         starGraph.metaProperties = kryo.readObjectOrNull(input, HashMap.class);
-        starGraph.addVertex(T.id, kryo.readClassAndObject(input), T.label, kryo.readObject(input, String.class));
-        readEdges(kryo, input, starGraph, Direction.IN);
-        readEdges(kryo, input, starGraph, Direction.OUT);
+        final Object id = kryo.readClassAndObject(input);
+        final String label = kryo.readObject(input, String.class);
+        // a vertex whose label the graph filter rejects is still read to its end so that the input is left at the next
+        // vertex, but none of its edges and properties are kept
+        final boolean legalLabel = !this.graphFilter.checkVertexLabelLegality(label).negative();
+        if (legalLabel)
+            starGraph.addVertex(T.id, id, T.label, label);
+        readEdges(kryo, input, starGraph, Direction.IN, legalLabel);
+        readEdges(kryo, input, starGraph, Direction.OUT, legalLabel);
         if (kryo.readObject(input, Boolean.class)) {
             final int numberOfUniqueKeys = kryo.readObject(input, Integer.class);
             for (int i = 0; i < numberOfUniqueKeys; i++) {
                 final String vertexPropertyKey = kryo.readObject(input, String.class);
                 final int numberOfVertexPropertiesWithKey = kryo.readObject(input, Integer.class);
+                final boolean legal = legalLabel && !this.graphFilter.checkPropertyLegality(vertexPropertyKey).negative();
                 for (int j = 0; j < numberOfVertexPropertiesWithKey; j++) {
-                    final Object id = kryo.readClassAndObject(input);
+                    final Object vertexPropertyId = kryo.readClassAndObject(input);
                     final Object value = kryo.readClassAndObject(input);
-                    starGraph.starVertex.property(VertexProperty.Cardinality.list, vertexPropertyKey, value, T.id, id);
+                    if (legal)
+                        starGraph.starVertex.property(VertexProperty.Cardinality.list, vertexPropertyKey, value, T.id, vertexPropertyId);
+                    else if (null != starGraph.metaProperties)
+                        starGraph.metaProperties.remove(vertexPropertyId);
                 }
             }
         }
+        if (!legalLabel)
+            return null;
         return this.graphFilter.hasFilter() ? starGraph.applyGraphFilter(this.graphFilter).orElse(null) : starGraph;
     }
 
@@ -124,7 +143,7 @@ public class StarGraphSerializer implements SerializerShim<StarGraph> {
         }
     }
 
-    private <I extends InputShim> void readEdges(final KryoShim<I, ?> kryo, final I input, final StarGraph starGraph, final Direction direction) {
+    private <I extends InputShim> void readEdges(final KryoShim<I, ?> kryo, final I input, final StarGraph starGraph, final Direction direction, final boolean keep) {
         if (kryo.readObject(input, Boolean.class)) {
             final int numberOfUniqueLabels = kryo.readObject(input, Integer.class);
             for (int i = 0; i < numberOfUniqueLabels; i++) {
@@ -133,6 +152,8 @@ public class StarGraphSerializer implements SerializerShim<StarGraph> {
                 for (int j = 0; j < numberOfEdgesWithLabel; j++) {
                     final Object edgeId = kryo.readClassAndObject(input);
                     final Object adjacentVertexId = kryo.readClassAndObject(input);
+                    if (!keep)
+                        continue;
                     if (this.graphFilter.checkEdgeLegality(direction, edgeLabel).positive()) {
                         if (direction.equals(Direction.OUT))
                             starGraph.starVertex.addOutEdge(edgeLabel, starGraph.addVertex(T.id, adjacentVertexId), T.id, edgeId);
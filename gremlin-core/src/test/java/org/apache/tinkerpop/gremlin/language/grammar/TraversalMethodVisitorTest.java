@@ -20,6 +20,7 @@ package org.apache.tinkerpop.gremlin.language.grammar;
 
 import org.antlr.v4.runtime.CharStreams;
 import org.antlr.v4.runtime.CommonTokenStream;
+import org.apache.tinkerpop.gremlin.process.computer.traversal.step.map.ConnectedComponent;
 import org.apache.tinkerpop.gremlin.process.computer.traversal.step.map.PageRank;
 import org.apache.tinkerpop.gremlin.process.computer.traversal.step.map.PeerPressure;
 import org.apache.tinkerpop.gremlin.process.computer.traversal.step.map.ShortestPath;
@@ -1087,6 +1088,18 @@ public class TraversalMethodVisitorTest {
                 eval("g.V().shortestPath().with(ShortestPath.includeEdges, true)"));
     }
 
+    @Test
+    public void testTraversalMethod_connectedComponent_withUnionFind() throws Exception {
+        compare(g.V().connectedComponent().with(ConnectedComponent.unionFind, true),
+                eval("g.V().connectedComponent().with(ConnectedComponent.unionFind, true)"));
+    }
+
+    @Test
+    public void testTraversalMethod_shortestPath_withBidirectional() throws Exception {
+        compare(g.V().shortestPath().with(ShortestPath.bidirectional, true),
+                eval("g.V().shortestPath().with(ShortestPath.bidirectional, true)"));
+    }
+
     @Test
     public void testTraversalMethod_shortestPath_withDistance() throws Exception {
         compare(g.V().shortestPath().with(ShortestPath.distance, "asd"),
@@ -19,6 +19,7 @@
 
 package org.apache.tinkerpop.gremlin.process.computer;
 
+import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
@@ -327,4 +328,59 @@ public class GraphFilterTest {
         assertEquals(GraphFilter.Legal.MAYBE, graphFilter.checkEdgeLegality(Direction.IN, "created"));
         assertEquals(GraphFilter.Legal.MAYBE, graphFilter.checkEdgeLegality(Direction.BOTH, "created"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldHaveProperVertexLabelLegality() {
+        GraphFilter graphFilter = new GraphFilter();
+        assertEquals(GraphFilter.Legal.YES, graphFilter.checkVertexLabelLegality("person"));
+        //
+        graphFilter = new GraphFilter();
+        graphFilter.setVertexFilter(__.hasLabel("person", "software"));
+        assertEquals(GraphFilter.Legal.YES, graphFilter.checkVertexLabelLegality("person"));
+        assertEquals(GraphFilter.Legal.YES, graphFilter.checkVertexLabelLegality("software"));
+        assertEquals(GraphFilter.Legal.NO, graphFilter.checkVertexLabelLegality("song"));
+        //
+        graphFilter = new GraphFilter();
+        graphFilter.setVertexFilter(__.<Vertex>hasLabel("person").has("age", P.gt(30)));
+        assertEquals(GraphFilter.Legal.MAYBE, graphFilter.checkVertexLabelLegality("person"));
+        assertEquals(GraphFilter.Legal.NO, graphFilter.checkVertexLabelLegality("software"));
+        //
+        graphFilter = new GraphFilter();
+        graphFilter.setVertexFilter(__.<Vertex>has("age", P.gt(30)).hasLabel("person"));
+        assertEquals(GraphFilter.Legal.MAYBE, graphFilter.checkVertexLabelLegality("person"));
+        assertEquals(GraphFilter.Legal.NO, graphFilter.checkVertexLabelLegality("software"));
+        //
+        graphFilter = new GraphFilter();
+        graphFilter.setVertexFilter(__.<Vertex>filter(v -> v.get().label().equals("person")));  // lambdas can not be introspected
+        assertEquals(GraphFilter.Legal.MAYBE, graphFilter.checkVertexLabelLegality("person"));
+        assertEquals(GraphFilter.Legal.MAYBE, graphFilter.checkVertexLabelLegality("software"));
+    }
+
+    @Test
+    public void shouldHaveProperPropertyLegality() {
+        GraphFilter graphFilter = new GraphFilter();
+        assertFalse(graphFilter.hasPropertyProjection());
+        assertEquals(GraphFilter.Legal.YES, graphFilter.checkPropertyLegality("name"));
+        //
+        graphFilter = new GraphFilter();
+        graphFilter.setPropertyProjection(new HashSet<>(Arrays.asList("name", "weight")));
+        assertTrue(graphFilter.hasFilter());
+        assertTrue(graphFilter.hasPropertyProjection());
+        assertEquals(new HashSet<>(Arrays.asList("name", "weight")), graphFilter.getPropertyProjection());
+        assertEquals(GraphFilter.Legal.YES, graphFilter.checkPropertyLegality("name"));
+        assertEquals(GraphFilter.Legal.YES, graphFilter.checkPropertyLegality("weight"));
+        assertEquals(GraphFilter.Legal.NO, graphFilter.checkPropertyLegality("age"));
+        //
+        graphFilter.setVertexFilter(__.has("age", P.gt(30)));
+        graphFilter.setEdgeFilter(__.outE("knows").has("since"));
+        assertEquals(GraphFilter.Legal.YES, graphFilter.checkPropertyLegality("name"));
+        assertEquals(GraphFilter.Legal.MAYBE, graphFilter.checkPropertyLegality("age"));
+        assertEquals(GraphFilter.Legal.MAYBE, graphFilter.checkPropertyLegality("since"));
+        assertEquals(GraphFilter.Legal.NO, graphFilter.checkPropertyLegality("lang"));
+        assertEquals(graphFilter, graphFilter.clone());
+        //
+        graphFilter.setVertexFilter(__.<Vertex>filter(v -> v.get().property("lang").isPresent()));  // lambdas can not be introspected
+        assertEquals(GraphFilter.Legal.YES, graphFilter.checkPropertyLegality("name"));
+        assertEquals(GraphFilter.Legal.MAYBE, graphFilter.checkPropertyLegality("lang"));
+    }
+}
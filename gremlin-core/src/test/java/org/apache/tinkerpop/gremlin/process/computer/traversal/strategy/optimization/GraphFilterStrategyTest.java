@@ -19,6 +19,7 @@
 
 package org.apache.tinkerpop.gremlin.process.computer.traversal.strategy.optimization;
 
+import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.junit.Test;
@@ -26,6 +27,8 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
 
 import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.as;
 import static org.junit.Assert.assertEquals;
@@ -42,33 +45,62 @@ public class GraphFilterStrategyTest {
     @Parameterized.Parameter(value = 1)
     public Traversal edgeFilter;
 
+    @Parameterized.Parameter(value = 2)
+    public Traversal vertexFilter;
+
+    @Parameterized.Parameter(value = 3)
+    public Set<String> propertyKeys;
+
 
     @Test
     public void doTest() {
         assertEquals(GraphFilterStrategy.instance().getEdgeFilter(this.original.asAdmin()), this.edgeFilter);
     }
 
+    @Test
+    public void shouldGetVertexFilter() {
+        assertEquals(this.vertexFilter, GraphFilterStrategy.getVertexFilter(this.original.asAdmin()));
+    }
+
+    @Test
+    public void shouldGetPropertyKeys() {
+        assertEquals(this.propertyKeys, GraphFilterStrategy.getPropertyKeys(this.original.asAdmin()));
+    }
+
+    private static Set<String> keys(final String... keys) {
+        return new HashSet<>(Arrays.asList(keys));
+    }
+
     @Parameterized.Parameters(name = "{0}")
     public static Iterable<Object[]> generateTestParameters() {
 
-        return Arrays.asList(new Traversal[][]{
-                {__.V().count(), __.bothE().limit(0)},
-                {__.V().both().has("name"), null},
-                {__.bothE(), null},
-                {__.V().outE(), __.outE()},
-                {__.V().in(), __.inE()},
-                {__.V().local(__.outE("knows", "created").limit(10)), __.outE("knows", "created")},
-                {__.out("created"), __.outE("created")},
-                {__.in("created", "knows"), __.inE("created", "knows")},
-                {__.V().both("created"), __.bothE("created")},
-                {__.V().out("created").repeat(__.both("knows")).until(__.inE("bought", "likes")).outE("likes"), __.union(__.outE("created"), __.bothE("bought", "knows", "likes"))},
-                {__.union(__.inE("created"), __.bothE()), null},
-                {__.union(__.inE("created"), __.outE("created")), __.bothE("created")},
-                {__.union(__.inE("knows"), __.outE("created")), __.union(__.outE("created"), __.bothE("knows"))},
-                {__.union(__.inE("knows", "created"), __.outE("created")), __.bothE("knows", "created")},
+        return Arrays.asList(new Object[][]{
+                {__.V().count(), __.bothE().limit(0), null, keys()},
+                {__.V().both().has("name"), null, null, null},
+                {__.bothE(), null, null, null},
+                {__.V().outE(), __.outE(), null, null},
+                {__.V().in(), __.inE(), null, null},
+                {__.V().local(__.outE("knows", "created").limit(10)), __.outE("knows", "created"), null, null},
+                {__.out("created"), __.outE("created"), null, null},
+                {__.in("created", "knows"), __.inE("created", "knows"), null, null},
+                {__.V().both("created"), __.bothE("created"), null, null},
+                {__.V().out("created").repeat(__.both("knows")).until(__.inE("bought", "likes")).outE("likes"), __.union(__.outE("created"), __.bothE("bought", "knows", "likes")), null, null},
+                {__.union(__.inE("created"), __.bothE()), null, null, null},
+                {__.union(__.inE("created"), __.outE("created")), __.bothE("created"), null, null},
+                {__.union(__.inE("knows"), __.outE("created")), __.union(__.outE("created"), __.bothE("knows")), null, null},
+                {__.union(__.inE("knows", "created"), __.outE("created")), __.bothE("knows", "created"), null, null},
                 {__.V().out().out().match(
                         as("a").in("created").as("b"),
-                        as("b").in("knows").as("c")).select("c").out("created").values("name"), null}
+                        as("b").in("knows").as("c")).select("c").out("created").values("name"), null, null, keys("name")},
+                {__.V().hasLabel("person").count(), __.bothE().limit(0), __.hasLabel("person"), keys()},
+                {__.V().hasLabel("person").has("age", P.gt(30)).values("name"), __.bothE().limit(0), __.hasLabel("person").has("age", P.gt(30)), keys("name", "age")},
+                {__.V().hasLabel("person").order().by("age").valueMap("name"), __.bothE().limit(0), __.hasLabel("person"), keys("name", "age")},
+                {__.V().hasLabel("person").valueMap(), __.bothE().limit(0), __.hasLabel("person"), null},
+                {__.V().hasLabel("person").aggregate("x").count(), __.bothE().limit(0), __.hasLabel("person"), null},
+                {__.V().hasLabel("person"), __.bothE().limit(0), __.hasLabel("person"), null},
+                {__.V().hasLabel("person").out("created").count(), __.outE("created"), null, keys()},
+                {__.V(1).has("name", "marko").count(), __.bothE().limit(0), null, keys("name")},
+                {__.V().has("name", "marko").map(v -> v.get().value("age")), null, null, null}
         });
     }
 }
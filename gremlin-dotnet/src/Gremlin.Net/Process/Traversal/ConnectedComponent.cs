@@ -40,6 +40,8 @@ namespace Gremlin.Net.Process.Traversal
         
             public const String propertyName = "~tinkerpop.connectedComponent.propertyName";
         
+            public const String unionFind = "~tinkerpop.connectedComponent.unionFind";
+        
     }
 
 #pragma warning restore 1591
@@ -34,6 +34,8 @@ namespace Gremlin.Net.Process.Traversal
     public class ShortestPath
     {
         
+            public const String bidirectional = "~tinkerpop.shortestPath.bidirectional";
+        
             public const String distance = "~tinkerpop.shortestPath.distance";
         
             public const String edges = "~tinkerpop.shortestPath.edges";
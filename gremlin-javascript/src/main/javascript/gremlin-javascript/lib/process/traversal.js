@@ -181,10 +181,18 @@ class ConnectedComponent {
  static get propertyName() {
    return "~tinkerpop.connectedComponent.propertyName"
  }
+
+ static get unionFind() {
+   return "~tinkerpop.connectedComponent.unionFind"
+ }
 }
 
 class ShortestPath {
 
+ static get bidirectional() {
+   return "~tinkerpop.shortestPath.bidirectional"
+ }
+
  static get distance() {
    return "~tinkerpop.shortestPath.distance"
  }
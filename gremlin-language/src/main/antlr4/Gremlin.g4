@@ -1073,6 +1073,7 @@ connectedComponentConstants
     : gremlinStringConstants_connectedComponentStringConstants_component
     | gremlinStringConstants_connectedComponentStringConstants_edges
     | gremlinStringConstants_connectedComponentStringConstants_propertyName
+    | gremlinStringConstants_connectedComponentStringConstants_unionFind
     ;
 
 pageRankStringConstants
@@ -1093,6 +1094,7 @@ shortestPathStringConstants
     | gremlinStringConstants_shortestPathStringConstants_distance
     | gremlinStringConstants_shortestPathStringConstants_maxDistance
     | gremlinStringConstants_shortestPathStringConstants_includeEdges
+    | gremlinStringConstants_shortestPathStringConstants_bidirectional
     ;
 
 withOptionsStringConstants
@@ -1128,6 +1130,10 @@ gremlinStringConstants_connectedComponentStringConstants_propertyName
     : connectedComponentStringConstant DOT 'propertyName'
     ;
 
+gremlinStringConstants_connectedComponentStringConstants_unionFind
+    : connectedComponentStringConstant DOT 'unionFind'
+    ;
+
 gremlinStringConstants_pageRankStringConstants_edges
     : pageRankStringConstant DOT 'edges'
     ;
@@ -1172,6 +1178,10 @@ gremlinStringConstants_shortestPathStringConstants_includeEdges
     : shortestPathStringConstant DOT 'includeEdges'
     ;
 
+gremlinStringConstants_shortestPathStringConstants_bidirectional
+    : shortestPathStringConstant DOT 'bidirectional'
+    ;
+
 gremlinStringConstants_withOptionsStringConstants_tokens
     : withOptionsStringConstant DOT 'tokens'
     ;
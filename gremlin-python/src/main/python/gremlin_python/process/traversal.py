@@ -463,6 +463,8 @@ class ConnectedComponent(object):
 
     propertyName = "~tinkerpop.connectedComponent.propertyName"
 
+    unionFind = "~tinkerpop.connectedComponent.unionFind"
+
 
 '''
 ShortestPath
@@ -471,6 +473,8 @@ ShortestPath
 
 class ShortestPath(object):
 
+    bidirectional = "~tinkerpop.shortestPath.bidirectional"
+
     distance = "~tinkerpop.shortestPath.distance"
 
     edges = "~tinkerpop.shortestPath.edges"
@@ -74,4 +74,20 @@ Feature: Step - connectedComponent()
       | m[{"name": "marko", "cluster": "1"}] |
       | m[{"name": "vadas", "cluster": "1"}] |
       | m[{"name": "josh", "cluster": "1"}] |
-      | m[{"name": "peter", "cluster": "6"}] |
\ No newline at end of file
+      | m[{"name": "peter", "cluster": "6"}] |
+
+  Scenario: g_V_connectedComponent_withXUNION_FIND_trueX_project_byXnameX_byXcomponentX
+    Given the modern graph
+    And the traversal of
+      """
+      g.V().connectedComponent().with("~tinkerpop.connectedComponent.unionFind", true).project("name","component").by("name").by("gremlin.connectedComponentVertexProgram.component")
+      """
+    When iterated to list
+    Then the result should be unordered
+      | result |
+      | m[{"name": "marko", "component": "1"}] |
+      | m[{"name": "vadas", "component": "1"}] |
+      | m[{"name": "lop", "component": "1"}] |
+      | m[{"name": "josh", "component": "1"}] |
+      | m[{"name": "ripple", "component": "1"}] |
+      | m[{"name": "peter", "component": "1"}] |
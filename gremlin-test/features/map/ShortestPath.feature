@@ -361,3 +361,32 @@ Feature: Step - shortestPath()
       | p[v[vadas],v[marko],v[lop]]          |
       | p[v[vadas],v[marko]]                 |
       | p[v[vadas]]                          |
+
+  Scenario: g_V_hasXname_markoX_shortestPath_targetXhasXname_rippleXX_bidirectionalXtrueX
+    Given the modern graph
+    And the traversal of
+      """
+      g.V().has("name","marko").shortestPath().
+          with("~tinkerpop.shortestPath.target", __.has("name","ripple")).
+          with("~tinkerpop.shortestPath.bidirectional", true)
+      """
+    When iterated to list
+    Then the result should be unordered
+      | result                        |
+      | p[v[marko],v[josh],v[ripple]] |
+
+  @MultiMetaProperties
+  Scenario: g_V_hasXname_danielX_shortestPath_targetXhasXname_stephenXX_edgesXbothEXusesXX_bidirectionalXtrueX
+    Given the crew graph
+    And the traversal of
+      """
+      g.V().has("name","daniel").shortestPath().
+          with("~tinkerpop.shortestPath.target", __.has("name","stephen")).
+          with("~tinkerpop.shortestPath.edges", __.bothE("uses")).
+          with("~tinkerpop.shortestPath.bidirectional", true)
+      """
+    When iterated to list
+    Then the result should be unordered
+      | result                                 |
+      | p[v[daniel],v[gremlin],v[stephen]]     |
+      | p[v[daniel],v[tinkergraph],v[stephen]] |
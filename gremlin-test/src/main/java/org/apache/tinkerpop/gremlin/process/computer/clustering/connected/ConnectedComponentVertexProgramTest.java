@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.computer.clustering.connected;
+
+import org.apache.tinkerpop.gremlin.FeatureRequirement;
+import org.apache.tinkerpop.gremlin.LoadGraphWith;
+import org.apache.tinkerpop.gremlin.process.AbstractGremlinProcessTest;
+import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
+import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.apache.tinkerpop.gremlin.LoadGraphWith.GraphData.GRATEFUL;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ConnectedComponentVertexProgramTest extends AbstractGremlinProcessTest {
+
+    @Test
+    @LoadGraphWith(GRATEFUL)
+    public void shouldFindConnectedComponentsWithUnionFind() throws Exception {
+        for (final Traversal<Vertex, Edge> edges : Arrays.<Traversal<Vertex, Edge>>asList(
+                __.bothE(), __.bothE("followedBy"), __.outE("followedBy"))) {
+            final ComputerResult messages = graph.compute(graphProvider.getGraphComputer(graph).getClass()).
+                    program(ConnectedComponentVertexProgram.build().edges(edges.asAdmin().clone()).create(graph)).submit().get();
+            final ComputerResult unionFind = graph.compute(graphProvider.getGraphComputer(graph).getClass()).
+                    program(ConnectedComponentVertexProgram.build().edges(edges.asAdmin().clone()).unionFind(true).create(graph)).submit().get();
+            final Map<Object, Object> expected = messages.graph().traversal().V().
+                    group().by(T.id).by(__.values(ConnectedComponentVertexProgram.COMPONENT)).next();
+            assertEquals(808, expected.size());
+            assertEquals(expected, unionFind.graph().traversal().V().
+                    group().by(T.id).by(__.values(ConnectedComponentVertexProgram.COMPONENT)).next());
+        }
+
+        // the songs that never follow or are followed by another song form components of their own
+        final ComputerResult result = graph.compute(graphProvider.getGraphComputer(graph).getClass()).
+                program(ConnectedComponentVertexProgram.build().edges(__.bothE("followedBy").asAdmin()).unionFind(true).create(graph)).submit().get();
+        assertTrue(new HashSet<>(result.graph().traversal().V().values(ConnectedComponentVertexProgram.COMPONENT).toList()).size() > 1);
+
+        // the union-find version does not depend on the diameter of the components and ends with its second iteration
+        assertEquals(1, result.memory().getIteration());
+    }
+
+    @Test
+    @LoadGraphWith(GRATEFUL)
+    @FeatureRequirement(featureClass = Graph.Features.VertexFeatures.class, feature = Graph.Features.VertexFeatures.FEATURE_ADD_VERTICES)
+    @FeatureRequirement(featureClass = Graph.Features.EdgeFeatures.class, feature = Graph.Features.EdgeFeatures.FEATURE_ADD_EDGES)
+    @FeatureRequirement(featureClass = Graph.Features.VertexFeatures.class, feature = Graph.Features.VertexFeatures.FEATURE_ADD_PROPERTY)
+    public void shouldFindConnectedComponentsIncrementally() throws Exception {
+        if (graphProvider.getGraphComputer(graph).features().supportsResultGraphPersistCombination(GraphComputer.ResultGraph.ORIGINAL, GraphComputer.Persist.VERTEX_PROPERTIES)) {
+            graph.compute(graphProvider.getGraphComputer(graph).getClass()).
+                    result(GraphComputer.ResultGraph.ORIGINAL).persist(GraphComputer.Persist.VERTEX_PROPERTIES).
+                    program(ConnectedComponentVertexProgram.build().edges(__.bothE("followedBy").asAdmin()).create(graph)).submit().get();
+
+            // only one end of each new edge is marked as changed, as is a new song
+            final List<Vertex> songs = graph.traversal().V().hasLabel("song").order().by("name").toList();
+            for (int i = 0; i < 5; i++) {
+                final Vertex song = songs.get(i * 7);
+                song.property("changed", true);
+                song.addEdge("followedBy", songs.get(songs.size() - 1 - i * 11), "weight", 1);
+            }
+            graph.addVertex(T.label, "song", "name", "NEW SONG", "changed", true).addEdge("followedBy", songs.get(songs.size() / 2), "weight", 1);
+
+            // the incremental run goes first as a computer may replace the persisted components when it writes its own
+            final ComputerResult incremental = graph.compute(graphProvider.getGraphComputer(graph).getClass()).
+                    program(ConnectedComponentVertexProgram.build().edges(__.bothE("followedBy").asAdmin()).
+                            changed(__.<Vertex>has("changed").asAdmin()).create(graph)).submit().get();
+            final ComputerResult full = graph.compute(graphProvider.getGraphComputer(graph).getClass()).
+                    program(ConnectedComponentVertexProgram.build().edges(__.bothE("followedBy").asAdmin()).create(graph)).submit().get();
+            final Map<Object, Object> expected = full.graph().traversal().V().
+                    group().by(T.id).by(__.values(ConnectedComponentVertexProgram.COMPONENT)).next();
+            assertEquals(809, expected.size());
+            assertEquals(expected, incremental.graph().traversal().V().
+                    group().by(T.id).by(__.values(ConnectedComponentVertexProgram.COMPONENT)).next());
+        }
+    }
+}
@@ -18,14 +18,35 @@
  */
 package org.apache.tinkerpop.gremlin.process.computer.ranking.pagerank;
 
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.configuration2.ConfigurationUtils;
 import org.apache.tinkerpop.gremlin.LoadGraphWith;
 import org.apache.tinkerpop.gremlin.process.AbstractGremlinProcessTest;
 import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
 import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.process.computer.Memory;
+import org.apache.tinkerpop.gremlin.process.computer.MemoryComputeKey;
+import org.apache.tinkerpop.gremlin.process.computer.MessageCombiner;
+import org.apache.tinkerpop.gremlin.process.computer.MessageScope;
+import org.apache.tinkerpop.gremlin.process.computer.Messenger;
+import org.apache.tinkerpop.gremlin.process.computer.VertexComputeKey;
+import org.apache.tinkerpop.gremlin.process.computer.VertexProgram;
+import org.apache.tinkerpop.gremlin.process.traversal.Operator;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import org.junit.Test;
 
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
 import static org.apache.tinkerpop.gremlin.LoadGraphWith.GraphData.MODERN;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
@@ -111,4 +132,141 @@ public class PageRankVertexProgramTest extends AbstractGremlinProcessTest {
         final double sum = result.graph().traversal().V().values(PageRankVertexProgram.PAGE_RANK).sum().next().doubleValue();
         assertEquals(1.0d, sum, 0.01d);
     }
-}
\ No newline at end of file
+
+    @Test
+    @LoadGraphWith(MODERN)
+    public void shouldExecutePageRankWithDeltas() throws Exception {
+        if (graphProvider.getGraphComputer(graph).features().supportsResultGraphPersistCombination(GraphComputer.ResultGraph.NEW, GraphComputer.Persist.VERTEX_PROPERTIES)) {
+            final ComputerResult full = graph.compute(graphProvider.getGraphComputer(graph).getClass()).
+                    program(new MessageCountingVertexProgram(PageRankVertexProgram.build().epsilon(0.00001d).iterations(30).create(graph))).submit().get();
+            final ComputerResult deltas = graph.compute(graphProvider.getGraphComputer(graph).getClass()).
+                    program(new MessageCountingVertexProgram(PageRankVertexProgram.build().epsilon(0.00001d).iterations(30).delta(0.000001d).create(graph))).submit().get();
+            final Map<Object, Object> expected = full.graph().traversal().V().
+                    group().by("name").by(__.values(PageRankVertexProgram.PAGE_RANK)).next();
+            deltas.graph().traversal().V().forEachRemaining(v -> {
+                assertEquals(3, v.keys().size()); // name, age/lang, pageRank as the changes are only held during the computation
+                assertEquals((double) expected.get(v.value("name")), v.<Double>value(PageRankVertexProgram.PAGE_RANK), 0.0001d);
+            });
+            // the vertices whose ranks have settled stop sending messages
+            assertThat(deltas.memory().<Long>get(MessageCountingVertexProgram.MESSAGE_COUNT), lessThan(full.memory().<Long>get(MessageCountingVertexProgram.MESSAGE_COUNT)));
+        }
+    }
+
+    /**
+     * Counts the messages sent by the program that it wraps in a {@link Memory} key.
+     */
+    public static class MessageCountingVertexProgram<M> implements VertexProgram<M> {
+
+        public static final String MESSAGE_COUNT = "messageCount";
+        private static final String WRAPPED_VERTEX_PROGRAM = "gremlin.messageCountingVertexProgram.vertexProgram";
+
+        private VertexProgram<M> vertexProgram;
+
+        public MessageCountingVertexProgram() {
+
+        }
+
+        public MessageCountingVertexProgram(final VertexProgram<M> vertexProgram) {
+            this.vertexProgram = vertexProgram;
+        }
+
+        @Override
+        public void loadState(final Graph graph, final Configuration configuration) {
+            final Configuration wrappedConfiguration = ConfigurationUtils.cloneConfiguration(configuration);
+            wrappedConfiguration.setProperty(VERTEX_PROGRAM, configuration.getString(WRAPPED_VERTEX_PROGRAM));
+            this.vertexProgram = VertexProgram.createVertexProgram(graph, wrappedConfiguration);
+        }
+
+        @Override
+        public void storeState(final Configuration configuration) {
+            this.vertexProgram.storeState(configuration);
+            configuration.setProperty(WRAPPED_VERTEX_PROGRAM, this.vertexProgram.getClass().getName());
+            VertexProgram.super.storeState(configuration);
+        }
+
+        @Override
+        public void setup(final Memory memory) {
+            memory.set(MESSAGE_COUNT, 0L);
+            this.vertexProgram.setup(memory);
+        }
+
+        @Override
+        public void execute(final Vertex vertex, final Messenger<M> messenger, final Memory memory) {
+            this.vertexProgram.execute(vertex, new Messenger<M>() {
+                @Override
+                public Iterator<M> receiveMessages() {
+                    return messenger.receiveMessages();
+                }
+
+                @Override
+                public void sendMessage(final MessageScope messageScope, final M message) {
+                    memory.add(MESSAGE_COUNT, 1L);
+                    messenger.sendMessage(messageScope, message);
+                }
+
+                @Override
+                public void voteToHalt() {
+                    messenger.voteToHalt();
+                }
+            }, memory);
+        }
+
+        @Override
+        public boolean terminate(final Memory memory) {
+            return this.vertexProgram.terminate(memory);
+        }
+
+        @Override
+        public void workerIterationStart(final Memory memory) {
+            this.vertexProgram.workerIterationStart(memory);
+        }
+
+        @Override
+        public void workerIterationEnd(final Memory memory) {
+            this.vertexProgram.workerIterationEnd(memory);
+        }
+
+        @Override
+        public Set<VertexComputeKey> getVertexComputeKeys() {
+            return this.vertexProgram.getVertexComputeKeys();
+        }
+
+        @Override
+        public Set<MemoryComputeKey> getMemoryComputeKeys() {
+            final Set<MemoryComputeKey> memoryComputeKeys = new HashSet<>(this.vertexProgram.getMemoryComputeKeys());
+            memoryComputeKeys.add(MemoryComputeKey.of(MESSAGE_COUNT, Operator.sum, true, false));
+            return memoryComputeKeys;
+        }
+
+        @Override
+        public Optional<MessageCombiner<M>> getMessageCombiner() {
+            return this.vertexProgram.getMessageCombiner();
+        }
+
+        @Override
+        public Set<MessageScope> getMessageScopes(final Memory memory) {
+            return this.vertexProgram.getMessageScopes(memory);
+        }
+
+        @Override
+        @SuppressWarnings("CloneDoesntCallSuperClone,CloneDoesntDeclareCloneNotSupportedException")
+        public MessageCountingVertexProgram<M> clone() {
+            return new MessageCountingVertexProgram<>(this.vertexProgram.clone());
+        }
+
+        @Override
+        public GraphComputer.ResultGraph getPreferredResultGraph() {
+            return this.vertexProgram.getPreferredResultGraph();
+        }
+
+        @Override
+        public GraphComputer.Persist getPreferredPersist() {
+            return this.vertexProgram.getPreferredPersist();
+        }
+
+        @Override
+        public Features getFeatures() {
+            return this.vertexProgram.getFeatures();
+        }
+    }
+}
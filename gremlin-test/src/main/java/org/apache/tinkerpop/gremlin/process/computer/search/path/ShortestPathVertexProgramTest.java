@@ -34,8 +34,12 @@ import java.util.stream.Stream;
 import static org.apache.tinkerpop.gremlin.LoadGraphWith.GraphData.CREW;
 import static org.apache.tinkerpop.gremlin.LoadGraphWith.GraphData.GRATEFUL;
 import static org.apache.tinkerpop.gremlin.LoadGraphWith.GraphData.MODERN;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 /**
  * @author Daniel Kuppitz (http://gremlin.guru)
@@ -256,6 +260,79 @@ public class ShortestPathVertexProgramTest extends AbstractGremlinProcessTest {
         helper.checkResults(expected, shortestPaths);
     }
 
+    @Test
+    @LoadGraphWith(MODERN)
+    public void shouldFindShortestPathsBidirectionally() throws Exception {
+        for (final String[] pair : new String[][]{
+                new String[]{"marko", "marko"},
+                new String[]{"marko", "ripple"},
+                new String[]{"vadas", "peter"},
+                new String[]{"ripple", "vadas"}}) {
+            for (final boolean includeEdges : Arrays.asList(false, true)) {
+                final ComputerResult result = graph.compute(graphProvider.getGraphComputer(graph).getClass()).
+                        program(ShortestPathVertexProgram.build()
+                                .source(__.has("name", pair[0]))
+                                .target(__.has("name", pair[1]))
+                                .includeEdges(includeEdges)
+                                .bidirectional(true).create(graph)).submit().get();
+                assertTrue(result.memory().exists(ShortestPathVertexProgram.SHORTEST_PATHS));
+                final List<Path> shortestPaths = result.memory().get(ShortestPathVertexProgram.SHORTEST_PATHS);
+                final List<Path> expected = Arrays.stream(ALL_SHORTEST_PATHS)
+                        .filter(p -> p[0].equals(pair[0]) && p[p.length - 1].equals(pair[1]))
+                        .map(p -> helper.makePath(includeEdges, p)).collect(Collectors.toList());
+                helper.checkResults(expected, shortestPaths);
+            }
+        }
+    }
+
+    @Test
+    @LoadGraphWith(MODERN)
+    public void shouldRespectMaxDistanceBidirectionally() throws Exception {
+        final ComputerResult result = graph.compute(graphProvider.getGraphComputer(graph).getClass()).
+                program(ShortestPathVertexProgram.build()
+                        .source(__.has("name", "vadas"))
+                        .target(__.has("name", "peter"))
+                        .maxDistance(2)
+                        .bidirectional(true).create(graph)).submit().get();
+        assertTrue(result.memory().exists(ShortestPathVertexProgram.SHORTEST_PATHS));
+        final List<Path> shortestPaths = result.memory().get(ShortestPathVertexProgram.SHORTEST_PATHS);
+        assertTrue(shortestPaths.isEmpty());
+    }
+
+    @Test
+    @LoadGraphWith(CREW)
+    public void shouldFindEqualLengthPathsBidirectionally() throws Exception {
+        final ComputerResult result = graph.compute(graphProvider.getGraphComputer(graph).getClass()).
+                program(ShortestPathVertexProgram.build()
+                        .edgeTraversal(__.bothE("uses"))
+                        .source(__.has("name", "daniel"))
+                        .target(__.has("name", "stephen"))
+                        .bidirectional(true).create(graph)).submit().get();
+        assertTrue(result.memory().exists(ShortestPathVertexProgram.SHORTEST_PATHS));
+        final List<Path> shortestPaths = result.memory().get(ShortestPathVertexProgram.SHORTEST_PATHS);
+        final List<Path> expected = Arrays.asList(
+                helper.makePath("daniel", "gremlin", "stephen"),
+                helper.makePath("daniel", "tinkergraph", "stephen"));
+        helper.checkResults(expected, shortestPaths);
+    }
+
+    @Test
+    @LoadGraphWith(MODERN)
+    public void shouldRequireSingleSourceAndTargetBidirectionally() throws Exception {
+        for (final ShortestPathVertexProgram.Builder builder : Arrays.asList(
+                ShortestPathVertexProgram.build().target(__.has("name", "ripple")),
+                ShortestPathVertexProgram.build().source(__.has("name", "marko")))) {
+            try {
+                builder.bidirectional(true).create(graph);
+                fail("The bidirectional search should be rejected before it runs without a source or a target filter");
+            } catch (IllegalStateException ex) {
+                // VertexProgram.createVertexProgram() wraps the IllegalArgumentException thrown by loadState()
+                assertThat(ex.getCause(), instanceOf(IllegalArgumentException.class));
+                assertThat(ex.getMessage(), containsString("single source and a single target vertex"));
+            }
+        }
+    }
+
     public static String[][] ALL_SHORTEST_PATHS = new String[][]{
             new String[]{"marko"},
             new String[]{"marko", "vadas"},
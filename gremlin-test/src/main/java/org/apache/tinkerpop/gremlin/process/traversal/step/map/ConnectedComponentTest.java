@@ -50,6 +50,8 @@ public abstract class ConnectedComponentTest extends AbstractGremlinProcessTest
 
     public abstract Traversal<Vertex, Map<String,Object>> get_g_V_connectedComponent_withXedges_bothEXknowsXX_withXpropertyName_clusterX_project_byXnameX_byXclusterX();
 
+    public abstract Traversal<Vertex, Map<String,Object>> get_g_V_connectedComponent_withXunionFind_trueX_project_byXnameX_byXcomponentX();
+
     @Test
     @LoadGraphWith(MODERN)
     public void g_V_connectedComponent_hasXcomponentX() {
@@ -137,6 +139,20 @@ public abstract class ConnectedComponentTest extends AbstractGremlinProcessTest
         assertEquals(4, counter);
     }
 
+    @Test
+    @LoadGraphWith(MODERN)
+    public void g_V_connectedComponent_withXUNION_FIND_trueX_project_byXnameX_byXcomponentX() {
+        final Traversal<Vertex, Map<String,Object>> traversal = get_g_V_connectedComponent_withXunionFind_trueX_project_byXnameX_byXcomponentX();
+        printTraversalForm(traversal);
+        final List<Map<String,Object>> results = traversal.toList();
+        assertEquals(6, results.size());
+
+        // the modern graph is a single component when its edges are traversed in both directions
+        final Object component = results.get(0).get("component");
+        assertNotNull(component);
+        results.forEach(m -> assertEquals(component, m.get("component")));
+    }
+
     public static class Traversals extends ConnectedComponentTest {
         @Override
         public Traversal<Vertex, Vertex> get_g_V_connectedComponent_hasXcomponentX() {
@@ -156,5 +172,10 @@ public abstract class ConnectedComponentTest extends AbstractGremlinProcessTest
         public Traversal<Vertex, Map<String,Object>> get_g_V_connectedComponent_withXedges_bothEXknowsXX_withXpropertyName_clusterX_project_byXnameX_byXclusterX() {
             return g.V().hasLabel("person").connectedComponent().with(ConnectedComponent.edges, bothE("knows")).with(ConnectedComponent.propertyName, "cluster").project("name","cluster").by("name").by("cluster");
         }
+
+        @Override
+        public Traversal<Vertex, Map<String,Object>> get_g_V_connectedComponent_withXunionFind_trueX_project_byXnameX_byXcomponentX() {
+            return g.V().connectedComponent().with(ConnectedComponent.unionFind, true).project("name","component").by("name").by(ConnectedComponent.component);
+        }
     }
 }
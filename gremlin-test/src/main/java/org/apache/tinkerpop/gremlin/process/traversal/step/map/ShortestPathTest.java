@@ -88,6 +88,10 @@ public abstract class ShortestPathTest extends AbstractGremlinProcessTest {
 
     public abstract Traversal<Vertex, Path> get_g_V_hasXname_vadasX_shortestPath_distanceXweightX_maxDistanceX1_3X();
 
+    public abstract Traversal<Vertex, Path> get_g_V_hasXname_markoX_shortestPath_targetXhasXname_rippleXX_bidirectionalXtrueX();
+
+    public abstract Traversal<Vertex, Path> get_g_V_hasXname_danielX_shortestPath_targetXhasXname_stephenXX_edgesXbothEXusesXX_bidirectionalXtrueX();
+
     @Test
     @LoadGraphWith(MODERN)
     public void g_V_shortestPath() {
@@ -262,6 +266,27 @@ public abstract class ShortestPathTest extends AbstractGremlinProcessTest {
         checkResults(expected, traversal);
     }
 
+    @Test
+    @LoadGraphWith(MODERN)
+    public void g_V_hasXname_markoX_shortestPath_targetXhasXname_rippleXX_bidirectionalXtrueX() {
+        final Traversal<Vertex, Path> traversal = get_g_V_hasXname_markoX_shortestPath_targetXhasXname_rippleXX_bidirectionalXtrueX();
+        printTraversalForm(traversal);
+        assertTrue(traversal.hasNext());
+        assertEquals(helper.makePath("marko", "josh", "ripple"), traversal.next());
+        assertFalse(traversal.hasNext());
+    }
+
+    @Test
+    @LoadGraphWith(CREW)
+    public void g_V_hasXname_danielX_shortestPath_targetXhasXname_stephenXX_edgesXbothEXusesXX_bidirectionalXtrueX() {
+        final Traversal<Vertex, Path> traversal = get_g_V_hasXname_danielX_shortestPath_targetXhasXname_stephenXX_edgesXbothEXusesXX_bidirectionalXtrueX();
+        printTraversalForm(traversal);
+        final List<Path> expected = Arrays.asList(
+                helper.makePath("daniel", "gremlin", "stephen"),
+                helper.makePath("daniel", "tinkergraph", "stephen"));
+        checkResults(expected, traversal);
+    }
+
     public static class Traversals extends ShortestPathTest {
 
         @Override
@@ -349,5 +374,20 @@ public abstract class ShortestPathTest extends AbstractGremlinProcessTest {
                     .with(distance, "weight")
                     .with(maxDistance, 1.3);
         }
+
+        @Override
+        public Traversal<Vertex, Path> get_g_V_hasXname_markoX_shortestPath_targetXhasXname_rippleXX_bidirectionalXtrueX() {
+            return g.V().has("name", "marko").shortestPath()
+                    .with(target, __.has("name", "ripple"))
+                    .with(bidirectional, true);
+        }
+
+        @Override
+        public Traversal<Vertex, Path> get_g_V_hasXname_danielX_shortestPath_targetXhasXname_stephenXX_edgesXbothEXusesXX_bidirectionalXtrueX() {
+            return g.V().has("name", "daniel").shortestPath()
+                    .with(target, __.has("name", "stephen"))
+                    .with(edges, __.bothE("uses"))
+                    .with(bidirectional, true);
+        }
     }
 }
\ No newline at end of file
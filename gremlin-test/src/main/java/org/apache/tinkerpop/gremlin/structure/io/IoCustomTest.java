@@ -138,6 +138,8 @@ public class IoCustomTest extends AbstractGremlinTest {
     @FeatureRequirement(featureClass = Graph.Features.VertexFeatures.class, feature = FEATURE_ANY_IDS)
     public void shouldProperlySerializeCustomId() throws Exception {
         graph.addVertex(T.id, new CustomId("vertex", UUID.fromString("AF4B5965-B176-4552-B3C1-FBBE2F52C305")));
+        // the migration writes the graph from another thread which only sees what is committed
+        tryCommit(graph);
 
         final GraphWriter writer = writerMaker.apply(graph);
         final GraphReader reader = readerMaker.apply(graph);
@@ -35,15 +35,20 @@ import org.apache.tinkerpop.gremlin.structure.VertexProperty;
 import org.apache.tinkerpop.gremlin.structure.io.IoCore;
 import org.apache.tinkerpop.gremlin.structure.util.Attachable;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
+import org.apache.tinkerpop.shaded.kryo.io.Input;
+import org.apache.tinkerpop.shaded.kryo.io.Output;
 import org.javatuples.Pair;
 import org.junit.Test;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
 import java.util.Random;
 import java.util.Set;
 import java.util.UUID;
@@ -51,6 +56,7 @@ import java.util.stream.Collectors;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -282,6 +288,62 @@ public class StarGraphTest extends AbstractGremlinTest {
         assertEquals(2L, IteratorUtils.count(starGraph.traversal().V().bothE()));
     }
 
+    @Test
+    @LoadGraphWith(LoadGraphWith.GraphData.CREW)
+    public void shouldApplyGraphFilterWhileReadingVertex() throws IOException {
+        final GraphFilter graphFilter = new GraphFilter();
+        graphFilter.setVertexFilter(__.hasLabel("person"));
+        graphFilter.setEdgeFilter(__.outE("uses"));
+        graphFilter.setPropertyProjection(new HashSet<>(Arrays.asList("location", "skill")));
+        int count = 0;
+        for (final Vertex vertex : g.V().toList()) {
+            final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            graph.io(IoCore.gryo()).writer().create().writeVertex(outputStream, vertex, Direction.BOTH);
+            final Optional<Vertex> filtered = graph.io(IoCore.gryo()).reader().create().readVertex(new ByteArrayInputStream(outputStream.toByteArray()), graphFilter);
+            assertEquals(vertex.label().equals("person"), filtered.isPresent());
+            if (!filtered.isPresent())
+                continue;
+            count++;
+            assertFalse(filtered.get().property("name").isPresent());
+            assertEquals(IteratorUtils.count(vertex.properties("location")), IteratorUtils.count(filtered.get().properties()));
+            assertEquals(g.V(vertex).properties("location").properties().count().next().longValue(),
+                    IteratorUtils.stream(filtered.get().properties("location")).flatMap(vertexProperty -> IteratorUtils.stream(vertexProperty.properties())).count());
+            assertEquals(0L, IteratorUtils.count(filtered.get().edges(Direction.IN)));
+            assertEquals(IteratorUtils.count(vertex.edges(Direction.OUT, "uses")), IteratorUtils.count(filtered.get().edges(Direction.OUT)));
+            filtered.get().edges(Direction.OUT).forEachRemaining(edge -> {
+                assertEquals(1L, IteratorUtils.count(edge.properties()));
+                assertEquals(vertex.edges(Direction.OUT, "uses").next().value("skill").getClass(), edge.value("skill").getClass());
+            });
+        }
+        assertEquals(4, count);
+    }
+
+    @Test
+    @LoadGraphWith(LoadGraphWith.GraphData.CREW)
+    public void shouldReadPastFilteredVerticesInStream() {
+        final GraphFilter graphFilter = new GraphFilter();
+        graphFilter.setVertexFilter(__.hasLabel("person"));
+        final Kryo kryo = graph.io(IoCore.gryo()).mapper().create().createMapper();
+        final List<Vertex> vertices = g.V().toList();
+        final Output output = new Output(new ByteArrayOutputStream());
+        for (final Vertex vertex : vertices) {
+            kryo.writeObject(output, StarGraph.of(vertex), StarGraphGryoSerializer.with(Direction.BOTH));
+        }
+        output.flush();
+
+        // every vertex after a filtered one is still read from where the filtered one ends
+        final Input input = new Input(((ByteArrayOutputStream) output.getOutputStream()).toByteArray());
+        for (final Vertex vertex : vertices) {
+            final StarGraph starGraph = kryo.readObject(input, StarGraph.class, StarGraphGryoSerializer.withGraphFilter(graphFilter));
+            assertEquals(vertex.label().equals("person"), null != starGraph);
+            if (null != starGraph) {
+                assertEquals(vertex.id(), starGraph.getStarVertex().id());
+                assertEquals(IteratorUtils.count(vertex.edges(Direction.BOTH)), IteratorUtils.count(starGraph.getStarVertex().edges(Direction.BOTH)));
+                assertEquals(IteratorUtils.count(vertex.properties()), IteratorUtils.count(starGraph.getStarVertex().properties()));
+            }
+        }
+        assertTrue(input.eof());
+    }
 
     private Pair<StarGraph, Integer> serializeDeserialize(final StarGraph starGraph) {
         final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph;
+
+import org.apache.commons.configuration2.BaseConfiguration;
+import org.apache.commons.configuration2.Configuration;
+import org.apache.tinkerpop.benchmark.util.AbstractBenchmarkBase;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares the time it takes to open a {@link TinkerGraph} from each of the formats it can persist to.
+ */
+public class TinkerGraphLoadBenchmark extends AbstractBenchmarkBase {
+
+    @State(Scope.Benchmark)
+    public static class BenchmarkState {
+
+        @Param({"graphson", "gryo", "image"})
+        public String format;
+
+        @Param({"100000"})
+        public int vertexCount;
+
+        private File file;
+        private Configuration configuration;
+
+        @Setup(Level.Trial)
+        public void doSetup() throws IOException {
+            file = File.createTempFile("tinkergraph-load-", "." + format);
+            file.delete();
+
+            configuration = new BaseConfiguration();
+            configuration.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, format);
+            configuration.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, file.getAbsolutePath());
+
+            final TinkerGraph graph = TinkerGraph.open(configuration);
+            final Random random = new Random(123456789L);
+            final List<Vertex> vertices = new ArrayList<>(vertexCount);
+            for (int i = 0; i < vertexCount; i++) {
+                vertices.add(graph.addVertex(T.label, i % 10 == 0 ? "software" : "person",
+                        "name", "name" + i, "age", random.nextInt(100), "score", random.nextDouble()));
+            }
+            for (int i = 0; i < vertexCount * 5; i++) {
+                vertices.get(random.nextInt(vertexCount)).addEdge(random.nextBoolean() ? "knows" : "created",
+                        vertices.get(random.nextInt(vertexCount)), "weight", random.nextDouble());
+            }
+            graph.close();
+        }
+
+        @TearDown(Level.Trial)
+        public void doTearDown() throws IOException {
+            Files.deleteIfExists(file.toPath());
+        }
+    }
+
+    @Benchmark
+    public TinkerGraph load(final BenchmarkState state) {
+        // not closed as that would write the graph back out
+        return TinkerGraph.open(state.configuration);
+    }
+}
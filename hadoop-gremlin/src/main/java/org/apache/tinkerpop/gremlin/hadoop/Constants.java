@@ -54,6 +54,9 @@ public final class Constants {
     public static final String GREMLIN_HADOOP_DEFAULT_GRAPH_COMPUTER = "gremlin.hadoop.defaultGraphComputer";
     public static final String GREMLIN_HADOOP_VERTEX_PROGRAM_INTERCEPTOR = "gremlin.hadoop.vertexProgramInterceptor";
     public static final String GREMLIN_HADOOP_GRAPHSON_VERSION = "gremlin.hadoop.graphSONVersion";
+    public static final String GREMLIN_HADOOP_COLUMNAR_ROW_GROUP_SIZE = "gremlin.hadoop.columnar.rowGroupSize";
+    public static final String GREMLIN_HADOOP_BLOCK_GRYO_CODEC = "gremlin.hadoop.blockGryo.codec";
+    public static final String GREMLIN_HADOOP_BLOCK_GRYO_BLOCK_SIZE = "gremlin.hadoop.blockGryo.blockSize";
 
     public static final String GREMLIN_HADOOP_JARS_IN_DISTRIBUTED_CACHE = "gremlin.hadoop.jarsInDistributedCache";
     public static final String HIDDEN_G = Graph.Hidden.hide("g");
@@ -73,6 +76,9 @@ public final class Constants {
     public static final String GREMLIN_SPARK_PERSIST_STORAGE_LEVEL = "gremlin.spark.persistStorageLevel";
     public static final String GREMLIN_SPARK_SKIP_PARTITIONER = "gremlin.spark.skipPartitioner"; // don't partition the loadedGraphRDD
     public static final String GREMLIN_SPARK_SKIP_GRAPH_CACHE = "gremlin.spark.skipGraphCache";  // don't cache the loadedGraphRDD (ignores graphStorageLevel)
+    public static final String GREMLIN_SPARK_GRYO_OUTPUT_POOL_SIZE = "gremlin.spark.gryoOutputPoolSize"; // serialization buffers kept per executor thread
+    public static final String GREMLIN_SPARK_GRYO_DIRECT_BUFFERS = "gremlin.spark.gryoDirectBuffers"; // allocate serialization buffers off-heap
+    public static final String GREMLIN_SPARK_MESSAGE_COMBINER_BUFFER_SIZE = "gremlin.spark.messageCombinerBufferSize"; // target vertices a partition combines messages for before the shuffle
     public static final String SPARK_SERIALIZER = "spark.serializer";
     public static final String SPARK_KRYO_REGISTRATOR = "spark.kryo.registrator";
     public static final String SPARK_KRYO_REGISTRATION_REQUIRED = "spark.kryo.registrationRequired";
@@ -45,6 +45,7 @@ import java.io.File;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
@@ -88,6 +89,12 @@ public abstract class AbstractHadoopGraphComputer implements GraphComputer {
         return this;
     }
 
+    @Override
+    public GraphComputer properties(final String... propertyKeys) {
+        this.graphFilter.setPropertyProjection(new HashSet<>(Arrays.asList(propertyKeys)));
+        return this;
+    }
+
     @Override
     public GraphComputer result(final ResultGraph resultGraph) {
         this.resultGraph = resultGraph;
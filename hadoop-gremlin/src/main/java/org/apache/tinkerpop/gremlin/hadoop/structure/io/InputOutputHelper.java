@@ -26,8 +26,12 @@ import org.apache.hadoop.mapreduce.OutputFormat;
 import org.apache.tinkerpop.gremlin.hadoop.Constants;
 import org.apache.tinkerpop.gremlin.hadoop.structure.HadoopConfiguration;
 import org.apache.tinkerpop.gremlin.hadoop.structure.HadoopGraph;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.columnar.ColumnarInputFormat;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.columnar.ColumnarOutputFormat;
 import org.apache.tinkerpop.gremlin.hadoop.structure.io.graphson.GraphSONInputFormat;
 import org.apache.tinkerpop.gremlin.hadoop.structure.io.graphson.GraphSONOutputFormat;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.gryo.BlockGryoInputFormat;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.gryo.BlockGryoOutputFormat;
 import org.apache.tinkerpop.gremlin.hadoop.structure.io.gryo.GryoInputFormat;
 import org.apache.tinkerpop.gremlin.hadoop.structure.io.gryo.GryoOutputFormat;
 import org.apache.tinkerpop.gremlin.hadoop.structure.io.script.ScriptInputFormat;
@@ -49,10 +53,14 @@ public final class InputOutputHelper {
         INPUT_TO_OUTPUT_CACHE.put(GryoInputFormat.class, GryoOutputFormat.class);
         INPUT_TO_OUTPUT_CACHE.put(GraphSONInputFormat.class, GraphSONOutputFormat.class);
         INPUT_TO_OUTPUT_CACHE.put(ScriptInputFormat.class, ScriptOutputFormat.class);
+        INPUT_TO_OUTPUT_CACHE.put(ColumnarInputFormat.class, ColumnarOutputFormat.class);
+        INPUT_TO_OUTPUT_CACHE.put(BlockGryoInputFormat.class, BlockGryoOutputFormat.class);
         //
         OUTPUT_TO_INPUT_CACHE.put(GryoOutputFormat.class, GryoInputFormat.class);
         OUTPUT_TO_INPUT_CACHE.put(GraphSONOutputFormat.class, GraphSONInputFormat.class);
         OUTPUT_TO_INPUT_CACHE.put(ScriptOutputFormat.class, ScriptInputFormat.class);
+        OUTPUT_TO_INPUT_CACHE.put(ColumnarOutputFormat.class, ColumnarInputFormat.class);
+        OUTPUT_TO_INPUT_CACHE.put(BlockGryoOutputFormat.class, BlockGryoInputFormat.class);
     }
 
     private InputOutputHelper() {
@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.hadoop.structure.io.columnar;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.Contains;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
+import org.apache.tinkerpop.shaded.kryo.io.Input;
+import org.apache.tinkerpop.shaded.kryo.io.Output;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.BiPredicate;
+
+/**
+ * The footer metadata of a single column of a {@link RowGroup}: where its bytes are in the file, how its values are
+ * encoded and the statistics that allow a reader to decide whether the column can match a predicate without reading
+ * it. Label columns and low cardinality property columns are dictionary encoded and the dictionary is kept with the
+ * metadata, so a predicate can be tested exactly against every distinct value of the column. Other columns keep the
+ * minimum and maximum value when all their values are {@link Comparable} and of the same class.
+ */
+final class ColumnChunk {
+
+    public enum Kind {
+        ID, LABEL, PROPERTY, OUT_EDGES, IN_EDGES;
+
+        public Direction direction() {
+            return this == OUT_EDGES ? Direction.OUT : this == IN_EDGES ? Direction.IN : null;
+        }
+    }
+
+    public enum Encoding {
+        PLAIN, DICTIONARY
+    }
+
+    private final Kind kind;
+    private final String key;
+    private final Encoding encoding;
+    private final long offset;
+    private final int length;
+    private final List<Object> dictionary;
+    private final Object min;
+    private final Object max;
+
+    public ColumnChunk(final Kind kind, final String key, final Encoding encoding, final long offset, final int length,
+                       final List<Object> dictionary, final Object min, final Object max) {
+        this.kind = kind;
+        this.key = key;
+        this.encoding = encoding;
+        this.offset = offset;
+        this.length = length;
+        this.dictionary = dictionary;
+        this.min = min;
+        this.max = max;
+    }
+
+    public Kind getKind() {
+        return this.kind;
+    }
+
+    /**
+     * The property key of a {@link Kind#PROPERTY} column or the edge label of an edge column.
+     */
+    public String getKey() {
+        return this.key;
+    }
+
+    public Encoding getEncoding() {
+        return this.encoding;
+    }
+
+    public long getOffset() {
+        return this.offset;
+    }
+
+    public int getLength() {
+        return this.length;
+    }
+
+    public List<Object> getDictionary() {
+        return this.dictionary;
+    }
+
+    /**
+     * Determines if some value of this column may satisfy the predicate. A {@code false} is definitive while a
+     * {@code true} only means that the statistics of the column could not rule the predicate out.
+     */
+    public boolean mayMatch(final P<?> predicate) {
+        if (null != this.dictionary) {
+            for (final Object value : this.dictionary) {
+                if (((P<Object>) predicate).test(value))
+                    return true;
+            }
+            return false;
+        }
+        if (null == this.min)
+            return true;
+        final BiPredicate<?, ?> biPredicate = predicate.getBiPredicate();
+        final Object value = predicate.getValue();
+        if (biPredicate == Compare.eq)
+            return inRange(value);
+        else if (biPredicate == Contains.within && value instanceof Collection) {
+            for (final Object object : (Collection<?>) value) {
+                if (inRange(object))
+                    return true;
+            }
+            return false;
+        } else if (biPredicate == Compare.gt)
+            return !comparable(value) || compare(this.max, value) > 0;
+        else if (biPredicate == Compare.gte)
+            return !comparable(value) || compare(this.max, value) >= 0;
+        else if (biPredicate == Compare.lt)
+            return !comparable(value) || compare(this.min, value) < 0;
+        else if (biPredicate == Compare.lte)
+            return !comparable(value) || compare(this.min, value) <= 0;
+        return true;
+    }
+
+    private boolean inRange(final Object value) {
+        return !comparable(value) || (compare(this.min, value) <= 0 && compare(this.max, value) >= 0);
+    }
+
+    private boolean comparable(final Object value) {
+        return null != value && value.getClass().equals(this.min.getClass());
+    }
+
+    private static int compare(final Object a, final Object b) {
+        return ((Comparable<Object>) a).compareTo(b);
+    }
+
+    public void write(final Kryo kryo, final Output output) {
+        output.writeByte(this.kind.ordinal());
+        output.writeString(this.key);
+        output.writeByte(this.encoding.ordinal());
+        output.writeVarLong(this.offset, true);
+        output.writeVarInt(this.length, true);
+        output.writeVarInt(null == this.dictionary ? -1 : this.dictionary.size(), false);
+        if (null != this.dictionary) {
+            for (final Object value : this.dictionary) {
+                kryo.writeClassAndObject(output, value);
+            }
+        }
+        kryo.writeClassAndObject(output, this.min);
+        kryo.writeClassAndObject(output, this.max);
+    }
+
+    public static ColumnChunk read(final Kryo kryo, final Input input) {
+        final Kind kind = Kind.values()[input.readByte()];
+        final String key = input.readString();
+        final Encoding encoding = Encoding.values()[input.readByte()];
+        final long offset = input.readVarLong(true);
+        final int length = input.readVarInt(true);
+        final int dictionarySize = input.readVarInt(false);
+        List<Object> dictionary = null;
+        if (dictionarySize >= 0) {
+            dictionary = new ArrayList<>(dictionarySize);
+            for (int i = 0; i < dictionarySize; i++) {
+                dictionary.add(kryo.readClassAndObject(input));
+            }
+        }
+        final Object min = kryo.readClassAndObject(input);
+        final Object max = kryo.readClassAndObject(input);
+        return new ColumnChunk(kind, key, encoding, offset, length, dictionary, min, max);
+    }
+
+    @Override
+    public String toString() {
+        return this.kind + (null == this.key ? "" : "[" + this.key + "]") + "<" + this.encoding + ">@" + this.offset + "+" + this.length;
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.hadoop.structure.io.columnar;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.io.compress.CompressionCodecFactory;
+import org.apache.hadoop.mapreduce.InputSplit;
+import org.apache.hadoop.mapreduce.RecordReader;
+import org.apache.hadoop.mapreduce.TaskAttemptContext;
+import org.apache.hadoop.mapreduce.lib.input.FileSplit;
+import org.apache.tinkerpop.gremlin.hadoop.Constants;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.VertexWritable;
+import org.apache.tinkerpop.gremlin.hadoop.structure.util.ConfUtil;
+import org.apache.tinkerpop.gremlin.process.computer.GraphFilter;
+import org.apache.tinkerpop.gremlin.process.computer.util.VertexProgramHelper;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoMapper;
+import org.apache.tinkerpop.gremlin.structure.io.util.IoRegistryHelper;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
+import org.apache.tinkerpop.shaded.kryo.io.Input;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Reads the row groups that start within a {@link FileSplit}. The footer of the file is read first so that row groups
+ * which can not hold a legal vertex are never read and, of the row groups that are read, only the columns that the
+ * {@link GraphFilter} needs are fetched from the file.
+ */
+public final class ColumnarRecordReader extends RecordReader<NullWritable, VertexWritable> {
+
+    private FSDataInputStream inputStream;
+
+    private Kryo kryo;
+    private final VertexWritable vertexWritable = new VertexWritable();
+    private final Deque<RowGroup> rowGroups = new ArrayDeque<>();
+    private Iterator<Vertex> vertices = Collections.emptyIterator();
+
+    private long rowCount = 0;
+    private long currentRow = 0;
+    private boolean hasEdges;
+    private GraphFilter graphFilter = new GraphFilter();
+
+    public ColumnarRecordReader() {
+
+    }
+
+    @Override
+    public void initialize(final InputSplit genericSplit, final TaskAttemptContext context) throws IOException {
+        final FileSplit split = (FileSplit) genericSplit;
+        final Configuration configuration = context.getConfiguration();
+        if (configuration.get(Constants.GREMLIN_HADOOP_GRAPH_FILTER, null) != null)
+            this.graphFilter = VertexProgramHelper.deserialize(ConfUtil.makeApacheConfiguration(configuration), Constants.GREMLIN_HADOOP_GRAPH_FILTER);
+        this.hasEdges = configuration.getBoolean(Constants.GREMLIN_HADOOP_GRAPH_READER_HAS_EDGES, true);
+        this.kryo = GryoMapper.build().addRegistries(IoRegistryHelper.createRegistries(ConfUtil.makeApacheConfiguration(configuration))).create().createMapper();
+        final Path file = split.getPath();
+        if (null != new CompressionCodecFactory(configuration).getCodec(file)) {
+            throw new IllegalStateException("Compression is not supported for the columnar format");
+        }
+        final FileSystem fileSystem = file.getFileSystem(configuration);
+        final long fileLength = fileSystem.getFileStatus(file).getLen();
+        this.inputStream = fileSystem.open(file);
+        // the footer length and the magic bytes close the file
+        final byte[] tail = new byte[Integer.BYTES + RowGroup.MAGIC.length];
+        this.inputStream.readFully(fileLength - tail.length, tail);
+        if (!Arrays.equals(RowGroup.MAGIC, Arrays.copyOfRange(tail, Integer.BYTES, tail.length)))
+            throw new IllegalStateException("The file is not in the columnar format: " + file);
+        final byte[] footer = new byte[ByteBuffer.wrap(tail).getInt()];
+        this.inputStream.readFully(fileLength - tail.length - footer.length, footer);
+        final Input input = new Input(footer);
+        // a row group belongs to the split in which it starts
+        for (int i = input.readVarInt(true); i > 0; i--) {
+            final RowGroup rowGroup = RowGroup.read(this.kryo, input);
+            if (rowGroup.getOffset() >= split.getStart() && rowGroup.getOffset() < split.getStart() + split.getLength()) {
+                this.rowCount = this.rowCount + rowGroup.getRowCount();
+                if (rowGroup.mayContainLegalVertices(this.graphFilter))
+                    this.rowGroups.add(rowGroup);
+                else
+                    this.currentRow = this.currentRow + rowGroup.getRowCount();
+            }
+        }
+    }
+
+    @Override
+    public boolean nextKeyValue() throws IOException {
+        while (!this.vertices.hasNext()) {
+            if (this.rowGroups.isEmpty())
+                return false;
+            final RowGroup rowGroup = this.rowGroups.poll();
+            final Map<ColumnChunk, byte[]> columns = new HashMap<>();
+            for (final ColumnChunk chunk : rowGroup.getProjectedChunks(this.graphFilter, this.hasEdges)) {
+                final byte[] bytes = new byte[chunk.getLength()];
+                this.inputStream.readFully(chunk.getOffset(), bytes);
+                columns.put(chunk, bytes);
+            }
+            this.vertices = rowGroup.read(this.kryo, columns, this.graphFilter).iterator();
+            this.currentRow = this.currentRow + rowGroup.getRowCount();
+        }
+        this.vertexWritable.set(this.vertices.next());
+        return true;
+    }
+
+    @Override
+    public NullWritable getCurrentKey() {
+        return NullWritable.get();
+    }
+
+    @Override
+    public VertexWritable getCurrentValue() {
+        return this.vertexWritable;
+    }
+
+    @Override
+    public float getProgress() throws IOException {
+        return 0 == this.rowCount ? 0.0f : (float) this.currentRow / (float) this.rowCount;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        this.inputStream.close();
+        this.kryo = null;
+    }
+}
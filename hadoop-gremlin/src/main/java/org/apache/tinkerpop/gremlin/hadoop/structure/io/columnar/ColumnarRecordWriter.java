@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.hadoop.structure.io.columnar;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.mapreduce.RecordWriter;
+import org.apache.hadoop.mapreduce.TaskAttemptContext;
+import org.apache.tinkerpop.gremlin.hadoop.Constants;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.VertexWritable;
+import org.apache.tinkerpop.gremlin.hadoop.structure.util.ConfUtil;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoMapper;
+import org.apache.tinkerpop.gremlin.structure.io.util.IoRegistryHelper;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
+import org.apache.tinkerpop.shaded.kryo.io.Output;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Buffers vertices into row groups of {@code gremlin.hadoop.columnar.rowGroupSize} vertices, writes each row group
+ * column by column and closes the file with the footer that describes all its row groups.
+ */
+public final class ColumnarRecordWriter extends RecordWriter<NullWritable, VertexWritable> {
+
+    private static final int DEFAULT_ROW_GROUP_SIZE = 10000;
+
+    private final DataOutputStream outputStream;
+    private final boolean hasEdges;
+    private final int rowGroupSize;
+    private final List<RowGroup> rowGroups = new ArrayList<>();
+    private RowGroupWriter rowGroupWriter;
+    private Kryo kryo;
+    private long position;
+
+    public ColumnarRecordWriter(final DataOutputStream outputStream, final Configuration configuration) throws IOException {
+        this.outputStream = outputStream;
+        this.hasEdges = configuration.getBoolean(Constants.GREMLIN_HADOOP_GRAPH_WRITER_HAS_EDGES, true);
+        this.rowGroupSize = configuration.getInt(Constants.GREMLIN_HADOOP_COLUMNAR_ROW_GROUP_SIZE, DEFAULT_ROW_GROUP_SIZE);
+        this.kryo = GryoMapper.build().addRegistries(IoRegistryHelper.createRegistries(ConfUtil.makeApacheConfiguration(configuration))).create().createMapper();
+        this.rowGroupWriter = new RowGroupWriter(this.hasEdges);
+        this.outputStream.write(RowGroup.MAGIC);
+        this.position = RowGroup.MAGIC.length;
+    }
+
+    @Override
+    public void write(final NullWritable key, final VertexWritable vertex) throws IOException {
+        if (null != vertex) {
+            this.rowGroupWriter.add(vertex.get());
+            if (this.rowGroupWriter.size() >= this.rowGroupSize)
+                this.writeRowGroup();
+        }
+    }
+
+    private void writeRowGroup() throws IOException {
+        final RowGroup rowGroup = this.rowGroupWriter.write(this.kryo, this.outputStream, this.position);
+        for (final ColumnChunk chunk : rowGroup.getChunks()) {
+            this.position = chunk.getOffset() + chunk.getLength();
+        }
+        this.rowGroups.add(rowGroup);
+        this.rowGroupWriter = new RowGroupWriter(this.hasEdges);
+    }
+
+    @Override
+    public synchronized void close(final TaskAttemptContext context) throws IOException {
+        if (this.rowGroupWriter.size() > 0)
+            this.writeRowGroup();
+        final Output footer = new Output(4096, -1);
+        footer.writeVarInt(this.rowGroups.size(), true);
+        for (final RowGroup rowGroup : this.rowGroups) {
+            rowGroup.write(this.kryo, footer);
+        }
+        this.outputStream.write(footer.getBuffer(), 0, footer.position());
+        this.outputStream.writeInt(footer.position());
+        this.outputStream.write(RowGroup.MAGIC);
+        this.outputStream.close();
+        this.kryo = null;
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.hadoop.structure.io.columnar;
+
+import org.apache.tinkerpop.gremlin.process.computer.GraphFilter;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.FilterStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.util.star.StarGraph;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
+import org.apache.tinkerpop.shaded.kryo.io.Input;
+import org.apache.tinkerpop.shaded.kryo.io.Output;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A horizontal slice of a columnar graph file. A file written by {@link ColumnarRecordWriter} is laid out as
+ * <pre>
+ * MAGIC
+ * row group 1: ID | LABEL | PROPERTY[key]* | OUT_EDGES[label]* | IN_EDGES[label]*
+ * ...
+ * row group n
+ * footer: for each row group its offset, row count and {@link ColumnChunk} metadata
+ * footer length (int) | MAGIC
+ * </pre>
+ * The vertex table of a row group is made of the id, label and property columns while its edge table is split into
+ * one column per direction and edge label. All columns of a row group hold one entry per vertex in the same order,
+ * so a vertex can be assembled from any subset of them. A reader consults the footer to drop whole row groups whose
+ * statistics can not satisfy the vertex filter of a {@link GraphFilter} and to skip the edge columns that the edge
+ * filter makes illegal and the property columns that are not projected, so none of them is read from disk.
+ */
+final class RowGroup {
+
+    public static final byte[] MAGIC = {'T', 'P', 'C', 'L'};
+
+    private final long offset;
+    private final int rowCount;
+    private final List<ColumnChunk> chunks;
+
+    public RowGroup(final long offset, final int rowCount, final List<ColumnChunk> chunks) {
+        this.offset = offset;
+        this.rowCount = rowCount;
+        this.chunks = chunks;
+    }
+
+    public long getOffset() {
+        return this.offset;
+    }
+
+    public int getRowCount() {
+        return this.rowCount;
+    }
+
+    public List<ColumnChunk> getChunks() {
+        return this.chunks;
+    }
+
+    public ColumnChunk getChunk(final ColumnChunk.Kind kind, final String key) {
+        for (final ColumnChunk chunk : this.chunks) {
+            if (chunk.getKind() == kind && (null == key || key.equals(chunk.getKey())))
+                return chunk;
+        }
+        return null;
+    }
+
+    /**
+     * Determines if some vertex of the row group may pass the vertex filter. Only the {@link HasContainer} filters
+     * that lead the vertex filter are considered as any vertex that passes the filter must satisfy all of them.
+     */
+    public boolean mayContainLegalVertices(final GraphFilter graphFilter) {
+        if (!graphFilter.hasVertexFilter())
+            return true;
+        for (final HasContainer hasContainer : getLeadingHasContainers(graphFilter.getVertexFilter())) {
+            final String key = hasContainer.getKey();
+            final ColumnChunk chunk;
+            if (key.equals(T.id.getAccessor()))
+                chunk = this.getChunk(ColumnChunk.Kind.ID, null);
+            else if (key.equals(T.label.getAccessor()))
+                chunk = this.getChunk(ColumnChunk.Kind.LABEL, null);
+            else if (key.equals(T.key.getAccessor()) || key.equals(T.value.getAccessor()))
+                continue;
+            else {
+                chunk = this.getChunk(ColumnChunk.Kind.PROPERTY, key);
+                if (null == chunk)
+                    return false; // no vertex of the row group has the property
+            }
+            if (!chunk.mayMatch(hasContainer.getPredicate()))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Gets the columns that must be read to assemble the legal vertices of the row group. Edge columns are dropped if
+     * edges are not wanted at all or if the edge filter makes their direction and label illegal. Property columns are
+     * dropped if they are neither projected nor needed by the vertex or edge filter.
+     */
+    public List<ColumnChunk> getProjectedChunks(final GraphFilter graphFilter, final boolean hasEdges) {
+        final List<ColumnChunk> projection = new ArrayList<>(this.chunks.size());
+        for (final ColumnChunk chunk : this.chunks) {
+            if (chunk.getKind() == ColumnChunk.Kind.PROPERTY) {
+                if (!graphFilter.checkPropertyLegality(chunk.getKey()).negative())
+                    projection.add(chunk);
+            } else if (null == chunk.getKind().direction() ||
+                    (hasEdges && !graphFilter.checkEdgeLegality(chunk.getKind().direction(), chunk.getKey()).negative()))
+                projection.add(chunk);
+        }
+        return projection;
+    }
+
+    /**
+     * Assembles the vertices of the row group from the bytes of its projected columns and applies the
+     * {@link GraphFilter} to them. The edges of a vertex that fails the vertex filter are never materialized.
+     */
+    public List<Vertex> read(final Kryo kryo, final Map<ColumnChunk, byte[]> columns, final GraphFilter graphFilter) {
+        final StarGraph.StarVertex[] vertices = new StarGraph.StarVertex[this.rowCount];
+        final ColumnChunk labelChunk = this.getChunk(ColumnChunk.Kind.LABEL, null);
+        final Input ids = new Input(columns.get(this.getChunk(ColumnChunk.Kind.ID, null)));
+        final Input labels = new Input(columns.get(labelChunk));
+        for (int row = 0; row < this.rowCount; row++) {
+            vertices[row] = (StarGraph.StarVertex) StarGraph.open().addVertex(
+                    T.id, kryo.readClassAndObject(ids),
+                    T.label, labelChunk.getDictionary().get(labels.readVarInt(true)));
+        }
+        for (final ColumnChunk chunk : this.chunks) {
+            if (chunk.getKind() != ColumnChunk.Kind.PROPERTY || !columns.containsKey(chunk))
+                continue;
+            final Input input = new Input(columns.get(chunk));
+            for (int row = 0; row < this.rowCount; row++) {
+                for (int i = input.readVarInt(true); i > 0; i--) {
+                    final Object id = kryo.readClassAndObject(input);
+                    final Object value = chunk.getEncoding() == ColumnChunk.Encoding.DICTIONARY ?
+                            chunk.getDictionary().get(input.readVarInt(true)) :
+                            kryo.readClassAndObject(input);
+                    final Map<String, Object> properties = (Map<String, Object>) kryo.readClassAndObject(input);
+                    vertices[row].property(VertexProperty.Cardinality.list, chunk.getKey(), value, keyValues(id, properties));
+                }
+            }
+        }
+        final boolean[] legal = new boolean[this.rowCount];
+        for (int row = 0; row < this.rowCount; row++) {
+            legal[row] = graphFilter.legalVertex(vertices[row]);
+        }
+        // out-edges first as adding a self-loop to the star vertex also adds its in-edge
+        final Set<String> outLabels = new HashSet<>();
+        for (final ColumnChunk.Kind kind : new ColumnChunk.Kind[]{ColumnChunk.Kind.OUT_EDGES, ColumnChunk.Kind.IN_EDGES}) {
+            for (final ColumnChunk chunk : this.chunks) {
+                if (chunk.getKind() != kind || !columns.containsKey(chunk))
+                    continue;
+                if (kind == ColumnChunk.Kind.OUT_EDGES)
+                    outLabels.add(chunk.getKey());
+                final Input input = new Input(columns.get(chunk));
+                for (int row = 0; row < this.rowCount; row++) {
+                    for (int i = input.readVarInt(true); i > 0; i--) {
+                        final Object id = kryo.readClassAndObject(input);
+                        final Object otherId = kryo.readClassAndObject(input);
+                        final Map<String, Object> properties = (Map<String, Object>) kryo.readClassAndObject(input);
+                        if (!legal[row])
+                            continue;
+                        final StarGraph.StarVertex vertex = vertices[row];
+                        if (kind == ColumnChunk.Kind.OUT_EDGES)
+                            vertex.addEdge(chunk.getKey(), vertex.graph().addVertex(T.id, otherId), keyValues(id, properties));
+                        else if (!outLabels.contains(chunk.getKey()) || !otherId.equals(vertex.id()))
+                            vertex.graph().addVertex(T.id, otherId).addEdge(chunk.getKey(), vertex, keyValues(id, properties));
+                    }
+                }
+            }
+        }
+        final List<Vertex> result = new ArrayList<>(this.rowCount);
+        for (int row = 0; row < this.rowCount; row++) {
+            if (legal[row]) {
+                final Optional<StarGraph.StarVertex> vertex = vertices[row].applyGraphFilter(graphFilter);
+                vertex.ifPresent(result::add);
+            }
+        }
+        return result;
+    }
+
+    public void write(final Kryo kryo, final Output output) {
+        output.writeVarLong(this.offset, true);
+        output.writeVarInt(this.rowCount, true);
+        output.writeVarInt(this.chunks.size(), true);
+        for (final ColumnChunk chunk : this.chunks) {
+            chunk.write(kryo, output);
+        }
+    }
+
+    public static RowGroup read(final Kryo kryo, final Input input) {
+        final long offset = input.readVarLong(true);
+        final int rowCount = input.readVarInt(true);
+        final int size = input.readVarInt(true);
+        final List<ColumnChunk> chunks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            chunks.add(ColumnChunk.read(kryo, input));
+        }
+        return new RowGroup(offset, rowCount, chunks);
+    }
+
+    private static Object[] keyValues(final Object id, final Map<String, Object> properties) {
+        final Object[] keyValues = new Object[2 + (null == properties ? 0 : 2 * properties.size())];
+        keyValues[0] = T.id;
+        keyValues[1] = id;
+        if (null != properties) {
+            int i = 2;
+            for (final Map.Entry<String, Object> entry : properties.entrySet()) {
+                keyValues[i++] = entry.getKey();
+                keyValues[i++] = entry.getValue();
+            }
+        }
+        return keyValues;
+    }
+
+    private static List<HasContainer> getLeadingHasContainers(final Traversal.Admin<?, ?> traversal) {
+        final List<HasContainer> hasContainers = new ArrayList<>();
+        for (final Step<?, ?> step : traversal.getSteps()) {
+            if (!(step instanceof FilterStep))
+                break;
+            if (step instanceof HasContainerHolder)
+                hasContainers.addAll(((HasContainerHolder) step).getHasContainers());
+        }
+        return hasContainers;
+    }
+}
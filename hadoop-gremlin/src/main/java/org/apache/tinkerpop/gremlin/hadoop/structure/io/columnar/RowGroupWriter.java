@@ -0,0 +1,203 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.hadoop.structure.io.columnar;
+
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
+import org.apache.tinkerpop.shaded.kryo.io.Output;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Buffers the rows of a {@link RowGroup} column by column and encodes each column as it is written. A property column
+ * is dictionary encoded when it has few distinct values compared to the number of values it holds.
+ */
+final class RowGroupWriter {
+
+    private static final int MAX_DICTIONARY_SIZE = 1024;
+
+    private final boolean hasEdges;
+    private final List<Object> ids = new ArrayList<>();
+    private final List<String> labels = new ArrayList<>();
+    // column key -> row -> values of the row, where a value is an [id, value, properties] triple
+    private final Map<String, Map<Integer, List<Object[]>>> properties = new LinkedHashMap<>();
+    private final Map<String, Map<Integer, List<Object[]>>> outEdges = new LinkedHashMap<>();
+    private final Map<String, Map<Integer, List<Object[]>>> inEdges = new LinkedHashMap<>();
+
+    public RowGroupWriter(final boolean hasEdges) {
+        this.hasEdges = hasEdges;
+    }
+
+    public int size() {
+        return this.ids.size();
+    }
+
+    public void add(final Vertex vertex) {
+        final int row = this.ids.size();
+        this.ids.add(vertex.id());
+        this.labels.add(vertex.label());
+        vertex.properties().forEachRemaining(vertexProperty ->
+                add(this.properties, vertexProperty.key(), row, vertexProperty.id(), vertexProperty.value(), getProperties(vertexProperty)));
+        if (this.hasEdges) {
+            vertex.edges(Direction.OUT).forEachRemaining(edge ->
+                    add(this.outEdges, edge.label(), row, edge.id(), edge.inVertex().id(), getProperties(edge)));
+            vertex.edges(Direction.IN).forEachRemaining(edge ->
+                    add(this.inEdges, edge.label(), row, edge.id(), edge.outVertex().id(), getProperties(edge)));
+        }
+    }
+
+    /**
+     * Writes the columns of the buffered rows to the stream and returns the {@link RowGroup} that describes them.
+     *
+     * @param offset the position in the file at which the row group starts
+     */
+    public RowGroup write(final Kryo kryo, final OutputStream outputStream, final long offset) throws IOException {
+        final List<ColumnChunk> chunks = new ArrayList<>();
+        long position = offset;
+        Output output = new Output(4096, -1);
+        for (final Object id : this.ids) {
+            kryo.writeClassAndObject(output, id);
+        }
+        final Object[] range = range(this.ids);
+        chunks.add(new ColumnChunk(ColumnChunk.Kind.ID, null, ColumnChunk.Encoding.PLAIN, position, output.position(),
+                null, null == range ? null : range[0], null == range ? null : range[1]));
+        position = flush(output, outputStream, position);
+        //
+        final Map<Object, Integer> labelDictionary = new LinkedHashMap<>();
+        output = new Output(4096, -1);
+        for (final String label : this.labels) {
+            output.writeVarInt(labelDictionary.computeIfAbsent(label, l -> labelDictionary.size()), true);
+        }
+        chunks.add(new ColumnChunk(ColumnChunk.Kind.LABEL, null, ColumnChunk.Encoding.DICTIONARY, position, output.position(),
+                new ArrayList<>(labelDictionary.keySet()), null, null));
+        position = flush(output, outputStream, position);
+        //
+        for (final Map.Entry<String, Map<Integer, List<Object[]>>> column : this.properties.entrySet()) {
+            final List<Object> values = new ArrayList<>();
+            column.getValue().values().forEach(triples -> triples.forEach(triple -> values.add(triple[1])));
+            final Map<Object, Integer> dictionary = dictionary(values);
+            output = new Output(4096, -1);
+            for (int row = 0; row < this.ids.size(); row++) {
+                final List<Object[]> triples = column.getValue().get(row);
+                output.writeVarInt(null == triples ? 0 : triples.size(), true);
+                if (null != triples) {
+                    for (final Object[] triple : triples) {
+                        kryo.writeClassAndObject(output, triple[0]);
+                        if (null == dictionary)
+                            kryo.writeClassAndObject(output, triple[1]);
+                        else
+                            output.writeVarInt(dictionary.get(triple[1]), true);
+                        kryo.writeClassAndObject(output, triple[2]);
+                    }
+                }
+            }
+            final Object[] valueRange = null == dictionary ? range(values) : null;
+            chunks.add(new ColumnChunk(ColumnChunk.Kind.PROPERTY, column.getKey(),
+                    null == dictionary ? ColumnChunk.Encoding.PLAIN : ColumnChunk.Encoding.DICTIONARY, position, output.position(),
+                    null == dictionary ? null : new ArrayList<>(dictionary.keySet()),
+                    null == valueRange ? null : valueRange[0], null == valueRange ? null : valueRange[1]));
+            position = flush(output, outputStream, position);
+        }
+        //
+        for (final ColumnChunk.Kind kind : new ColumnChunk.Kind[]{ColumnChunk.Kind.OUT_EDGES, ColumnChunk.Kind.IN_EDGES}) {
+            for (final Map.Entry<String, Map<Integer, List<Object[]>>> column : (kind == ColumnChunk.Kind.OUT_EDGES ? this.outEdges : this.inEdges).entrySet()) {
+                output = new Output(4096, -1);
+                for (int row = 0; row < this.ids.size(); row++) {
+                    final List<Object[]> triples = column.getValue().get(row);
+                    output.writeVarInt(null == triples ? 0 : triples.size(), true);
+                    if (null != triples) {
+                        for (final Object[] triple : triples) {
+                            kryo.writeClassAndObject(output, triple[0]);
+                            kryo.writeClassAndObject(output, triple[1]);
+                            kryo.writeClassAndObject(output, triple[2]);
+                        }
+                    }
+                }
+                chunks.add(new ColumnChunk(kind, column.getKey(), ColumnChunk.Encoding.PLAIN, position, output.position(), null, null, null));
+                position = flush(output, outputStream, position);
+            }
+        }
+        return new RowGroup(offset, this.ids.size(), chunks);
+    }
+
+    private static long flush(final Output output, final OutputStream outputStream, final long position) throws IOException {
+        outputStream.write(output.getBuffer(), 0, output.position());
+        return position + output.position();
+    }
+
+    private static void add(final Map<String, Map<Integer, List<Object[]>>> columns, final String key, final int row,
+                            final Object id, final Object value, final Map<String, Object> properties) {
+        columns.computeIfAbsent(key, k -> new HashMap<>()).computeIfAbsent(row, r -> new ArrayList<>()).add(new Object[]{id, value, properties});
+    }
+
+    private static Map<String, Object> getProperties(final Element element) {
+        final Iterator<? extends Property<Object>> iterator = element.properties();
+        if (!iterator.hasNext())
+            return null;
+        final Map<String, Object> properties = new HashMap<>();
+        iterator.forEachRemaining(property -> properties.put(property.key(), property.value()));
+        return properties;
+    }
+
+    /**
+     * Gets the dictionary of the values if it is small enough for dictionary encoding to pay off.
+     */
+    private static Map<Object, Integer> dictionary(final List<Object> values) {
+        final Map<Object, Integer> dictionary = new LinkedHashMap<>();
+        for (final Object value : values) {
+            if (null == value)
+                return null;
+            dictionary.computeIfAbsent(value, v -> dictionary.size());
+            if (dictionary.size() > MAX_DICTIONARY_SIZE || 2 * dictionary.size() > values.size())
+                return null;
+        }
+        return dictionary;
+    }
+
+    /**
+     * Gets the minimum and maximum of the values if they are all {@link Comparable} and of the same class.
+     */
+    private static Object[] range(final List<Object> values) {
+        if (values.isEmpty() || !(values.get(0) instanceof Comparable))
+            return null;
+        final Class<?> type = values.get(0).getClass();
+        Comparable<Object> min = (Comparable<Object>) values.get(0);
+        Comparable<Object> max = min;
+        for (final Object value : values) {
+            if (null == value || !value.getClass().equals(type))
+                return null;
+            if (min.compareTo(value) > 0)
+                min = (Comparable<Object>) value;
+            if (max.compareTo(value) < 0)
+                max = (Comparable<Object>) value;
+        }
+        return new Object[]{min, max};
+    }
+}
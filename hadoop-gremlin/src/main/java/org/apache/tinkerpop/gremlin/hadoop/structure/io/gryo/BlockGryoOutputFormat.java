@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.hadoop.structure.io.gryo;
+
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.mapreduce.RecordWriter;
+import org.apache.hadoop.mapreduce.TaskAttemptContext;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.CommonFileOutputFormat;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.HadoopPoolsConfigurable;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.VertexWritable;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Writes a graph as Gryo vertices in independently compressed blocks. The codec of the blocks is set with
+ * {@code gremlin.hadoop.blockGryo.codec} and their uncompressed size with {@code gremlin.hadoop.blockGryo.blockSize}.
+ * The output compression of the job is ignored as compressing the file as a whole would make it unsplittable.
+ */
+public final class BlockGryoOutputFormat extends CommonFileOutputFormat implements HadoopPoolsConfigurable {
+
+    @Override
+    public RecordWriter<NullWritable, VertexWritable> getRecordWriter(final TaskAttemptContext job) throws IOException, InterruptedException {
+        final Path file = super.getDefaultWorkFile(job, "");
+        return new BlockGryoRecordWriter(new DataOutputStream(file.getFileSystem(job.getConfiguration()).create(file, false)), job.getConfiguration());
+    }
+
+}
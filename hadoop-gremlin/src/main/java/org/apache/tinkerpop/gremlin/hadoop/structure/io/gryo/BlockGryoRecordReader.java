@@ -0,0 +1,238 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.hadoop.structure.io.gryo;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.IOUtils;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.io.compress.CompressionCodec;
+import org.apache.hadoop.io.compress.CompressionCodecFactory;
+import org.apache.hadoop.io.compress.CompressionInputStream;
+import org.apache.hadoop.mapreduce.InputSplit;
+import org.apache.hadoop.mapreduce.RecordReader;
+import org.apache.hadoop.mapreduce.TaskAttemptContext;
+import org.apache.hadoop.mapreduce.lib.input.FileSplit;
+import org.apache.hadoop.util.ReflectionUtils;
+import org.apache.tinkerpop.gremlin.hadoop.Constants;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.VertexWritable;
+import org.apache.tinkerpop.gremlin.hadoop.structure.util.ConfUtil;
+import org.apache.tinkerpop.gremlin.process.computer.GraphFilter;
+import org.apache.tinkerpop.gremlin.process.computer.util.VertexProgramHelper;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoMapper;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoReader;
+import org.apache.tinkerpop.gremlin.structure.io.util.IoRegistryHelper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Optional;
+
+/**
+ * Reads the blocks of a file written by {@link BlockGryoRecordWriter} that start within a {@link FileSplit}. As every
+ * block is compressed on its own, the file can be split at any block boundary no matter the codec. The blocks of the
+ * split are taken from the index at the end of the file or, if the file has no index, found by scanning the split for
+ * the sync marker of the file. A vertex whose label the {@link GraphFilter} rejects is skipped by its length without
+ * decoding any of its Gryo bytes.
+ */
+public final class BlockGryoRecordReader extends RecordReader<NullWritable, VertexWritable> {
+
+    private static final int BLOCK_HEADER_SIZE = BlockGryoRecordWriter.SYNC_SIZE + 3 * Integer.BYTES;
+
+    private FSDataInputStream inputStream;
+
+    private GryoReader gryoReader;
+    private CompressionCodec codec;
+    private final VertexWritable vertexWritable = new VertexWritable();
+    private final byte[] sync = new byte[BlockGryoRecordWriter.SYNC_SIZE];
+    private final Deque<Long> blocks = new ArrayDeque<>();
+
+    private byte[] block = new byte[0];
+    private int blockPosition = 0;
+    private int blockCount = 0;
+    private int currentBlock = 0;
+    private GraphFilter graphFilter = new GraphFilter();
+
+    public BlockGryoRecordReader() {
+
+    }
+
+    @Override
+    public void initialize(final InputSplit genericSplit, final TaskAttemptContext context) throws IOException {
+        final FileSplit split = (FileSplit) genericSplit;
+        final Configuration configuration = context.getConfiguration();
+        if (configuration.get(Constants.GREMLIN_HADOOP_GRAPH_FILTER, null) != null)
+            this.graphFilter = VertexProgramHelper.deserialize(ConfUtil.makeApacheConfiguration(configuration), Constants.GREMLIN_HADOOP_GRAPH_FILTER);
+        this.gryoReader = GryoReader.build().mapper(
+                GryoMapper.build().addRegistries(IoRegistryHelper.createRegistries(ConfUtil.makeApacheConfiguration(configuration))).create()).create();
+        final Path file = split.getPath();
+        if (null != new CompressionCodecFactory(configuration).getCodec(file)) {
+            throw new IllegalStateException("Compression of the whole file is not supported for the block Gryo format as its blocks are already compressed");
+        }
+        final FileSystem fileSystem = file.getFileSystem(configuration);
+        final long fileLength = fileSystem.getFileStatus(file).getLen();
+        this.inputStream = fileSystem.open(file);
+        // the header holds the codec of the blocks and the sync marker that precedes each block
+        final byte[] magic = new byte[BlockGryoRecordWriter.MAGIC.length];
+        this.inputStream.readFully(0, magic);
+        if (!Arrays.equals(BlockGryoRecordWriter.MAGIC, magic))
+            throw new IllegalStateException("The file is not in the block Gryo format: " + file);
+        this.inputStream.seek(magic.length);
+        try {
+            this.codec = ReflectionUtils.newInstance(configuration.getClassByName(this.inputStream.readUTF()).asSubclass(CompressionCodec.class), configuration);
+        } catch (final ClassNotFoundException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+        this.inputStream.readFully(this.sync);
+        final long headerLength = this.inputStream.getPos();
+        // a block belongs to the split in which it starts
+        final long start = split.getStart();
+        final long end = split.getStart() + split.getLength();
+        final byte[] tail = new byte[Integer.BYTES + BlockGryoRecordWriter.MAGIC.length];
+        if (fileLength - headerLength >= tail.length) {
+            this.inputStream.readFully(fileLength - tail.length, tail);
+            if (Arrays.equals(BlockGryoRecordWriter.MAGIC, Arrays.copyOfRange(tail, Integer.BYTES, tail.length))) {
+                final byte[] index = new byte[ByteBuffer.wrap(tail).getInt()];
+                this.inputStream.readFully(fileLength - tail.length - index.length, index);
+                final ByteBuffer buffer = ByteBuffer.wrap(index);
+                for (int i = buffer.getInt(); i > 0; i--) {
+                    final long offset = buffer.getLong();
+                    buffer.getInt(); // vertex count
+                    if (offset >= start && offset < end)
+                        this.blocks.add(offset);
+                }
+                this.blockCount = this.blocks.size();
+                return;
+            }
+        }
+        // without an index (e.g. the writer did not close the file), the blocks are found through their sync markers
+        long offset = this.seekToSync(Math.max(start, headerLength), Math.min(end, fileLength));
+        while (offset >= 0 && offset < end && offset + BLOCK_HEADER_SIZE <= fileLength) {
+            this.inputStream.seek(offset + BlockGryoRecordWriter.SYNC_SIZE + 2 * Integer.BYTES);
+            final long nextOffset = offset + BLOCK_HEADER_SIZE + this.inputStream.readInt();
+            if (nextOffset > fileLength)
+                break; // the last block was not completely written
+            this.blocks.add(offset);
+            offset = nextOffset;
+        }
+        this.blockCount = this.blocks.size();
+    }
+
+    /**
+     * Finds the first sync marker that starts within {@code [start, end)}.
+     *
+     * @return the position of the sync marker or {@code -1} if there is none
+     */
+    private long seekToSync(final long start, final long end) throws IOException {
+        this.inputStream.seek(start);
+        final byte[] window = new byte[this.sync.length];
+        long position = start;
+        int read = 0;
+        while (position < end) {
+            final int currentByte = this.inputStream.read();
+            if (-1 == currentByte)
+                return -1;
+            window[read++ % window.length] = (byte) currentByte;
+            if (read >= window.length) {
+                boolean match = true;
+                for (int i = 0; i < window.length && match; i++) {
+                    match = window[(read + i) % window.length] == this.sync[i];
+                }
+                if (match)
+                    return position;
+                position++;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean nextKeyValue() throws IOException {
+        while (true) {
+            while (this.blockPosition >= this.block.length) {
+                if (this.blocks.isEmpty())
+                    return false;
+                this.readBlock(this.blocks.poll());
+            }
+            final ByteBuffer lengths = ByteBuffer.wrap(this.block, this.blockPosition, 2 * Integer.BYTES);
+            final int length = lengths.getInt();
+            final int labelLength = lengths.getInt();
+            final String label = new String(this.block, this.blockPosition + 2 * Integer.BYTES, labelLength, StandardCharsets.UTF_8);
+            final int vertexPosition = this.blockPosition + 2 * Integer.BYTES + labelLength;
+            this.blockPosition = vertexPosition + length;
+            // the label ahead of the Gryo bytes lets a vertex that the graph filter rejects be skipped without decoding it
+            if (this.graphFilter.checkVertexLabelLegality(label).negative())
+                continue;
+            try (InputStream in = new ByteArrayInputStream(this.block, vertexPosition, length)) {
+                final Optional<Vertex> vertex = this.gryoReader.readVertex(in, this.graphFilter);
+                if (vertex.isPresent()) {
+                    this.vertexWritable.set(vertex.get());
+                    return true;
+                }
+            }
+        }
+    }
+
+    private void readBlock(final long offset) throws IOException {
+        final byte[] header = new byte[BLOCK_HEADER_SIZE];
+        this.inputStream.readFully(offset, header);
+        if (!Arrays.equals(this.sync, Arrays.copyOf(header, this.sync.length)))
+            throw new IllegalStateException("The block at " + offset + " does not start with the sync marker of the file");
+        final ByteBuffer buffer = ByteBuffer.wrap(header, this.sync.length, 3 * Integer.BYTES);
+        buffer.getInt(); // vertex count
+        final byte[] uncompressed = new byte[buffer.getInt()];
+        final byte[] compressed = new byte[buffer.getInt()];
+        this.inputStream.readFully(offset + BLOCK_HEADER_SIZE, compressed);
+        try (final CompressionInputStream in = this.codec.createInputStream(new ByteArrayInputStream(compressed))) {
+            IOUtils.readFully(in, uncompressed, 0, uncompressed.length);
+        }
+        this.block = uncompressed;
+        this.blockPosition = 0;
+        this.currentBlock++;
+    }
+
+    @Override
+    public NullWritable getCurrentKey() {
+        return NullWritable.get();
+    }
+
+    @Override
+    public VertexWritable getCurrentValue() {
+        return this.vertexWritable;
+    }
+
+    @Override
+    public float getProgress() throws IOException {
+        return 0 == this.blockCount ? 0.0f : (float) this.currentBlock / (float) this.blockCount;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        this.inputStream.close();
+        this.gryoReader = null;
+    }
+}
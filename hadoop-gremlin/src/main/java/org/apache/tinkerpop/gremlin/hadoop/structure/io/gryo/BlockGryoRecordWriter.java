@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.hadoop.structure.io.gryo;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.io.compress.CompressionCodec;
+import org.apache.hadoop.io.compress.CompressionOutputStream;
+import org.apache.hadoop.io.compress.DefaultCodec;
+import org.apache.hadoop.mapreduce.RecordWriter;
+import org.apache.hadoop.mapreduce.TaskAttemptContext;
+import org.apache.hadoop.util.ReflectionUtils;
+import org.apache.tinkerpop.gremlin.hadoop.Constants;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.VertexWritable;
+import org.apache.tinkerpop.gremlin.hadoop.structure.util.ConfUtil;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoMapper;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoWriter;
+import org.apache.tinkerpop.gremlin.structure.io.util.IoRegistryHelper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Writes vertices in the same Gryo encoding as {@link GryoRecordWriter} but groups them into blocks of about
+ * {@code gremlin.hadoop.blockGryo.blockSize} uncompressed bytes that are compressed independently of each other with
+ * the {@code CompressionCodec} set by {@code gremlin.hadoop.blockGryo.codec}. A file is laid out as
+ * <pre>
+ * MAGIC | codec class name | sync marker
+ * block 1: sync marker | vertex count (int) | uncompressed length (int) | compressed length (int) | compressed vertices
+ * ...
+ * block n
+ * index: block count (int) | for each block its offset (long) and vertex count (int)
+ * index length (int) | MAGIC
+ * </pre>
+ * where each compressed vertex is written as
+ * <pre>
+ * Gryo length (int) | label length (int) | UTF-8 label | Gryo bytes
+ * </pre>
+ * so that a reader can reject a vertex on its label and skip its Gryo bytes without decoding them. Readers compute
+ * their blocks from the index and, should the index be missing, find the blocks of their split by scanning for the
+ * sync marker.
+ */
+public final class BlockGryoRecordWriter extends RecordWriter<NullWritable, VertexWritable> {
+
+    public static final byte[] MAGIC = {'T', 'P', 'G', 'B'};
+    public static final int SYNC_SIZE = 16;
+
+    private static final int DEFAULT_BLOCK_SIZE = 1024 * 1024;
+
+    private final DataOutputStream outputStream;
+    private final boolean hasEdges;
+    private final int blockSize;
+    private final CompressionCodec codec;
+    private final byte[] sync = new byte[SYNC_SIZE];
+    private final ByteArrayOutputStream vertexBytes = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream blockBytes = new ByteArrayOutputStream();
+    private final DataOutputStream block = new DataOutputStream(this.blockBytes);
+    private final ByteArrayOutputStream compressedBytes = new ByteArrayOutputStream();
+    private final List<long[]> index = new ArrayList<>();
+    private GryoWriter gryoWriter;
+    private int vertexCount = 0;
+    private long position;
+
+    public BlockGryoRecordWriter(final DataOutputStream outputStream, final Configuration configuration) throws IOException {
+        this.outputStream = outputStream;
+        this.hasEdges = configuration.getBoolean(Constants.GREMLIN_HADOOP_GRAPH_WRITER_HAS_EDGES, true);
+        this.blockSize = configuration.getInt(Constants.GREMLIN_HADOOP_BLOCK_GRYO_BLOCK_SIZE, DEFAULT_BLOCK_SIZE);
+        this.codec = ReflectionUtils.newInstance(configuration.getClass(Constants.GREMLIN_HADOOP_BLOCK_GRYO_CODEC, DefaultCodec.class, CompressionCodec.class), configuration);
+        this.gryoWriter = GryoWriter.build().mapper(
+                GryoMapper.build().addRegistries(IoRegistryHelper.createRegistries(ConfUtil.makeApacheConfiguration(configuration))).create()).create();
+        final UUID uuid = UUID.randomUUID();
+        for (int i = 0; i < Long.BYTES; i++) {
+            this.sync[i] = (byte) (uuid.getMostSignificantBits() >>> (8 * i));
+            this.sync[Long.BYTES + i] = (byte) (uuid.getLeastSignificantBits() >>> (8 * i));
+        }
+        final ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+        final DataOutputStream header = new DataOutputStream(headerBytes);
+        header.write(MAGIC);
+        header.writeUTF(this.codec.getClass().getName());
+        header.write(this.sync);
+        headerBytes.writeTo(this.outputStream);
+        this.position = headerBytes.size();
+    }
+
+    @Override
+    public void write(final NullWritable key, final VertexWritable vertex) throws IOException {
+        if (null != vertex) {
+            this.vertexBytes.reset();
+            if (this.hasEdges)
+                this.gryoWriter.writeVertex(this.vertexBytes, vertex.get(), Direction.BOTH);
+            else
+                this.gryoWriter.writeVertex(this.vertexBytes, vertex.get());
+            final byte[] label = vertex.get().label().getBytes(StandardCharsets.UTF_8);
+            this.block.writeInt(this.vertexBytes.size());
+            this.block.writeInt(label.length);
+            this.block.write(label);
+            this.vertexBytes.writeTo(this.block);
+            this.vertexCount++;
+            if (this.blockBytes.size() >= this.blockSize)
+                this.writeBlock();
+        }
+    }
+
+    private void writeBlock() throws IOException {
+        this.compressedBytes.reset();
+        try (final CompressionOutputStream compressed = this.codec.createOutputStream(this.compressedBytes)) {
+            this.blockBytes.writeTo(compressed);
+            compressed.finish();
+        }
+        this.index.add(new long[]{this.position, this.vertexCount});
+        this.outputStream.write(this.sync);
+        this.outputStream.writeInt(this.vertexCount);
+        this.outputStream.writeInt(this.blockBytes.size());
+        this.outputStream.writeInt(this.compressedBytes.size());
+        this.compressedBytes.writeTo(this.outputStream);
+        this.position = this.position + SYNC_SIZE + 3 * Integer.BYTES + this.compressedBytes.size();
+        this.blockBytes.reset();
+        this.vertexCount = 0;
+    }
+
+    @Override
+    public synchronized void close(final TaskAttemptContext context) throws IOException {
+        if (this.vertexCount > 0)
+            this.writeBlock();
+        this.outputStream.writeInt(this.index.size());
+        for (final long[] entry : this.index) {
+            this.outputStream.writeLong(entry[0]);
+            this.outputStream.writeInt((int) entry[1]);
+        }
+        this.outputStream.writeInt(Integer.BYTES + this.index.size() * (Long.BYTES + Integer.BYTES));
+        this.outputStream.write(MAGIC);
+        this.outputStream.close();
+        this.gryoWriter = null;
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.hadoop.structure.io.gryo;
+
+import org.apache.commons.configuration2.BaseConfiguration;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.LocalFileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.io.compress.DefaultCodec;
+import org.apache.hadoop.mapreduce.InputFormat;
+import org.apache.hadoop.mapreduce.RecordReader;
+import org.apache.hadoop.mapreduce.RecordWriter;
+import org.apache.hadoop.mapreduce.TaskAttemptContext;
+import org.apache.hadoop.mapreduce.TaskAttemptID;
+import org.apache.hadoop.mapreduce.TaskType;
+import org.apache.hadoop.mapreduce.lib.input.FileSplit;
+import org.apache.hadoop.mapreduce.task.TaskAttemptContextImpl;
+import org.apache.hadoop.util.ReflectionUtils;
+import org.apache.tinkerpop.gremlin.TestHelper;
+import org.apache.tinkerpop.gremlin.features.TestFiles;
+import org.apache.tinkerpop.gremlin.hadoop.Constants;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.GraphFilterAware;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.VertexWritable;
+import org.apache.tinkerpop.gremlin.process.computer.GraphFilter;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BlockGryoRecordReaderWriterTest {
+
+    @Test
+    public void shouldWriteAndReadProperSplits() throws Exception {
+        final Configuration configuration = configure(TestHelper.makeTestDataPath(BlockGryoInputFormat.class, "block-gryo-record-reader-writer-test"));
+        final File file = writeGratefulDead(configuration);
+        assertTrue(file.length() < new File(TestFiles.PATHS.get("grateful-dead-v3d0.kryo")).length() / 2);
+        for (int numberOfSplits = 1; numberOfSplits < 10; numberOfSplits++) {
+            assertGratefulDead(read(BlockGryoInputFormat.class, file, numberOfSplits, configuration));
+        }
+    }
+
+    @Test
+    public void shouldFindBlocksWithoutIndex() throws Exception {
+        final Configuration configuration = configure(TestHelper.makeTestDataPath(BlockGryoInputFormat.class, "block-gryo-without-index-test"));
+        final File file = writeGratefulDead(configuration);
+        // drop the index as if the writer had died before it was closed
+        try (final RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+            randomAccessFile.seek(file.length() - Integer.BYTES - BlockGryoRecordWriter.MAGIC.length);
+            final int indexLength = randomAccessFile.readInt();
+            randomAccessFile.setLength(file.length() - Integer.BYTES - BlockGryoRecordWriter.MAGIC.length - indexLength);
+        }
+        for (int numberOfSplits = 1; numberOfSplits < 10; numberOfSplits++) {
+            assertGratefulDead(read(BlockGryoInputFormat.class, file, numberOfSplits, configuration));
+        }
+    }
+
+    @Test
+    public void shouldSkipVerticesWithFilteredLabel() throws Exception {
+        final Configuration configuration = configure(TestHelper.makeTestDataPath(BlockGryoInputFormat.class, "block-gryo-graph-filter-test"));
+        final File file = writeGratefulDead(configuration);
+        final GraphFilter graphFilter = new GraphFilter();
+        graphFilter.setVertexFilter(__.hasLabel("artist"));
+        graphFilter.setEdgeFilter(__.outE("sungBy"));
+        GraphFilterAware.storeGraphFilter(new BaseConfiguration(), configuration, graphFilter);
+
+        final List<Vertex> expected = read(GryoInputFormat.class, new File(TestFiles.PATHS.get("grateful-dead-v3d0.kryo")), 1, configuration);
+        for (int numberOfSplits = 1; numberOfSplits < 10; numberOfSplits++) {
+            final List<Vertex> vertices = read(BlockGryoInputFormat.class, file, numberOfSplits, configuration);
+            assertEquals(expected.size(), vertices.size());
+            int outEdgeCount = 0;
+            for (final Vertex vertex : vertices) {
+                assertEquals("artist", vertex.label());
+                assertEquals(0, IteratorUtils.count(vertex.edges(Direction.IN)));
+                outEdgeCount = outEdgeCount + (int) IteratorUtils.count(vertex.edges(Direction.OUT, "sungBy"));
+            }
+            assertEquals(expected.stream().mapToLong(v -> IteratorUtils.count(v.edges(Direction.OUT))).sum(), outEdgeCount);
+        }
+    }
+
+    private static void assertGratefulDead(final List<Vertex> vertices) {
+        int outEdgeCount = 0;
+        int inEdgeCount = 0;
+        boolean foundKeyValue = false;
+        for (final Vertex vertex : vertices) {
+            outEdgeCount = outEdgeCount + (int) IteratorUtils.count(vertex.edges(Direction.OUT));
+            inEdgeCount = inEdgeCount + (int) IteratorUtils.count(vertex.edges(Direction.IN));
+            assertEquals(Integer.class, vertex.id().getClass());
+            if (vertex.value("name").equals("SUGAR MAGNOLIA")) {
+                foundKeyValue = true;
+                assertEquals(92, IteratorUtils.count(vertex.edges(Direction.OUT)));
+                assertEquals(77, IteratorUtils.count(vertex.edges(Direction.IN)));
+            }
+        }
+        assertEquals(808, vertices.size());
+        assertEquals(8049, outEdgeCount);
+        assertEquals(8049, inEdgeCount);
+        assertTrue(foundKeyValue);
+    }
+
+    private static Configuration configure(final File outputDirectory) {
+        final Configuration configuration = new Configuration(false);
+        configuration.set("fs.file.impl", LocalFileSystem.class.getName());
+        configuration.set("fs.defaultFS", "file:///");
+        configuration.set("mapreduce.output.fileoutputformat.outputdir", outputDirectory.toURI().toString());
+        configuration.setInt(Constants.GREMLIN_HADOOP_BLOCK_GRYO_BLOCK_SIZE, 4096);
+        configuration.set(Constants.GREMLIN_HADOOP_BLOCK_GRYO_CODEC, DefaultCodec.class.getName());
+        return configuration;
+    }
+
+    private static File writeGratefulDead(final Configuration configuration) throws Exception {
+        final TaskAttemptContext job = new TaskAttemptContextImpl(configuration, new TaskAttemptID(UUID.randomUUID().toString(), 0, TaskType.MAP, 0, 0));
+        final RecordWriter<NullWritable, VertexWritable> writer = ReflectionUtils.newInstance(BlockGryoOutputFormat.class, configuration).getRecordWriter(job);
+        for (final Vertex vertex : read(GryoInputFormat.class, new File(TestFiles.PATHS.get("grateful-dead-v3d0.kryo")), 1, configuration)) {
+            writer.write(NullWritable.get(), new VertexWritable(vertex));
+        }
+        writer.close(job);
+        final File outputDirectory = new File(new URL(configuration.get("mapreduce.output.fileoutputformat.outputdir")).toURI());
+        return new File(outputDirectory.getAbsoluteFile() + "/_temporary/0/_temporary/" + job.getTaskAttemptID().getTaskID().toString().replace("task", "attempt") + "_0" + "/part-m-00000");
+    }
+
+    private static List<Vertex> read(final Class<? extends InputFormat<NullWritable, VertexWritable>> inputFormatClass, final File file,
+                                     final int numberOfSplits, final Configuration configuration) throws Exception {
+        final InputFormat<NullWritable, VertexWritable> inputFormat = ReflectionUtils.newInstance(inputFormatClass, configuration);
+        final TaskAttemptContext job = new TaskAttemptContextImpl(configuration, new TaskAttemptID(UUID.randomUUID().toString(), 0, TaskType.MAP, 0, 0));
+        final long splitLength = (long) Math.ceil((double) file.length() / (double) numberOfSplits);
+        final List<Vertex> vertices = new ArrayList<>();
+        for (long start = 0; start < file.length(); start = start + splitLength) {
+            final FileSplit split = new FileSplit(new Path(file.toURI()), start, Math.min(splitLength, file.length() - start), null);
+            final RecordReader<NullWritable, VertexWritable> reader = inputFormat.createRecordReader(split, job);
+            while (reader.nextKeyValue()) {
+                vertices.add(reader.getCurrentValue().get());
+            }
+            reader.close();
+        }
+        return vertices;
+    }
+}
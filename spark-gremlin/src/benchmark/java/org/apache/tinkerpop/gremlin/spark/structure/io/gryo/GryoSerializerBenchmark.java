@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.spark.structure.io.gryo;
+
+import org.apache.spark.SparkConf;
+import org.apache.spark.serializer.SerializationStream;
+import org.apache.spark.serializer.SerializerInstance;
+import org.apache.tinkerpop.gremlin.hadoop.Constants;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.VertexWritable;
+import org.apache.tinkerpop.gremlin.spark.process.computer.payload.MessagePayload;
+import org.apache.tinkerpop.gremlin.spark.process.computer.payload.ViewIncomingPayload;
+import org.apache.tinkerpop.gremlin.spark.process.computer.payload.ViewPayload;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedFactory;
+import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedVertexProperty;
+import org.apache.tinkerpop.gremlin.structure.util.star.StarGraph;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import scala.reflect.ClassTag;
+import scala.reflect.ClassTag$;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Measures round-trips of the objects that {@code SparkGraphComputer} shuffles through the spark-gremlin
+ * {@link GryoSerializer} with and without pooled and off-heap serialization buffers. It is only compiled and run with
+ * the {@code spark-benchmark} profile, as in {@code mvn verify -pl spark-gremlin -DsparkBenchmarks}, so that
+ * {@code gremlin-benchmark} does not have to depend on {@code spark-gremlin}.
+ */
+@Warmup(iterations = 3, time = 200, timeUnit = MILLISECONDS)
+@Measurement(iterations = 10)
+@Fork(value = 2, jvmArgs = {"-server", "-Xms2g", "-Xmx2g"})
+@State(Scope.Thread)
+public class GryoSerializerBenchmark {
+
+    private static final ClassTag<Object> OBJECT_TAG = ClassTag$.MODULE$.AnyRef();
+
+    @Param({"0", "4"})
+    public int outputPoolSize;
+
+    @Param({"false", "true"})
+    public boolean directBuffers;
+
+    private SerializerInstance serializerInstance;
+    private VertexWritable vertexWritable;
+    private ViewIncomingPayload<Double> viewIncomingPayload;
+    private ByteBuffer vertexWritableBytes;
+    private ByteBuffer viewIncomingPayloadBytes;
+
+    @Test
+    public void run() throws Exception {
+        new Runner(new OptionsBuilder().include(".*" + GryoSerializerBenchmark.class.getSimpleName() + ".*").build()).run();
+    }
+
+    @Setup
+    public void prepare() {
+        final SparkConf sparkConf = new SparkConf()
+                .set(Constants.GREMLIN_SPARK_GRYO_OUTPUT_POOL_SIZE, String.valueOf(this.outputPoolSize))
+                .set(Constants.GREMLIN_SPARK_GRYO_DIRECT_BUFFERS, String.valueOf(this.directBuffers));
+        this.serializerInstance = new GryoSerializer(sparkConf).newInstance();
+
+        // a star graph with a few properties and a hundred edges in each direction
+        final StarGraph starGraph = StarGraph.open();
+        final Vertex vertex = starGraph.addVertex(T.id, 0L, T.label, "person", "name", "marko", "age", 29);
+        for (long i = 1; i <= 100; i++) {
+            final Vertex adjacent = starGraph.addVertex(T.id, i, T.label, "person");
+            vertex.addEdge("knows", adjacent, T.id, i, "weight", 0.5d);
+            adjacent.addEdge("created", vertex, T.id, -i, "weight", 1.0d);
+        }
+        this.vertexWritable = new VertexWritable(starGraph.getStarVertex());
+
+        // a vertex view with the messages sent to the vertex by its neighbors
+        final List<DetachedVertexProperty<Object>> view = new ArrayList<>();
+        view.add(DetachedFactory.detach(vertex.<Object>property("rank", 0.15d), true));
+        this.viewIncomingPayload = new ViewIncomingPayload<>(new ViewPayload(view));
+        for (int i = 0; i < 100; i++) {
+            this.viewIncomingPayload.mergePayload(new MessagePayload<>((double) i), null);
+        }
+
+        this.vertexWritableBytes = this.serializerInstance.serialize(this.vertexWritable, OBJECT_TAG);
+        this.viewIncomingPayloadBytes = this.serializerInstance.serialize(this.viewIncomingPayload, OBJECT_TAG);
+    }
+
+    @Benchmark
+    public Object testRoundTripStarGraph() {
+        return this.serializerInstance.deserialize(this.serializerInstance.serialize(this.vertexWritable, OBJECT_TAG), OBJECT_TAG);
+    }
+
+    @Benchmark
+    public Object testRoundTripViewIncomingPayload() {
+        return this.serializerInstance.deserialize(this.serializerInstance.serialize(this.viewIncomingPayload, OBJECT_TAG), OBJECT_TAG);
+    }
+
+    @Benchmark
+    public Object testReadStarGraph() {
+        return this.serializerInstance.deserialize(this.vertexWritableBytes.duplicate(), OBJECT_TAG);
+    }
+
+    @Benchmark
+    public Object testReadViewIncomingPayload() {
+        return this.serializerInstance.deserialize(this.viewIncomingPayloadBytes.duplicate(), OBJECT_TAG);
+    }
+
+    @Benchmark
+    public int testWriteStreamStarGraph() {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        final SerializationStream stream = this.serializerInstance.serializeStream(outputStream);
+        stream.writeObject(this.vertexWritable, OBJECT_TAG);
+        stream.close();
+        return outputStream.size();
+    }
+
+    @Benchmark
+    public int testWriteStreamViewIncomingPayload() {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        final SerializationStream stream = this.serializerInstance.serializeStream(outputStream);
+        stream.writeObject(this.viewIncomingPayload, OBJECT_TAG);
+        stream.close();
+        return outputStream.size();
+    }
+}
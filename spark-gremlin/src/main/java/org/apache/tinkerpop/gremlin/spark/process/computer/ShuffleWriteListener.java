@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.spark.process.computer;
+
+import org.apache.spark.api.java.JavaSparkContext;
+import org.apache.spark.executor.TaskMetrics;
+import org.apache.spark.scheduler.SparkListener;
+import org.apache.spark.scheduler.SparkListenerJobEnd;
+import org.apache.spark.scheduler.SparkListenerJobStart;
+import org.apache.spark.scheduler.SparkListenerTaskEnd;
+import scala.collection.JavaConversions;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Sums the bytes that the tasks of each iteration of a {@code VertexProgram} write to the shuffle so that
+ * {@link SparkGraphComputer} can report its shuffle volume. The jobs of an iteration are tagged with a local property
+ * of the {@code SparkContext} that is unique to the computation and iteration, and only the tasks of their stages
+ * are counted, so that other jobs on a shared context are left out. As Spark delivers listener events
+ * asynchronously and in the order they were posted, an iteration is reported from the listener thread once the first
+ * job of a later iteration starts, by which time the events of all its jobs were delivered. The computation never
+ * waits for the events, so the iterations left when the listener is closed are reported with what was counted so far.
+ */
+final class ShuffleWriteListener extends SparkListener {
+
+    static final String ITERATION = "gremlin.spark.shuffleWriteListener.iteration";
+
+    private final String computation = UUID.randomUUID().toString();
+    private final ObjLongConsumer<Integer> reporter;
+    private final Map<Integer, Iteration> stageIterations = new ConcurrentHashMap<>();
+    private final Map<Integer, Iteration> jobIterations = new ConcurrentHashMap<>();
+    private final Map<String, Iteration> iterations = new ConcurrentHashMap<>();
+
+    /**
+     * @param reporter accepts the iteration and the bytes that its jobs wrote to the shuffle
+     */
+    public ShuffleWriteListener(final ObjLongConsumer<Integer> reporter) {
+        this.reporter = reporter;
+    }
+
+    /**
+     * Tags the jobs that the current thread submits from now on as those of the given iteration.
+     */
+    public void startIteration(final JavaSparkContext sparkContext, final int iteration) {
+        this.iterations.put(this.tag(iteration), new Iteration(iteration));
+        sparkContext.setLocalProperty(ITERATION, this.tag(iteration));
+    }
+
+    /**
+     * Stops tagging the jobs that the current thread submits.
+     */
+    public void endIteration(final JavaSparkContext sparkContext) {
+        sparkContext.setLocalProperty(ITERATION, null);
+    }
+
+    /**
+     * Reports the iterations that were not reported yet with the bytes counted so far, without waiting for the
+     * events of their jobs.
+     */
+    public void close() {
+        for (final Map.Entry<String, Iteration> entry : this.iterations.entrySet()) {
+            this.report(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public void onJobStart(final SparkListenerJobStart jobStart) {
+        final String tag = null == jobStart.properties() ? null : jobStart.properties().getProperty(ITERATION);
+        final Iteration state = null == tag ? null : this.iterations.get(tag);
+        if (null == state)
+            return;
+        // the jobs of the earlier iterations completed before this one was submitted and their events were delivered
+        for (final Map.Entry<String, Iteration> entry : this.iterations.entrySet()) {
+            if (entry.getValue().iteration < state.iteration)
+                this.report(entry.getKey(), entry.getValue());
+        }
+        this.jobIterations.put(jobStart.jobId(), state);
+        for (final Object stageId : JavaConversions.asJavaIterable(jobStart.stageIds())) {
+            this.stageIterations.put((Integer) stageId, state);
+        }
+    }
+
+    @Override
+    public void onTaskEnd(final SparkListenerTaskEnd taskEnd) {
+        final Iteration state = this.stageIterations.get(taskEnd.stageId());
+        final TaskMetrics taskMetrics = taskEnd.taskMetrics();
+        if (null == state || null == taskMetrics) // failed tasks may not have metrics
+            return;
+        synchronized (state) {
+            state.bytesWritten += taskMetrics.shuffleWriteMetrics().bytesWritten();
+        }
+    }
+
+    @Override
+    public void onJobEnd(final SparkListenerJobEnd jobEnd) {
+        final Iteration state = this.jobIterations.remove(jobEnd.jobId());
+        if (null != state)
+            this.stageIterations.values().removeIf(iteration -> iteration == state);
+    }
+
+    private void report(final String tag, final Iteration state) {
+        // the listener thread and close() may both try to report an iteration but only one of them removes it
+        if (this.iterations.remove(tag, state)) {
+            final long bytesWritten;
+            synchronized (state) {
+                bytesWritten = state.bytesWritten;
+            }
+            this.reporter.accept(state.iteration, bytesWritten);
+        }
+    }
+
+    private String tag(final int iteration) {
+        return this.computation + ":" + iteration;
+    }
+
+    private static final class Iteration {
+        private final int iteration;
+        private long bytesWritten = 0L;
+
+        private Iteration(final int iteration) {
+            this.iteration = iteration;
+        }
+    }
+}
@@ -23,6 +23,7 @@ import org.apache.commons.configuration2.Configuration;
 import org.apache.spark.api.java.JavaPairRDD;
 import org.apache.spark.api.java.function.Function2;
 import org.apache.spark.api.java.function.PairFlatMapFunction;
+import org.apache.tinkerpop.gremlin.hadoop.Constants;
 import org.apache.tinkerpop.gremlin.hadoop.structure.HadoopGraph;
 import org.apache.tinkerpop.gremlin.hadoop.structure.io.VertexWritable;
 import org.apache.tinkerpop.gremlin.process.computer.GraphFilter;
@@ -55,6 +56,8 @@ import java.util.Set;
  */
 public final class SparkExecutor {
 
+    private static final int DEFAULT_MESSAGE_COMBINER_BUFFER_SIZE = 100000;
+
     private SparkExecutor() {
     }
 
@@ -85,6 +88,8 @@ public final class SparkExecutor {
 
         if (partitionedGraphRDD && null != viewIncomingRDD) // the graphRDD and the viewRDD must have the same partitioner
             assert graphRDD.partitioner().get().equals(viewIncomingRDD.partitioner().get());
+        // the number of target vertices for which a partition combines messages before they are shuffled (0 disables it)
+        final int messageCombinerBufferSize = graphComputerConfiguration.getInt(Constants.GREMLIN_SPARK_MESSAGE_COMBINER_BUFFER_SIZE, DEFAULT_MESSAGE_COMBINER_BUFFER_SIZE);
         final JavaPairRDD<Object, ViewOutgoingPayload<M>> viewOutgoingRDD = ((null == viewIncomingRDD) ?
                 graphRDD.mapValues(vertexWritable -> new Tuple2<>(vertexWritable, Optional.<ViewIncomingPayload<M>>absent())) : // first iteration will not have any views or messages
                 graphRDD.leftOuterJoin(viewIncomingRDD))                                                   // every other iteration may have views and messages
@@ -98,12 +103,23 @@ public final class SparkExecutor {
 
                     final VertexProgram<M> workerVertexProgram = VertexProgram.createVertexProgram(HadoopGraph.open(graphComputerConfiguration), vertexProgramConfiguration); // each partition(Spark)/worker(TP3) has a local copy of the vertex program (a worker's task)
                     final String[] vertexComputeKeysArray = VertexProgramHelper.vertexComputeKeysAsArray(workerVertexProgram.getVertexComputeKeys()); // the compute keys as an array
-                    final SparkMessenger<M> messenger = new SparkMessenger<>();
+                    final SparkMessenger<M> messenger = new SparkMessenger<>(workerVertexProgram.getMessageCombiner().orElse(null), messageCombinerBufferSize);
+                    final boolean halting = workerVertexProgram.getFeatures().supportsVertexHalting();
 
                     workerVertexProgram.workerIterationStart(memory.asImmutable()); // start the worker
                     return IteratorUtils.map(partitionIterator, vertexViewIncoming -> {
                         final StarGraph.StarVertex vertex = vertexViewIncoming._2()._1().get(); // get the vertex from the vertex writable
                         final boolean hasViewAndMessages = vertexViewIncoming._2()._2().isPresent(); // if this is the first iteration, then there are no views or messages
+                        // a vertex that voted to halt and has no messages is not executed and simply keeps its view
+                        if (halting && hasViewAndMessages && vertexViewIncoming._2()._2().get().isHalted() && vertexViewIncoming._2()._2().get().getIncomingMessages().isEmpty()) {
+                            if (!partitionIterator.hasNext()) {
+                                workerVertexProgram.workerIterationEnd(memory.asImmutable()); // if no more vertices in the partition, end the worker's iteration
+                                messenger.setVertexAndIncomingMessages(vertex, Collections.emptyList());
+                                messenger.flushCombinedMessages(); // the messages still combined in the partition leave with the last vertex
+                                return new Tuple2<>(vertex.id(), new ViewOutgoingPayload<>(vertexViewIncoming._2()._2().get().getView(), messenger.getOutgoingMessages(), true));
+                            }
+                            return new Tuple2<>(vertex.id(), new ViewOutgoingPayload<>(vertexViewIncoming._2()._2().get().getView(), Collections.<Tuple2<Object, M>>emptyList(), true));
+                        }
                         final List<DetachedVertexProperty<Object>> previousView = hasViewAndMessages ? vertexViewIncoming._2()._2().get().getView() : memory.isInitialIteration() ? new ArrayList<>() : Collections.emptyList();
                         // revive compute properties if they already exist
                         if (memory.isInitialIteration() && vertexComputeKeysArray.length > 0)
@@ -124,12 +140,15 @@ public final class SparkExecutor {
                                 IteratorUtils.list(IteratorUtils.map(vertex.properties(vertexComputeKeysArray), vertexProperty -> DetachedFactory.detach(vertexProperty, true)));
                         // drop compute property view as it has now been detached from the vertex
                         vertex.dropVertexProperties(vertexComputeKeysArray);
-                        final List<Tuple2<Object, M>> outgoingMessages = messenger.getOutgoingMessages(); // get the outgoing messages being sent by this vertex
-                        if (!partitionIterator.hasNext())
+                        if (!partitionIterator.hasNext()) {
                             workerVertexProgram.workerIterationEnd(memory.asImmutable()); // if no more vertices in the partition, end the worker's iteration
-                        return (nextView.isEmpty() && outgoingMessages.isEmpty()) ?
+                            messenger.flushCombinedMessages(); // the messages still combined in the partition leave with the last vertex
+                        }
+                        final List<Tuple2<Object, M>> outgoingMessages = messenger.getOutgoingMessages(); // get the outgoing messages being sent by this vertex (and those spilled by the partition's combiner)
+                        final boolean halted = halting && messenger.hasVotedToHalt(); // a halted vertex must be emitted to be remembered as such
+                        return (nextView.isEmpty() && outgoingMessages.isEmpty() && !halted) ?
                                 null : // if there is no view nor outgoing messages, emit nothing
-                                new Tuple2<>(vertex.id(), new ViewOutgoingPayload<>(nextView, outgoingMessages));  // else, emit the vertex id, its view, and its outgoing messages
+                                new Tuple2<>(vertex.id(), new ViewOutgoingPayload<>(nextView, outgoingMessages, halted));  // else, emit the vertex id, its view, and its outgoing messages
                     });
                 }, true)  // true means that the partition is preserved
                 .filter(tuple -> null != tuple); // if there are no messages or views, then the tuple is null (memory optimization)
@@ -87,6 +87,7 @@ import java.util.concurrent.Future;
 import java.util.concurrent.ThreadFactory;
 
 import static org.apache.tinkerpop.gremlin.hadoop.Constants.GREMLIN_SPARK_GRAPH_STORAGE_LEVEL;
+import static org.apache.tinkerpop.gremlin.hadoop.Constants.GREMLIN_SPARK_MESSAGE_COMBINER_BUFFER_SIZE;
 import static org.apache.tinkerpop.gremlin.hadoop.Constants.GREMLIN_SPARK_PERSIST_CONTEXT;
 import static org.apache.tinkerpop.gremlin.hadoop.Constants.GREMLIN_SPARK_PERSIST_STORAGE_LEVEL;
 import static org.apache.tinkerpop.gremlin.hadoop.Constants.GREMLIN_SPARK_SKIP_GRAPH_CACHE;
@@ -189,6 +190,15 @@ public final class SparkGraphComputer extends AbstractHadoopGraphComputer {
         return configure(GREMLIN_SPARK_SKIP_GRAPH_CACHE, skip);
     }
 
+    /**
+     * Specifies the number of target vertices for which each partition combines the messages of its vertices with the
+     * {@code MessageCombiner} of the {@link VertexProgram} before they are shuffled. A value of {@code 0} disables
+     * this combining. By default, this value is {@code 100000}.
+     */
+    public SparkGraphComputer messageCombinerBufferSize(final int bufferSize) {
+        return configure(GREMLIN_SPARK_MESSAGE_COMBINER_BUFFER_SIZE, bufferSize);
+    }
+
     /**
      * Specifies the {@code org.apache.spark.serializer.Serializer} implementation to use. By default, this value is
      * set to {@code org.apache.spark.serializer.KryoSerializer}.
@@ -388,20 +398,41 @@ public final class SparkGraphComputer extends AbstractHadoopGraphComputer {
                         this.vertexProgram.setup(memory);
                         JavaPairRDD<Object, ViewIncomingPayload<Object>> viewIncomingRDD = null;
                         memory.broadcastMemory(sparkContext);
+                        // report the bytes each iteration shuffles to pass its views and messages, which the listener
+                        // does from the listener thread so that the iterations never wait for the metrics
+                        final ShuffleWriteListener shuffleWriteListener = this.logger.isInfoEnabled() ?
+                                new ShuffleWriteListener((iteration, bytesWritten) -> this.logger.info("Iteration " + iteration + " of " + this.vertexProgram + " shuffled " + bytesWritten + " bytes")) :
+                                null;
+                        if (null != shuffleWriteListener)
+                            sparkContext.sc().addSparkListener(shuffleWriteListener);
                         // execute the vertex program
-                        while (true) {
-                            if (Thread.interrupted()) {
-                                sparkContext.cancelAllJobs();
-                                throw new TraversalInterruptedException();
+                        try {
+                            while (true) {
+                                if (Thread.interrupted()) {
+                                    sparkContext.cancelAllJobs();
+                                    throw new TraversalInterruptedException();
+                                }
+                                memory.setInExecute(true);
+                                if (null != shuffleWriteListener)
+                                    shuffleWriteListener.startIteration(sparkContext, memory.getIteration());
+                                try {
+                                    viewIncomingRDD = SparkExecutor.executeVertexProgramIteration(loadedGraphRDD, viewIncomingRDD, memory, graphComputerConfiguration, vertexProgramConfiguration);
+                                } finally {
+                                    if (null != shuffleWriteListener)
+                                        shuffleWriteListener.endIteration(sparkContext);
+                                }
+                                memory.setInExecute(false);
+                                if (this.vertexProgram.terminate(memory))
+                                    break;
+                                else {
+                                    memory.incrIteration();
+                                    memory.broadcastMemory(sparkContext);
+                                }
                             }
-                            memory.setInExecute(true);
-                            viewIncomingRDD = SparkExecutor.executeVertexProgramIteration(loadedGraphRDD, viewIncomingRDD, memory, graphComputerConfiguration, vertexProgramConfiguration);
-                            memory.setInExecute(false);
-                            if (this.vertexProgram.terminate(memory))
-                                break;
-                            else {
-                                memory.incrIteration();
-                                memory.broadcastMemory(sparkContext);
+                        } finally {
+                            if (null != shuffleWriteListener) {
+                                sparkContext.sc().removeSparkListener(shuffleWriteListener);
+                                shuffleWriteListener.close();
                             }
                         }
                         // if the graph will be continued to be used (persisted or mapreduced), then generate a view+graph
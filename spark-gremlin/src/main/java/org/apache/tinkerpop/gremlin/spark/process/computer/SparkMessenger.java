@@ -18,6 +18,7 @@
  */
 package org.apache.tinkerpop.gremlin.spark.process.computer;
 
+import org.apache.tinkerpop.gremlin.process.computer.MessageCombiner;
 import org.apache.tinkerpop.gremlin.process.computer.MessageScope;
 import org.apache.tinkerpop.gremlin.process.computer.Messenger;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
@@ -31,10 +32,18 @@ import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import scala.Tuple2;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 /**
+ * A {@link Messenger} that is shared by all the vertices of a partition. If it is given a {@link MessageCombiner},
+ * the messages sent by the vertices of the partition are combined by their target vertex in a buffer of at most
+ * {@code bufferSize} targets before they are handed to the shuffle. A full buffer is spilled into the outgoing messages
+ * of the current vertex and what remains in it is spilled by {@link #flushCombinedMessages()} once the last vertex of
+ * the partition has executed.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public final class SparkMessenger<M> implements Messenger<M> {
@@ -42,17 +51,57 @@ public final class SparkMessenger<M> implements Messenger<M> {
     private Vertex vertex;
     private Iterable<M> incomingMessages;
     private List<Tuple2<Object, M>> outgoingMessages = new ArrayList<>();
+    private boolean votedToHalt = false;
+    private final MessageCombiner<M> messageCombiner;
+    private final int bufferSize;
+    private final Map<Object, M> combinedMessages;
+
+    public SparkMessenger() {
+        this(null, 0);
+    }
+
+    public SparkMessenger(final MessageCombiner<M> messageCombiner, final int bufferSize) {
+        this.messageCombiner = bufferSize > 0 ? messageCombiner : null;
+        this.bufferSize = bufferSize;
+        this.combinedMessages = null == this.messageCombiner ? null : new HashMap<>();
+    }
 
     public void setVertexAndIncomingMessages(final Vertex vertex, final Iterable<M> incomingMessages) {
         this.vertex = vertex;
         this.incomingMessages = incomingMessages;
         this.outgoingMessages = new ArrayList<>();
+        this.votedToHalt = false;
+    }
+
+    public boolean hasVotedToHalt() {
+        return this.votedToHalt;
     }
 
     public List<Tuple2<Object, M>> getOutgoingMessages() {
         return this.outgoingMessages;
     }
 
+    /**
+     * Moves the combined messages that are still buffered into the outgoing messages of the current vertex. This must
+     * be called before the outgoing messages of the last vertex of the partition are emitted.
+     */
+    public void flushCombinedMessages() {
+        if (null != this.combinedMessages && !this.combinedMessages.isEmpty()) {
+            this.combinedMessages.forEach((targetId, message) -> this.outgoingMessages.add(new Tuple2<>(targetId, message)));
+            this.combinedMessages.clear();
+        }
+    }
+
+    private void addOutgoingMessage(final Object targetId, final M message) {
+        if (null == this.combinedMessages)
+            this.outgoingMessages.add(new Tuple2<>(targetId, message));
+        else {
+            this.combinedMessages.merge(targetId, message, this.messageCombiner::combine);
+            if (this.combinedMessages.size() >= this.bufferSize)
+                this.flushCombinedMessages();
+        }
+    }
+
     @Override
     public Iterator<M> receiveMessages() {
         return IteratorUtils.removeOnNext(this.incomingMessages.iterator());
@@ -69,16 +118,21 @@ public final class SparkMessenger<M> implements Messenger<M> {
             // the current vertex
             incidentTraversal.forEachRemaining(edge -> {
                 if (direction.equals(Direction.IN) || direction.equals(Direction.OUT))
-                    this.outgoingMessages.add(new Tuple2<>(edge.vertices(direction).next().id(), localMessageScope.getEdgeFunction().apply(message, edge)));
+                    this.addOutgoingMessage(edge.vertices(direction).next().id(), localMessageScope.getEdgeFunction().apply(message, edge));
                 else
-                    this.outgoingMessages.add(new Tuple2<>(edge instanceof StarGraph.StarOutEdge ? edge.inVertex().id() : edge.outVertex().id(), localMessageScope.getEdgeFunction().apply(message, edge)));
+                    this.addOutgoingMessage(edge instanceof StarGraph.StarOutEdge ? edge.inVertex().id() : edge.outVertex().id(), localMessageScope.getEdgeFunction().apply(message, edge));
 
             });
         } else {
-            ((MessageScope.Global) messageScope).vertices().forEach(v -> this.outgoingMessages.add(new Tuple2<>(v.id(), message)));
+            ((MessageScope.Global) messageScope).vertices().forEach(v -> this.addOutgoingMessage(v.id(), message));
         }
     }
 
+    @Override
+    public void voteToHalt() {
+        this.votedToHalt = true;
+    }
+
     ///////////
 
     private static <T extends Traversal.Admin<Vertex, Edge>> T setVertexStart(final Traversal.Admin<Vertex, Edge> incidentTraversal, final Vertex vertex) {
@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.spark.structure.io.gryo;
+
+import org.apache.tinkerpop.shaded.kryo.io.ByteBufferOutput;
+import org.apache.tinkerpop.shaded.kryo.io.Output;
+
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the Kryo {@link Output} buffers of {@link GryoSerializer} for reuse by the thread that released them so that
+ * executors do not allocate a new buffer for every serialization stream and serialized object. Each thread keeps at
+ * most {@code poolSize} buffers and a buffer that had to grow beyond its initial size is dropped rather than pooled.
+ * The buffers are allocated off-heap if {@code direct} is set. As with the {@code GryoPool} of {@code HadoopPools},
+ * there is one pool per JVM for each buffer configuration, which {@link #of(int, int, int, boolean)} gives to every
+ * {@link GryoSerializer} that an executor deserializes.
+ */
+final class GryoOutputPool {
+
+    private static final Map<List<Object>, GryoOutputPool> POOLS = new ConcurrentHashMap<>();
+
+    private final int bufferSize;
+    private final int maxBufferSize;
+    private final int poolSize;
+    private final boolean direct;
+    private final ThreadLocal<Deque<Output>> outputs = ThreadLocal.withInitial(ArrayDeque::new);
+
+    GryoOutputPool(final int bufferSize, final int maxBufferSize, final int poolSize, final boolean direct) {
+        this.bufferSize = bufferSize;
+        this.maxBufferSize = maxBufferSize;
+        this.poolSize = poolSize;
+        this.direct = direct;
+    }
+
+    /**
+     * Gets the pool of the JVM for the given buffer configuration.
+     */
+    public static GryoOutputPool of(final int bufferSize, final int maxBufferSize, final int poolSize, final boolean direct) {
+        return POOLS.computeIfAbsent(Arrays.asList(bufferSize, maxBufferSize, poolSize, direct),
+                key -> new GryoOutputPool(bufferSize, maxBufferSize, poolSize, direct));
+    }
+
+    /**
+     * Takes an empty {@link Output} from the pool of the current thread or creates one if the pool is empty.
+     *
+     * @param outputStream the stream the {@link Output} flushes to or {@code null} to only buffer
+     */
+    public Output take(final OutputStream outputStream) {
+        Output output = this.poolSize > 0 ? this.outputs.get().poll() : null;
+        if (null == output)
+            output = this.direct ? new ByteBufferOutput(this.bufferSize, this.maxBufferSize) : new Output(this.bufferSize, this.maxBufferSize);
+        output.setOutputStream(outputStream);
+        output.clear();
+        return output;
+    }
+
+    /**
+     * Returns the {@link Output} to the pool of the current thread. The {@link Output} must not be used afterwards.
+     */
+    public void release(final Output output) {
+        output.setOutputStream(null);
+        final Deque<Output> pooled = this.poolSize > 0 ? this.outputs.get() : null;
+        if (null != pooled && pooled.size() < this.poolSize && getCapacity(output) <= this.bufferSize)
+            pooled.push(output);
+        else if (output instanceof ByteBufferOutput)
+            ((ByteBufferOutput) output).release(); // free the off-heap memory now rather than when the buffer is collected
+    }
+
+    private static int getCapacity(final Output output) {
+        return output instanceof ByteBufferOutput ?
+                ((ByteBufferOutput) output).getByteBuffer().capacity() :
+                output.getBuffer().length;
+    }
+}
@@ -30,11 +30,11 @@ import java.io.OutputStream;
  */
 public final class GryoSerializationStream extends SerializationStream {
 
-    private final Output output;
+    private Output output;
     private final GryoSerializerInstance gryoSerializer;
 
     public GryoSerializationStream(final GryoSerializerInstance gryoSerializer, final OutputStream outputStream) {
-        this.output = new Output(outputStream);
+        this.output = gryoSerializer.getGryoSerializer().takeOutput(outputStream);
         this.gryoSerializer = gryoSerializer;
     }
 
@@ -51,6 +51,13 @@ public final class GryoSerializationStream extends SerializationStream {
 
     @Override
     public void close() {
-        this.output.close();
+        if (null != this.output) {
+            try {
+                this.output.close();
+            } finally {
+                this.gryoSerializer.getGryoSerializer().releaseOutput(this.output);
+                this.output = null;
+            }
+        }
     }
 }
\ No newline at end of file
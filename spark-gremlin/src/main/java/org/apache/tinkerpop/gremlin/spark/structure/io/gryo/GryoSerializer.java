@@ -54,6 +54,7 @@ import scala.Tuple3;
 import scala.collection.mutable.WrappedArray;
 import scala.runtime.BoxedUnit;
 
+import java.io.OutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -69,6 +70,9 @@ public final class GryoSerializer extends Serializer implements Serializable {
     private final int maxBufferSize;
     private final boolean referenceTracking;
     private final boolean registrationRequired;
+    private final int outputPoolSize;
+    private final boolean directBuffers;
+    private transient GryoOutputPool outputPool;
 
     public GryoSerializer(final SparkConf sparkConfiguration) {
         final long bufferSizeKb = sparkConfiguration.getSizeAsKb("spark.kryoserializer.buffer", "64k");
@@ -86,6 +90,8 @@ public final class GryoSerializer extends Serializer implements Serializable {
                 //this.userRegistrator = sparkConfiguration.getOption("spark.kryo.registrator");
             }
         }
+        this.outputPoolSize = sparkConfiguration.getInt(Constants.GREMLIN_SPARK_GRYO_OUTPUT_POOL_SIZE, 4);
+        this.directBuffers = sparkConfiguration.getBoolean(Constants.GREMLIN_SPARK_GRYO_DIRECT_BUFFERS, false);
         // create a GryoPool and store it in static HadoopPools
         final List<Object> ioRegistries = new ArrayList<>();
         ioRegistries.addAll(makeApacheConfiguration(sparkConfiguration).getList(IoRegistry.IO_REGISTRY, Collections.emptyList()));
@@ -104,6 +110,27 @@ public final class GryoSerializer extends Serializer implements Serializable {
         return new Output(this.bufferSize, this.maxBufferSize);
     }
 
+    /**
+     * Takes an {@link Output} from the buffers pooled for the current thread. It must be given back with
+     * {@link #releaseOutput(Output)} once it is no longer used.
+     *
+     * @param outputStream the stream the {@link Output} flushes to or {@code null} to only buffer
+     */
+    public Output takeOutput(final OutputStream outputStream) {
+        return this.getOutputPool().take(outputStream);
+    }
+
+    public void releaseOutput(final Output output) {
+        this.getOutputPool().release(output);
+    }
+
+    private GryoOutputPool getOutputPool() {
+        // the pool is shared by the JVM rather than serialized with the serializer
+        if (null == this.outputPool)
+            this.outputPool = GryoOutputPool.of(this.bufferSize, this.maxBufferSize, this.outputPoolSize, this.directBuffers);
+        return this.outputPool;
+    }
+
     public GryoPool getGryoPool() {
         return HadoopPools.getGryoPool();
     }
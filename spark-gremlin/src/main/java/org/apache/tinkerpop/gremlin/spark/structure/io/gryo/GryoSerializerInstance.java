@@ -37,19 +37,22 @@ import java.nio.ByteBuffer;
 public final class GryoSerializerInstance extends SerializerInstance {
 
     private final GryoSerializer gryoSerializer;
-    private final Output output;
     private final Input input;
 
     public GryoSerializerInstance(final GryoSerializer gryoSerializer) {
         this.gryoSerializer = gryoSerializer;
         this.input = new Input();
-        this.output = gryoSerializer.newOutput();
     }
 
     @Override
     public <T> ByteBuffer serialize(final T t, final ClassTag<T> classTag) {
-        this.gryoSerializer.getGryoPool().writeWithKryo(kryo -> kryo.writeClassAndObject(this.output, t));
-        return ByteBuffer.wrap(this.output.getBuffer());
+        final Output output = this.gryoSerializer.takeOutput(null);
+        try {
+            this.gryoSerializer.getGryoPool().writeWithKryo(kryo -> kryo.writeClassAndObject(output, t));
+            return ByteBuffer.wrap(output.toBytes()); // copy the written bytes as the buffer goes back to the pool
+        } finally {
+            this.gryoSerializer.releaseOutput(output);
+        }
     }
 
     @Override
@@ -80,4 +83,8 @@ public final class GryoSerializerInstance extends SerializerInstance {
     public GryoPool getGryoPool() {
         return this.gryoSerializer.getGryoPool();
     }
+
+    public GryoSerializer getGryoSerializer() {
+        return this.gryoSerializer;
+    }
 }
\ No newline at end of file
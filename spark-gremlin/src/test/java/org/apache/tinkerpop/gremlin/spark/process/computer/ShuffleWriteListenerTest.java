@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.spark.process.computer;
+
+import org.apache.spark.api.java.JavaSparkContext;
+import org.apache.tinkerpop.gremlin.spark.AbstractSparkTest;
+import org.apache.tinkerpop.gremlin.spark.structure.Spark;
+import org.junit.Test;
+import scala.Tuple2;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ShuffleWriteListenerTest extends AbstractSparkTest {
+
+    @Test
+    public void shouldOnlyCountShuffleOfTaggedIteration() throws Exception {
+        final JavaSparkContext sparkContext = JavaSparkContext.fromSparkContext(Spark.create("local[4]"));
+        final Map<Integer, Long> reported = new ConcurrentHashMap<>();
+        final ShuffleWriteListener shuffleWriteListener = new ShuffleWriteListener(reported::put);
+        sparkContext.sc().addSparkListener(shuffleWriteListener);
+        try {
+            final List<Integer> numbers = new ArrayList<>();
+            for (int i = 0; i < 10000; i++) {
+                numbers.add(i);
+            }
+
+            shuffleWriteListener.startIteration(sparkContext, 0);
+            shuffle(sparkContext, numbers);
+            shuffleWriteListener.endIteration(sparkContext);
+            sparkContext.sc().listenerBus().waitUntilEmpty(10000L);
+            // the iteration is only reported once a later one starts
+            assertFalse(reported.containsKey(0));
+
+            // a job of another thread on the shared context shuffles while the next iteration runs, and before it
+            final Thread other = new Thread(() -> {
+                for (int i = 0; i < 3; i++) {
+                    shuffle(sparkContext, numbers);
+                }
+            });
+            other.start();
+            shuffleWriteListener.startIteration(sparkContext, 1);
+            shuffle(sparkContext, numbers);
+            shuffleWriteListener.endIteration(sparkContext);
+            other.join();
+            shuffle(sparkContext, numbers);
+            sparkContext.sc().listenerBus().waitUntilEmpty(10000L);
+            assertTrue(reported.get(0) > 0L);
+            assertFalse(reported.containsKey(1));
+
+            // an iteration that was never started is not reported
+            shuffleWriteListener.close();
+            assertEquals(reported.get(0), reported.get(1));
+            assertEquals(2, reported.size());
+        } finally {
+            sparkContext.sc().removeSparkListener(shuffleWriteListener);
+        }
+    }
+
+    private static void shuffle(final JavaSparkContext sparkContext, final List<Integer> numbers) {
+        sparkContext.parallelize(numbers, 4).mapToPair(i -> new Tuple2<>(i % 100, i)).reduceByKey(Integer::sum).count();
+    }
+}
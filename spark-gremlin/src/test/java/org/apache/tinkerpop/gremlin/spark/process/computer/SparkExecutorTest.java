@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.spark.process.computer;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.tinkerpop.gremlin.TestHelper;
+import org.apache.tinkerpop.gremlin.features.TestFiles;
+import org.apache.tinkerpop.gremlin.hadoop.Constants;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.gryo.GryoInputFormat;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.gryo.GryoOutputFormat;
+import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.process.computer.Memory;
+import org.apache.tinkerpop.gremlin.process.computer.MessageScope;
+import org.apache.tinkerpop.gremlin.process.computer.Messenger;
+import org.apache.tinkerpop.gremlin.process.computer.VertexProgram;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.spark.AbstractSparkTest;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.GraphFactory;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.Assert.assertEquals;
+
+public class SparkExecutorTest extends AbstractSparkTest {
+
+    @Test
+    public void shouldNotExecuteHaltedVerticesWithoutMessages() throws Exception {
+        final Configuration configuration = getBaseConfiguration();
+        configuration.setProperty(Constants.GREMLIN_HADOOP_INPUT_LOCATION, TestFiles.PATHS.get("tinkerpop-modern-v3d0.kryo"));
+        configuration.setProperty(Constants.GREMLIN_HADOOP_GRAPH_READER, GryoInputFormat.class.getCanonicalName());
+        configuration.setProperty(Constants.GREMLIN_HADOOP_GRAPH_WRITER, GryoOutputFormat.class.getCanonicalName());
+        configuration.setProperty(Constants.GREMLIN_HADOOP_OUTPUT_LOCATION, TestHelper.makeTestDataDirectory(SparkExecutorTest.class, "shouldNotExecuteHaltedVerticesWithoutMessages"));
+        final Graph graph = GraphFactory.open(configuration);
+
+        HaltingVertexProgram.EXECUTIONS.clear();
+        graph.compute(SparkGraphComputer.class).program(new HaltingVertexProgram()).submit().get();
+        // every vertex halts in the first iteration and only those that marko messaged are executed in the second
+        assertEquals(new HashSet<>(Arrays.asList("1", "2", "3", "4", "5", "6")), HaltingVertexProgram.EXECUTIONS.get(0));
+        assertEquals(new HashSet<>(Arrays.asList("2", "3", "4")), HaltingVertexProgram.EXECUTIONS.get(1));
+    }
+
+    /**
+     * Has every vertex vote to halt while marko messages its adjacent vertices, recording which vertices are executed
+     * in each iteration. The record is static as Spark creates the program from its configuration in each partition.
+     */
+    public static class HaltingVertexProgram implements VertexProgram<String> {
+
+        private static final Map<Integer, Set<String>> EXECUTIONS = new ConcurrentHashMap<>();
+
+        private static final MessageScope.Local<String> SCOPE = MessageScope.Local.of(__::outE);
+
+        @Override
+        public void setup(final Memory memory) {
+        }
+
+        @Override
+        public void execute(final Vertex vertex, final Messenger<String> messenger, final Memory memory) {
+            EXECUTIONS.computeIfAbsent(memory.getIteration(), iteration -> ConcurrentHashMap.newKeySet()).add(vertex.id().toString());
+            if (memory.isInitialIteration() && vertex.id().toString().equals("1"))
+                messenger.sendMessage(SCOPE, "marko");
+            messenger.voteToHalt();
+        }
+
+        @Override
+        public boolean terminate(final Memory memory) {
+            return memory.getIteration() == 1;
+        }
+
+        @Override
+        public Set<MessageScope> getMessageScopes(final Memory memory) {
+            return Collections.singleton(SCOPE);
+        }
+
+        @Override
+        public HaltingVertexProgram clone() {
+            return this;
+        }
+
+        @Override
+        public GraphComputer.ResultGraph getPreferredResultGraph() {
+            return GraphComputer.ResultGraph.ORIGINAL;
+        }
+
+        @Override
+        public GraphComputer.Persist getPreferredPersist() {
+            return GraphComputer.Persist.NOTHING;
+        }
+
+        @Override
+        public Features getFeatures() {
+            return new Features() {
+                @Override
+                public boolean supportsVertexHalting() {
+                    return true;
+                }
+            };
+        }
+    }
+}
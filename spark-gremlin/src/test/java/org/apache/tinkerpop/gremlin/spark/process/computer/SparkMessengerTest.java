@@ -30,7 +30,10 @@ import org.junit.Test;
 import scala.Tuple2;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author Dean Zhu
@@ -70,4 +73,34 @@ public class SparkMessengerTest extends AbstractSparkTest {
         Assert.assertEquals("a", outgoingMessages0.get(0)._2());
         Assert.assertNull(outgoingMessages0.get(1)._2());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldCombineMessagesOfPartitionInBoundedBuffer() throws Exception {
+        final StarGraph starGraph = StarGraph.open();
+        final Vertex vertex0 = starGraph.addVertex(T.id, 0);
+        final Vertex vertex1 = starGraph.addVertex(T.id, 1);
+        final Vertex vertex2 = starGraph.addVertex(T.id, 2);
+
+        final SparkMessenger<String> messenger = new SparkMessenger<>((a, b) -> a + b, 2);
+        messenger.setVertexAndIncomingMessages(vertex0, Collections.emptyList());
+        messenger.sendMessage(MessageScope.Global.of(vertex1), "a");
+        messenger.sendMessage(MessageScope.Global.of(vertex1), "b");
+        Assert.assertTrue(messenger.getOutgoingMessages().isEmpty());
+        // a second target fills the buffer which is then spilled with the current vertex
+        messenger.sendMessage(MessageScope.Global.of(vertex2), "c");
+        final Map<Object, String> outgoingMessages0 = new HashMap<>();
+        messenger.getOutgoingMessages().forEach(message -> outgoingMessages0.put(message._1(), message._2()));
+        Assert.assertEquals(2, messenger.getOutgoingMessages().size());
+        Assert.assertEquals("ab", outgoingMessages0.get(1));
+        Assert.assertEquals("c", outgoingMessages0.get(2));
+
+        messenger.setVertexAndIncomingMessages(vertex1, Collections.emptyList());
+        messenger.sendMessage(MessageScope.Global.of(vertex2), "d");
+        messenger.sendMessage(MessageScope.Global.of(vertex2), "e");
+        Assert.assertTrue(messenger.getOutgoingMessages().isEmpty());
+        messenger.flushCombinedMessages();
+        Assert.assertEquals(1, messenger.getOutgoingMessages().size());
+        Assert.assertEquals(2, messenger.getOutgoingMessages().get(0)._1());
+        Assert.assertEquals("de", messenger.getOutgoingMessages().get(0)._2());
+    }
+}
@@ -27,22 +27,31 @@ import org.apache.tinkerpop.gremlin.hadoop.Constants;
 import org.apache.tinkerpop.gremlin.hadoop.structure.io.gryo.GryoInputFormat;
 import org.apache.tinkerpop.gremlin.hadoop.structure.io.gryo.GryoOutputFormat;
 import org.apache.tinkerpop.gremlin.process.computer.Computer;
+import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
 import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.process.computer.clustering.connected.ConnectedComponentVertexProgram;
 import org.apache.tinkerpop.gremlin.process.computer.ranking.pagerank.PageRankMapReduce;
 import org.apache.tinkerpop.gremlin.process.computer.ranking.pagerank.PageRankVertexProgram;
+import org.apache.tinkerpop.gremlin.process.computer.ranking.pagerank.PageRankVertexProgramTest.MessageCountingVertexProgram;
 import org.apache.tinkerpop.gremlin.process.computer.traversal.TraversalVertexProgram;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.spark.AbstractSparkTest;
 import org.apache.tinkerpop.gremlin.spark.process.computer.SparkGraphComputer;
 import org.apache.tinkerpop.gremlin.spark.process.computer.SparkHadoopGraphProvider;
 import org.apache.tinkerpop.gremlin.spark.structure.Spark;
 import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.util.GraphFactory;
 import org.junit.Test;
 
 import java.util.Arrays;
+import java.util.Map;
 import java.util.UUID;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
@@ -204,6 +213,42 @@ public class PersistedInputOutputRDDIntegrateTest extends AbstractSparkTest {
         Spark.close();
     }
 
+    @Test
+    public void shouldFindConnectedComponentsIncrementallyFromPersistedRDD() throws Exception {
+        Spark.create("local[4]");
+        final String rddName = TestHelper.makeTestDataDirectory(PersistedInputOutputRDDIntegrateTest.class, UUID.randomUUID().toString());
+        final String rddName2 = TestHelper.makeTestDataDirectory(PersistedInputOutputRDDIntegrateTest.class, UUID.randomUUID().toString());
+        final Configuration configuration = super.getBaseConfiguration();
+        configuration.setProperty(Constants.GREMLIN_HADOOP_GRAPH_READER, GryoInputFormat.class.getCanonicalName());
+        configuration.setProperty(Constants.GREMLIN_HADOOP_INPUT_LOCATION, TestFiles.PATHS.get("grateful-dead-v3d0.kryo"));
+        configuration.setProperty(Constants.GREMLIN_HADOOP_GRAPH_WRITER, PersistedOutputRDD.class.getCanonicalName());
+        configuration.setProperty(Constants.GREMLIN_HADOOP_OUTPUT_LOCATION, rddName);
+        configuration.setProperty(Constants.GREMLIN_SPARK_PERSIST_CONTEXT, true);
+        Graph graph = GraphFactory.open(configuration);
+        final ComputerResult full = graph.compute(SparkGraphComputer.class).persist(GraphComputer.Persist.EDGES).
+                program(new MessageCountingVertexProgram<>(ConnectedComponentVertexProgram.build().create(graph))).submit().get();
+        assertTrue(Spark.hasRDD(Constants.getGraphLocation(rddName)));
+        ////
+        configuration.setProperty(Constants.GREMLIN_HADOOP_GRAPH_READER, PersistedInputRDD.class.getCanonicalName());
+        configuration.setProperty(Constants.GREMLIN_HADOOP_INPUT_LOCATION, rddName);
+        configuration.setProperty(Constants.GREMLIN_HADOOP_OUTPUT_LOCATION, rddName2);
+        graph = GraphFactory.open(configuration);
+        final Map<Object, Object> components = graph.traversal().V().
+                group().by(T.id).by(__.values(ConnectedComponentVertexProgram.COMPONENT)).next();
+        // the components of the previous job are read back from the persisted RDD and only the one song marked as
+        // changed passes its component on, which its neighbors already share
+        final ComputerResult incremental = graph.compute(SparkGraphComputer.class).persist(GraphComputer.Persist.VERTEX_PROPERTIES).
+                program(new MessageCountingVertexProgram<>(ConnectedComponentVertexProgram.build().
+                        changed(__.<Vertex>has("name", "DARK STAR").asAdmin()).create(graph))).submit().get();
+        assertEquals(808, components.size());
+        assertEquals(components, incremental.graph().traversal().V().
+                group().by(T.id).by(__.values(ConnectedComponentVertexProgram.COMPONENT)).next());
+        assertThat(incremental.memory().getIteration(), lessThan(full.memory().getIteration()));
+        assertThat(incremental.memory().<Long>get(MessageCountingVertexProgram.MESSAGE_COUNT),
+                lessThan(full.memory().<Long>get(MessageCountingVertexProgram.MESSAGE_COUNT) / 2));
+        Spark.close();
+    }
+
     @Test
     public void testComplexChain() throws Exception {
         Spark.create("local[4]");
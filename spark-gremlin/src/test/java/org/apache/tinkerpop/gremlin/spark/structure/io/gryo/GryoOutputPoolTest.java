@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.spark.structure.io.gryo;
+
+import org.apache.spark.SparkConf;
+import org.apache.spark.serializer.SerializerInstance;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.HadoopPools;
+import org.apache.tinkerpop.shaded.kryo.io.ByteBufferOutput;
+import org.apache.tinkerpop.shaded.kryo.io.Output;
+import org.junit.Test;
+import scala.reflect.ClassTag$;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class GryoOutputPoolTest {
+
+    @Test
+    public void shouldReuseReleasedOutput() {
+        final GryoOutputPool pool = new GryoOutputPool(16, 1024, 2, false);
+        final Output output = pool.take(null);
+        output.writeString("marko");
+        pool.release(output);
+        final Output reused = pool.take(null);
+        assertSame(output, reused);
+        assertEquals(0, reused.position());
+    }
+
+    @Test
+    public void shouldNotPoolOutputThatGrew() {
+        final GryoOutputPool pool = new GryoOutputPool(16, 1024, 2, false);
+        final Output output = pool.take(null);
+        output.writeBytes(new byte[64]);
+        pool.release(output);
+        assertNotSame(output, pool.take(null));
+    }
+
+    @Test
+    public void shouldNotPoolWhenPoolSizeIsZero() {
+        final GryoOutputPool pool = new GryoOutputPool(16, 1024, 0, false);
+        final Output output = pool.take(null);
+        pool.release(output);
+        assertNotSame(output, pool.take(null));
+    }
+
+    @Test
+    public void shouldWriteToStreamWithDirectOutput() {
+        final GryoOutputPool pool = new GryoOutputPool(16, 1024, 2, true);
+        for (int i = 0; i < 2; i++) {
+            final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            final Output output = pool.take(outputStream);
+            assertTrue(output instanceof ByteBufferOutput);
+            output.writeBytes(new byte[]{1, 2, 3});
+            output.flush();
+            pool.release(output);
+            assertArrayEquals(new byte[]{1, 2, 3}, outputStream.toByteArray());
+        }
+    }
+
+    @Test
+    public void shouldShareOutputsWithDeserializedSerializer() throws Exception {
+        try {
+            final SparkConf sparkConfiguration = new SparkConf(false).set("spark.kryoserializer.buffer", "16k");
+            final GryoSerializer serializer = new GryoSerializer(sparkConfiguration);
+            final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            try (final ObjectOutputStream objectOutputStream = new ObjectOutputStream(outputStream)) {
+                objectOutputStream.writeObject(serializer);
+            }
+            final GryoSerializer deserialized;
+            try (final ObjectInputStream objectInputStream = new ObjectInputStream(new ByteArrayInputStream(outputStream.toByteArray()))) {
+                deserialized = (GryoSerializer) objectInputStream.readObject();
+            }
+
+            // a buffer released by one serializer is reused by the other as both get the pool of the jvm
+            final Output output = serializer.takeOutput(null);
+            output.writeString("marko");
+            serializer.releaseOutput(output);
+            final Output reused = deserialized.takeOutput(null);
+            assertSame(output, reused);
+            assertEquals(0, reused.position());
+            deserialized.releaseOutput(reused);
+
+            // the serialized objects still round-trip through the pooled buffers
+            final SerializerInstance instance = deserialized.newInstance();
+            for (int i = 0; i < 3; i++) {
+                assertEquals("marko" + i, instance.deserialize(instance.serialize("marko" + i, ClassTag$.MODULE$.apply(String.class)), ClassTag$.MODULE$.apply(String.class)));
+            }
+
+            // a serializer with other buffers has a pool of its own
+            final GryoSerializer other = new GryoSerializer(new SparkConf(false).set("spark.kryoserializer.buffer", "32k"));
+            final Output otherOutput = other.takeOutput(null);
+            assertNotSame(reused, otherOutput);
+            other.releaseOutput(otherOutput);
+        } finally {
+            HadoopPools.close();
+        }
+    }
+}
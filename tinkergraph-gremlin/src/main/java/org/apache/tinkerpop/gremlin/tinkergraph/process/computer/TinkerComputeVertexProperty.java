@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.computer;
+
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerVertex;
+
+import java.util.Collections;
+import java.util.Iterator;
+
+/**
+ * A view of the raw value that {@link TinkerGraphComputerView} holds for a compute key of a vertex. There is one view
+ * per vertex and key for the whole computation, so writing and reading a value in each iteration allocates nothing.
+ * The view reads whatever value the slot holds at the time, which for a key written with
+ * {@link VertexProperty.Cardinality#single} is the one property of the vertex for the key. Adding a meta-property to
+ * it moves the value into a {@link org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerVertexProperty} of its
+ * own, which the view then stands for.
+ */
+final class TinkerComputeVertexProperty<V> implements VertexProperty<V> {
+
+    private final TinkerGraphComputerView view;
+    private final TinkerVertex vertex;
+    private final String key;
+    private final int ordinal;
+    private Object id;
+
+    TinkerComputeVertexProperty(final TinkerGraphComputerView view, final TinkerVertex vertex, final String key, final int ordinal) {
+        this.view = view;
+        this.vertex = vertex;
+        this.key = key;
+        this.ordinal = ordinal;
+    }
+
+    int ordinal() {
+        return this.ordinal;
+    }
+
+    @Override
+    public String key() {
+        return this.key;
+    }
+
+    @Override
+    public V value() {
+        final Object value = this.view.getRawValue(this.key, this.ordinal);
+        if (TinkerGraphComputerView.isRawValue(value))
+            return (V) value;
+        final VertexProperty<V> property = this.view.getMaterialized(this);
+        if (null == property)
+            throw Property.Exceptions.propertyDoesNotExist(this.vertex, this.key);
+        return property.value();
+    }
+
+    @Override
+    public boolean isPresent() {
+        return true;
+    }
+
+    @Override
+    public Object id() {
+        // the identifier is only needed when the property is compared, persisted or given meta-properties
+        if (null == this.id)
+            this.id = TinkerHelper.getNextVertexPropertyId((TinkerGraph) this.vertex.graph());
+        return this.id;
+    }
+
+    boolean hasId() {
+        return null != this.id;
+    }
+
+    boolean hasId(final Object id) {
+        return null != this.id && this.id.equals(id);
+    }
+
+    @Override
+    public TinkerVertex element() {
+        return this.vertex;
+    }
+
+    @Override
+    public <U> Property<U> property(final String key, final U value) {
+        return this.view.materialize(this).property(key, value);
+    }
+
+    @Override
+    public <U> Iterator<Property<U>> properties(final String... propertyKeys) {
+        final VertexProperty<V> property = this.view.getMaterialized(this);
+        return null == property ? Collections.emptyIterator() : property.properties(propertyKeys);
+    }
+
+    @Override
+    public void remove() {
+        if (TinkerGraphComputerView.isRawValue(this.view.getRawValue(this.key, this.ordinal))) {
+            this.view.removeProperty(this.vertex, this.key, this);
+        } else {
+            final VertexProperty<V> property = this.view.getMaterialized(this);
+            if (null != property)
+                property.remove();
+        }
+    }
+
+    @SuppressWarnings("EqualsWhichDoesntCheckParameterClass")
+    @Override
+    public boolean equals(final Object object) {
+        return ElementHelper.areEqual(this, object);
+    }
+
+    @Override
+    public int hashCode() {
+        return ElementHelper.hashCode((Element) this);
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.propertyString(this);
+    }
+}
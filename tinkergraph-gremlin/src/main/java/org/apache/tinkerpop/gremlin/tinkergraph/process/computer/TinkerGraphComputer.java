@@ -35,9 +35,14 @@ import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.computer.traversal.strategy.optimization.TinkerGraphConnectedComponentStrategy;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
+import org.apache.tinkerpop.gremlin.util.function.TriConsumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -56,10 +61,15 @@ import java.util.concurrent.ThreadFactory;
  */
 public final class TinkerGraphComputer implements GraphComputer {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(TinkerGraphComputer.class);
+
     static {
-        // GraphFilters are expensive w/ TinkerGraphComputer as everything is already in memory
+        // GraphFilters are expensive w/ TinkerGraphComputer as everything is already in memory, which also leaves
+        // room for the union-find version of connectedComponent()
         TraversalStrategies.GlobalCache.registerStrategies(TinkerGraphComputer.class,
-                TraversalStrategies.GlobalCache.getStrategies(GraphComputer.class).clone().removeStrategies(GraphFilterStrategy.class));
+                TraversalStrategies.GlobalCache.getStrategies(GraphComputer.class).clone().
+                        removeStrategies(GraphFilterStrategy.class).
+                        addStrategies(TinkerGraphConnectedComponentStrategy.instance()));
     }
 
     private ResultGraph resultGraph = null;
@@ -68,7 +78,7 @@ public final class TinkerGraphComputer implements GraphComputer {
     private VertexProgram<?> vertexProgram;
     private final TinkerGraph graph;
     private TinkerMemory memory;
-    private final TinkerMessageBoard messageBoard = new TinkerMessageBoard();
+    private TinkerMessageBoard messageBoard;
     private boolean executed = false;
     private final Set<MapReduce> mapReducers = new HashSet<>();
     private int workers = Runtime.getRuntime().availableProcessors();
@@ -161,24 +171,35 @@ public final class TinkerGraphComputer implements GraphComputer {
             try {
                 if (null != this.vertexProgram) {
                     // execute the vertex program
+                    final boolean halting = this.vertexProgram.getFeatures().supportsVertexHalting();
+                    this.messageBoard = new TinkerMessageBoard<>(view, this.vertexProgram.getMessageCombiner(), halting,
+                            this.vertexProgram.getFeatures().supportsAsynchronousExecution());
                     this.vertexProgram.setup(this.memory);
                     while (true) {
                         if (Thread.interrupted()) throw new TraversalInterruptedException();
                         this.memory.completeSubRound();
                         workers.setVertexProgram(this.vertexProgram);
-                        workers.executeVertexProgram((vertices, vertexProgram, workerMemory) -> {
+                        final TriConsumer<Iterator<Vertex>, VertexProgram, TinkerWorkerMemory> worker = (vertices, vertexProgram, workerMemory) -> {
                             vertexProgram.workerIterationStart(workerMemory.asImmutable());
                             while (vertices.hasNext()) {
                                 final Vertex vertex = vertices.next();
                                 if (Thread.interrupted()) throw new TraversalInterruptedException();
+                                final TinkerMessenger<?> messenger = new TinkerMessenger<>(vertex, this.messageBoard);
                                 vertexProgram.execute(
                                         ComputerGraph.vertexProgram(vertex, vertexProgram),
-                                        new TinkerMessenger<>(vertex, this.messageBoard, vertexProgram.getMessageCombiner()),
+                                        messenger,
                                         workerMemory);
+                                if (!messenger.hasVotedToHalt())
+                                    this.messageBoard.activate(vertex);
                             }
                             vertexProgram.workerIterationEnd(workerMemory.asImmutable());
                             workerMemory.complete();
-                        });
+                        };
+                        // once the vertices may halt only those left active by the last iteration need executing
+                        if (halting && !this.memory.isInitialIteration())
+                            workers.executeVertexProgram(this.messageBoard.getActiveVertices(), worker);
+                        else
+                            workers.executeVertexProgram(worker);
                         this.messageBoard.completeIteration();
                         this.memory.completeSubRound();
                         if (this.vertexProgram.terminate(this.memory)) {
@@ -188,6 +209,9 @@ public final class TinkerGraphComputer implements GraphComputer {
                             this.memory.incrIteration();
                         }
                     }
+                    if (LOGGER.isDebugEnabled())
+                        LOGGER.debug("Executed {} over {} iterations with worker busy times (ms) of {}", this.vertexProgram,
+                                this.memory.getIteration(), Arrays.toString(Arrays.stream(workers.getWorkerBusyTimes()).map(t -> t / 1000000).toArray()));
                     view.complete(); // drop all transient vertex compute keys
                 }
 
@@ -244,6 +268,10 @@ public final class TinkerGraphComputer implements GraphComputer {
                 throw new RuntimeException(ex);
             } finally {
                 workers.close();
+                // reading the graph to build the view opens a transaction on this thread which would otherwise keep
+                // its snapshot from ever being collected
+                if (TinkerHelper.isTransactional(this.graph) && this.graph.tx().isOpen())
+                    this.graph.tx().rollback();
             }
         });
         this.computerService.shutdown();
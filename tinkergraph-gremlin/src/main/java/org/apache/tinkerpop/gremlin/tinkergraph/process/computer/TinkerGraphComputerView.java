@@ -22,7 +22,6 @@ import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
 import org.apache.tinkerpop.gremlin.process.computer.GraphFilter;
 import org.apache.tinkerpop.gremlin.process.computer.VertexComputeKey;
 import org.apache.tinkerpop.gremlin.structure.Edge;
-import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Property;
 import org.apache.tinkerpop.gremlin.structure.T;
@@ -36,13 +35,13 @@ import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerVertex;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerVertexProperty;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -51,17 +50,42 @@ public final class TinkerGraphComputerView {
 
     private final TinkerGraph graph;
     protected final Map<String, VertexComputeKey> computeKeys;
-    private Map<Element, Map<String, List<VertexProperty<?>>>> computeProperties;
+    /**
+     * The values of each compute key indexed by vertex ordinal. A slot holds the raw value of the single property of
+     * the vertex for the key, a {@link VertexProperty} when the property has meta-properties or was added alongside
+     * others, a {@link PropertyList} of them when there are several or {@code null} when there are none.
+     */
+    private final Map<String, Object[]> computeProperties = new HashMap<>();
+    /**
+     * The {@link TinkerComputeVertexProperty} that stands for the raw value of each slot of
+     * {@link #computeProperties}, created when the slot is first written or read and reused for the rest of the
+     * computation.
+     */
+    private final Map<String, TinkerComputeVertexProperty<?>[]> computeViews = new HashMap<>();
     private final Set<Object> legalVertices = new HashSet<>();
     private final Map<Object, Set<Object>> legalEdges = new HashMap<>();
     private final GraphFilter graphFilter;
 
+    /**
+     * The vertices of the graph indexed by the dense ordinal that the view gives each of them, so that per-vertex
+     * state of the computation can be held in arrays rather than in maps keyed by vertex.
+     */
+    private final List<TinkerVertex> vertices = new ArrayList<>();
+
     public TinkerGraphComputerView(final TinkerGraph graph, final GraphFilter graphFilter, final Set<VertexComputeKey> computeKeys) {
         this.graph = graph;
         this.computeKeys = new HashMap<>();
         computeKeys.forEach(key -> this.computeKeys.put(key.getKey(), key));
-        this.computeProperties = new ConcurrentHashMap<>();
         this.graphFilter = graphFilter;
+        graph.vertices().forEachRemaining(vertex -> {
+            TinkerHelper.setComputeOrdinal((TinkerVertex) vertex, this.vertices.size());
+            this.vertices.add((TinkerVertex) vertex);
+        });
+        // the keys are known up front so the maps are only read while the workers run
+        this.computeKeys.keySet().forEach(key -> {
+            this.computeProperties.put(key, new Object[this.vertices.size()]);
+            this.computeViews.put(key, new TinkerComputeVertexProperty<?>[this.vertices.size()]);
+        });
         if (this.graphFilter.hasFilter()) {
             graph.vertices().forEachRemaining(vertex -> {
                 boolean legalVertex = false;
@@ -81,12 +105,7 @@ public final class TinkerGraphComputerView {
     public <V> Property<V> addProperty(final TinkerVertex vertex, final String key, final V value) {
         ElementHelper.validateProperty(key, value);
         if (isComputeKey(key)) {
-            final TinkerVertexProperty<V> property = new TinkerVertexProperty<V>((TinkerVertex) vertex, key, value) {
-                @Override
-                public void remove() {
-                    removeProperty(vertex, key, this);
-                }
-            };
+            final VertexProperty<V> property = this.newProperty(vertex, key, value, null);
             this.addValue(vertex, key, property);
             return property;
         } else {
@@ -94,6 +113,55 @@ public final class TinkerGraphComputerView {
         }
     }
 
+    /**
+     * Replaces any values of a compute key on the vertex with the one given, which is what a write with
+     * {@link VertexProperty.Cardinality#single} amounts to, without first gathering and removing the old ones. The
+     * raw value is held in the slot of the vertex and the property returned is the one view of that slot, so a
+     * vertex program that writes a key in every iteration does not allocate a property for each write.
+     */
+    public <V> Property<V> setProperty(final TinkerVertex vertex, final String key, final V value) {
+        ElementHelper.validateProperty(key, value);
+        if (isComputeKey(key)) {
+            final int ordinal = this.getComputeOrdinal(vertex);
+            final Object[] values = this.computeProperties.get(key);
+            final VertexProperty<V> property;
+            if (isRawValue(value)) {
+                values[ordinal] = value;
+                property = this.getView(vertex, key, ordinal);
+            } else {
+                // a value that would be taken for the property of a slot is held in a property of its own
+                property = this.newProperty(vertex, key, value, null);
+                values[ordinal] = property;
+            }
+            // a value of the key on the vertex itself is removed as it would be by a write outside of the computer
+            final List<VertexProperty> properties = TinkerHelper.getProperties(vertex).get(key);
+            if (null != properties)
+                new ArrayList<>(properties).forEach(VertexProperty::remove);
+            return property;
+        } else {
+            throw GraphComputer.Exceptions.providedKeyIsNotAnElementComputeKey(key);
+        }
+    }
+
+    /**
+     * Gets the one property of the vertex for the key as {@link #getProperty(TinkerVertex, String)} would, without
+     * wrapping it in a list, which is how a vertex program reads the value it wrote in the previous iteration.
+     */
+    public <V> VertexProperty<V> getSingleProperty(final TinkerVertex vertex, final String key) {
+        final Object[] values = this.computeProperties.get(key);
+        final int ordinal = null == values ? -1 : this.getOrdinal(vertex);
+        final Object value = ordinal < 0 ? null : values[ordinal];
+        if (isRawValue(value))
+            return this.getView(vertex, key, ordinal);
+        final List<VertexProperty> properties = (List) this.getProperty(vertex, key);
+        if (properties.isEmpty())
+            return VertexProperty.empty();
+        else if (properties.size() == 1)
+            return properties.get(0);
+        else
+            throw Vertex.Exceptions.multiplePropertiesExistForProvidedKey(key);
+    }
+
     public List<VertexProperty<?>> getProperty(final TinkerVertex vertex, final String key) {
         // if the vertex property is already on the vertex, use that.
         final List<VertexProperty<?>> vertexProperty = this.getValue(vertex, key);
@@ -106,8 +174,32 @@ public final class TinkerGraphComputerView {
         for (final List<VertexProperty> properties : TinkerHelper.getProperties(vertex).values()) {
             list.addAll(properties);
         }
-        for (final List<VertexProperty<?>> properties : this.computeProperties.getOrDefault(vertex, Collections.emptyMap()).values()) {
-            list.addAll(properties);
+        final int ordinal = this.getOrdinal(vertex);
+        if (ordinal >= 0) {
+            for (final Map.Entry<String, Object[]> values : this.computeProperties.entrySet()) {
+                this.addAll(list, vertex, values.getKey(), ordinal, values.getValue()[ordinal]);
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Gets the properties of the vertex for the given keys, which unlike {@link #getProperties(TinkerVertex)} only
+     * looks at those keys.
+     */
+    public List<Property> getProperties(final TinkerVertex vertex, final String... keys) {
+        if (keys.length == 0)
+            return getProperties(vertex);
+        final List<Property> list = new ArrayList<>();
+        final Map<String, List<VertexProperty>> properties = TinkerHelper.getProperties(vertex);
+        final int ordinal = this.getOrdinal(vertex);
+        for (int i = 0; i < keys.length; i++) {
+            if (Arrays.asList(keys).subList(0, i).contains(keys[i]))
+                continue;
+            list.addAll(properties.getOrDefault(keys[i], Collections.emptyList()));
+            final Object[] values = this.computeProperties.get(keys[i]);
+            if (null != values && ordinal >= 0)
+                this.addAll(list, vertex, keys[i], ordinal, values[ordinal]);
         }
         return list;
     }
@@ -120,6 +212,34 @@ public final class TinkerGraphComputerView {
         }
     }
 
+    /**
+     * Gets the number of vertices that the view gives an ordinal to.
+     */
+    public int getVertexCount() {
+        return this.vertices.size();
+    }
+
+    /**
+     * Gets the vertex with the given ordinal.
+     */
+    public TinkerVertex getVertex(final int ordinal) {
+        return this.vertices.get(ordinal);
+    }
+
+    /**
+     * Gets the dense ordinal of a vertex of the graph or -1 if the vertex is not part of the view, as is the case for
+     * vertices added after it was created. Vertices other than a {@link TinkerVertex} are found by their identifier.
+     */
+    public int getOrdinal(final Vertex vertex) {
+        final TinkerVertex tinkerVertex = vertex instanceof TinkerVertex ?
+                (TinkerVertex) vertex : (TinkerVertex) TinkerHelper.getVertices(this.graph).get(vertex.id());
+        if (null == tinkerVertex)
+            return -1;
+        final int ordinal = TinkerHelper.getComputeOrdinal(tinkerVertex);
+        // the ordinal may have been given by the view of an earlier computation
+        return ordinal >= 0 && ordinal < this.vertices.size() && this.vertices.get(ordinal) == tinkerVertex ? ordinal : -1;
+    }
+
     public boolean legalVertex(final Vertex vertex) {
         return !this.graphFilter.hasVertexFilter() || this.legalVertices.contains(vertex.id());
     }
@@ -132,9 +252,8 @@ public final class TinkerGraphComputerView {
         // remove all transient properties from the vertices
         for (final VertexComputeKey computeKey : this.computeKeys.values()) {
             if (computeKey.isTransient()) {
-                for (final Map<String, List<VertexProperty<?>>> properties : this.computeProperties.values()) {
-                    properties.remove(computeKey.getKey());
-                }
+                Arrays.fill(this.computeProperties.get(computeKey.getKey()), null);
+                Arrays.fill(this.computeViews.get(computeKey.getKey()), null);
             }
         }
     }
@@ -193,17 +312,32 @@ public final class TinkerGraphComputerView {
 
     private void addPropertiesToOriginalGraph() {
         TinkerHelper.dropGraphComputerView(this.graph);
-        this.computeProperties.forEach((element, properties) -> {
-            properties.forEach((key, vertexProperties) -> {
-                vertexProperties.forEach(vertexProperty -> {
-                    final VertexProperty<?> newVertexProperty = ((Vertex) element).property(VertexProperty.Cardinality.list, vertexProperty.key(), vertexProperty.value(), T.id, vertexProperty.id());
+        this.computeProperties.forEach((key, values) -> {
+            for (int i = 0; i < values.length; i++) {
+                if (isRawValue(values[i])) {
+                    // the raw value has no meta-properties and only needs the identifier its view may have been given
+                    final TinkerComputeVertexProperty<?> view = this.computeViews.get(key)[i];
+                    if (null != view && view.hasId())
+                        this.vertices.get(i).property(VertexProperty.Cardinality.list, key, values[i], T.id, view.id());
+                    else
+                        this.vertices.get(i).property(VertexProperty.Cardinality.list, key, values[i]);
+                    values[i] = null;
+                    continue;
+                }
+                final List<VertexProperty<?>> vertexProperties = new ArrayList<>();
+                this.addAll(vertexProperties, this.vertices.get(i), key, i, values[i]);
+                for (final VertexProperty<?> vertexProperty : vertexProperties) {
+                    final VertexProperty<?> newVertexProperty = this.vertices.get(i).property(VertexProperty.Cardinality.list, vertexProperty.key(), vertexProperty.value(), T.id, vertexProperty.id());
                     vertexProperty.properties().forEachRemaining(property -> {
                         newVertexProperty.property(property.key(), property.value());
                     });
-                });
-            });
+                }
+                values[i] = null;
+            }
         });
-        this.computeProperties.clear();
+        // the properties were written by the computer thread and so need committing to be seen by any other
+        if (TinkerHelper.isTransactional(this.graph))
+            this.graph.tx().commit();
     }
 
     //////////////////////
@@ -212,20 +346,141 @@ public final class TinkerGraphComputerView {
         return this.computeKeys.containsKey(key);
     }
 
-    private void addValue(final Vertex vertex, final String key, final VertexProperty property) {
-        final Map<String, List<VertexProperty<?>>> elementProperties = this.computeProperties.computeIfAbsent(vertex, k -> new HashMap<>());
-        elementProperties.compute(key, (k, v) -> {
-            if (null == v) v = new ArrayList<>();
-            v.add(property);
-            return v;
-        });
+    private int getComputeOrdinal(final TinkerVertex vertex) {
+        final int ordinal = this.getOrdinal(vertex);
+        if (ordinal < 0)
+            throw new IllegalStateException(String.format("%s was not part of the graph when the computation started", vertex));
+        return ordinal;
+    }
+
+    /**
+     * Determines if what a slot holds is the raw value of a single property rather than properties of their own.
+     */
+    static boolean isRawValue(final Object value) {
+        return null != value && !(value instanceof VertexProperty) && !(value instanceof PropertyList);
+    }
+
+    Object getRawValue(final String key, final int ordinal) {
+        return this.computeProperties.get(key)[ordinal];
+    }
+
+    /**
+     * Gets the property held in the slot of the view in place of its raw value, once it was given meta-properties.
+     */
+    <V> VertexProperty<V> getMaterialized(final TinkerComputeVertexProperty<V> view) {
+        final Object value = this.getRawValue(view.key(), view.ordinal());
+        if (value instanceof PropertyList) {
+            for (final VertexProperty<?> property : (PropertyList) value) {
+                if (view.hasId(property.id()))
+                    return (VertexProperty<V>) property;
+            }
+        } else if (value instanceof VertexProperty && view.hasId(((VertexProperty<?>) value).id())) {
+            return (VertexProperty<V>) value;
+        }
+        return null;
+    }
+
+    /**
+     * Moves the raw value of the view into a property of its own with the identifier of the view, so that it can
+     * take meta-properties.
+     */
+    <V> VertexProperty<V> materialize(final TinkerComputeVertexProperty<V> view) {
+        final Object[] values = this.computeProperties.get(view.key());
+        final Object value = values[view.ordinal()];
+        if (isRawValue(value)) {
+            final VertexProperty<V> property = this.newProperty(view.element(), view.key(), (V) value, view.id());
+            values[view.ordinal()] = property;
+            return property;
+        }
+        final VertexProperty<V> property = this.getMaterialized(view);
+        if (null == property)
+            throw Property.Exceptions.propertyDoesNotExist(view.element(), view.key());
+        return property;
     }
 
-    private void removeValue(final Vertex vertex, final String key, final VertexProperty property) {
-        this.computeProperties.<List<Map<String, VertexProperty<?>>>>getOrDefault(vertex, Collections.emptyMap()).get(key).remove(property);
+    private <V> TinkerComputeVertexProperty<V> getView(final TinkerVertex vertex, final String key, final int ordinal) {
+        final TinkerComputeVertexProperty<?>[] views = this.computeViews.get(key);
+        if (null == views[ordinal])
+            views[ordinal] = new TinkerComputeVertexProperty<>(this, vertex, key, ordinal);
+        return (TinkerComputeVertexProperty<V>) views[ordinal];
     }
 
-    private List<VertexProperty<?>> getValue(final Vertex vertex, final String key) {
-        return this.computeProperties.getOrDefault(vertex, Collections.emptyMap()).getOrDefault(key, Collections.emptyList());
+    private <V> VertexProperty<V> newProperty(final TinkerVertex vertex, final String key, final V value, final Object id) {
+        return new TinkerVertexProperty<V>(null == id ? TinkerHelper.getNextVertexPropertyId(this.graph) : id, vertex, key, value) {
+            @Override
+            public void remove() {
+                removeProperty(vertex, key, this);
+            }
+        };
+    }
+
+    private void addValue(final TinkerVertex vertex, final String key, final VertexProperty property) {
+        final Object[] values = this.computeProperties.get(key);
+        final int ordinal = this.getComputeOrdinal(vertex);
+        final Object value = values[ordinal];
+        if (null == value) {
+            values[ordinal] = property;
+        } else if (value instanceof PropertyList) {
+            ((PropertyList) value).add(property);
+        } else {
+            final PropertyList list = new PropertyList();
+            // a raw value takes the identifier its view may have been given so the view goes on standing for it
+            list.add(isRawValue(value) ?
+                    this.newProperty(vertex, key, value, this.getView(vertex, key, ordinal).id()) :
+                    (VertexProperty<?>) value);
+            list.add(property);
+            values[ordinal] = list;
+        }
+    }
+
+    private void removeValue(final TinkerVertex vertex, final String key, final VertexProperty property) {
+        final Object[] values = this.computeProperties.get(key);
+        final int ordinal = this.getOrdinal(vertex);
+        if (ordinal < 0) return;
+        final Object value = values[ordinal];
+        if (value instanceof PropertyList) {
+            ((PropertyList) value).remove(property);
+        } else if (isRawValue(value)) {
+            if (this.computeViews.get(key)[ordinal] == property)
+                values[ordinal] = null;
+        } else if (null != value && value.equals(property)) {
+            values[ordinal] = null;
+        }
+    }
+
+    private List<VertexProperty<?>> getValue(final TinkerVertex vertex, final String key) {
+        final Object[] values = this.computeProperties.get(key);
+        if (null == values) return Collections.emptyList();
+        final int ordinal = this.getOrdinal(vertex);
+        if (ordinal < 0) return Collections.emptyList();
+        final Object value = values[ordinal];
+        if (null == value)
+            return Collections.emptyList();
+        else if (value instanceof PropertyList)
+            return (PropertyList) value;
+        else if (value instanceof VertexProperty)
+            return Collections.singletonList((VertexProperty<?>) value);
+        else
+            return Collections.singletonList(this.getView(vertex, key, ordinal));
+    }
+
+    private void addAll(final List<? super VertexProperty<?>> list, final TinkerVertex vertex, final String key,
+                        final int ordinal, final Object value) {
+        if (value instanceof PropertyList)
+            list.addAll((PropertyList) value);
+        else if (value instanceof VertexProperty)
+            list.add((VertexProperty<?>) value);
+        else if (null != value)
+            list.add(this.getView(vertex, key, ordinal));
+    }
+
+    /**
+     * The properties of a slot that holds several, which is a class of its own so that it cannot be mistaken for a
+     * raw value that happens to be a {@link List}.
+     */
+    private static final class PropertyList extends ArrayList<VertexProperty<?>> {
+        private PropertyList() {
+            super(2);
+        }
     }
-}
\ No newline at end of file
+}
@@ -18,29 +18,270 @@
  */
 package org.apache.tinkerpop.gremlin.tinkergraph.process.computer;
 
+import org.apache.tinkerpop.gremlin.process.computer.MessageCombiner;
 import org.apache.tinkerpop.gremlin.process.computer.MessageScope;
+import org.apache.tinkerpop.gremlin.process.computer.VertexProgram;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 /**
+ * Holds the messages that vertices send to each other between the iterations of a {@link TinkerGraphComputer}. The
+ * messages of each {@link MessageScope} are kept in an array indexed by the ordinal that the
+ * {@link TinkerGraphComputerView} gives the receiving vertex. When the vertex program has a {@link MessageCombiner}
+ * a message is combined into the one already held for the vertex as it is sent, so that each vertex holds at most
+ * one, and otherwise a vertex holds its first message as is and only gathers later ones into a list. The arrays are
+ * cleared and reused from one iteration to the next rather than being allocated again.
+ * <p/>
+ * When the vertex program {@link VertexProgram.Features#supportsVertexHalting() supports halting}, the board also
+ * keeps track of the vertices to execute in the next iteration, being those that did not vote to halt and those that
+ * are sent a message.
+ * <p/>
+ * When the vertex program {@link VertexProgram.Features#supportsAsynchronousExecution() supports asynchronous
+ * execution}, the messages of a {@link MessageScope.Local} are not held back until the next iteration. They are kept
+ * in a single array, where the slot of the sender holds the latest messages it sent, and are read from there by the
+ * vertices that execute after them in the same iteration as well as by those of the next. The latest messages of a
+ * sender replace its earlier ones, and a scope that no vertex sent to in an iteration is not read in the next.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 final class TinkerMessageBoard<M> {
 
-    public Map<MessageScope, Map<Vertex,Queue<M>>> sendMessages = new ConcurrentHashMap<>();
-    public Map<MessageScope, Map<Vertex, Queue<M>>> receiveMessages = new ConcurrentHashMap<>();
-    public Set<MessageScope> previousMessageScopes = new HashSet<>();
-    public Set<MessageScope> currentMessageScopes = new HashSet<>();
+    /**
+     * The number of locks that the vertices are spread over when messages are added to them, which must be a power
+     * of two.
+     */
+    private static final int LOCK_STRIPES = 1024;
+
+    private final TinkerGraphComputerView view;
+    private final MessageCombiner<M> combiner;
+    private final Object[] locks = new Object[LOCK_STRIPES];
+    private Map<MessageScope, Messages> sendMessages = new ConcurrentHashMap<>();
+    private Map<MessageScope, Messages> receiveMessages = new ConcurrentHashMap<>();
+    private final Queue<Messages> spareMessages = new ConcurrentLinkedQueue<>();
+    private final boolean halting;
+    private AtomicLongArray activeVertices;
+    private AtomicLongArray nextActiveVertices;
+    private final boolean asynchronous;
+    private final Map<MessageScope, Messages> localMessages = new ConcurrentHashMap<>();
+    private Set<MessageScope> sentLocalScopes = ConcurrentHashMap.newKeySet();
+    private Set<MessageScope> receiveMessageScopes = Collections.emptySet();
+    private int iteration = 1;
+
+    public TinkerMessageBoard(final TinkerGraphComputerView view, final Optional<MessageCombiner<M>> combiner,
+                              final boolean halting, final boolean asynchronous) {
+        this.view = view;
+        this.combiner = combiner.orElse(null);
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            this.locks[i] = new Object();
+        }
+        this.halting = halting;
+        if (halting) {
+            // a bit per vertex ordinal
+            this.activeVertices = new AtomicLongArray((view.getVertexCount() + 63) >>> 6);
+            this.nextActiveVertices = new AtomicLongArray((view.getVertexCount() + 63) >>> 6);
+        }
+        this.asynchronous = asynchronous;
+    }
+
+    public boolean isHalting() {
+        return this.halting;
+    }
+
+    /**
+     * Marks the vertex to be executed in the next iteration, which is only of use when the vertex program supports
+     * halting.
+     */
+    public void activate(final Vertex vertex) {
+        if (this.halting)
+            this.activate(this.view.getOrdinal(vertex));
+    }
+
+    /**
+     * Gets the vertices to execute in the current iteration, which are those that were activated in the last one and
+     * are allowed by the {@link org.apache.tinkerpop.gremlin.process.computer.GraphFilter}.
+     */
+    public List<Vertex> getActiveVertices() {
+        final List<Vertex> vertices = new ArrayList<>();
+        for (int word = 0; word < this.activeVertices.length(); word++) {
+            long bits = this.activeVertices.get(word);
+            while (bits != 0) {
+                final Vertex vertex = this.view.getVertex((word << 6) + Long.numberOfTrailingZeros(bits));
+                if (this.view.legalVertex(vertex))
+                    vertices.add(vertex);
+                bits &= bits - 1;
+            }
+        }
+        return vertices;
+    }
+
+    public void sendMessage(final MessageScope messageScope, final Vertex vertex, final M message) {
+        final int ordinal = this.view.getOrdinal(vertex);
+        // a vertex that is not part of the computation can never receive the message
+        if (ordinal < 0)
+            return;
+        final boolean visible = this.asynchronous && messageScope instanceof MessageScope.Local;
+        final Map<MessageScope, Messages> store = visible ? this.localMessages : this.sendMessages;
+        Messages messages = store.get(messageScope);
+        if (null == messages)
+            messages = store.computeIfAbsent(messageScope, ms -> {
+                final Messages spare = this.spareMessages.poll();
+                return null == spare ? new Messages(this.view.getVertexCount()) : spare;
+            });
+        if (visible && !this.sentLocalScopes.contains(messageScope))
+            this.sentLocalScopes.add(messageScope);
+        synchronized (this.locks[ordinal & (LOCK_STRIPES - 1)]) {
+            messages.add(ordinal, message, visible);
+        }
+        // a message to a local scope is kept by the sender and the messenger activates the vertices that read it
+        if (this.halting && messageScope instanceof MessageScope.Global)
+            this.activate(ordinal);
+    }
+
+    public Set<MessageScope> getReceiveMessageScopes() {
+        return this.asynchronous ? this.receiveMessageScopes : this.receiveMessages.keySet();
+    }
+
+    public Iterator<M> receiveMessages(final MessageScope messageScope, final Vertex vertex) {
+        if (this.asynchronous && messageScope instanceof MessageScope.Local) {
+            final Messages messages = this.localMessages.get(messageScope);
+            final int ordinal = null == messages ? -1 : this.view.getOrdinal(vertex);
+            if (ordinal < 0)
+                return Collections.emptyIterator();
+            // the sender may be adding to its messages at the same time
+            synchronized (this.locks[ordinal & (LOCK_STRIPES - 1)]) {
+                return messages.copy(ordinal);
+            }
+        }
+        final Messages messages = this.receiveMessages.get(messageScope);
+        final int ordinal = null == messages ? -1 : this.view.getOrdinal(vertex);
+        return ordinal < 0 ? Collections.emptyIterator() : messages.get(ordinal);
+    }
 
     public void completeIteration() {
+        // the messages that were just read are done with and their arrays hold the messages of the next iteration
+        for (final Messages messages : this.receiveMessages.values()) {
+            messages.clear();
+            this.spareMessages.add(messages);
+        }
+        this.receiveMessages.clear();
+        final Map<MessageScope, Messages> received = this.receiveMessages;
         this.receiveMessages = this.sendMessages;
-        this.sendMessages = new ConcurrentHashMap<>();
-        this.previousMessageScopes = this.currentMessageScopes;
-        this.currentMessageScopes = new HashSet<>();
+        this.sendMessages = received;
+        if (this.asynchronous) {
+            // the local scopes that were not sent to in the iteration are not read in the next one
+            for (final MessageScope messageScope : new ArrayList<>(this.localMessages.keySet())) {
+                if (!this.sentLocalScopes.contains(messageScope)) {
+                    final Messages messages = this.localMessages.remove(messageScope);
+                    messages.clear();
+                    this.spareMessages.add(messages);
+                }
+            }
+            final Set<MessageScope> receiveMessageScopes = new HashSet<>(this.receiveMessages.keySet());
+            receiveMessageScopes.addAll(this.sentLocalScopes);
+            this.receiveMessageScopes = receiveMessageScopes;
+            this.sentLocalScopes = ConcurrentHashMap.newKeySet();
+            this.iteration++;
+        }
+        if (this.halting) {
+            final AtomicLongArray active = this.activeVertices;
+            this.activeVertices = this.nextActiveVertices;
+            this.nextActiveVertices = active;
+            for (int word = 0; word < active.length(); word++) {
+                active.set(word, 0L);
+            }
+        }
+    }
+
+    private void activate(final int ordinal) {
+        if (ordinal < 0)
+            return;
+        final int word = ordinal >>> 6;
+        final long mask = 1L << ordinal;
+        if ((this.nextActiveVertices.get(word) & mask) == 0)
+            this.nextActiveVertices.accumulateAndGet(word, mask, (a, b) -> a | b);
+    }
+
+    /**
+     * The messages of a single {@link MessageScope}, where the slot of a vertex is empty, holds a message or holds a
+     * {@link Gathered} list of messages.
+     */
+    private final class Messages {
+
+        private final Object[] slots;
+        /**
+         * The iteration in which the messages of each slot were sent, which is only kept when the messages are read in
+         * the iteration they are sent.
+         */
+        private final int[] iterations;
+
+        private Messages(final int size) {
+            this.slots = new Object[size];
+            this.iterations = asynchronous ? new int[size] : null;
+        }
+
+        private void add(final int ordinal, final M message, final boolean visible) {
+            final Object current = this.slots[ordinal];
+            if (visible) {
+                // the first message of the iteration replaces those the vertex sent in earlier ones
+                if (this.iterations[ordinal] != iteration) {
+                    this.iterations[ordinal] = iteration;
+                    this.slots[ordinal] = message;
+                    return;
+                }
+            }
+            if (null == current)
+                this.slots[ordinal] = message;
+            else if (null != combiner)
+                this.slots[ordinal] = combiner.combine((M) current, message);
+            else if (current instanceof Gathered)
+                ((Gathered) current).add(message);
+            else
+                this.slots[ordinal] = new Gathered(current, message);
+        }
+
+        private Iterator<M> get(final int ordinal) {
+            final Object current = this.slots[ordinal];
+            if (null == current)
+                return Collections.emptyIterator();
+            else if (current instanceof Gathered)
+                return (Iterator<M>) ((Gathered) current).iterator();
+            else
+                return IteratorUtils.of((M) current);
+        }
+
+        private Iterator<M> copy(final int ordinal) {
+            final Object current = this.slots[ordinal];
+            if (current instanceof Gathered)
+                return (Iterator<M>) new ArrayList<>((Gathered) current).iterator();
+            else
+                return this.get(ordinal);
+        }
+
+        private void clear() {
+            Arrays.fill(this.slots, null);
+        }
+    }
+
+    private static final class Gathered extends ArrayList<Object> {
+
+        private Gathered(final Object first, final Object second) {
+            super(4);
+            this.add(first);
+            this.add(second);
+        }
     }
 }
@@ -18,13 +18,11 @@
  */
 package org.apache.tinkerpop.gremlin.tinkergraph.process.computer;
 
-import org.apache.tinkerpop.gremlin.process.computer.MessageCombiner;
 import org.apache.tinkerpop.gremlin.process.computer.MessageScope;
 import org.apache.tinkerpop.gremlin.process.computer.Messenger;
 import org.apache.tinkerpop.gremlin.process.computer.util.VertexProgramHelper;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
-import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.StartStep;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
@@ -33,14 +31,6 @@ import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import org.apache.tinkerpop.gremlin.util.iterator.MultiIterator;
 
 import java.util.Iterator;
-import java.util.Optional;
-import java.util.Queue;
-import java.util.Spliterator;
-import java.util.Spliterators;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -49,46 +39,33 @@ public final class TinkerMessenger<M> implements Messenger<M> {
 
     private final Vertex vertex;
     private final TinkerMessageBoard<M> messageBoard;
-    private final MessageCombiner<M> combiner;
+    private boolean votedToHalt = false;
 
-    public TinkerMessenger(final Vertex vertex, final TinkerMessageBoard<M> messageBoard, final Optional<MessageCombiner<M>> combiner) {
+    public TinkerMessenger(final Vertex vertex, final TinkerMessageBoard<M> messageBoard) {
         this.vertex = vertex;
         this.messageBoard = messageBoard;
-        this.combiner = combiner.isPresent() ? combiner.get() : null;
     }
 
     @Override
     public Iterator<M> receiveMessages() {
         final MultiIterator<M> multiIterator = new MultiIterator<>();
-        for (final MessageScope messageScope : this.messageBoard.receiveMessages.keySet()) {
-//        for (final MessageScope messageScope : this.messageBoard.previousMessageScopes) {
+        for (final MessageScope messageScope : this.messageBoard.getReceiveMessageScopes()) {
             if (messageScope instanceof MessageScope.Local) {
                 final MessageScope.Local<M> localMessageScope = (MessageScope.Local<M>) messageScope;
                 final Traversal.Admin<Vertex, Edge> incidentTraversal = TinkerMessenger.setVertexStart(localMessageScope.getIncidentTraversal().get().asAdmin(), this.vertex);
                 final Direction direction = TinkerMessenger.getDirection(incidentTraversal);
-                final Edge[] edge = new Edge[1]; // simulates storage side-effects available in Gremlin, but not Java streams
-                multiIterator.addIterator(StreamSupport.stream(Spliterators.spliteratorUnknownSize(VertexProgramHelper.reverse(incidentTraversal.asAdmin()), Spliterator.IMMUTABLE | Spliterator.SIZED), false)
-                        .map((Edge e) -> {
-                            edge[0] = e;
-                            Vertex vv;
-                            if (direction.equals(Direction.IN) || direction.equals(Direction.OUT)) {
-                                vv = e.vertices(direction).next();
-                            } else {
-                                vv = e.outVertex() == this.vertex ? e.inVertex() : e.outVertex();
-                            }
-                            return this.messageBoard.receiveMessages.get(messageScope).get(vv);
-                        })
-                        .filter(q -> null != q)
-                        .flatMap(Queue::stream)
-                        .map(message -> localMessageScope.getEdgeFunction().apply(message, edge[0]))
-                        .iterator());
-
+                multiIterator.addIterator(IteratorUtils.flatMap(VertexProgramHelper.reverse(incidentTraversal.asAdmin()), (Edge e) -> {
+                    final Vertex vv;
+                    if (direction.equals(Direction.IN) || direction.equals(Direction.OUT)) {
+                        vv = e.vertices(direction).next();
+                    } else {
+                        vv = e.outVertex() == this.vertex ? e.inVertex() : e.outVertex();
+                    }
+                    return IteratorUtils.map(this.messageBoard.receiveMessages(messageScope, vv),
+                            message -> localMessageScope.getEdgeFunction().apply(message, e));
+                }));
             } else {
-                multiIterator.addIterator(Stream.of(this.vertex)
-                        .map(this.messageBoard.receiveMessages.get(messageScope)::get)
-                        .filter(q -> null != q)
-                        .flatMap(Queue::stream)
-                        .iterator());
+                multiIterator.addIterator(this.messageBoard.receiveMessages(messageScope, this.vertex));
             }
         }
         return multiIterator;
@@ -96,24 +73,28 @@ public final class TinkerMessenger<M> implements Messenger<M> {
 
     @Override
     public void sendMessage(final MessageScope messageScope, final M message) {
-//        this.messageBoard.currentMessageScopes.add(messageScope);
         if (messageScope instanceof MessageScope.Local) {
-            addMessage(this.vertex, message, messageScope);
+            this.messageBoard.sendMessage(messageScope, this.vertex, message);
+            if (this.messageBoard.isHalting()) {
+                // wake the vertices that will read the message, which are those at the other end of the incident edges
+                final Traversal.Admin<Vertex, Edge> incidentTraversal = TinkerMessenger.setVertexStart(((MessageScope.Local<M>) messageScope).getIncidentTraversal().get().asAdmin(), this.vertex);
+                final Direction direction = TinkerMessenger.getDirection(incidentTraversal);
+                incidentTraversal.forEachRemaining(e -> this.messageBoard.activate(direction.equals(Direction.BOTH) ?
+                        (e.outVertex().equals(this.vertex) ? e.inVertex() : e.outVertex()) :
+                        e.vertices(direction.opposite()).next()));
+            }
         } else {
-            ((MessageScope.Global) messageScope).vertices().forEach(v -> addMessage(v, message, messageScope));
+            ((MessageScope.Global) messageScope).vertices().forEach(v -> this.messageBoard.sendMessage(messageScope, v, message));
         }
     }
 
-    private void addMessage(final Vertex vertex, final M message, MessageScope messageScope) {
-        this.messageBoard.sendMessages.compute(messageScope, (ms, messages) -> {
-            if(null==messages) messages = new ConcurrentHashMap<>();
-            return messages;
-        });
-        this.messageBoard.sendMessages.get(messageScope).compute(vertex, (v, queue) -> {
-            if (null == queue) queue = new ConcurrentLinkedQueue<>();
-            queue.add(null != this.combiner && !queue.isEmpty() ? this.combiner.combine(queue.remove(), message) : message);
-            return queue;
-        });
+    @Override
+    public void voteToHalt() {
+        this.votedToHalt = true;
+    }
+
+    public boolean hasVotedToHalt() {
+        return this.votedToHalt;
     }
 
     ///////////
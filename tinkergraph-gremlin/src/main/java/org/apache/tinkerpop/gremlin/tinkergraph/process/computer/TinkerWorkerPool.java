@@ -25,21 +25,26 @@ import org.apache.tinkerpop.gremlin.process.computer.util.MapReducePool;
 import org.apache.tinkerpop.gremlin.process.computer.util.VertexProgramPool;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
-import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
 import org.apache.tinkerpop.gremlin.util.function.TriConsumer;
 
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Queue;
 import java.util.concurrent.CompletionService;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 /**
+ * The workers of a {@link TinkerGraphComputer}. Rather than each worker being given a fixed share of the vertices up
+ * front, the workers take small chunks of vertices from a shared cursor as they go, so that a worker which draws the
+ * vertices with many edges does not hold up an iteration while the others sit idle.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  * @author Stephen Mallette (http://stephen.genoprime.com)
  */
@@ -47,6 +52,17 @@ public final class TinkerWorkerPool implements AutoCloseable {
 
     private static final BasicThreadFactory THREAD_FACTORY_WORKER = new BasicThreadFactory.Builder().namingPattern("tinker-worker-%d").build();
 
+    /**
+     * The number of chunks each worker would take if the vertices were evenly spread, which bounds how unevenly the
+     * work can end up being split.
+     */
+    private static final int CHUNKS_PER_WORKER = 16;
+
+    /**
+     * The largest number of vertices that a worker takes at once.
+     */
+    private static final int MAX_CHUNK_SIZE = 256;
+
     private final int numberOfWorkers;
     private final ExecutorService workerPool;
     private final CompletionService<Object> completionService;
@@ -54,7 +70,9 @@ public final class TinkerWorkerPool implements AutoCloseable {
     private VertexProgramPool vertexProgramPool;
     private MapReducePool mapReducePool;
     private final Queue<TinkerWorkerMemory> workerMemoryPool = new ConcurrentLinkedQueue<>();
-    private final List<List<Vertex>> workerVertices = new ArrayList<>();
+    private final List<Vertex> vertices = new ArrayList<>();
+    private final AtomicInteger cursor = new AtomicInteger();
+    private final long[] workerBusyTimes;
 
     public TinkerWorkerPool(final TinkerGraph graph, final TinkerMemory memory, final int numberOfWorkers) {
         this.numberOfWorkers = numberOfWorkers;
@@ -62,26 +80,9 @@ public final class TinkerWorkerPool implements AutoCloseable {
         this.completionService = new ExecutorCompletionService<>(this.workerPool);
         for (int i = 0; i < this.numberOfWorkers; i++) {
             this.workerMemoryPool.add(new TinkerWorkerMemory(memory));
-            this.workerVertices.add(new ArrayList<>());
-        }
-        int batchSize = TinkerHelper.getVertices(graph).size() / this.numberOfWorkers;
-        if (0 == batchSize)
-            batchSize = 1;
-        int counter = 0;
-        int index = 0;
-
-        List<Vertex> currentWorkerVertices = this.workerVertices.get(index);
-        final Iterator<Vertex> iterator = graph.vertices();
-        while (iterator.hasNext()) {
-            final Vertex vertex = iterator.next();
-            if (counter++ < batchSize || index == this.workerVertices.size() - 1) {
-                currentWorkerVertices.add(vertex);
-            } else {
-                currentWorkerVertices = this.workerVertices.get(++index);
-                currentWorkerVertices.add(vertex);
-                counter = 1;
-            }
         }
+        graph.vertices().forEachRemaining(this.vertices::add);
+        this.workerBusyTimes = new long[this.numberOfWorkers];
     }
 
     public void setVertexProgram(final VertexProgram vertexProgram) {
@@ -93,15 +94,26 @@ public final class TinkerWorkerPool implements AutoCloseable {
     }
 
     public void executeVertexProgram(final TriConsumer<Iterator<Vertex>, VertexProgram, TinkerWorkerMemory> worker) throws InterruptedException {
+        this.executeVertexProgram(this.vertices, worker);
+    }
+
+    /**
+     * Executes the vertex program over the given vertices only, as when the vertex program supports halting and
+     * most of the vertices of the graph have nothing to do.
+     */
+    public void executeVertexProgram(final List<? extends Vertex> vertices, final TriConsumer<Iterator<Vertex>, VertexProgram, TinkerWorkerMemory> worker) throws InterruptedException {
+        final int chunkSize = Math.max(1, Math.min(MAX_CHUNK_SIZE, vertices.size() / (this.numberOfWorkers * CHUNKS_PER_WORKER)));
+        this.cursor.set(0);
         for (int i = 0; i < this.numberOfWorkers; i++) {
             final int index = i;
             this.completionService.submit(() -> {
+                final long start = System.nanoTime();
                 final VertexProgram vp = this.vertexProgramPool.take();
                 final TinkerWorkerMemory workerMemory = this.workerMemoryPool.poll();
-                final List<Vertex> vertices = this.workerVertices.get(index);
-                worker.accept(vertices.iterator(), vp, workerMemory);
+                worker.accept(new ChunkIterator(vertices, chunkSize), vp, workerMemory);
                 this.vertexProgramPool.offer(vp);
                 this.workerMemoryPool.offer(workerMemory);
+                this.workerBusyTimes[index] += System.nanoTime() - start;
                 return null;
             });
         }
@@ -116,6 +128,14 @@ public final class TinkerWorkerPool implements AutoCloseable {
         }
     }
 
+    /**
+     * Gets the time in nanoseconds that each worker has spent executing the vertex program, summed over all the
+     * iterations so far. Widely differing times mean that the vertices were not spread evenly over the workers.
+     */
+    public long[] getWorkerBusyTimes() {
+        return this.workerBusyTimes.clone();
+    }
+
     public void executeMapReduce(final Consumer<MapReduce> worker) throws InterruptedException {
         for (int i = 0; i < this.numberOfWorkers; i++) {
             this.completionService.submit(() -> {
@@ -144,4 +164,40 @@ public final class TinkerWorkerPool implements AutoCloseable {
     public void close() throws Exception {
         this.workerPool.shutdown();
     }
+
+    /**
+     * Walks the vertices of the chunks that a worker takes from the shared cursor, taking the next chunk only once
+     * the last is done.
+     */
+    private final class ChunkIterator implements Iterator<Vertex> {
+
+        private final List<? extends Vertex> vertices;
+        private final int chunkSize;
+        private int position = 0;
+        private int end = 0;
+
+        private ChunkIterator(final List<? extends Vertex> vertices, final int chunkSize) {
+            this.vertices = vertices;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (this.position < this.end)
+                return true;
+            final int size = this.vertices.size();
+            if (cursor.get() >= size)
+                return false;
+            this.position = cursor.getAndAdd(this.chunkSize);
+            this.end = Math.min(this.position + this.chunkSize, size);
+            return this.position < this.end;
+        }
+
+        @Override
+        public Vertex next() {
+            if (!this.hasNext())
+                throw new NoSuchElementException();
+            return this.vertices.get(this.position++);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.computer.traversal.strategy.optimization;
+
+import org.apache.tinkerpop.gremlin.process.computer.Computer;
+import org.apache.tinkerpop.gremlin.process.computer.traversal.step.map.ConnectedComponent;
+import org.apache.tinkerpop.gremlin.process.computer.traversal.step.map.ConnectedComponentVertexProgramStep;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+
+/**
+ * This strategy has {@code connectedComponent()} gather the components in the union-find structure of
+ * {@link org.apache.tinkerpop.gremlin.process.computer.clustering.connected.ConnectedComponentVertexProgram} rather
+ * than pass messages, as the structure fits in memory on the single machine of
+ * {@link org.apache.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphComputer} and the computation then no
+ * longer takes as many iterations as the diameter of the largest component. A traversal that configures
+ * {@link ConnectedComponent#unionFind} itself is left as it is, as is one whose computer filters vertices.
+ *
+ * @example <pre>
+ * g.V().connectedComponent()                                          // uses the union-find version
+ * g.V().connectedComponent().with(ConnectedComponent.unionFind, false) // passes messages
+ * </pre>
+ */
+public final class TinkerGraphConnectedComponentStrategy extends AbstractTraversalStrategy<TraversalStrategy.ProviderOptimizationStrategy> implements TraversalStrategy.ProviderOptimizationStrategy {
+
+    private static final TinkerGraphConnectedComponentStrategy INSTANCE = new TinkerGraphConnectedComponentStrategy();
+
+    private TinkerGraphConnectedComponentStrategy() {
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        for (final ConnectedComponentVertexProgramStep step : TraversalHelper.getStepsOfClass(ConnectedComponentVertexProgramStep.class, traversal)) {
+            final Computer computer = step.getComputer();
+            if (!step.isUnionFindConfigured() && null != computer && null == computer.getVertices())
+                step.configure(ConnectedComponent.unionFind, true);
+        }
+    }
+
+    public static TinkerGraphConnectedComponentStrategy instance() {
+        return INSTANCE;
+    }
+}
@@ -29,8 +29,12 @@ import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -38,11 +42,21 @@ import java.util.NoSuchElementException;
 public final class TinkerCountGlobalStep<S extends Element> extends AbstractStep<S, Long> {
 
     private final Class<S> elementClass;
+    private final Set<String> labels;
     private boolean done = false;
 
     public TinkerCountGlobalStep(final Traversal.Admin traversal, final Class<S> elementClass) {
+        this(traversal, elementClass, null);
+    }
+
+    /**
+     * Creates a step that counts the elements with any of the specified labels or all the elements if the labels are
+     * {@code null}.
+     */
+    public TinkerCountGlobalStep(final Traversal.Admin traversal, final Class<S> elementClass, final Set<String> labels) {
         super(traversal);
         this.elementClass = elementClass;
+        this.labels = labels;
     }
 
     @Override
@@ -50,22 +64,43 @@ public final class TinkerCountGlobalStep<S extends Element> extends AbstractStep
         if (!this.done) {
             this.done = true;
             final TinkerGraph graph = (TinkerGraph) this.getTraversal().getGraph().get();
-            return this.getTraversal().getTraverserGenerator().generate(Vertex.class.isAssignableFrom(this.elementClass) ?
-                            (long) TinkerHelper.getVertices(graph).size() :
-                            (long) TinkerHelper.getEdges(graph).size(),
-                    (Step) this, 1L);
+            return this.getTraversal().getTraverserGenerator().generate(this.count(graph), (Step) this, 1L);
         } else
             throw FastNoSuchElementException.instance();
     }
 
+    private long count(final TinkerGraph graph) {
+        final boolean isVertex = Vertex.class.isAssignableFrom(this.elementClass);
+        if (null == this.labels)
+            return count(graph, isVertex ? TinkerHelper.getVertices(graph) : TinkerHelper.getEdges(graph));
+
+        long count = 0;
+        for (final String label : this.labels) {
+            count += count(graph, isVertex ? TinkerHelper.getVertices(graph, label) : TinkerHelper.getEdges(graph, label));
+        }
+        return count;
+    }
+
+    /**
+     * Counts the elements, which only requires a scan if the graph is transactional as the elements of other
+     * snapshots are then present as well.
+     */
+    private static long count(final TinkerGraph graph, final Map<Object, ? extends Element> elements) {
+        return TinkerHelper.isTransactional(graph) ?
+                IteratorUtils.count(TinkerHelper.filterVisible(graph, elements.values().iterator())) :
+                elements.size();
+    }
+
     @Override
     public String toString() {
-        return StringFactory.stepString(this, this.elementClass.getSimpleName().toLowerCase());
+        return null == this.labels ?
+                StringFactory.stepString(this, this.elementClass.getSimpleName().toLowerCase()) :
+                StringFactory.stepString(this, this.elementClass.getSimpleName().toLowerCase(), this.labels);
     }
 
     @Override
     public int hashCode() {
-        return super.hashCode() ^ this.elementClass.hashCode();
+        return super.hashCode() ^ this.elementClass.hashCode() ^ Objects.hashCode(this.labels);
     }
 
     @Override
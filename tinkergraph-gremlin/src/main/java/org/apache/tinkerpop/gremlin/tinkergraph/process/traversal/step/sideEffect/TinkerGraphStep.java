@@ -19,13 +19,18 @@
 package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.sideEffect;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.Contains;
 import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.LambdaHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Mutating;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.process.traversal.util.AndP;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
@@ -36,10 +41,16 @@ import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -53,6 +64,11 @@ public final class TinkerGraphStep<S, E extends Element> extends GraphStep<S, E>
      * List of iterators opened by this step.
      */
     private final List<Iterator> iterators = new ArrayList<>();
+    /**
+     * Determines if full scans are streamed or materialized. Lazily set on first use as the traversal must be fully
+     * constructed before it can be inspected for mutations.
+     */
+    private Boolean streamable = null;
 
     public TinkerGraphStep(final GraphStep<S, E> originalGraphStep) {
         super(originalGraphStep.getTraversal(), originalGraphStep.getReturnClass(), originalGraphStep.isStartStep(), originalGraphStep.getIds());
@@ -67,20 +83,23 @@ public final class TinkerGraphStep<S, E extends Element> extends GraphStep<S, E>
 
     private Iterator<? extends Edge> edges() {
         final TinkerGraph graph = (TinkerGraph) this.getTraversal().getGraph().get();
-        final HasContainer indexedContainer = getIndexKey(Edge.class);
         Iterator<Edge> iterator;
         // ids are present, filter on them first
         if (null == this.ids)
             iterator = Collections.emptyIterator();
         else if (this.ids.length > 0)
             iterator = this.iteratorList(graph.edges(this.ids));
-        else
-            iterator = null == indexedContainer ?
-                    this.iteratorList(graph.edges()) :
-                    TinkerHelper.queryEdgeIndex(graph, indexedContainer.getKey(), indexedContainer.getPredicate().getValue()).stream()
+        else {
+            final List<Map<Object, Edge>> labelled = this.getLabelled(graph, Edge.class);
+            final List<Edge> indexed = this.queryIndex(graph, Edge.class, null == labelled ? Long.MAX_VALUE : size(labelled));
+            iterator = null == indexed ?
+                    (null == labelled ?
+                            this.iteratorScan(graph, graph::edges, TinkerHelper.getEdges(graph).values()) :
+                            this.iteratorScan(graph, () -> values(labelled), () -> values(labelled))) :
+                    indexed.stream()
                                 .filter(edge -> HasContainer.testAll(edge, this.hasContainers))
                                 .collect(Collectors.<Edge>toList()).iterator();
-
+        }
 
         iterators.add(iterator);
 
@@ -89,31 +108,190 @@ public final class TinkerGraphStep<S, E extends Element> extends GraphStep<S, E>
 
     private Iterator<? extends Vertex> vertices() {
         final TinkerGraph graph = (TinkerGraph) this.getTraversal().getGraph().get();
-        final HasContainer indexedContainer = getIndexKey(Vertex.class);
         Iterator<? extends Vertex> iterator;
         // ids are present, filter on them first
         if (null == this.ids)
             iterator = Collections.emptyIterator();
         else if (this.ids.length > 0)
             iterator = this.iteratorList(graph.vertices(this.ids));
-        else
-            iterator = (null == indexedContainer ?
-                    this.iteratorList(graph.vertices()) :
-                    IteratorUtils.filter(TinkerHelper.queryVertexIndex(graph, indexedContainer.getKey(), indexedContainer.getPredicate().getValue()).iterator(),
-                                         vertex -> HasContainer.testAll(vertex, this.hasContainers)));
+        else {
+            final List<Map<Object, Vertex>> labelled = this.getLabelled(graph, Vertex.class);
+            final List<Vertex> indexed = this.queryIndex(graph, Vertex.class, null == labelled ? Long.MAX_VALUE : size(labelled));
+            iterator = (null == indexed ?
+                    (null == labelled ?
+                            this.iteratorScan(graph, graph::vertices, TinkerHelper.getVertices(graph).values()) :
+                            this.iteratorScan(graph, () -> values(labelled), () -> values(labelled))) :
+                    IteratorUtils.filter(indexed.iterator(), vertex -> HasContainer.testAll(vertex, this.hasContainers)));
+        }
 
         iterators.add(iterator);
 
         return iterator;
     }
 
-    private HasContainer getIndexKey(final Class<? extends Element> indexedClass) {
-        final Set<String> indexedKeys = ((TinkerGraph) this.getTraversal().getGraph().get()).getIndexedKeys(indexedClass);
+    /**
+     * Gets the elements that an index returns for the filters of this step or {@code null} if no index applies. Every
+     * index that can answer some of the filters is a candidate, be it a composite index for the equality filters on
+     * its leading keys or an index on a single key for all the filters on that key, and the candidate with the fewest
+     * entries is queried. The remaining filters are then evaluated against each of the (hopefully few) elements it
+     * returns. An index is only used if it has fewer entries than the limit, which is the number of elements an
+     * alternative to the index would visit, and if it holds what the transaction of the current thread sees.
+     */
+    private <T extends Element> List<T> queryIndex(final TinkerGraph graph, final Class<T> indexedClass, final long limit) {
+        if (!TinkerHelper.isIndexCurrent(graph))
+            return null;
+
+        final List<T> indexed = this.queryBestIndex(graph, indexedClass, limit);
+
+        // a commit that updated the indices during the query leaves them ahead of the snapshot that was read
+        return null == indexed || !TinkerHelper.isIndexCurrent(graph) ?
+                null : IteratorUtils.list(TinkerHelper.filterVisible(graph, indexed.iterator()));
+    }
+
+    private <T extends Element> List<T> queryBestIndex(final TinkerGraph graph, final Class<T> indexedClass, final long limit) {
+        final boolean isVertex = Vertex.class.isAssignableFrom(indexedClass);
+
+        // an estimate never needs to count past the best one found so far so a poor candidate is cheap to rule out
+        long bestCount = limit;
+        List<String> bestCompositeKeys = null;
+        List<Object> bestCompositeValues = null;
+        for (final List<String> keys : graph.getCompositeIndexedKeys(indexedClass)) {
+            final List<Object> values = getEqualityPrefix(keys);
+            if (values.isEmpty())
+                continue;
+
+            final long count = isVertex ?
+                    TinkerHelper.countVertexCompositeIndex(graph, keys, values, bestCount) :
+                    TinkerHelper.countEdgeCompositeIndex(graph, keys, values, bestCount);
+            if (count < bestCount || (count == bestCount && null != bestCompositeValues && values.size() > bestCompositeValues.size())) {
+                bestCount = count;
+                bestCompositeKeys = keys;
+                bestCompositeValues = values;
+            }
+        }
+
+        String bestKey = null;
+        List<P<?>> bestPredicates = null;
+        for (final Map.Entry<String, List<HasContainer>> entry : getIndexedContainers(graph, indexedClass).entrySet()) {
+            final List<P<?>> predicates = getPredicates(entry.getValue());
+            final long count = isVertex ?
+                    TinkerHelper.countVertexIndex(graph, entry.getKey(), predicates, bestCount) :
+                    TinkerHelper.countEdgeIndex(graph, entry.getKey(), predicates, bestCount);
+            if (count < bestCount) {
+                bestCount = count;
+                bestKey = entry.getKey();
+                bestPredicates = predicates;
+            }
+        }
+
+        if (null != bestKey)
+            return (List<T>) (isVertex ?
+                    TinkerHelper.queryVertexIndex(graph, bestKey, bestPredicates) :
+                    TinkerHelper.queryEdgeIndex(graph, bestKey, bestPredicates));
+        else if (null != bestCompositeKeys)
+            return (List<T>) (isVertex ?
+                    TinkerHelper.queryVertexCompositeIndex(graph, bestCompositeKeys, bestCompositeValues) :
+                    TinkerHelper.queryEdgeCompositeIndex(graph, bestCompositeKeys, bestCompositeValues));
+        else
+            return null;
+    }
 
-        final Iterator<HasContainer> itty = IteratorUtils.filter(hasContainers.iterator(),
-                c -> c.getPredicate().getBiPredicate() == Compare.eq && indexedKeys.contains(c.getKey()));
-        return itty.hasNext() ? itty.next() : null;
+    /**
+     * Gets the values of the equality filters that match the longest leading run of the keys.
+     */
+    private List<Object> getEqualityPrefix(final List<String> keys) {
+        final List<Object> values = new ArrayList<>(keys.size());
+        for (final String key : keys) {
+            final Optional<HasContainer> container = this.hasContainers.stream().
+                    filter(c -> c.getKey().equals(key) && c.getPredicate().getBiPredicate() == Compare.eq).findFirst();
+            if (!container.isPresent())
+                break;
+            values.add(container.get().getPredicate().getValue());
+        }
+        return values;
+    }
 
+    /**
+     * Groups the containers that an index is able to answer by their key, in the order the keys first appear, so
+     * that all the range and prefix predicates on a key with a {@link TinkerGraph.IndexType#SORTED} index are
+     * answered with a single bounded scan.
+     */
+    private Map<String, List<HasContainer>> getIndexedContainers(final TinkerGraph graph, final Class<? extends Element> indexedClass) {
+        final Map<String, List<HasContainer>> indexedContainers = new LinkedHashMap<>();
+        for (final HasContainer c : this.hasContainers) {
+            if (TinkerHelper.isIndexable(graph, indexedClass, c.getKey(), c.getPredicate()))
+                indexedContainers.computeIfAbsent(c.getKey(), k -> new ArrayList<>()).add(c);
+        }
+        return indexedContainers;
+    }
+
+    /**
+     * Gets the label partitions of the graph that hold all the elements which satisfy the label filters of this step
+     * or {@code null} if there are no such filters. In computer mode the partitions are ignored as they are not
+     * restricted by the {@link org.apache.tinkerpop.gremlin.process.computer.GraphFilter}.
+     */
+    private <T extends Element> List<Map<Object, T>> getLabelled(final TinkerGraph graph, final Class<T> labelledClass) {
+        if (TinkerHelper.inComputerMode(graph))
+            return null;
+
+        final Set<String> labels = getLabels(this.hasContainers);
+        if (null == labels)
+            return null;
+
+        final boolean isVertex = Vertex.class.isAssignableFrom(labelledClass);
+        final List<Map<Object, T>> labelled = new ArrayList<>(labels.size());
+        for (final String label : labels) {
+            labelled.add((Map<Object, T>) (isVertex ? TinkerHelper.getVertices(graph, label) : TinkerHelper.getEdges(graph, label)));
+        }
+        return labelled;
+    }
+
+    /**
+     * Gets the labels that the equality and {@code within()} filters on {@link T#label} allow or {@code null} if
+     * there are no such filters.
+     */
+    public static Set<String> getLabels(final List<HasContainer> hasContainers) {
+        Set<String> labels = null;
+        for (final HasContainer c : hasContainers) {
+            if (!c.getKey().equals(T.label.getAccessor()))
+                continue;
+
+            final Collection<?> allowed;
+            if (c.getBiPredicate() == Compare.eq)
+                allowed = Collections.singleton(c.getValue());
+            else if (c.getBiPredicate() == Contains.within)
+                allowed = (Collection<?>) c.getValue();
+            else
+                continue;
+
+            final Set<String> matching = new LinkedHashSet<>();
+            for (final Object label : allowed) {
+                if (label instanceof String && (null == labels || labels.contains(label)))
+                    matching.add((String) label);
+            }
+            labels = matching;
+        }
+        return labels;
+    }
+
+    private static <T extends Element> long size(final List<Map<Object, T>> labelled) {
+        long size = 0;
+        for (final Map<Object, T> elements : labelled) {
+            size += elements.size();
+        }
+        return size;
+    }
+
+    private static <T extends Element> Iterator<T> values(final List<Map<Object, T>> labelled) {
+        return IteratorUtils.flatMap(labelled.iterator(), elements -> elements.values().iterator());
+    }
+
+    private static List<P<?>> getPredicates(final List<HasContainer> hasContainers) {
+        final List<P<?>> predicates = new ArrayList<>(hasContainers.size());
+        for (final HasContainer c : hasContainers) {
+            predicates.add(c.getPredicate());
+        }
+        return predicates;
     }
 
     @Override
@@ -126,6 +304,34 @@ public final class TinkerGraphStep<S, E extends Element> extends GraphStep<S, E>
                     StringFactory.stepString(this, this.returnClass.getSimpleName().toLowerCase(), Arrays.toString(this.ids), this.hasContainers);
     }
 
+    /**
+     * Filters a full scan of the graph. If the traversal cannot mutate the graph, then the scan is streamed lazily so
+     * that steps like {@code limit()} short-circuit without visiting every element and so that memory use does not
+     * grow with the size of the graph. Otherwise, the scan is materialized up front so that elements added during
+     * iteration are not themselves traversed.
+     */
+    private <E extends Element> Iterator<E> iteratorScan(final TinkerGraph graph, final Supplier<Iterator<E>> scan,
+                                                         final Iterable<E> elements) {
+        if (TinkerHelper.inComputerMode(graph) || !this.isStreamable())
+            return this.iteratorList(TinkerHelper.filterVisible(graph, scan.get()));
+
+        // iteration over the backing concurrent map is weakly consistent so it tolerates modification by other
+        // threads and since it holds no storage resources there is nothing to close should the traversal stop early
+        return IteratorUtils.filter(TinkerHelper.filterVisible(graph, elements.iterator()), e -> HasContainer.testAll(e, this.hasContainers));
+    }
+
+    /**
+     * Determines if a scan can be streamed which is only true when there are no steps in the traversal that could
+     * modify the graph while the scan is in progress.
+     */
+    private boolean isStreamable() {
+        if (null == this.streamable) {
+            this.streamable = !TraversalHelper.hasStepOfAssignableClassRecursively(Arrays.<Class>asList(Mutating.class, LambdaHolder.class),
+                    TraversalHelper.getRootTraversal(this.getTraversal()));
+        }
+        return this.streamable;
+    }
+
     private <E extends Element> Iterator<E> iteratorList(final Iterator<E> iterator) {
         final List<E> list = new ArrayList<>();
 
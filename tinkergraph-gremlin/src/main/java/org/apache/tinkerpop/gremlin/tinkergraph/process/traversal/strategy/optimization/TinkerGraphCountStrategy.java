@@ -19,10 +19,13 @@
 
 package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization;
 
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.Contains;
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.CountGlobalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.NoOpBarrierStep;
@@ -31,24 +34,30 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.IdentitySt
 import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.SideEffectStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.CollectingBarrierStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.map.TinkerCountGlobalStep;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.sideEffect.TinkerGraphStep;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 
 /**
  * This strategy will do a direct {@link org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper#getVertices}
- * size call if the traversal is a count of the vertices and edges of the graph or a one-to-one map chain thereof.
+ * size call if the traversal is a count of the vertices and edges of the graph or a one-to-one map chain thereof. A
+ * count of the elements with particular labels is answered from the sizes of the label partitions of the graph.
  *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  * @example <pre>
  * g.V().count()               // is replaced by TinkerCountGlobalStep
  * g.V().map(out()).count()    // is replaced by TinkerCountGlobalStep
  * g.E().label().count()       // is replaced by TinkerCountGlobalStep
+ * g.V().hasLabel('person').count()   // is replaced by TinkerCountGlobalStep
  * </pre>
  */
 public final class TinkerGraphCountStrategy extends AbstractTraversalStrategy<TraversalStrategy.ProviderOptimizationStrategy> implements TraversalStrategy.ProviderOptimizationStrategy {
@@ -68,8 +77,16 @@ public final class TinkerGraphCountStrategy extends AbstractTraversalStrategy<Tr
                 0 != ((GraphStep) steps.get(0)).getIds().length ||
                 !(steps.get(steps.size() - 1) instanceof CountGlobalStep))
             return;
+        final List<HasContainer> labelContainers = new ArrayList<>();
         for (int i = 1; i < steps.size() - 1; i++) {
             final Step current = steps.get(i);
+            if (current instanceof HasStep) {
+                final List<HasContainer> hasContainers = ((HasStep<?>) current).getHasContainers();
+                if (!hasContainers.stream().allMatch(TinkerGraphCountStrategy::isLabelFilter))
+                    return;
+                labelContainers.addAll(hasContainers);
+                continue;
+            }
             if (!(//current instanceof MapStep ||  // MapSteps will not necessarily emit an element as demonstrated in https://issues.apache.org/jira/browse/TINKERPOP-1958
                     current instanceof IdentityStep ||
                     current instanceof NoOpBarrierStep ||
@@ -80,7 +97,12 @@ public final class TinkerGraphCountStrategy extends AbstractTraversalStrategy<Tr
         }
         final Class<? extends Element> elementClass = ((GraphStep<?, ?>) steps.get(0)).getReturnClass();
         TraversalHelper.removeAllSteps(traversal);
-        traversal.addStep(new TinkerCountGlobalStep<>(traversal, elementClass));
+        traversal.addStep(new TinkerCountGlobalStep<>(traversal, elementClass, TinkerGraphStep.getLabels(labelContainers)));
+    }
+
+    private static boolean isLabelFilter(final HasContainer hasContainer) {
+        return hasContainer.getKey().equals(T.label.getAccessor()) &&
+                (hasContainer.getBiPredicate() == Compare.eq || hasContainer.getBiPredicate() == Contains.within);
     }
 
     @Override
@@ -0,0 +1,202 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.process.computer.GraphFilter;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.io.GraphReader;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoMapper;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoReader;
+import org.apache.tinkerpop.gremlin.structure.util.Attachable;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * A {@link GraphReader} that reads a whole graph into a {@link TinkerGraph} with a {@link TinkerBulkLoader} rather
+ * than one element at a time. It wraps another reader, which must support
+ * {@link GraphReader#readVertices(InputStream, Function, Function, Direction)}, and leaves all other reads to it.
+ * Since it has a {@link #build()} method it can be given by class name to the {@code io()} step, in which case it
+ * reads Gryo.
+ */
+public final class TinkerBulkGraphReader implements GraphReader {
+
+    private final GraphReader reader;
+    private final int batchSize;
+
+    private TinkerBulkGraphReader(final GraphReader reader, final int batchSize) {
+        this.reader = reader;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Reads the vertices into the graph as they are streamed, if the graph is a {@link TinkerGraph}, and otherwise
+     * leaves the whole read to the wrapped reader. An edge is added as soon as both of its vertices have been read, so
+     * only the edges that refer to a vertex further along the stream are held back.
+     */
+    @Override
+    public void readGraph(final InputStream inputStream, final Graph graphToWriteTo) throws IOException {
+        if (!(graphToWriteTo instanceof TinkerGraph)) {
+            this.reader.readGraph(inputStream, graphToWriteTo);
+            return;
+        }
+
+        final TinkerGraph graph = (TinkerGraph) graphToWriteTo;
+        try (final TinkerBulkLoader loader = graph.bulkLoader(this.batchSize)) {
+            final Set<Object> readVertexIds = new HashSet<>();
+            final Map<Object, List<Runnable>> waitingEdges = new HashMap<>();
+            IteratorUtils.iterate(this.reader.readVertices(inputStream, attachable -> {
+                final Vertex vertex = attachable.get();
+                loader.addVertex(vertex);
+                readVertexIds.add(vertex.id());
+                vertex.edges(Direction.OUT).forEachRemaining(edge -> {
+                    final Object inVertexId = edge.inVertex().id();
+                    final Runnable addEdge = addEdge(loader, edge);
+                    if (readVertexIds.contains(inVertexId) || graph.vertices.containsKey(inVertexId))
+                        addEdge.run();
+                    else
+                        waitingEdges.computeIfAbsent(inVertexId, k -> new ArrayList<>()).add(addEdge);
+                });
+                final List<Runnable> waiting = waitingEdges.remove(vertex.id());
+                if (null != waiting) waiting.forEach(Runnable::run);
+                return vertex;
+            }, null, null));
+
+            // anything still waiting refers to a vertex that was never read and fails when the loader adds it
+            waitingEdges.values().forEach(waiting -> waiting.forEach(Runnable::run));
+        }
+    }
+
+    /**
+     * Copies what is needed to add the edge so that an edge that has to wait for its vertex does not hold on to the
+     * vertex it was read with.
+     */
+    private static Runnable addEdge(final TinkerBulkLoader loader, final Edge edge) {
+        final Object id = edge.id();
+        final Object outVertexId = edge.outVertex().id();
+        final String label = edge.label();
+        final Object inVertexId = edge.inVertex().id();
+        final List<Object> keyValues = new ArrayList<>();
+        keyValues.add(T.id);
+        keyValues.add(id);
+        edge.properties().forEachRemaining(p -> {
+            keyValues.add(p.key());
+            keyValues.add(p.value());
+        });
+        final Object[] properties = keyValues.toArray();
+        return () -> loader.addEdge(outVertexId, label, inVertexId, properties);
+    }
+
+    @Override
+    public Optional<Vertex> readVertex(final InputStream inputStream, final GraphFilter graphFilter) throws IOException {
+        return this.reader.readVertex(inputStream, graphFilter);
+    }
+
+    @Override
+    public Vertex readVertex(final InputStream inputStream, final Function<Attachable<Vertex>, Vertex> vertexAttachMethod) throws IOException {
+        return this.reader.readVertex(inputStream, vertexAttachMethod);
+    }
+
+    @Override
+    public Vertex readVertex(final InputStream inputStream, final Function<Attachable<Vertex>, Vertex> vertexAttachMethod,
+                             final Function<Attachable<Edge>, Edge> edgeAttachMethod,
+                             final Direction attachEdgesOfThisDirection) throws IOException {
+        return this.reader.readVertex(inputStream, vertexAttachMethod, edgeAttachMethod, attachEdgesOfThisDirection);
+    }
+
+    @Override
+    public Iterator<Vertex> readVertices(final InputStream inputStream, final Function<Attachable<Vertex>, Vertex> vertexAttachMethod,
+                                         final Function<Attachable<Edge>, Edge> edgeAttachMethod,
+                                         final Direction attachEdgesOfThisDirection) throws IOException {
+        return this.reader.readVertices(inputStream, vertexAttachMethod, edgeAttachMethod, attachEdgesOfThisDirection);
+    }
+
+    @Override
+    public Edge readEdge(final InputStream inputStream, final Function<Attachable<Edge>, Edge> edgeAttachMethod) throws IOException {
+        return this.reader.readEdge(inputStream, edgeAttachMethod);
+    }
+
+    @Override
+    public VertexProperty readVertexProperty(final InputStream inputStream,
+                                             final Function<Attachable<VertexProperty>, VertexProperty> vertexPropertyAttachMethod) throws IOException {
+        return this.reader.readVertexProperty(inputStream, vertexPropertyAttachMethod);
+    }
+
+    @Override
+    public Property readProperty(final InputStream inputStream,
+                                 final Function<Attachable<Property>, Property> propertyAttachMethod) throws IOException {
+        return this.reader.readProperty(inputStream, propertyAttachMethod);
+    }
+
+    @Override
+    public <C> C readObject(final InputStream inputStream, final Class<? extends C> clazz) throws IOException {
+        return this.reader.readObject(inputStream, clazz);
+    }
+
+    public static Builder build() {
+        return new Builder();
+    }
+
+    public final static class Builder implements ReaderBuilder<TinkerBulkGraphReader> {
+
+        private GraphReader reader = null;
+        private int batchSize = TinkerBulkLoader.DEFAULT_BATCH_SIZE;
+
+        private Builder() {
+        }
+
+        /**
+         * The reader to wrap, which defaults to a {@link GryoReader} that is aware of the types of TinkerGraph.
+         */
+        public Builder reader(final GraphReader reader) {
+            this.reader = reader;
+            return this;
+        }
+
+        /**
+         * The number of vertices or edges to buffer before each batch is added to the graph.
+         */
+        public Builder batchSize(final int batchSize) {
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        public TinkerBulkGraphReader create() {
+            return new TinkerBulkGraphReader(null == this.reader ?
+                    GryoReader.build().mapper(GryoMapper.build().addRegistry(TinkerIoRegistryV3d0.instance()).create()).create() :
+                    this.reader, this.batchSize);
+        }
+    }
+}
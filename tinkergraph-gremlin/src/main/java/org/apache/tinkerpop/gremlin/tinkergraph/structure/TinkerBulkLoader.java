@@ -0,0 +1,340 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Adds vertices and edges to a {@link TinkerGraph} in batches rather than one at a time. Elements are validated and
+ * given identifiers as they are added, with generated identifiers taken from the graph a block at a time, and are
+ * buffered until a batch fills or {@link #flush()} is called. A batch is then added to the graph in parallel across
+ * the available cores, which includes building its adjacency. Index maintenance is deferred until {@link #close()},
+ * at which point the loaded elements are indexed in parallel as well.
+ * <p/>
+ * Vertices are always written before edges within a batch but an edge is expected to refer to vertices that are in
+ * the graph or in the same batch. Each key and value given to {@link #addVertex(Object...)} becomes its own vertex
+ * property, as with {@link TinkerGraph#addVertex(Object...)}. A batch that fails, for example on an identifier that is
+ * already in use, may have been partially added to the graph. The loader is not thread-safe, the graph should not be
+ * otherwise modified or read while a batch is being added and index lookups only find loaded elements once the loader
+ * is closed.
+ */
+public final class TinkerBulkLoader implements AutoCloseable {
+
+    public static final int DEFAULT_BATCH_SIZE = 10000;
+
+    private final TinkerGraph graph;
+    private final int batchSize;
+    private final List<PendingVertex> vertices = new ArrayList<>();
+    private final List<PendingEdge> edges = new ArrayList<>();
+    private final List<TinkerVertex> loadedVertices = new ArrayList<>();
+    private final List<TinkerEdge> loadedEdges = new ArrayList<>();
+    private Iterator<?> vertexIds = null;
+    private Iterator<?> edgeIds = null;
+    private boolean closed = false;
+
+    TinkerBulkLoader(final TinkerGraph graph, final int batchSize) {
+        if (batchSize < 1)
+            throw new IllegalArgumentException("The batch size must be greater than zero");
+        this.graph = graph;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Adds a vertex with the specified keys and values, which may include {@link T#id} and {@link T#label}.
+     *
+     * @return the identifier of the vertex
+     */
+    public Object addVertex(final Object... keyValues) {
+        this.checkOpen();
+        ElementHelper.legalPropertyKeyValueArray(keyValues);
+        final Object id = this.vertexId(ElementHelper.getIdValue(keyValues).orElse(null));
+        final PendingVertex vertex = new PendingVertex(id, ElementHelper.getLabelValue(keyValues).orElse(Vertex.DEFAULT_LABEL));
+        for (int i = 0; i < keyValues.length; i = i + 2) {
+            if (!(keyValues[i] instanceof T))
+                vertex.add(null, (String) keyValues[i], keyValues[i + 1], null);
+        }
+        return this.add(vertex);
+    }
+
+    /**
+     * Adds a copy of the vertex with the same identifier, label and properties, including the identifiers and
+     * meta-properties of its vertex properties. Its edges are not copied.
+     *
+     * @return the identifier of the vertex
+     */
+    public Object addVertex(final Vertex vertex) {
+        this.checkOpen();
+        final PendingVertex pending = new PendingVertex(this.vertexId(vertex.id()), vertex.label());
+        vertex.properties().forEachRemaining(vertexProperty -> {
+            final List<Object> meta = new ArrayList<>();
+            vertexProperty.properties().forEachRemaining(p -> {
+                meta.add(p.key());
+                meta.add(p.value());
+            });
+            pending.add(this.graph.vertexPropertyIdManager.convert(vertexProperty.id()), vertexProperty.key(),
+                    vertexProperty.value(), meta.isEmpty() ? null : meta.toArray());
+        });
+        return this.add(pending);
+    }
+
+    /**
+     * Adds an edge between the vertices with the specified identifiers. The keys and values may include {@link T#id}.
+     *
+     * @return the identifier of the edge
+     */
+    public Object addEdge(final Object outVertexId, final String label, final Object inVertexId, final Object... keyValues) {
+        this.checkOpen();
+        ElementHelper.validateLabel(label);
+        ElementHelper.legalPropertyKeyValueArray(keyValues);
+        final Object id = this.edgeId(ElementHelper.getIdValue(keyValues).orElse(null));
+        final List<Object> properties = new ArrayList<>(keyValues.length);
+        for (int i = 0; i < keyValues.length; i = i + 2) {
+            if (!(keyValues[i] instanceof T)) {
+                ElementHelper.validateProperty((String) keyValues[i], keyValues[i + 1]);
+                properties.add(keyValues[i]);
+                properties.add(keyValues[i + 1]);
+            }
+        }
+        return this.add(new PendingEdge(id, label, this.graph.vertexIdManager.convert(outVertexId),
+                this.graph.vertexIdManager.convert(inVertexId), properties.toArray()));
+    }
+
+    /**
+     * Adds a copy of the edge with the same identifier, label and properties between the vertices with the same
+     * identifiers as its own.
+     *
+     * @return the identifier of the edge
+     */
+    public Object addEdge(final Edge edge) {
+        final List<Object> keyValues = new ArrayList<>();
+        keyValues.add(T.id);
+        keyValues.add(edge.id());
+        edge.properties().forEachRemaining(p -> {
+            keyValues.add(p.key());
+            keyValues.add(p.value());
+        });
+        return this.addEdge(edge.outVertex().id(), edge.label(), edge.inVertex().id(), keyValues.toArray());
+    }
+
+    /**
+     * Adds the buffered vertices and then the buffered edges to the graph.
+     */
+    public void flush() {
+        this.checkOpen();
+        this.flushVertices();
+        this.flushEdges();
+    }
+
+    /**
+     * Flushes whatever remains buffered and brings the indices of the graph up to date with everything loaded.
+     */
+    @Override
+    public void close() {
+        if (this.closed) return;
+        this.flush();
+        this.closed = true;
+
+        if (null != this.graph.vertexIndex) this.graph.vertexIndex.addElements(this.loadedVertices);
+        if (null != this.graph.edgeIndex) this.graph.edgeIndex.addElements(this.loadedEdges);
+        this.loadedVertices.clear();
+        this.loadedEdges.clear();
+
+        // the loaded elements bypassed the mutation log so they are captured in a new snapshot instead
+        if (null != this.graph.mutationLog) this.graph.mutationLog.compact();
+    }
+
+    private Object add(final PendingVertex vertex) {
+        this.vertices.add(vertex);
+        if (this.vertices.size() >= this.batchSize) this.flushVertices();
+        return vertex.id;
+    }
+
+    private Object add(final PendingEdge edge) {
+        this.edges.add(edge);
+        if (this.edges.size() >= this.batchSize) this.flush();
+        return edge.id;
+    }
+
+    private Object vertexId(final Object id) {
+        if (null != id) return this.graph.vertexIdManager.convert(id);
+        if (null == this.vertexIds || !this.vertexIds.hasNext())
+            this.vertexIds = this.graph.vertexIdManager.getNextIds(this.graph, this.batchSize).iterator();
+        return this.vertexIds.next();
+    }
+
+    private Object edgeId(final Object id) {
+        if (null != id) return this.graph.edgeIdManager.convert(id);
+        if (null == this.edgeIds || !this.edgeIds.hasNext())
+            this.edgeIds = this.graph.edgeIdManager.getNextIds(this.graph, this.batchSize).iterator();
+        return this.edgeIds.next();
+    }
+
+    private void flushVertices() {
+        if (this.vertices.isEmpty()) return;
+
+        // vertex properties are given their identifiers up front so that they can be created in parallel
+        final int unidentified = (int) this.vertices.stream().flatMap(v -> v.properties.stream()).filter(p -> null == p.id).count();
+        if (unidentified > 0) {
+            final Iterator<?> ids = this.graph.vertexPropertyIdManager.getNextIds(this.graph, unidentified).iterator();
+            this.vertices.forEach(v -> v.properties.forEach(p -> {
+                if (null == p.id) p.id = ids.next();
+            }));
+        }
+
+        // loaded elements are kept whether or not there is an index yet as one may be created before the loader closes
+        this.loadedVertices.addAll(this.stream(this.vertices).map(this::createVertex).collect(Collectors.toList()));
+        this.vertices.clear();
+    }
+
+    private TinkerVertex createVertex(final PendingVertex pending) {
+        final TinkerVertex vertex = new TinkerVertex(pending.id, pending.label, this.graph);
+        final Map<String, Integer> keyCounts = new HashMap<>();
+        pending.properties.forEach(p -> keyCounts.merge(p.key, 1, Integer::sum));
+        for (final PendingProperty p : pending.properties) {
+            if (!this.graph.allowNullPropertyValues && null == p.value)
+                continue;
+
+            if (null != this.graph.vertexColumns && null == p.meta && keyCounts.get(p.key) == 1) {
+                this.graph.vertexColumns.set(vertex, p.key, p.id, p.value);
+            } else {
+                final TinkerVertexProperty<Object> vertexProperty = null == p.meta ?
+                        new TinkerVertexProperty<>(p.id, vertex, p.key, p.value) :
+                        new TinkerVertexProperty<>(p.id, vertex, p.key, p.value, p.meta);
+                if (null == vertex.properties) vertex.properties = new HashMap<>();
+                vertex.properties.computeIfAbsent(p.key, k -> new ArrayList<>(1)).add(vertexProperty);
+            }
+        }
+
+        if (null != this.graph.vertices.putIfAbsent(vertex.id, vertex))
+            throw Graph.Exceptions.vertexWithIdAlreadyExists(vertex.id);
+        TinkerHelper.addLabelled(this.graph.vertexLabels, vertex);
+        return vertex;
+    }
+
+    private void flushEdges() {
+        if (this.edges.isEmpty()) return;
+
+        final List<TinkerEdge> added = this.stream(this.edges).map(this::createEdge).collect(Collectors.toList());
+        this.edges.clear();
+
+        // grouping by vertex lets the adjacency of each vertex be built by a single thread
+        this.stream(added).collect(Collectors.groupingByConcurrent(e -> e.outVertex)).values().parallelStream().forEach(group ->
+                group.forEach(e -> TinkerHelper.addOutEdge((TinkerVertex) e.outVertex, e.label, e)));
+        this.stream(added).collect(Collectors.groupingByConcurrent(e -> e.inVertex)).values().parallelStream().forEach(group ->
+                group.forEach(e -> TinkerHelper.addInEdge((TinkerVertex) e.inVertex, e.label, e)));
+
+        this.loadedEdges.addAll(added);
+    }
+
+    private TinkerEdge createEdge(final PendingEdge pending) {
+        final TinkerEdge edge = new TinkerEdge(pending.id, this.vertex(pending.outVertexId), pending.label, this.vertex(pending.inVertexId));
+        for (int i = 0; i < pending.keyValues.length; i = i + 2) {
+            final String key = (String) pending.keyValues[i];
+            final Object value = pending.keyValues[i + 1];
+            if (!this.graph.allowNullPropertyValues && null == value)
+                continue;
+            if (null == edge.properties) edge.properties = new HashMap<>();
+            edge.properties.put(key, new TinkerProperty<>(edge, key, value));
+        }
+
+        if (null != this.graph.edges.putIfAbsent(edge.id, edge))
+            throw Graph.Exceptions.edgeWithIdAlreadyExists(edge.id);
+        TinkerHelper.addLabelled(this.graph.edgeLabels, edge);
+        return edge;
+    }
+
+    private TinkerVertex vertex(final Object id) {
+        final Vertex vertex = this.graph.vertices.get(id);
+        if (null == vertex)
+            throw new IllegalStateException(String.format("The vertex with id %s does not exist", id));
+        return (TinkerVertex) vertex;
+    }
+
+    /**
+     * Streams the elements in parallel unless vertex properties are held in columns, which cannot be written to
+     * from more than one thread.
+     */
+    private <E> Stream<E> stream(final List<E> elements) {
+        return null == this.graph.vertexColumns ? elements.parallelStream() : elements.stream();
+    }
+
+    private void checkOpen() {
+        if (this.closed)
+            throw new IllegalStateException("The bulk loader has been closed");
+    }
+
+    private static final class PendingVertex {
+        private final Object id;
+        private final String label;
+        private final List<PendingProperty> properties = new ArrayList<>();
+
+        PendingVertex(final Object id, final String label) {
+            this.id = id;
+            this.label = label;
+        }
+
+        void add(final Object id, final String key, final Object value, final Object[] meta) {
+            ElementHelper.validateProperty(key, value);
+            this.properties.add(new PendingProperty(id, key, value, meta));
+        }
+    }
+
+    private static final class PendingProperty {
+        private Object id;
+        private final String key;
+        private final Object value;
+        private final Object[] meta;
+
+        PendingProperty(final Object id, final String key, final Object value, final Object[] meta) {
+            this.id = id;
+            this.key = key;
+            this.value = value;
+            this.meta = meta;
+        }
+    }
+
+    private static final class PendingEdge {
+        private final Object id;
+        private final String label;
+        private final Object outVertexId;
+        private final Object inVertexId;
+        private final Object[] keyValues;
+
+        PendingEdge(final Object id, final String label, final Object outVertexId, final Object inVertexId, final Object[] keyValues) {
+            this.id = id;
+            this.label = label;
+            this.outVertexId = outVertexId;
+            this.inVertexId = inVertexId;
+            this.keyValues = keyValues;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+
+import java.util.Iterator;
+
+/**
+ * A view of a vertex property held in {@link TinkerPropertyColumns}. Adding a meta-property to it moves the property
+ * out of its column and into the {@link TinkerVertexProperty} storage of the vertex, as a column has no room for
+ * meta-properties.
+ */
+final class TinkerColumnVertexProperty<V> extends TinkerVertexProperty<V> {
+
+    TinkerColumnVertexProperty(final Object id, final TinkerVertex vertex, final String key, final V value) {
+        super(id, vertex, key, value);
+    }
+
+    @Override
+    public <U> Property<U> property(final String key, final U value) {
+        if (this.removed) throw elementAlreadyRemoved(VertexProperty.class, id);
+
+        final TinkerVertex vertex = (TinkerVertex) this.element();
+        final VertexProperty<V> vertexProperty = vertex.materialize(this.key(), this.id);
+        if (null != vertexProperty)
+            return vertexProperty.property(key, value);
+
+        // the property may have been moved out of its column after this view was created
+        final Iterator<VertexProperty<V>> properties = vertex.properties(this.key());
+        while (properties.hasNext()) {
+            final VertexProperty<V> p = properties.next();
+            if (p.id().equals(this.id))
+                return p.property(key, value);
+        }
+        throw elementAlreadyRemoved(VertexProperty.class, id);
+    }
+
+    @Override
+    public void remove() {
+        final TinkerVertex vertex = (TinkerVertex) this.element();
+        final TinkerPropertyColumns columns = ((TinkerGraph) vertex.graph()).vertexColumns;
+        final TinkerMutationLog mutationLog = TinkerHelper.beginMutation((TinkerGraph) vertex.graph());
+        try {
+            if (null != columns && columns.remove(vertex, this.key(), this.id)) {
+                TinkerHelper.removeIndex(vertex, this.key(), this.value());
+                if (null != mutationLog) mutationLog.removeVertexProperty(this);
+            } else {
+                // the property may have been moved out of its column after this view was created
+                vertex.properties(this.key()).forEachRemaining(p -> {
+                    if (p.id().equals(this.id)) p.remove();
+                });
+            }
+        } finally {
+            TinkerHelper.endMutation(mutationLog);
+        }
+        this.removed = true;
+    }
+}
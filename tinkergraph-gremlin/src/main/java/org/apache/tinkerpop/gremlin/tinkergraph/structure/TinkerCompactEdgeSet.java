@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * The edges of a vertex for a single label and direction held in an array rather than a hash table, which is what
+ * {@link TinkerGraph#GREMLIN_TINKERGRAPH_COMPACT_ADJACENCY} selects. An edge costs a single array slot as opposed to
+ * a hash table entry, at the price of a linear scan to remove it.
+ * <p/>
+ * Edges are appended without a check for duplicates as an edge is only added once, when it is created. A removed
+ * edge leaves a tombstone behind and the live edges are copied to a new array once the tombstones outnumber them.
+ * As the array is never rearranged in place, an iterator keeps walking the edges that were present when it was
+ * created, much like a copy of them, so that the graph can be safely modified while iterating.
+ */
+final class TinkerCompactEdgeSet extends AbstractSet<Edge> {
+
+    private static final Edge[] EMPTY = new Edge[0];
+
+    private Edge[] edges = EMPTY;
+
+    /**
+     * The number of slots used in the array including tombstones.
+     */
+    private int used = 0;
+
+    private int tombstones = 0;
+
+    @Override
+    public boolean add(final Edge edge) {
+        if (this.used == this.edges.length) {
+            final int live = this.used - this.tombstones;
+            this.copy(Math.max(live + 1, live + (live >> 1)));
+        }
+        this.edges[this.used++] = edge;
+        return true;
+    }
+
+    @Override
+    public boolean remove(final Object o) {
+        for (int i = this.used - 1; i >= 0; i--) {
+            if (null != this.edges[i] && this.edges[i].equals(o)) {
+                this.edges[i] = null;
+                if (++this.tombstones > this.used - this.tombstones)
+                    this.copy(this.used - this.tombstones);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean contains(final Object o) {
+        for (int i = 0; i < this.used; i++) {
+            if (null != this.edges[i] && this.edges[i].equals(o))
+                return true;
+        }
+        return false;
+    }
+
+    @Override
+    public int size() {
+        return this.used - this.tombstones;
+    }
+
+    @Override
+    public Iterator<Edge> iterator() {
+        return new Iterator<Edge>() {
+            private final Edge[] edges = TinkerCompactEdgeSet.this.edges;
+            private final int used = TinkerCompactEdgeSet.this.used;
+            private int index = 0;
+            private Edge last = null;
+
+            @Override
+            public boolean hasNext() {
+                while (this.index < this.used && null == this.edges[this.index]) {
+                    this.index++;
+                }
+                return this.index < this.used;
+            }
+
+            @Override
+            public Edge next() {
+                if (!this.hasNext())
+                    throw new NoSuchElementException();
+                return this.last = this.edges[this.index++];
+            }
+
+            @Override
+            public void remove() {
+                if (null == this.last)
+                    throw new IllegalStateException();
+                TinkerCompactEdgeSet.this.remove(this.last);
+                this.last = null;
+            }
+        };
+    }
+
+    /**
+     * Copies the live edges to a new array with the specified capacity, dropping the tombstones.
+     */
+    private void copy(final int capacity) {
+        final Edge[] copy = 0 == capacity ? EMPTY : new Edge[capacity];
+        int j = 0;
+        for (int i = 0; i < this.used; i++) {
+            if (null != this.edges[i])
+                copy[j++] = this.edges[i];
+        }
+        this.edges = copy;
+        this.used = j;
+        this.tombstones = 0;
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Property;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Predicate;
+
+/**
+ * An index over an ordered tuple of property keys. Elements are indexed by the tuple of their values for those keys
+ * (one tuple for each combination of values where there are multi-properties), which are kept in order so that a
+ * lookup may supply values for all of the keys or for just a leading prefix of them. An element must have the first
+ * key to be indexed and a missing value for any later key is recorded as absent so that the element can still be
+ * found by a lookup on a shorter prefix.
+ */
+final class TinkerCompositeIndex<T extends Element> {
+
+    private static final Object ABSENT = new Object() {
+        @Override
+        public String toString() {
+            return "absent";
+        }
+    };
+
+    /**
+     * Orders tuples component by component with absent values after all others and a shorter tuple before any tuple
+     * it is a prefix of.
+     */
+    private static final Comparator<List<Object>> TUPLE_ORDER = (a, b) -> {
+        final int size = Math.min(a.size(), b.size());
+        for (int i = 0; i < size; i++) {
+            final int c = compare(a.get(i), b.get(i));
+            if (c != 0) return c;
+        }
+        return Integer.compare(a.size(), b.size());
+    };
+
+    private final List<String> keys;
+    private final ConcurrentNavigableMap<List<Object>, Set<T>> index = new ConcurrentSkipListMap<>(TUPLE_ORDER);
+    private final Map<T, List<List<Object>>> elementTuples = new ConcurrentHashMap<>();
+
+    TinkerCompositeIndex(final List<String> keys) {
+        this.keys = Collections.unmodifiableList(new ArrayList<>(keys));
+    }
+
+    public List<String> getKeys() {
+        return this.keys;
+    }
+
+    /**
+     * Gets the elements whose values for the leading keys of the index equal the specified values.
+     */
+    public List<T> get(final List<Object> values) {
+        final List<Set<T>> matches = new ArrayList<>();
+        this.scan(values, matches::add);
+        if (matches.isEmpty())
+            return Collections.emptyList();
+        else if (matches.size() == 1)
+            return new ArrayList<>(matches.get(0));
+
+        // an element with multi-properties may be indexed under more than one tuple with the same prefix
+        final Set<T> elements = new LinkedHashSet<>();
+        matches.forEach(elements::addAll);
+        return new ArrayList<>(elements);
+    }
+
+    /**
+     * Counts the index entries whose leading values equal the specified values, stopping once the count exceeds the
+     * limit. As elements with multi-properties are counted once per tuple, this is an upper bound on the number of
+     * elements that {@link #get(List)} returns.
+     */
+    public long count(final List<Object> values, final long limit) {
+        final long[] count = {0};
+        this.scan(values, match -> {
+            count[0] += match.size();
+            return count[0] <= limit;
+        });
+        return count[0];
+    }
+
+    private void scan(final List<Object> values, final Predicate<Set<T>> visitor) {
+        if (values.isEmpty() || values.size() > this.keys.size())
+            throw new IllegalArgumentException(String.format("Expected between 1 and %s values for the composite index on %s but received %s",
+                    this.keys.size(), this.keys, values.size()));
+
+        final List<Object> prefix = new ArrayList<>(values.size());
+        values.forEach(v -> prefix.add(TinkerIndex.indexable(v)));
+
+        // the prefix sorts immediately before all the tuples that start with it
+        for (final Map.Entry<List<Object>, Set<T>> entry : this.index.tailMap(prefix, true).entrySet()) {
+            if (TUPLE_ORDER.compare(entry.getKey().subList(0, prefix.size()), prefix) != 0 || !visitor.test(entry.getValue()))
+                break;
+        }
+    }
+
+    /**
+     * Re-indexes the element from its current property values.
+     */
+    public void update(final T element) {
+        this.remove(element);
+        final List<List<Object>> tuples = tuples(element);
+        if (tuples.isEmpty())
+            return;
+
+        this.elementTuples.put(element, tuples);
+        for (final List<Object> tuple : tuples) {
+            this.index.computeIfAbsent(tuple, k -> ConcurrentHashMap.newKeySet()).add(element);
+        }
+    }
+
+    public void remove(final T element) {
+        final List<List<Object>> tuples = this.elementTuples.remove(element);
+        if (null == tuples)
+            return;
+
+        for (final List<Object> tuple : tuples) {
+            final Set<T> elements = this.index.get(tuple);
+            if (null != elements) {
+                elements.remove(element);
+                if (elements.isEmpty())
+                    this.index.remove(tuple);
+            }
+        }
+    }
+
+    public void clear() {
+        this.index.clear();
+        this.elementTuples.clear();
+    }
+
+    /**
+     * Generates the tuples for the element which is the cartesian product of its values for each key.
+     */
+    private List<List<Object>> tuples(final T element) {
+        List<List<Object>> tuples = Collections.singletonList(Collections.emptyList());
+        for (int i = 0; i < this.keys.size(); i++) {
+            final List<Object> values = new ArrayList<>();
+            final Iterator<? extends Property<Object>> properties = element.properties(this.keys.get(i));
+            properties.forEachRemaining(p -> values.add(TinkerIndex.indexable(p.value())));
+            if (values.isEmpty()) {
+                if (0 == i) return Collections.emptyList();
+                values.add(ABSENT);
+            }
+
+            final List<List<Object>> expanded = new ArrayList<>(tuples.size() * values.size());
+            for (final List<Object> tuple : tuples) {
+                for (final Object value : values) {
+                    final List<Object> t = new ArrayList<>(tuple.size() + 1);
+                    t.addAll(tuple);
+                    t.add(value);
+                    expanded.add(t);
+                }
+            }
+            tuples = expanded;
+        }
+        return tuples;
+    }
+
+    private static int compare(final Object a, final Object b) {
+        if (ABSENT == a || ABSENT == b)
+            return a == b ? 0 : ABSENT == a ? 1 : -1;
+        return TinkerIndex.SORTED_ORDER.compare(a, b);
+    }
+}
@@ -63,45 +63,71 @@ public final class TinkerEdge extends TinkerElement implements Edge {
             return Property.empty();
         }
 
-        final Property oldProperty = super.property(key);
+        final TinkerTransaction transaction = ((TinkerGraph) this.graph()).transaction;
+        if (null != transaction) return transaction.property(this, key, value);
+
         final Property<V> newProperty = new TinkerProperty<>(this, key, value);
-        if (null == this.properties) this.properties = new HashMap<>();
-        this.properties.put(key, newProperty);
-        TinkerHelper.autoUpdateIndex(this, key, value, oldProperty.isPresent() ? oldProperty.value() : null);
+        final TinkerMutationLog mutationLog = TinkerHelper.beginMutation((TinkerGraph) this.graph());
+        try {
+            final Property oldProperty = super.property(key);
+            if (null == this.properties) this.properties = new HashMap<>();
+            this.properties.put(key, newProperty);
+            TinkerHelper.autoUpdateIndex(this, key, value, oldProperty.isPresent() ? oldProperty.value() : null);
+            if (null != mutationLog) mutationLog.setEdgeProperty(this, key, value);
+        } finally {
+            TinkerHelper.endMutation(mutationLog);
+        }
         return newProperty;
 
     }
 
     @Override
     public <V> Property<V> property(final String key) {
+        final TinkerTransaction transaction = ((TinkerGraph) this.graph()).transaction;
+        if (null != transaction) return transaction.property(this, key);
         return null == this.properties ? Property.<V>empty() : this.properties.getOrDefault(key, Property.<V>empty());
     }
 
     @Override
     public Set<String> keys() {
+        final TinkerTransaction transaction = ((TinkerGraph) this.graph()).transaction;
+        if (null != transaction) return transaction.keys(this);
         return null == this.properties ? Collections.emptySet() : this.properties.keySet();
     }
 
     @Override
     public void remove() {
+        final TinkerTransaction transaction = ((TinkerGraph) this.graph()).transaction;
+        if (null != transaction) {
+            transaction.remove(this);
+            return;
+        }
+
         final TinkerVertex outVertex = (TinkerVertex) this.outVertex;
         final TinkerVertex inVertex = (TinkerVertex) this.inVertex;
 
-        if (null != outVertex && null != outVertex.outEdges) {
-            final Set<Edge> edges = outVertex.outEdges.get(this.label());
-            if (null != edges)
-                edges.remove(this);
-        }
-        if (null != inVertex && null != inVertex.inEdges) {
-            final Set<Edge> edges = inVertex.inEdges.get(this.label());
-            if (null != edges)
-                edges.remove(this);
+        final TinkerMutationLog mutationLog = TinkerHelper.beginMutation((TinkerGraph) this.graph());
+        try {
+            if (null != outVertex && null != outVertex.outEdges) {
+                final Set<Edge> edges = outVertex.outEdges.get(this.label());
+                if (null != edges)
+                    edges.remove(this);
+            }
+            if (null != inVertex && null != inVertex.inEdges) {
+                final Set<Edge> edges = inVertex.inEdges.get(this.label());
+                if (null != edges)
+                    edges.remove(this);
+            }
+
+            TinkerHelper.removeElementIndex(this);
+            ((TinkerGraph) this.graph()).edges.remove(this.id());
+            TinkerHelper.removeLabelled(((TinkerGraph) this.graph()).edgeLabels, this);
+            this.properties = null;
+            this.removed = true;
+            if (null != mutationLog) mutationLog.removeEdge(this);
+        } finally {
+            TinkerHelper.endMutation(mutationLog);
         }
-
-        TinkerHelper.removeElementIndex(this);
-        ((TinkerGraph) this.graph()).edges.remove(this.id());
-        this.properties = null;
-        this.removed = true;
     }
 
     @Override
@@ -123,6 +149,8 @@ public final class TinkerEdge extends TinkerElement implements Edge {
     @Override
     public Iterator<Vertex> vertices(final Direction direction) {
         if (removed) return Collections.emptyIterator();
+        final TinkerTransaction transaction = ((TinkerGraph) this.graph()).transaction;
+        if (null != transaction && !transaction.isVisible(this)) return Collections.emptyIterator();
         switch (direction) {
             case OUT:
                 return IteratorUtils.of(this.outVertex);
@@ -140,6 +168,8 @@ public final class TinkerEdge extends TinkerElement implements Edge {
 
     @Override
     public <V> Iterator<Property<V>> properties(final String... propertyKeys) {
+        final TinkerTransaction transaction = ((TinkerGraph) this.graph()).transaction;
+        if (null != transaction) return transaction.properties(this, propertyKeys);
         if (null == this.properties) return Collections.emptyIterator();
         if (propertyKeys.length == 1) {
             final Property<V> property = this.properties.get(propertyKeys[0]);
@@ -29,6 +29,11 @@ public abstract class TinkerElement implements Element {
     protected final Object id;
     protected final String label;
     protected boolean removed = false;
+    /**
+     * The versions of the element when the graph is transactional, which is {@code null} for an element that has
+     * existed since before the first commit and was never changed.
+     */
+    protected volatile TinkerTransaction.Version version = null;
 
     protected TinkerElement(final Object id, final String label) {
         this.id = id;
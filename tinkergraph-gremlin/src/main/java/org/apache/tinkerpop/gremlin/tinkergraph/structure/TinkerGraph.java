@@ -42,6 +42,7 @@ import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optim
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
@@ -52,6 +53,8 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongFunction;
 import java.util.stream.Stream;
 
 /**
@@ -86,23 +89,34 @@ public final class TinkerGraph implements Graph {
     public static final String GREMLIN_TINKERGRAPH_GRAPH_LOCATION = "gremlin.tinkergraph.graphLocation";
     public static final String GREMLIN_TINKERGRAPH_GRAPH_FORMAT = "gremlin.tinkergraph.graphFormat";
     public static final String GREMLIN_TINKERGRAPH_ALLOW_NULL_PROPERTY_VALUES = "gremlin.tinkergraph.allowNullPropertyValues";
+    public static final String GREMLIN_TINKERGRAPH_COMPACT_ADJACENCY = "gremlin.tinkergraph.compactAdjacency";
+    public static final String GREMLIN_TINKERGRAPH_COLUMNAR_PROPERTIES = "gremlin.tinkergraph.columnarProperties";
+    public static final String GREMLIN_TINKERGRAPH_LOG_SYNC_INTERVAL = "gremlin.tinkergraph.logSyncInterval";
+    public static final String GREMLIN_TINKERGRAPH_LOG_COMPACTION_SIZE = "gremlin.tinkergraph.logCompactionSize";
+    public static final String GREMLIN_TINKERGRAPH_TRANSACTIONS = "gremlin.tinkergraph.transactions";
 
     private final TinkerGraphFeatures features = new TinkerGraphFeatures();
 
     protected AtomicLong currentId = new AtomicLong(-1L);
     protected Map<Object, Vertex> vertices = new ConcurrentHashMap<>();
     protected Map<Object, Edge> edges = new ConcurrentHashMap<>();
+    protected Map<String, Map<Object, Vertex>> vertexLabels = new ConcurrentHashMap<>();
+    protected Map<String, Map<Object, Edge>> edgeLabels = new ConcurrentHashMap<>();
 
     protected TinkerGraphVariables variables = null;
     protected TinkerGraphComputerView graphComputerView = null;
     protected TinkerIndex<TinkerVertex> vertexIndex = null;
     protected TinkerIndex<TinkerEdge> edgeIndex = null;
+    protected TinkerPropertyColumns vertexColumns = null;
+    protected TinkerMutationLog mutationLog = null;
+    protected TinkerTransaction transaction = null;
 
     protected final IdManager<?> vertexIdManager;
     protected final IdManager<?> edgeIdManager;
     protected final IdManager<?> vertexPropertyIdManager;
     protected final VertexProperty.Cardinality defaultVertexPropertyCardinality;
     protected final boolean allowNullPropertyValues;
+    protected final boolean compactAdjacency;
 
     private final Configuration configuration;
     private final String graphLocation;
@@ -119,6 +133,9 @@ public final class TinkerGraph implements Graph {
         defaultVertexPropertyCardinality = VertexProperty.Cardinality.valueOf(
                 configuration.getString(GREMLIN_TINKERGRAPH_DEFAULT_VERTEX_PROPERTY_CARDINALITY, VertexProperty.Cardinality.single.name()));
         allowNullPropertyValues = configuration.getBoolean(GREMLIN_TINKERGRAPH_ALLOW_NULL_PROPERTY_VALUES, false);
+        compactAdjacency = configuration.getBoolean(GREMLIN_TINKERGRAPH_COMPACT_ADJACENCY, false);
+        if (configuration.getBoolean(GREMLIN_TINKERGRAPH_COLUMNAR_PROPERTIES, false))
+            vertexColumns = new TinkerPropertyColumns();
 
         graphLocation = configuration.getString(GREMLIN_TINKERGRAPH_GRAPH_LOCATION, null);
         graphFormat = configuration.getString(GREMLIN_TINKERGRAPH_GRAPH_FORMAT, null);
@@ -127,7 +144,16 @@ public final class TinkerGraph implements Graph {
             throw new IllegalStateException(String.format("The %s and %s must both be specified if either is present",
                     GREMLIN_TINKERGRAPH_GRAPH_LOCATION, GREMLIN_TINKERGRAPH_GRAPH_FORMAT));
 
+        final boolean transactional = configuration.getBoolean(GREMLIN_TINKERGRAPH_TRANSACTIONS, false);
+        if (transactional && (compactAdjacency || null != vertexColumns || TinkerMutationLog.FORMAT.equals(graphFormat)))
+            throw new IllegalStateException(String.format("The %s cannot be combined with %s, %s or the %s graph format",
+                    GREMLIN_TINKERGRAPH_TRANSACTIONS, GREMLIN_TINKERGRAPH_COMPACT_ADJACENCY,
+                    GREMLIN_TINKERGRAPH_COLUMNAR_PROPERTIES, TinkerMutationLog.FORMAT));
+
         if (graphLocation != null) loadGraph();
+
+        // created once loading is done so that the loaded data is there from the first snapshot on
+        if (transactional) transaction = new TinkerTransaction(this);
     }
 
     /**
@@ -166,6 +192,8 @@ public final class TinkerGraph implements Graph {
         ElementHelper.legalPropertyKeyValueArray(keyValues);
         Object idValue = vertexIdManager.convert(ElementHelper.getIdValue(keyValues).orElse(null));
         final String label = ElementHelper.getLabelValue(keyValues).orElse(Vertex.DEFAULT_LABEL);
+        if (null != this.transaction)
+            return this.transaction.addVertex(idValue, label, keyValues);
 
         if (null != idValue) {
             if (this.vertices.containsKey(idValue))
@@ -175,9 +203,16 @@ public final class TinkerGraph implements Graph {
         }
 
         final Vertex vertex = new TinkerVertex(idValue, label, this);
-        this.vertices.put(vertex.id(), vertex);
+        final TinkerMutationLog mutationLog = TinkerHelper.beginMutation(this);
+        try {
+            this.vertices.put(vertex.id(), vertex);
+            TinkerHelper.addLabelled(this.vertexLabels, vertex);
+            if (null != mutationLog) mutationLog.addVertex(vertex);
 
-        ElementHelper.attachProperties(vertex, VertexProperty.Cardinality.list, keyValues);
+            ElementHelper.attachProperties(vertex, VertexProperty.Cardinality.list, keyValues);
+        } finally {
+            TinkerHelper.endMutation(mutationLog);
+        }
         return vertex;
     }
 
@@ -218,26 +253,63 @@ public final class TinkerGraph implements Graph {
     public void clear() {
         this.vertices.clear();
         this.edges.clear();
+        this.vertexLabels.clear();
+        this.edgeLabels.clear();
+        if (null != this.vertexColumns) this.vertexColumns = new TinkerPropertyColumns();
         this.variables = null;
         this.currentId.set(-1L);
         this.vertexIndex = null;
         this.edgeIndex = null;
         this.graphComputerView = null;
+        if (null != this.mutationLog) this.mutationLog.compact();
+    }
+
+    /**
+     * Creates a {@link TinkerBulkLoader} that adds vertices and edges to this graph in batches of
+     * {@link TinkerBulkLoader#DEFAULT_BATCH_SIZE}.
+     */
+    public TinkerBulkLoader bulkLoader() {
+        return bulkLoader(TinkerBulkLoader.DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Creates a {@link TinkerBulkLoader} that adds vertices and edges to this graph in batches of the specified size.
+     */
+    public TinkerBulkLoader bulkLoader(final int batchSize) {
+        if (null != this.transaction)
+            throw new IllegalStateException("Bulk loading is not supported when transactions are enabled");
+        return new TinkerBulkLoader(this, batchSize);
     }
 
     /**
      * This method only has an effect if the {@link #GREMLIN_TINKERGRAPH_GRAPH_LOCATION} is set, in which case the
      * data in the graph is persisted to that location. This method may be called multiple times and does not release
-     * resources.
+     * resources. When the {@link #GREMLIN_TINKERGRAPH_GRAPH_FORMAT} is {@code wal} the graph is already persisted as
+     * it is modified and closing only forces the mutation log to disk. When transactions are enabled the
+     * transaction of the calling thread is closed first so that only committed data is persisted.
      */
     @Override
     public void close() {
-        if (graphLocation != null) saveGraph();
+        if (null != transaction)
+            transaction.close();
+
+        if (null != mutationLog)
+            mutationLog.close();
+        else if (graphLocation != null) {
+            saveGraph();
+            // reading the graph to save it opened a transaction
+            if (null != transaction) transaction.close();
+        }
     }
 
+    /**
+     * Gets the {@link TinkerTransaction} of the graph if {@link #GREMLIN_TINKERGRAPH_TRANSACTIONS} is enabled.
+     */
     @Override
     public Transaction tx() {
-        throw Exceptions.transactionsNotSupported();
+        if (null == transaction)
+            throw Exceptions.transactionsNotSupported();
+        return transaction;
     }
 
     @Override
@@ -256,10 +328,24 @@ public final class TinkerGraph implements Graph {
     }
 
     private void loadGraph() {
+        if (graphFormat.equals(TinkerMutationLog.FORMAT)) {
+            try {
+                // assigned once loading is done so that replaying the log does not append to it
+                mutationLog = TinkerMutationLog.open(this, graphLocation,
+                        configuration.getLong(GREMLIN_TINKERGRAPH_LOG_SYNC_INTERVAL, 1000L),
+                        configuration.getLong(GREMLIN_TINKERGRAPH_LOG_COMPACTION_SIZE, 64L * 1024L * 1024L));
+            } catch (Exception ex) {
+                throw new RuntimeException(String.format("Could not load graph at %s with %s", graphLocation, graphFormat), ex);
+            }
+            return;
+        }
+
         final File f = new File(graphLocation);
         if (f.exists() && f.isFile()) {
             try {
-                if (graphFormat.equals("graphml")) {
+                if (graphFormat.equals(TinkerImage.FORMAT)) {
+                    TinkerImage.read(this, f);
+                } else if (graphFormat.equals("graphml")) {
                     io(IoCore.graphml()).readGraph(graphLocation);
                 } else if (graphFormat.equals("graphson")) {
                     io(IoCore.graphson()).readGraph(graphLocation);
@@ -288,7 +374,9 @@ public final class TinkerGraph implements Graph {
         }
 
         try {
-            if (graphFormat.equals("graphml")) {
+            if (graphFormat.equals(TinkerImage.FORMAT)) {
+                TinkerImage.write(this, f);
+            } else if (graphFormat.equals("graphml")) {
                 io(IoCore.graphml()).writeGraph(graphLocation);
             } else if (graphFormat.equals("graphson")) {
                 io(IoCore.graphson()).writeGraph(graphLocation);
@@ -307,7 +395,7 @@ public final class TinkerGraph implements Graph {
                                                                   final Object... ids) {
         final Iterator<T> iterator;
         if (0 == ids.length) {
-            iterator = new TinkerGraphIterator<>(elements.values().iterator());
+            iterator = new TinkerGraphIterator<>(TinkerHelper.filterVisible(this, elements.values().iterator()));
         } else {
             final List<Object> idList = Arrays.asList(ids);
 
@@ -315,12 +403,12 @@ public final class TinkerGraph implements Graph {
             // to that type and pop off the identifier. there is no need to pass that through the IdManager since
             // the assumption is that if it's already an Element, its identifier must be valid to the Graph and to
             // its associated IdManager. All other objects are passed to the IdManager for conversion.
-            return new TinkerGraphIterator<>(IteratorUtils.filter(IteratorUtils.map(idList, id -> {
+            return new TinkerGraphIterator<>(TinkerHelper.filterVisible(this, IteratorUtils.filter(IteratorUtils.map(idList, id -> {
                 // ids cant be null so all of those filter out
                 if (null == id) return null;
                 final Object iid = clazz.isAssignableFrom(id.getClass()) ? clazz.cast(id).id() : idManager.convert(id);
                 return elements.get(idManager.convert(iid));
-            }).iterator(), Objects::nonNull));
+            }).iterator(), Objects::nonNull)));
         }
         return TinkerHelper.inComputerMode(this) ?
                 (Iterator<T>) (clazz.equals(Vertex.class) ?
@@ -437,7 +525,7 @@ public final class TinkerGraph implements Graph {
 
         @Override
         public boolean supportsTransactions() {
-            return false;
+            return null != transaction;
         }
 
         @Override
@@ -480,12 +568,25 @@ public final class TinkerGraph implements Graph {
      * @param <E>          The type of the element class
      */
     public <E extends Element> void createIndex(final String key, final Class<E> elementClass) {
+        createIndex(key, elementClass, IndexType.HASH);
+    }
+
+    /**
+     * Create an index of the specified {@link IndexType} for said element class ({@link Vertex} or {@link Edge}) and
+     * said property key. If the key is already indexed with a different type, that index is rebuilt with the new type.
+     *
+     * @param key          the property key to index
+     * @param elementClass the element class to index
+     * @param indexType    the type of index to create
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void createIndex(final String key, final Class<E> elementClass, final IndexType indexType) {
         if (Vertex.class.isAssignableFrom(elementClass)) {
             if (null == this.vertexIndex) this.vertexIndex = new TinkerIndex<>(this, TinkerVertex.class);
-            this.vertexIndex.createKeyIndex(key);
+            this.vertexIndex.createKeyIndex(key, indexType);
         } else if (Edge.class.isAssignableFrom(elementClass)) {
             if (null == this.edgeIndex) this.edgeIndex = new TinkerIndex<>(this, TinkerEdge.class);
-            this.edgeIndex.createKeyIndex(key);
+            this.edgeIndex.createKeyIndex(key, indexType);
         } else {
             throw new IllegalArgumentException("Class is not indexable: " + elementClass);
         }
@@ -525,6 +626,80 @@ public final class TinkerGraph implements Graph {
         }
     }
 
+    /**
+     * Create a composite index for said element class ({@link Vertex} or {@link Edge}) over the ordered tuple of
+     * property keys. The index is used when a traversal filters for equality on the first key and any number of the
+     * keys that immediately follow it, as in {@code has('tenant',t).has('type','order')} for an index over
+     * {@code tenant}, {@code type} and {@code status}. Like {@link #createIndex(String, Class)}, the index is kept up
+     * to date as elements are mutated and existing elements are indexed when it is created.
+     *
+     * @param elementClass the element class to index
+     * @param keys         the property keys to index in the order that lookups use them
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void createCompositeIndex(final Class<E> elementClass, final String... keys) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            if (null == this.vertexIndex) this.vertexIndex = new TinkerIndex<>(this, TinkerVertex.class);
+            this.vertexIndex.createCompositeIndex(Arrays.asList(keys));
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            if (null == this.edgeIndex) this.edgeIndex = new TinkerIndex<>(this, TinkerEdge.class);
+            this.edgeIndex.createCompositeIndex(Arrays.asList(keys));
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    /**
+     * Drop the composite index for the specified element class ({@link Vertex} or {@link Edge}) and keys.
+     *
+     * @param elementClass the element class of the index to drop
+     * @param keys         the property keys of the index to drop in the order they were indexed
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void dropCompositeIndex(final Class<E> elementClass, final String... keys) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            if (null != this.vertexIndex) this.vertexIndex.dropCompositeIndex(Arrays.asList(keys));
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            if (null != this.edgeIndex) this.edgeIndex.dropCompositeIndex(Arrays.asList(keys));
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    /**
+     * Return the ordered keys of all the composite indices for said element class ({@link Vertex} or {@link Edge}).
+     *
+     * @param elementClass the element class to get the composite indexed keys for
+     * @param <E>          The type of the element class
+     * @return the set of key tuples currently being indexed
+     */
+    public <E extends Element> Set<List<String>> getCompositeIndexedKeys(final Class<E> elementClass) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            return null == this.vertexIndex ? Collections.emptySet() : this.vertexIndex.getCompositeIndexedKeys();
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            return null == this.edgeIndex ? Collections.emptySet() : this.edgeIndex.getCompositeIndexedKeys();
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    /**
+     * The types of index that can be created with {@link #createIndex(String, Class, IndexType)}.
+     */
+    public enum IndexType {
+        /**
+         * Hashes property values which makes for fast lookups but can only be used for equality, as in
+         * {@code has('name','marko')}.
+         */
+        HASH,
+
+        /**
+         * Orders property values which supports equality as well as range and prefix lookups, as in
+         * {@code has('age',gt(30))}, {@code has('age',between(20,30))} or {@code has('name',startingWith('ma'))}.
+         */
+        SORTED
+    }
+
     /**
      * Construct an {@link TinkerGraph.IdManager} from the TinkerGraph {@code Configuration}.
      */
@@ -565,6 +740,18 @@ public final class TinkerGraph implements Graph {
          * Determine if an identifier is allowed by this manager given its type.
          */
         boolean allow(final Object id);
+
+        /**
+         * Generate a block of identifiers at once, which managers that draw from a counter can do with a single
+         * update of it.
+         */
+        default List<T> getNextIds(final TinkerGraph graph, final int count) {
+            final List<T> ids = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                ids.add(getNextId(graph));
+            }
+            return ids;
+        }
     }
 
     /**
@@ -581,6 +768,11 @@ public final class TinkerGraph implements Graph {
                 return Stream.generate(() -> (graph.currentId.incrementAndGet())).filter(id -> !graph.vertices.containsKey(id) && !graph.edges.containsKey(id)).findAny().get();
             }
 
+            @Override
+            public List getNextIds(final TinkerGraph graph, final int count) {
+                return reserveIds(graph, count, id -> id, this::getNextId);
+            }
+
             @Override
             public Object convert(final Object id) {
                 if (null == id)
@@ -616,6 +808,11 @@ public final class TinkerGraph implements Graph {
                 return Stream.generate(() -> (graph.currentId.incrementAndGet())).map(Long::intValue).filter(id -> !graph.vertices.containsKey(id) && !graph.edges.containsKey(id)).findAny().get();
             }
 
+            @Override
+            public List getNextIds(final TinkerGraph graph, final int count) {
+                return reserveIds(graph, count, id -> (int) id, this::getNextId);
+            }
+
             @Override
             public Object convert(final Object id) {
                 if (null == id)
@@ -685,6 +882,11 @@ public final class TinkerGraph implements Graph {
                 return Stream.generate(() -> (graph.currentId.incrementAndGet())).filter(id -> !graph.vertices.containsKey(id) && !graph.edges.containsKey(id)).findAny().get();
             }
 
+            @Override
+            public List getNextIds(final TinkerGraph graph, final int count) {
+                return reserveIds(graph, count, id -> id, this::getNextId);
+            }
+
             @Override
             public Object convert(final Object id) {
                 return id;
@@ -696,6 +898,21 @@ public final class TinkerGraph implements Graph {
             }
         };
 
+        /**
+         * Takes a block of identifiers from the counter of the graph in one step, replacing any that are already in
+         * use by a vertex or edge with the next free identifier.
+         */
+        private static <T> List<T> reserveIds(final TinkerGraph graph, final int count, final LongFunction<T> converter,
+                                              final Function<TinkerGraph, T> nextId) {
+            final long last = graph.currentId.addAndGet(count);
+            final List<T> ids = new ArrayList<>(count);
+            for (long i = last - count + 1; i <= last; i++) {
+                final T id = converter.apply(i);
+                ids.add(graph.vertices.containsKey(id) || graph.edges.containsKey(id) ? nextId.apply(graph) : id);
+            }
+            return ids;
+        }
+
         private static String createErrorMessage(final Class<?> expectedType, final Object id) {
             return String.format("Expected an id that is convertible to %s but received %s - [%s]", expectedType, id.getClass(), id);
         }
@@ -76,6 +76,8 @@ public class TinkerGraphIterator<E> implements CloseableIterator<E> {
     private boolean tryComputeNext() {
         try {
             next = orig.next();
+            // the underlying resource is released as soon as it is exhausted, even if the value is never read
+            if (!orig.hasNext()) close();
             return true;
         } catch (NoSuchElementException ex) {
             close();
@@ -20,15 +20,19 @@ package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 
 import org.apache.tinkerpop.gremlin.process.computer.GraphFilter;
 import org.apache.tinkerpop.gremlin.process.computer.VertexComputeKey;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.VertexProperty;
 import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
 import org.apache.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphComputerView;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -37,6 +41,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 /**
@@ -52,6 +57,8 @@ public final class TinkerHelper {
         ElementHelper.legalPropertyKeyValueArray(keyValues);
 
         Object idValue = graph.edgeIdManager.convert(ElementHelper.getIdValue(keyValues).orElse(null));
+        if (null != graph.transaction)
+            return graph.transaction.addEdge(outVertex, inVertex, label, idValue, keyValues);
 
         final Edge edge;
         if (null != idValue) {
@@ -62,29 +69,56 @@ public final class TinkerHelper {
         }
 
         edge = new TinkerEdge(idValue, outVertex, label, inVertex);
-        ElementHelper.attachProperties(edge, keyValues);
-        graph.edges.put(edge.id(), edge);
-        TinkerHelper.addOutEdge(outVertex, label, edge);
-        TinkerHelper.addInEdge(inVertex, label, edge);
+        final TinkerMutationLog mutationLog = beginMutation(graph);
+        try {
+            ElementHelper.attachProperties(edge, keyValues);
+            graph.edges.put(edge.id(), edge);
+            addLabelled(graph.edgeLabels, edge);
+            TinkerHelper.addOutEdge(outVertex, label, edge);
+            TinkerHelper.addInEdge(inVertex, label, edge);
+            if (null != mutationLog) mutationLog.addEdge(edge);
+        } finally {
+            endMutation(mutationLog);
+        }
         return edge;
 
     }
 
+    /**
+     * Begins a mutation of the graph if it keeps a {@link TinkerMutationLog}, which must be ended by
+     * {@link #endMutation(TinkerMutationLog)} once the mutation is logged.
+     *
+     * @return the log of the graph or {@code null} if it has none
+     */
+    protected static TinkerMutationLog beginMutation(final TinkerGraph graph) {
+        final TinkerMutationLog mutationLog = graph.mutationLog;
+        if (null != mutationLog) mutationLog.beginMutation();
+        return mutationLog;
+    }
+
+    protected static void endMutation(final TinkerMutationLog mutationLog) {
+        if (null != mutationLog) mutationLog.endMutation();
+    }
+
     protected static void addOutEdge(final TinkerVertex vertex, final String label, final Edge edge) {
         if (null == vertex.outEdges) vertex.outEdges = new HashMap<>();
         Set<Edge> edges = vertex.outEdges.get(label);
         if (null == edges) {
-            edges = new HashSet<>();
+            edges = createEdgeSet(vertex);
             vertex.outEdges.put(label, edges);
         }
         edges.add(edge);
     }
 
+    private static Set<Edge> createEdgeSet(final TinkerVertex vertex) {
+        return ((TinkerGraph) vertex.graph()).compactAdjacency ? new TinkerCompactEdgeSet() : new HashSet<>();
+    }
+
     protected static void addInEdge(final TinkerVertex vertex, final String label, final Edge edge) {
         if (null == vertex.inEdges) vertex.inEdges = new HashMap<>();
         Set<Edge> edges = vertex.inEdges.get(label);
         if (null == edges) {
-            edges = new HashSet<>();
+            edges = createEdgeSet(vertex);
             vertex.inEdges.put(label, edges);
         }
         edges.add(edge);
@@ -98,6 +132,80 @@ public final class TinkerHelper {
         return null == graph.edgeIndex ? Collections.emptyList() : graph.edgeIndex.get(key, value);
     }
 
+    public static List<TinkerVertex> queryVertexIndex(final TinkerGraph graph, final String key, final List<P<?>> predicates) {
+        return null == graph.vertexIndex ? Collections.emptyList() : graph.vertexIndex.query(key, predicates);
+    }
+
+    public static List<TinkerEdge> queryEdgeIndex(final TinkerGraph graph, final String key, final List<P<?>> predicates) {
+        return null == graph.edgeIndex ? Collections.emptyList() : graph.edgeIndex.query(key, predicates);
+    }
+
+    public static long countVertexIndex(final TinkerGraph graph, final String key, final List<P<?>> predicates) {
+        return countVertexIndex(graph, key, predicates, Long.MAX_VALUE);
+    }
+
+    public static long countEdgeIndex(final TinkerGraph graph, final String key, final List<P<?>> predicates) {
+        return countEdgeIndex(graph, key, predicates, Long.MAX_VALUE);
+    }
+
+    /**
+     * Counts the index entries for the predicates, giving up once the count exceeds the limit.
+     */
+    public static long countVertexIndex(final TinkerGraph graph, final String key, final List<P<?>> predicates, final long limit) {
+        return null == graph.vertexIndex ? 0 : graph.vertexIndex.queryCount(key, predicates, limit);
+    }
+
+    /**
+     * Counts the index entries for the predicates, giving up once the count exceeds the limit.
+     */
+    public static long countEdgeIndex(final TinkerGraph graph, final String key, final List<P<?>> predicates, final long limit) {
+        return null == graph.edgeIndex ? 0 : graph.edgeIndex.queryCount(key, predicates, limit);
+    }
+
+    public static long countVertexCompositeIndex(final TinkerGraph graph, final List<String> keys, final List<Object> values, final long limit) {
+        return null == graph.vertexIndex ? 0 : graph.vertexIndex.queryCompositeCount(keys, values, limit);
+    }
+
+    public static long countEdgeCompositeIndex(final TinkerGraph graph, final List<String> keys, final List<Object> values, final long limit) {
+        return null == graph.edgeIndex ? 0 : graph.edgeIndex.queryCompositeCount(keys, values, limit);
+    }
+
+    public static List<TinkerVertex> queryVertexCompositeIndex(final TinkerGraph graph, final List<String> keys, final List<Object> values) {
+        return null == graph.vertexIndex ? Collections.emptyList() : graph.vertexIndex.queryComposite(keys, values);
+    }
+
+    public static List<TinkerEdge> queryEdgeCompositeIndex(final TinkerGraph graph, final List<String> keys, final List<Object> values) {
+        return null == graph.edgeIndex ? Collections.emptyList() : graph.edgeIndex.queryComposite(keys, values);
+    }
+
+    /**
+     * Determines if there is an index for the element class and key that is able to answer the predicate.
+     */
+    public static boolean isIndexable(final TinkerGraph graph, final Class<? extends Element> elementClass, final String key, final P<?> predicate) {
+        final TinkerIndex<?> index = Vertex.class.isAssignableFrom(elementClass) ? graph.vertexIndex : graph.edgeIndex;
+        return null != index && index.isIndexable(key, predicate);
+    }
+
+    public static boolean isTransactional(final TinkerGraph graph) {
+        return null != graph.transaction;
+    }
+
+    /**
+     * Filters the elements down to those that the transaction of the current thread sees, if the graph is
+     * transactional.
+     */
+    public static <E extends Element> Iterator<E> filterVisible(final TinkerGraph graph, final Iterator<E> elements) {
+        return null == graph.transaction ? elements : graph.transaction.filter(elements);
+    }
+
+    /**
+     * Determines if the indices of the graph hold what the current thread sees of it, which is always the case unless
+     * the graph is transactional and the transaction of the thread reads an older snapshot or has changes of its own.
+     */
+    public static boolean isIndexCurrent(final TinkerGraph graph) {
+        return null == graph.transaction || graph.transaction.isIndexCurrent();
+    }
+
     public static boolean inComputerMode(final TinkerGraph graph) {
         return null != graph.graphComputerView;
     }
@@ -114,7 +222,25 @@ public final class TinkerHelper {
         graph.graphComputerView = null;
     }
 
+    public static int getComputeOrdinal(final TinkerVertex vertex) {
+        return vertex.computeOrdinal;
+    }
+
+    public static void setComputeOrdinal(final TinkerVertex vertex, final int ordinal) {
+        vertex.computeOrdinal = ordinal;
+    }
+
+    public static Object getNextVertexPropertyId(final TinkerGraph graph) {
+        return graph.vertexPropertyIdManager.getNextId(graph);
+    }
+
     public static Map<String, List<VertexProperty>> getProperties(final TinkerVertex vertex) {
+        final TinkerTransaction transaction = ((TinkerGraph) vertex.graph()).transaction;
+        if (null != transaction)
+            return transaction.getProperties(vertex);
+        final TinkerPropertyColumns columns = ((TinkerGraph) vertex.graph()).vertexColumns;
+        if (null != columns && columns.containsAny(vertex))
+            return columns.asMap(vertex, vertex.properties);
         return null == vertex.properties ? Collections.emptyMap() : vertex.properties;
     }
 
@@ -155,6 +281,10 @@ public final class TinkerHelper {
     }
 
     public static Iterator<TinkerEdge> getEdges(final TinkerVertex vertex, final Direction direction, final String... edgeLabels) {
+        if (((TinkerGraph) vertex.graph()).compactAdjacency)
+            return (Iterator) streamEdges(vertex, direction, edgeLabels);
+        final TinkerTransaction transaction = ((TinkerGraph) vertex.graph()).transaction;
+
         final List<Edge> edges = new ArrayList<>();
         if (direction.equals(Direction.OUT) || direction.equals(Direction.BOTH)) {
             if (vertex.outEdges != null) {
@@ -176,10 +306,26 @@ public final class TinkerHelper {
                     Stream.of(edgeLabels).map(vertex.inEdges::get).filter(Objects::nonNull).forEach(edges::addAll);
             }
         }
-        return (Iterator) edges.iterator();
+        return (Iterator) (null == transaction ? edges.iterator() : transaction.filter(edges.iterator()));
     }
 
     public static Iterator<TinkerVertex> getVertices(final TinkerVertex vertex, final Direction direction, final String... edgeLabels) {
+        if (((TinkerGraph) vertex.graph()).compactAdjacency) {
+            final Iterator<TinkerVertex> out = direction == Direction.IN ? Collections.emptyIterator() :
+                    IteratorUtils.map(streamEdges(vertex.outEdges, edgeLabels), edge -> (TinkerVertex) ((TinkerEdge) edge).inVertex);
+            final Iterator<TinkerVertex> in = direction == Direction.OUT ? Collections.emptyIterator() :
+                    IteratorUtils.map(streamEdges(vertex.inEdges, edgeLabels), edge -> (TinkerVertex) ((TinkerEdge) edge).outVertex);
+            return IteratorUtils.concat(out, in);
+        }
+        if (null != ((TinkerGraph) vertex.graph()).transaction) {
+            // the edges are filtered for the snapshot of the transaction before their vertices are taken
+            final Iterator<TinkerVertex> out = direction == Direction.IN ? Collections.emptyIterator() :
+                    IteratorUtils.map(getEdges(vertex, Direction.OUT, edgeLabels), edge -> (TinkerVertex) edge.inVertex);
+            final Iterator<TinkerVertex> in = direction == Direction.OUT ? Collections.emptyIterator() :
+                    IteratorUtils.map(getEdges(vertex, Direction.IN, edgeLabels), edge -> (TinkerVertex) edge.outVertex);
+            return IteratorUtils.concat(out, in);
+        }
+
         final List<Vertex> vertices = new ArrayList<>();
         if (direction.equals(Direction.OUT) || direction.equals(Direction.BOTH)) {
             if (vertex.outEdges != null) {
@@ -204,6 +350,29 @@ public final class TinkerHelper {
         return (Iterator) vertices.iterator();
     }
 
+    /**
+     * Iterates the edges of a vertex directly over its {@link TinkerCompactEdgeSet} adjacency rather than over a copy
+     * of them, which is safe as those sets do not rearrange the edges an iterator is walking.
+     */
+    private static Iterator<Edge> streamEdges(final TinkerVertex vertex, final Direction direction, final String... edgeLabels) {
+        final Iterator<Edge> out = direction == Direction.IN ? Collections.emptyIterator() : streamEdges(vertex.outEdges, edgeLabels);
+        final Iterator<Edge> in = direction == Direction.OUT ? Collections.emptyIterator() : streamEdges(vertex.inEdges, edgeLabels);
+        return IteratorUtils.concat(out, in);
+    }
+
+    private static Iterator<Edge> streamEdges(final Map<String, Set<Edge>> adjacency, final String... edgeLabels) {
+        if (null == adjacency)
+            return Collections.emptyIterator();
+        else if (edgeLabels.length == 1)
+            return adjacency.getOrDefault(edgeLabels[0], Collections.emptySet()).iterator();
+        else if (edgeLabels.length == 0)
+            // the label map is copied, but not the edges, as an edge with a new label would modify it
+            return IteratorUtils.flatMap(new ArrayList<>(adjacency.values()).iterator(), Set::iterator);
+        else
+            return IteratorUtils.flatMap(Arrays.asList(edgeLabels).iterator(),
+                    label -> adjacency.getOrDefault(label, Collections.emptySet()).iterator());
+    }
+
     public static Map<Object, Vertex> getVertices(final TinkerGraph graph) {
         return graph.vertices;
     }
@@ -211,4 +380,35 @@ public final class TinkerHelper {
     public static Map<Object, Edge> getEdges(final TinkerGraph graph) {
         return graph.edges;
     }
+
+    /**
+     * Gets the vertices with the specified label keyed by their identifiers.
+     */
+    public static Map<Object, Vertex> getVertices(final TinkerGraph graph, final String label) {
+        return graph.vertexLabels.getOrDefault(label, Collections.emptyMap());
+    }
+
+    /**
+     * Gets the edges with the specified label keyed by their identifiers.
+     */
+    public static Map<Object, Edge> getEdges(final TinkerGraph graph, final String label) {
+        return graph.edgeLabels.getOrDefault(label, Collections.emptyMap());
+    }
+
+    protected static <E extends Element> void addLabelled(final Map<String, Map<Object, E>> labelled, final E element) {
+        // the partition is updated within compute() so that a concurrent removal cannot drop it between its lookup
+        // and the put
+        labelled.compute(element.label(), (k, elements) -> {
+            final Map<Object, E> partition = null == elements ? new ConcurrentHashMap<>() : elements;
+            partition.put(element.id(), element);
+            return partition;
+        });
+    }
+
+    protected static <E extends Element> void removeLabelled(final Map<String, Map<Object, E>> labelled, final E element) {
+        labelled.computeIfPresent(element.label(), (k, elements) -> {
+            elements.remove(element.id());
+            return elements.isEmpty() ? null : elements;
+        });
+    }
 }
@@ -0,0 +1,539 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoMapper;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoVersion;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
+import org.apache.tinkerpop.shaded.kryo.io.Input;
+import org.apache.tinkerpop.shaded.kryo.io.Output;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.stream.IntStream;
+
+/**
+ * Reads and writes a {@link TinkerGraph} as an image laid out for fast loading, which is what setting
+ * {@link TinkerGraph#GREMLIN_TINKERGRAPH_GRAPH_FORMAT} to {@code image} enables. Where the other formats decode one
+ * element after another through the general purpose readers, an image is divided into a string dictionary, a vertex
+ * table and an edge table, each of which is cut into chunks whose offsets are listed in a footer. Each chunk is mapped
+ * into memory on its own and decoded straight into TinkerGraph's elements, so the chunks of a table are decoded in
+ * parallel across the available cores.
+ * <p/>
+ * Labels, keys and {@code String} values are written once to the dictionary and referred to by position thereafter.
+ * Edges refer to their vertices by position in the vertex table and are written grouped by their out-vertex with
+ * chunks only ever breaking between groups, so that outgoing adjacency can be built as edges are decoded. Common
+ * primitive values are written directly while any other value is written with Gryo.
+ */
+final class TinkerImage {
+
+    static final String FORMAT = "image";
+
+    private static final int MAGIC = 0x544b4749;
+    private static final int VERSION = 1;
+
+    /**
+     * The number of strings, vertices or edges after which a new chunk is started.
+     */
+    private static final int CHUNK_SIZE = 8192;
+
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte INTEGER = 2;
+    private static final byte LONG = 3;
+    private static final byte DOUBLE = 4;
+    private static final byte FLOAT = 5;
+    private static final byte BOOLEAN = 6;
+    private static final byte SHORT = 7;
+    private static final byte BYTE = 8;
+    private static final byte OBJECT = 9;
+
+    private static final GryoMapper MAPPER = GryoMapper.build().version(GryoVersion.V3_0).addRegistry(TinkerIoRegistryV3d0.instance()).create();
+
+    private TinkerImage() {
+    }
+
+    /**
+     * Writes the graph to the file as an image.
+     */
+    static void write(final TinkerGraph graph, final File file) throws IOException {
+        try (final CountingOutputStream counter = new CountingOutputStream(new FileOutputStream(file))) {
+            new Writer(graph, counter).write();
+        }
+    }
+
+    /**
+     * Reads the image in the file into the graph, which is expected to be empty.
+     */
+    static void read(final TinkerGraph graph, final File file) throws IOException {
+        try (final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            new Reader(graph, channel).read();
+        }
+    }
+
+    private static final class Writer {
+        private final TinkerGraph graph;
+        private final CountingOutputStream counter;
+        private final DataOutputStream out;
+        private final Map<String, Integer> strings = new LinkedHashMap<>();
+        private final Map<Object, Integer> ordinals = new HashMap<>();
+        private final Kryo kryo = MAPPER.createMapper();
+        private final Output output = new Output(256, -1);
+        private final List<long[]> tables = new ArrayList<>();
+        private final List<Integer> counts = new ArrayList<>();
+
+        Writer(final TinkerGraph graph, final CountingOutputStream counter) {
+            this.graph = graph;
+            this.counter = counter;
+            this.out = new DataOutputStream(new BufferedOutputStream(counter, 1 << 16));
+        }
+
+        void write() throws IOException {
+            this.collectStrings();
+            this.out.writeInt(MAGIC);
+            this.out.writeInt(VERSION);
+            this.writeStrings();
+            this.writeVertices();
+            this.writeEdges();
+
+            final long footer = this.position();
+            for (int i = 0; i < this.tables.size(); i++) {
+                this.out.writeInt(this.counts.get(i));
+                this.out.writeInt(this.tables.get(i).length);
+                for (final long offset : this.tables.get(i)) {
+                    this.out.writeLong(offset);
+                }
+            }
+            this.out.writeLong(footer);
+            this.out.writeInt(MAGIC);
+            this.out.flush();
+        }
+
+        private void collectStrings() {
+            for (final Vertex vertex : this.vertices()) {
+                this.collect(vertex.id());
+                this.collect(vertex.label());
+                final Iterator<VertexProperty<Object>> vertexProperties = vertex.properties();
+                while (vertexProperties.hasNext()) {
+                    final VertexProperty<Object> vertexProperty = vertexProperties.next();
+                    this.collect(vertexProperty.id());
+                    this.collect(vertexProperty.key());
+                    this.collect(vertexProperty.value());
+                    vertexProperty.properties().forEachRemaining(this::collect);
+                }
+            }
+            for (final Edge edge : this.edges()) {
+                this.collect(edge.id());
+                this.collect(edge.label());
+                edge.properties().forEachRemaining(this::collect);
+            }
+        }
+
+        /**
+         * Gets the vertices to write, which are those of the snapshot of the writing thread if the graph is
+         * transactional.
+         */
+        private Iterable<Vertex> vertices() {
+            return this.visible(this.graph.vertices.values());
+        }
+
+        private Iterable<Edge> edges() {
+            return this.visible(this.graph.edges.values());
+        }
+
+        private <E extends Element> Iterable<E> visible(final Iterable<E> elements) {
+            return TinkerHelper.isTransactional(this.graph) ?
+                    () -> TinkerHelper.filterVisible(this.graph, elements.iterator()) : elements;
+        }
+
+        private void collect(final Property<?> property) {
+            this.collect(property.key());
+            this.collect(property.value());
+        }
+
+        private void collect(final Object value) {
+            if (value instanceof String)
+                this.strings.putIfAbsent((String) value, this.strings.size());
+        }
+
+        private void writeStrings() throws IOException {
+            final List<Long> offsets = new ArrayList<>();
+            int count = 0;
+            for (final String string : this.strings.keySet()) {
+                if (count++ % CHUNK_SIZE == 0) offsets.add(this.position());
+                final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+                this.out.writeInt(bytes.length);
+                this.out.write(bytes);
+            }
+            this.endTable(offsets, this.strings.size());
+        }
+
+        private void writeVertices() throws IOException {
+            final List<Long> offsets = new ArrayList<>();
+            for (final Vertex vertex : this.vertices()) {
+                final int ordinal = this.ordinals.size();
+                if (ordinal % CHUNK_SIZE == 0) offsets.add(this.position());
+                this.ordinals.put(vertex.id(), ordinal);
+
+                this.writeValue(vertex.id());
+                this.out.writeInt(this.strings.get(vertex.label()));
+                final List<VertexProperty<Object>> vertexProperties = new ArrayList<>();
+                vertex.properties().forEachRemaining(vertexProperties::add);
+                this.out.writeInt(vertexProperties.size());
+                for (final VertexProperty<Object> vertexProperty : vertexProperties) {
+                    this.writeValue(vertexProperty.id());
+                    this.out.writeInt(this.strings.get(vertexProperty.key()));
+                    this.writeValue(vertexProperty.value());
+                    this.writeProperties(vertexProperty.properties());
+                }
+            }
+            this.endTable(offsets, this.ordinals.size());
+        }
+
+        private void writeEdges() throws IOException {
+            final List<Long> offsets = new ArrayList<>();
+            int count = 0;
+            int chunkCount = 0;
+            for (final Vertex vertex : this.vertices()) {
+                final Map<String, ? extends Iterable<Edge>> outEdges = ((TinkerVertex) vertex).outEdges;
+                if (null == outEdges) continue;
+
+                // chunks only break between the out-edges of different vertices
+                if (chunkCount >= CHUNK_SIZE || offsets.isEmpty()) {
+                    offsets.add(this.position());
+                    chunkCount = 0;
+                }
+                for (final Iterable<Edge> edges : outEdges.values()) {
+                    for (final Edge edge : this.visible(edges)) {
+                        this.writeValue(edge.id());
+                        this.out.writeInt(this.strings.get(edge.label()));
+                        this.out.writeInt(this.ordinals.get(edge.outVertex().id()));
+                        this.out.writeInt(this.ordinals.get(edge.inVertex().id()));
+                        this.writeProperties(edge.properties());
+                        count++;
+                        chunkCount++;
+                    }
+                }
+            }
+            this.endTable(offsets, count);
+        }
+
+        private void writeProperties(final Iterator<? extends Property<Object>> properties) throws IOException {
+            final List<Property<Object>> list = new ArrayList<>();
+            properties.forEachRemaining(list::add);
+            this.out.writeInt(list.size());
+            for (final Property<Object> property : list) {
+                this.out.writeInt(this.strings.get(property.key()));
+                this.writeValue(property.value());
+            }
+        }
+
+        private void writeValue(final Object value) throws IOException {
+            if (null == value) {
+                this.out.writeByte(NULL);
+            } else if (value instanceof String) {
+                this.out.writeByte(STRING);
+                this.out.writeInt(this.strings.get(value));
+            } else if (value instanceof Integer) {
+                this.out.writeByte(INTEGER);
+                this.out.writeInt((Integer) value);
+            } else if (value instanceof Long) {
+                this.out.writeByte(LONG);
+                this.out.writeLong((Long) value);
+            } else if (value instanceof Double) {
+                this.out.writeByte(DOUBLE);
+                this.out.writeDouble((Double) value);
+            } else if (value instanceof Float) {
+                this.out.writeByte(FLOAT);
+                this.out.writeFloat((Float) value);
+            } else if (value instanceof Boolean) {
+                this.out.writeByte(BOOLEAN);
+                this.out.writeBoolean((Boolean) value);
+            } else if (value instanceof Short) {
+                this.out.writeByte(SHORT);
+                this.out.writeShort((Short) value);
+            } else if (value instanceof Byte) {
+                this.out.writeByte(BYTE);
+                this.out.writeByte((Byte) value);
+            } else {
+                this.output.setPosition(0);
+                this.kryo.writeClassAndObject(this.output, value);
+                this.out.writeByte(OBJECT);
+                this.out.writeInt(this.output.position());
+                this.out.write(this.output.getBuffer(), 0, this.output.position());
+            }
+        }
+
+        /**
+         * Closes a table by adding its end to its chunk offsets so that every chunk is bounded by two offsets.
+         */
+        private void endTable(final List<Long> offsets, final int count) throws IOException {
+            offsets.add(this.position());
+            this.tables.add(offsets.stream().mapToLong(Long::longValue).toArray());
+            this.counts.add(count);
+        }
+
+        private long position() throws IOException {
+            this.out.flush();
+            return this.counter.count;
+        }
+    }
+
+    private static final class Reader {
+        private final TinkerGraph graph;
+        private final FileChannel channel;
+        private final ThreadLocal<Kryo> kryos = ThreadLocal.withInitial(MAPPER::createMapper);
+        private final LongAccumulator maxId = new LongAccumulator(Math::max, Long.MIN_VALUE);
+        private String[] strings;
+        private TinkerVertex[] vertices;
+
+        Reader(final TinkerGraph graph, final FileChannel channel) {
+            this.graph = graph;
+            this.channel = channel;
+        }
+
+        void read() throws IOException {
+            final long size = this.channel.size();
+            final ByteBuffer header = this.channel.map(FileChannel.MapMode.READ_ONLY, 0, 8);
+            final ByteBuffer trailer = this.channel.map(FileChannel.MapMode.READ_ONLY, size - 12, 12);
+            final long footerOffset = trailer.getLong();
+            if (header.getInt() != MAGIC || trailer.getInt() != MAGIC)
+                throw new IOException("The file is not a TinkerGraph image");
+            final int version = header.getInt();
+            if (version != VERSION)
+                throw new IOException(String.format("The TinkerGraph image is of version %s but only version %s can be read", version, VERSION));
+
+            final ByteBuffer footer = this.channel.map(FileChannel.MapMode.READ_ONLY, footerOffset, size - 12 - footerOffset);
+            final int stringCount = footer.getInt();
+            final long[] stringChunks = readOffsets(footer);
+            final int vertexCount = footer.getInt();
+            final long[] vertexChunks = readOffsets(footer);
+            footer.getInt();
+            final long[] edgeChunks = readOffsets(footer);
+
+            // the columns of vertex properties are not safe to fill from several threads
+            final boolean parallel = null == this.graph.vertexColumns;
+
+            this.strings = new String[stringCount];
+            this.decode(stringChunks, true, (chunk, buffer) -> {
+                for (int i = chunk * CHUNK_SIZE; buffer.hasRemaining(); i++) {
+                    final byte[] bytes = new byte[buffer.getInt()];
+                    buffer.get(bytes);
+                    this.strings[i] = new String(bytes, StandardCharsets.UTF_8);
+                }
+            });
+
+            this.vertices = new TinkerVertex[vertexCount];
+            this.decode(vertexChunks, parallel, (chunk, buffer) -> {
+                for (int i = chunk * CHUNK_SIZE; buffer.hasRemaining(); i++) {
+                    this.vertices[i] = this.readVertex(buffer);
+                }
+            });
+
+            @SuppressWarnings("unchecked")
+            final List<TinkerEdge>[] edges = new List[edgeChunks.length - 1];
+            this.decode(edgeChunks, parallel, (chunk, buffer) -> {
+                edges[chunk] = new ArrayList<>(CHUNK_SIZE);
+                while (buffer.hasRemaining()) {
+                    edges[chunk].add(this.readEdge(buffer));
+                }
+            });
+
+            // incoming adjacency is built afterward as the in-edges of a vertex are spread across chunks
+            for (final List<TinkerEdge> chunk : edges) {
+                for (final TinkerEdge edge : chunk) {
+                    TinkerHelper.addInEdge((TinkerVertex) edge.inVertex, edge.label, edge);
+                }
+            }
+
+            if (this.maxId.get() > this.graph.currentId.get())
+                this.graph.currentId.set(this.maxId.get());
+        }
+
+        private TinkerVertex readVertex(final ByteBuffer buffer) {
+            final TinkerVertex vertex = new TinkerVertex(this.readValue(buffer), this.strings[buffer.getInt()], this.graph);
+            this.track(vertex.id);
+            final int size = buffer.getInt();
+            if (size > 0) {
+                vertex.properties = new HashMap<>();
+                for (int i = 0; i < size; i++) {
+                    final Object id = this.readValue(buffer);
+                    this.track(id);
+                    final String key = this.strings[buffer.getInt()];
+                    final TinkerVertexProperty<Object> vertexProperty = new TinkerVertexProperty<>(id, vertex, key, this.readValue(buffer));
+                    vertexProperty.properties = this.readProperties(vertexProperty, buffer);
+                    vertex.properties.computeIfAbsent(key, k -> new ArrayList<>(1)).add(vertexProperty);
+                }
+                if (null != this.graph.vertexColumns) this.moveToColumns(vertex);
+            }
+            this.graph.vertices.put(vertex.id, vertex);
+            TinkerHelper.addLabelled(this.graph.vertexLabels, vertex);
+            return vertex;
+        }
+
+        /**
+         * Moves the properties of the vertex that could have been held in columns to begin with into them.
+         */
+        private void moveToColumns(final TinkerVertex vertex) {
+            final Iterator<List<VertexProperty>> lists = vertex.properties.values().iterator();
+            while (lists.hasNext()) {
+                final List<VertexProperty> list = lists.next();
+                final TinkerVertexProperty<?> vertexProperty = (TinkerVertexProperty<?>) list.get(0);
+                if (list.size() == 1 && null == vertexProperty.properties) {
+                    this.graph.vertexColumns.set(vertex, vertexProperty.key(), vertexProperty.id, vertexProperty.value());
+                    lists.remove();
+                }
+            }
+            if (vertex.properties.isEmpty()) vertex.properties = null;
+        }
+
+        private TinkerEdge readEdge(final ByteBuffer buffer) {
+            final Object id = this.readValue(buffer);
+            this.track(id);
+            final String label = this.strings[buffer.getInt()];
+            final TinkerVertex outVertex = this.vertices[buffer.getInt()];
+            final TinkerVertex inVertex = this.vertices[buffer.getInt()];
+            final TinkerEdge edge = new TinkerEdge(id, outVertex, label, inVertex);
+            edge.properties = this.readProperties(edge, buffer);
+            this.graph.edges.put(id, edge);
+            TinkerHelper.addLabelled(this.graph.edgeLabels, edge);
+            TinkerHelper.addOutEdge(outVertex, label, edge);
+            return edge;
+        }
+
+        private Map<String, Property> readProperties(final TinkerElement element, final ByteBuffer buffer) {
+            final int size = buffer.getInt();
+            if (0 == size) return null;
+            final Map<String, Property> properties = new HashMap<>(size * 2);
+            for (int i = 0; i < size; i++) {
+                final String key = this.strings[buffer.getInt()];
+                properties.put(key, new TinkerProperty<>(element, key, this.readValue(buffer)));
+            }
+            return properties;
+        }
+
+        private Object readValue(final ByteBuffer buffer) {
+            final byte type = buffer.get();
+            switch (type) {
+                case NULL:
+                    return null;
+                case STRING:
+                    return this.strings[buffer.getInt()];
+                case INTEGER:
+                    return buffer.getInt();
+                case LONG:
+                    return buffer.getLong();
+                case DOUBLE:
+                    return buffer.getDouble();
+                case FLOAT:
+                    return buffer.getFloat();
+                case BOOLEAN:
+                    return buffer.get() != 0;
+                case SHORT:
+                    return buffer.getShort();
+                case BYTE:
+                    return buffer.get();
+                case OBJECT:
+                    final byte[] bytes = new byte[buffer.getInt()];
+                    buffer.get(bytes);
+                    return this.kryos.get().readClassAndObject(new Input(bytes));
+                default:
+                    throw new IllegalStateException(String.format("The TinkerGraph image contains a value of unknown type %s", type));
+            }
+        }
+
+        private void track(final Object id) {
+            if (id instanceof Long || id instanceof Integer)
+                this.maxId.accumulate(((Number) id).longValue());
+        }
+
+        /**
+         * Maps each chunk of a table into memory and hands it to the decoder, in parallel if so specified.
+         */
+        private void decode(final long[] chunks, final boolean parallel, final ChunkDecoder decoder) throws IOException {
+            final IntStream stream = IntStream.range(0, chunks.length - 1);
+            try {
+                (parallel ? stream.parallel() : stream).forEach(chunk -> {
+                    try {
+                        decoder.decode(chunk, this.channel.map(FileChannel.MapMode.READ_ONLY, chunks[chunk], chunks[chunk + 1] - chunks[chunk]));
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+        }
+
+        private static long[] readOffsets(final ByteBuffer footer) {
+            final long[] offsets = new long[footer.getInt()];
+            for (int i = 0; i < offsets.length; i++) {
+                offsets[i] = footer.getLong();
+            }
+            return offsets;
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChunkDecoder {
+        void decode(final int chunk, final ByteBuffer buffer);
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long count = 0;
+
+        CountingOutputStream(final OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            this.out.write(b);
+            this.count++;
+        }
+
+        @Override
+        public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+            this.out.write(bytes, offset, length);
+            this.count += length;
+        }
+    }
+}
@@ -18,27 +18,51 @@
  */
 package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.GremlinTypeErrorException;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Text;
+import org.apache.tinkerpop.gremlin.process.traversal.util.ConnectiveP;
+import org.apache.tinkerpop.gremlin.process.traversal.util.OrP;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Property;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 final class TinkerIndex<T extends Element> {
 
+    /**
+     * Orders the values of a {@link TinkerGraph.IndexType#SORTED} index by Gremlin orderability semantics so that
+     * values of a single type are contiguous and can be scanned as a range.
+     */
+    static final Comparator<Object> SORTED_ORDER = Comparator.comparing(TinkerIndex::orderable, Order.asc);
+
     protected Map<String, Map<Object, Set<T>>> index = new ConcurrentHashMap<>();
     protected final Class<T> indexClass;
     private final Set<String> indexedKeys = new HashSet<>();
+    private final Set<String> sortedKeys = new HashSet<>();
+    private final Map<List<String>, TinkerCompositeIndex<T>> compositeIndices = new ConcurrentHashMap<>();
     private final TinkerGraph graph;
 
     public TinkerIndex(final TinkerGraph graph, final Class<T> indexClass) {
@@ -49,13 +73,14 @@ final class TinkerIndex<T extends Element> {
     protected void put(final String key, final Object value, final T element) {
         Map<Object, Set<T>> keyMap = this.index.get(key);
         if (null == keyMap) {
-            this.index.putIfAbsent(key, new ConcurrentHashMap<>());
+            this.index.putIfAbsent(key, this.sortedKeys.contains(key) ?
+                    new ConcurrentSkipListMap<>(SORTED_ORDER) : new ConcurrentHashMap<>());
             keyMap = this.index.get(key);
         }
-        Set<T> objects = keyMap.get(value);
+        Set<T> objects = keyMap.get(indexable(value));
         if (null == objects) {
-            keyMap.putIfAbsent(value, ConcurrentHashMap.newKeySet());
-            objects = keyMap.get(value);
+            keyMap.putIfAbsent(indexable(value), ConcurrentHashMap.newKeySet());
+            objects = keyMap.get(indexable(value));
         }
         objects.add(element);
     }
@@ -86,14 +111,185 @@ final class TinkerIndex<T extends Element> {
         }
     }
 
+    /**
+     * Gets the elements whose value for the key satisfies the predicates. A {@link TinkerGraph.IndexType#HASH} index
+     * can only answer equality, so the value of the first {@link Compare#eq} predicate is used for the lookup. A
+     * {@link TinkerGraph.IndexType#SORTED} index answers any predicate for which {@link #isIndexable(String, P)} is
+     * {@code true} with a range scan. Returned elements satisfy the indexed predicates but callers are still expected
+     * to test them against any remaining filters.
+     */
+    public List<T> query(final String key, final List<P<?>> predicates) {
+        if (!this.sortedKeys.contains(key)) {
+            for (final P<?> predicate : predicates) {
+                if (predicate.getBiPredicate() == Compare.eq)
+                    return this.get(key, predicate.getValue());
+            }
+            throw new IllegalArgumentException(String.format("The hash index on %s can only be queried for equality", key));
+        }
+
+        final List<Set<T>> matches = new ArrayList<>();
+        this.scan(key, predicates, matches::add);
+        if (matches.isEmpty())
+            return Collections.emptyList();
+        else if (matches.size() == 1)
+            return new ArrayList<>(matches.get(0));
+
+        // an element with multiple values for the key may appear in more than one posting set
+        final Set<T> elements = new LinkedHashSet<>();
+        matches.forEach(elements::addAll);
+        return new ArrayList<>(elements);
+    }
+
+    /**
+     * Counts the index entries that satisfy the predicates without materializing them. As an element with multiple
+     * values for the key is counted once for each matching value, the result is an upper bound on the number of
+     * elements that {@link #query(String, List)} returns.
+     */
+    public long queryCount(final String key, final List<P<?>> predicates) {
+        return this.queryCount(key, predicates, Long.MAX_VALUE);
+    }
+
+    /**
+     * Counts the index entries that satisfy the predicates as with {@link #queryCount(String, List)} but stops once
+     * the count exceeds the limit, in which case the returned count is only known to be greater than the limit. A
+     * lookup on a {@link TinkerGraph.IndexType#HASH} index is just the size of the posting set for the value so the
+     * limit only bounds the cost of a range scan over a {@link TinkerGraph.IndexType#SORTED} index.
+     */
+    public long queryCount(final String key, final List<P<?>> predicates, final long limit) {
+        if (!this.sortedKeys.contains(key)) {
+            for (final P<?> predicate : predicates) {
+                if (predicate.getBiPredicate() == Compare.eq)
+                    return this.count(key, predicate.getValue());
+            }
+            throw new IllegalArgumentException(String.format("The hash index on %s can only be queried for equality", key));
+        }
+
+        final long[] count = {0};
+        this.scan(key, predicates, match -> {
+            count[0] += match.size();
+            return count[0] <= limit;
+        });
+        return count[0];
+    }
+
+    /**
+     * Determines if the index on the key is able to answer the predicate.
+     */
+    public boolean isIndexable(final String key, final P<?> predicate) {
+        if (!this.indexedKeys.contains(key))
+            return false;
+        return this.sortedKeys.contains(key) ? null != ranges(predicate) : predicate.getBiPredicate() == Compare.eq;
+    }
+
+    public boolean isSorted(final String key) {
+        return this.sortedKeys.contains(key);
+    }
+
+    /**
+     * Scans the ranges of a sorted index that the predicates allow and passes the posting set of each value that
+     * satisfies all of them to the visitor until it returns {@code false}.
+     */
+    private void scan(final String key, final List<P<?>> predicates, final Predicate<Set<T>> visitor) {
+        final NavigableMap<Object, Set<T>> keyMap = (NavigableMap<Object, Set<T>>) this.index.get(key);
+        if (null == keyMap)
+            return;
+
+        List<Range> ranges = Collections.singletonList(Range.ALL);
+        for (final P<?> predicate : predicates) {
+            final List<Range> predicateRanges = ranges(predicate);
+            if (null == predicateRanges)
+                throw new IllegalArgumentException(String.format("The sorted index on %s cannot be queried with %s", key, predicate));
+            ranges = Range.intersect(ranges, predicateRanges);
+        }
+
+        // overlapping ranges, as from or(gt(1),lt(5)), would otherwise visit the same posting set twice
+        final Set<Set<T>> seen = ranges.size() > 1 ? Collections.newSetFromMap(new IdentityHashMap<>()) : null;
+        for (final Range range : ranges) {
+            boolean matched = false;
+            for (final Map.Entry<Object, Set<T>> entry : range.subMap(keyMap).entrySet()) {
+                if (testAll(entry.getKey(), predicates)) {
+                    matched = true;
+                    if ((null == seen || seen.add(entry.getValue())) && !visitor.test(entry.getValue()))
+                        return;
+                } else if (matched) {
+                    // values satisfying a range predicate are contiguous under orderability, so once a value
+                    // fails after a run of matches the remainder of the range, which can only hold other types,
+                    // cannot match
+                    break;
+                }
+            }
+        }
+    }
+
+    private static boolean testAll(final Object value, final List<P<?>> predicates) {
+        final Object v = orderable(value);
+        for (final P predicate : predicates) {
+            try {
+                if ((predicate.getBiPredicate() instanceof Text && !(v instanceof String)) || !predicate.test(v))
+                    return false;
+            } catch (GremlinTypeErrorException ex) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Converts a predicate to the ranges of index values it may match or {@code null} if it cannot be answered by
+     * a range scan.
+     */
+    private static List<Range> ranges(final P<?> predicate) {
+        if (predicate instanceof ConnectiveP) {
+            final boolean or = predicate instanceof OrP;
+            List<Range> ranges = or ? new ArrayList<>() : Collections.singletonList(Range.ALL);
+            for (final P<?> p : ((ConnectiveP<?>) predicate).getPredicates()) {
+                final List<Range> childRanges = ranges(p);
+                if (null == childRanges) return null;
+                if (or)
+                    ranges.addAll(childRanges);
+                else
+                    ranges = Range.intersect(ranges, childRanges);
+            }
+            return ranges;
+        }
+
+        final Object value = predicate.getValue();
+        if (predicate.getBiPredicate() == Compare.eq)
+            return Collections.singletonList(new Range(indexable(value), true, indexable(value), true));
+        if (null == value)
+            return null;
+        if (predicate.getBiPredicate() == Compare.gt)
+            return Collections.singletonList(new Range(value, false, null, false));
+        if (predicate.getBiPredicate() == Compare.gte)
+            return Collections.singletonList(new Range(value, true, null, false));
+        if (predicate.getBiPredicate() == Compare.lt)
+            return Collections.singletonList(new Range(null, false, value, false));
+        if (predicate.getBiPredicate() == Compare.lte)
+            return Collections.singletonList(new Range(null, false, value, true));
+        if (predicate.getBiPredicate() == Text.startingWith && value instanceof String) {
+            final String prefix = (String) value;
+            final int last = prefix.length() - 1;
+            // every string with the prefix sorts before the prefix with its last character incremented
+            final String upper = last < 0 || prefix.charAt(last) == Character.MAX_VALUE ?
+                    null : prefix.substring(0, last) + (char) (prefix.charAt(last) + 1);
+            return Collections.singletonList(new Range(prefix, true, upper, false));
+        }
+        return null;
+    }
+
     public void remove(final String key, final Object value, final T element) {
+        this.removeValue(key, value, element);
+        this.updateCompositeIndices(key, element);
+    }
+
+    private void removeValue(final String key, final Object value, final T element) {
         final Map<Object, Set<T>> keyMap = this.index.get(key);
         if (null != keyMap) {
             final Set<T> objects = keyMap.get(indexable(value));
             if (null != objects) {
                 objects.remove(element);
                 if (objects.size() == 0) {
-                    keyMap.remove(value);
+                    keyMap.remove(indexable(value));
                 }
             }
         }
@@ -106,32 +302,150 @@ final class TinkerIndex<T extends Element> {
                     set.remove(element);
                 }
             }
+            for (final TinkerCompositeIndex<T> compositeIndex : this.compositeIndices.values()) {
+                compositeIndex.remove(element);
+            }
         }
     }
 
     public void autoUpdate(final String key, final Object newValue, final Object oldValue, final T element) {
         if (this.indexedKeys.contains(key)) {
-            this.remove(key, oldValue, element);
+            this.removeValue(key, oldValue, element);
             this.put(key, newValue, element);
         }
+        this.updateCompositeIndices(key, element);
+    }
+
+    /**
+     * Brings the index up to date with the current values of an element given the values it had for each key when
+     * the index last saw it, which is how the changes of a transaction are indexed when it commits.
+     */
+    void update(final T element, final Function<String, List<Object>> previousValues, final boolean present) {
+        if (!present) {
+            this.removeElement(element);
+            return;
+        }
+        for (final String key : this.indexedKeys) {
+            // the label of an edge is indexed when it is created and never changes
+            if (key.equals(org.apache.tinkerpop.gremlin.structure.T.label.getAccessor()))
+                continue;
+            for (final Object value : previousValues.apply(key)) {
+                this.removeValue(key, value, element);
+            }
+            element.properties(key).forEachRemaining(p -> this.put(key, ((Property) p).value(), element));
+        }
+        for (final TinkerCompositeIndex<T> compositeIndex : this.compositeIndices.values()) {
+            compositeIndex.update(element);
+        }
+    }
+
+    private void updateCompositeIndices(final String key, final T element) {
+        if (this.compositeIndices.isEmpty() || !this.indexClass.isAssignableFrom(element.getClass()))
+            return;
+        for (final TinkerCompositeIndex<T> compositeIndex : this.compositeIndices.values()) {
+            if (compositeIndex.getKeys().contains(key))
+                compositeIndex.update(element);
+        }
+    }
+
+    /**
+     * Gets the elements whose values for the leading keys of the composite index equal the specified values.
+     */
+    public List<T> queryComposite(final List<String> keys, final List<Object> values) {
+        final TinkerCompositeIndex<T> compositeIndex = this.compositeIndices.get(keys);
+        return null == compositeIndex ? Collections.emptyList() : compositeIndex.get(values);
+    }
+
+    public long queryCompositeCount(final List<String> keys, final List<Object> values, final long limit) {
+        final TinkerCompositeIndex<T> compositeIndex = this.compositeIndices.get(keys);
+        return null == compositeIndex ? 0 : compositeIndex.count(values, limit);
+    }
+
+    public void createCompositeIndex(final List<String> keys) {
+        if (null == keys)
+            throw Graph.Exceptions.argumentCanNotBeNull("keys");
+        if (keys.size() < 2)
+            throw new IllegalArgumentException("A composite index requires at least two keys");
+        for (final String key : keys) {
+            if (null == key)
+                throw Graph.Exceptions.argumentCanNotBeNull("key");
+            if (key.isEmpty())
+                throw new IllegalArgumentException("The key for the index cannot be an empty string");
+        }
+        if (new HashSet<>(keys).size() != keys.size())
+            throw new IllegalArgumentException("The keys of a composite index must be unique: " + keys);
+
+        if (this.compositeIndices.containsKey(keys))
+            return;
+
+        final TinkerCompositeIndex<T> compositeIndex = new TinkerCompositeIndex<>(keys);
+        this.indexAll(compositeIndex::update);
+        this.compositeIndices.put(compositeIndex.getKeys(), compositeIndex);
+    }
+
+    public void dropCompositeIndex(final List<String> keys) {
+        final TinkerCompositeIndex<T> compositeIndex = this.compositeIndices.remove(keys);
+        if (null != compositeIndex)
+            compositeIndex.clear();
+    }
+
+    public Set<List<String>> getCompositeIndexedKeys() {
+        return this.compositeIndices.keySet();
+    }
+
+    /**
+     * Indexes elements that were added to the graph without the index being kept up to date as they were.
+     */
+    public void addElements(final Collection<T> elements) {
+        if (this.indexedKeys.isEmpty() && this.compositeIndices.isEmpty())
+            return;
+        elements.parallelStream().forEach(e -> {
+            for (final String key : this.indexedKeys) {
+                e.properties(key).forEachRemaining(p -> this.put(key, ((Property) p).value(), e));
+            }
+            for (final TinkerCompositeIndex<T> compositeIndex : this.compositeIndices.values()) {
+                compositeIndex.update(e);
+            }
+        });
     }
 
     public void createKeyIndex(final String key) {
+        this.createKeyIndex(key, TinkerGraph.IndexType.HASH);
+    }
+
+    public void createKeyIndex(final String key, final TinkerGraph.IndexType indexType) {
         if (null == key)
             throw Graph.Exceptions.argumentCanNotBeNull("key");
         if (key.isEmpty())
             throw new IllegalArgumentException("The key for the index cannot be an empty string");
+        if (null == indexType)
+            throw Graph.Exceptions.argumentCanNotBeNull("indexType");
 
-        if (this.indexedKeys.contains(key))
-            return;
+        if (this.indexedKeys.contains(key)) {
+            if (this.sortedKeys.contains(key) == (TinkerGraph.IndexType.SORTED == indexType))
+                return;
+
+            // the key is indexed with a different type so it has to be rebuilt
+            this.dropKeyIndex(key);
+        }
         this.indexedKeys.add(key);
+        if (TinkerGraph.IndexType.SORTED == indexType)
+            this.sortedKeys.add(key);
+
+        this.indexAll(e -> e.properties(key).forEachRemaining(p -> this.put(key, ((Property) p).value(), e)));
+    }
 
-        (Vertex.class.isAssignableFrom(this.indexClass) ?
-                this.graph.vertices.values().parallelStream() :
-                this.graph.edges.values().parallelStream())
-                .map(e -> new Object[]{((T) e).property(key), e})
-                .filter(a -> ((Property) a[0]).isPresent())
-                .forEach(a -> this.put(key, ((Property) a[0]).value(), (T) a[1]));
+    /**
+     * Visits all the elements of the indexed class in parallel or, if the graph is transactional, as of its latest
+     * commit and on the calling thread so that no transaction is opened on others.
+     */
+    private void indexAll(final Consumer<T> visitor) {
+        final Collection<?> elements = Vertex.class.isAssignableFrom(this.indexClass) ?
+                this.graph.vertices.values() : this.graph.edges.values();
+        if (null == this.graph.transaction)
+            elements.parallelStream().forEach(e -> visitor.accept((T) e));
+        else
+            this.graph.transaction.reindex(() -> elements.forEach(e -> visitor.accept((T) e)));
     }
 
     public void dropKeyIndex(final String key) {
@@ -139,6 +453,7 @@ final class TinkerIndex<T extends Element> {
             this.index.remove(key).clear();
 
         this.indexedKeys.remove(key);
+        this.sortedKeys.remove(key);
     }
 
     /**
@@ -149,10 +464,94 @@ final class TinkerIndex<T extends Element> {
         return null == obj ? IndexedNull.instance() : obj;
     }
 
+    /**
+     * Reverses {@link #indexable(Object)} so that values can be compared and tested by predicates.
+     */
+    private static Object orderable(final Object obj) {
+        return obj instanceof IndexedNull ? null : obj;
+    }
+
     public Set<String> getIndexedKeys() {
         return this.indexedKeys;
     }
 
+    /**
+     * A range of values in a sorted index where a {@code null} bound is unbounded.
+     */
+    private static final class Range {
+        private static final Range ALL = new Range(null, false, null, false);
+
+        private final Object lower;
+        private final boolean lowerInclusive;
+        private final Object upper;
+        private final boolean upperInclusive;
+
+        private Range(final Object lower, final boolean lowerInclusive, final Object upper, final boolean upperInclusive) {
+            this.lower = lower;
+            this.lowerInclusive = lowerInclusive;
+            this.upper = upper;
+            this.upperInclusive = upperInclusive;
+        }
+
+        private <V> NavigableMap<Object, V> subMap(final NavigableMap<Object, V> map) {
+            NavigableMap<Object, V> subMap = map;
+            if (null != this.lower)
+                subMap = subMap.tailMap(this.lower, this.lowerInclusive);
+            if (null != this.upper)
+                subMap = subMap.headMap(this.upper, this.upperInclusive);
+            return subMap;
+        }
+
+        private boolean isEmpty() {
+            if (null == this.lower || null == this.upper)
+                return false;
+            final int c = SORTED_ORDER.compare(this.lower, this.upper);
+            return c > 0 || (c == 0 && !(this.lowerInclusive && this.upperInclusive));
+        }
+
+        private Range intersect(final Range other) {
+            final Object lower;
+            final boolean lowerInclusive;
+            if (null == this.lower || (null != other.lower && SORTED_ORDER.compare(other.lower, this.lower) > 0)) {
+                lower = other.lower;
+                lowerInclusive = other.lowerInclusive;
+            } else if (null != other.lower && SORTED_ORDER.compare(other.lower, this.lower) == 0) {
+                lower = this.lower;
+                lowerInclusive = this.lowerInclusive && other.lowerInclusive;
+            } else {
+                lower = this.lower;
+                lowerInclusive = this.lowerInclusive;
+            }
+
+            final Object upper;
+            final boolean upperInclusive;
+            if (null == this.upper || (null != other.upper && SORTED_ORDER.compare(other.upper, this.upper) < 0)) {
+                upper = other.upper;
+                upperInclusive = other.upperInclusive;
+            } else if (null != other.upper && SORTED_ORDER.compare(other.upper, this.upper) == 0) {
+                upper = this.upper;
+                upperInclusive = this.upperInclusive && other.upperInclusive;
+            } else {
+                upper = this.upper;
+                upperInclusive = this.upperInclusive;
+            }
+
+            return new Range(lower, lowerInclusive, upper, upperInclusive);
+        }
+
+        private static List<Range> intersect(final List<Range> a, final List<Range> b) {
+            final List<Range> ranges = new ArrayList<>();
+            for (final Range x : a) {
+                for (final Range y : b) {
+                    final Range range = x.intersect(y);
+                    if (!range.isEmpty())
+                        ranges.add(range);
+                }
+            }
+            return ranges;
+        }
+    }
+
     public static final class IndexedNull {
         private static final IndexedNull inst = new IndexedNull();
 
@@ -0,0 +1,655 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.io.IoCore;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoMapper;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoVersion;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
+import org.apache.tinkerpop.shaded.kryo.io.Input;
+import org.apache.tinkerpop.shaded.kryo.io.Output;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * Persists a {@link TinkerGraph} as a Gryo snapshot plus an append-only log of the mutations made since that
+ * snapshot was taken, which is what setting {@link TinkerGraph#GREMLIN_TINKERGRAPH_GRAPH_FORMAT} to {@code wal}
+ * enables. Mutations are appended to the log as they happen and the log is forced to disk every
+ * {@link TinkerGraph#GREMLIN_TINKERGRAPH_LOG_SYNC_INTERVAL} milliseconds, so a crash loses at most that much work.
+ * Once the log is larger than both the snapshot and {@link TinkerGraph#GREMLIN_TINKERGRAPH_LOG_COMPACTION_SIZE} it
+ * is compacted into a new snapshot, which bounds the time taken to replay it on open.
+ * <p/>
+ * The snapshots and logs in the directory at {@link TinkerGraph#GREMLIN_TINKERGRAPH_GRAPH_LOCATION} are numbered by
+ * generation. A snapshot is written under a temporary name and renamed when complete, so the snapshot with the
+ * highest generation is always whole and only the log of that same generation has to be replayed over it. Each log
+ * record is framed by its length and checksum so that a record torn by a crash is recognized and dropped.
+ * <p/>
+ * A record is only appended once its mutation has been applied in memory. A mutation is bracketed by
+ * {@link #beginMutation()} and {@link #endMutation()}, which share a read lock that {@link #compact()} takes for
+ * writing, so a snapshot is never taken while a mutation is applied but not yet logged. The graph therefore matches
+ * what a replay of the log would produce whenever a snapshot is taken, even with several threads mutating it.
+ */
+final class TinkerMutationLog {
+
+    static final String FORMAT = "wal";
+
+    private static final Pattern SNAPSHOT_FILE = Pattern.compile("snapshot\\.(\\d+)\\.kryo");
+    private static final Pattern GENERATION_FILE = Pattern.compile("(?:snapshot|mutations)\\.(\\d+)\\..*");
+
+    /**
+     * The largest region of a snapshot that is mapped into memory at once.
+     */
+    private static final long MAPPED_REGION_SIZE = 1L << 30;
+
+    private static final byte ADD_VERTEX = 1;
+    private static final byte ADD_EDGE = 2;
+    private static final byte ADD_VERTEX_PROPERTY = 3;
+    private static final byte REMOVE_VERTEX_PROPERTY = 4;
+    private static final byte SET_META_PROPERTY = 5;
+    private static final byte REMOVE_META_PROPERTY = 6;
+    private static final byte SET_EDGE_PROPERTY = 7;
+    private static final byte REMOVE_EDGE_PROPERTY = 8;
+    private static final byte REMOVE_VERTEX = 9;
+    private static final byte REMOVE_EDGE = 10;
+
+    private final TinkerGraph graph;
+    private final File directory;
+    private final long syncInterval;
+    private final long compactionSize;
+    private final Kryo kryo = GryoMapper.build().version(GryoVersion.V3_0).addRegistry(TinkerIoRegistryV3d0.instance()).create().createMapper();
+    private final Output record = new Output(1024, -1);
+    private final CRC32 crc = new CRC32();
+    private final ByteBuffer header = ByteBuffer.allocate(8);
+
+    private long generation = 0;
+    private long snapshotSize = 0;
+    private long logSize = 0;
+    private FileOutputStream logFile = null;
+    private OutputStream log = null;
+    private boolean unsynced = false;
+    private ScheduledExecutorService syncer = null;
+
+    /**
+     * A failure of a background sync which is reported by the next mutation.
+     */
+    private IOException syncFailure = null;
+
+    /**
+     * Held for reading by each mutation from when it is applied until it is logged and for writing by compaction.
+     */
+    private final ReentrantReadWriteLock mutationLock = new ReentrantReadWriteLock();
+
+    /**
+     * Set when the log has outgrown the snapshot so that the mutation that grew it compacts once it is finished.
+     */
+    private volatile boolean compactionDue = false;
+
+    private TinkerMutationLog(final TinkerGraph graph, final String location, final long syncInterval, final long compactionSize) {
+        this.graph = graph;
+        this.directory = new File(location);
+        this.syncInterval = syncInterval;
+        this.compactionSize = compactionSize;
+    }
+
+    /**
+     * Loads the graph from the latest snapshot and log in the location and opens the log for appending.
+     */
+    static TinkerMutationLog open(final TinkerGraph graph, final String location, final long syncInterval,
+                                  final long compactionSize) throws IOException {
+        final TinkerMutationLog mutationLog = new TinkerMutationLog(graph, location, syncInterval, compactionSize);
+        mutationLog.load();
+        return mutationLog;
+    }
+
+    synchronized void addVertex(final Vertex vertex) {
+        this.begin(ADD_VERTEX);
+        this.write(vertex.id());
+        this.record.writeString(vertex.label());
+        this.commit();
+    }
+
+    /**
+     * Logs a new edge along with the properties it was created with.
+     */
+    synchronized void addEdge(final Edge edge) {
+        this.begin(ADD_EDGE);
+        this.write(edge.id());
+        this.record.writeString(edge.label());
+        this.write(edge.outVertex().id());
+        this.write(edge.inVertex().id());
+        final Map<String, Property> properties = null == ((TinkerEdge) edge).properties ? Collections.emptyMap() : ((TinkerEdge) edge).properties;
+        this.record.writeInt(properties.size(), true);
+        for (final Property property : properties.values()) {
+            this.record.writeString(property.key());
+            this.write(property.value());
+        }
+        this.commit();
+    }
+
+    synchronized void addVertexProperty(final VertexProperty<?> vertexProperty) {
+        this.begin(ADD_VERTEX_PROPERTY);
+        this.write(vertexProperty.element().id());
+        this.write(vertexProperty.id());
+        this.record.writeString(vertexProperty.key());
+        this.write(vertexProperty.value());
+        this.commit();
+    }
+
+    synchronized void removeVertexProperty(final VertexProperty<?> vertexProperty) {
+        this.begin(REMOVE_VERTEX_PROPERTY);
+        this.write(vertexProperty.element().id());
+        this.write(vertexProperty.id());
+        this.commit();
+    }
+
+    synchronized void setMetaProperty(final TinkerVertexProperty<?> vertexProperty, final String key, final Object value) {
+        // meta-properties given to the constructor are set before the vertex property itself is logged
+        if (!isStored(vertexProperty)) return;
+        this.begin(SET_META_PROPERTY);
+        this.write(vertexProperty.element().id());
+        this.write(vertexProperty.id());
+        this.record.writeString(key);
+        this.write(value);
+        this.commit();
+    }
+
+    synchronized void removeMetaProperty(final TinkerVertexProperty<?> vertexProperty, final String key) {
+        if (!isStored(vertexProperty)) return;
+        this.begin(REMOVE_META_PROPERTY);
+        this.write(vertexProperty.element().id());
+        this.write(vertexProperty.id());
+        this.record.writeString(key);
+        this.commit();
+    }
+
+    synchronized void setEdgeProperty(final TinkerEdge edge, final String key, final Object value) {
+        // the properties an edge is created with are part of its own record
+        if (this.graph.edges.get(edge.id()) != edge) return;
+        this.begin(SET_EDGE_PROPERTY);
+        this.write(edge.id());
+        this.record.writeString(key);
+        this.write(value);
+        this.commit();
+    }
+
+    synchronized void removeEdgeProperty(final TinkerEdge edge, final String key) {
+        if (this.graph.edges.get(edge.id()) != edge) return;
+        this.begin(REMOVE_EDGE_PROPERTY);
+        this.write(edge.id());
+        this.record.writeString(key);
+        this.commit();
+    }
+
+    synchronized void removeVertex(final Vertex vertex) {
+        this.begin(REMOVE_VERTEX);
+        this.write(vertex.id());
+        this.commit();
+    }
+
+    synchronized void removeEdge(final Edge edge) {
+        this.begin(REMOVE_EDGE);
+        this.write(edge.id());
+        this.commit();
+    }
+
+    /**
+     * Begins a mutation of the graph, which holds off compaction until the matching {@link #endMutation()}. Mutations
+     * may nest and run concurrently with each other.
+     */
+    void beginMutation() {
+        this.mutationLock.readLock().lock();
+    }
+
+    /**
+     * Ends a mutation of the graph and compacts the log if it has grown too large and no mutation of this thread is
+     * still in progress.
+     */
+    void endMutation() {
+        this.mutationLock.readLock().unlock();
+        if (this.compactionDue && 0 == this.mutationLock.getReadHoldCount())
+            this.compact();
+    }
+
+    /**
+     * Writes the graph to a new snapshot and starts a new, empty log.
+     */
+    void compact() {
+        this.mutationLock.writeLock().lock();
+        try {
+            synchronized (this) {
+                this.writeSnapshot();
+            }
+        } finally {
+            this.mutationLock.writeLock().unlock();
+        }
+    }
+
+    private void writeSnapshot() {
+        try {
+            this.closeLog();
+
+            final long next = this.generation + 1;
+            final File snapshot = this.snapshotFile(next);
+            final File temporary = new File(this.directory, snapshot.getName() + ".tmp");
+            try (final FileOutputStream out = new FileOutputStream(temporary)) {
+                final OutputStream buffered = new BufferedOutputStream(out, 1 << 16);
+                this.graph.io(IoCore.gryo()).writer().create().writeGraph(buffered, this.graph);
+                buffered.flush();
+                out.getChannel().force(true);
+            }
+            Files.move(temporary.toPath(), snapshot.toPath(), StandardCopyOption.ATOMIC_MOVE);
+
+            this.generation = next;
+            this.snapshotSize = snapshot.length();
+            this.compactionDue = false;
+            this.deleteOtherGenerations();
+            this.openLog();
+        } catch (IOException ex) {
+            throw new RuntimeException(String.format("Could not write a snapshot of the graph to %s", this.directory), ex);
+        }
+    }
+
+    /**
+     * Forces the log to disk and releases it. The log is reopened should the graph be modified again.
+     */
+    synchronized void close() {
+        try {
+            this.closeLog();
+        } catch (IOException ex) {
+            throw new RuntimeException(String.format("Could not close the mutation log in %s", this.directory), ex);
+        }
+    }
+
+    private static boolean isStored(final TinkerVertexProperty<?> vertexProperty) {
+        final TinkerVertex vertex = (TinkerVertex) vertexProperty.element();
+        return null != vertex.properties && vertex.properties.getOrDefault(vertexProperty.key(), Collections.emptyList()).contains(vertexProperty);
+    }
+
+    private void begin(final byte type) {
+        this.record.setPosition(0);
+        this.record.writeByte(type);
+    }
+
+    private void write(final Object value) {
+        this.kryo.writeClassAndObject(this.record, value);
+    }
+
+    private void commit() {
+        try {
+            if (null != this.syncFailure) {
+                final IOException failure = this.syncFailure;
+                this.syncFailure = null;
+                throw failure;
+            }
+            if (null == this.log) this.openLog();
+
+            final int length = this.record.position();
+            this.crc.reset();
+            this.crc.update(this.record.getBuffer(), 0, length);
+            this.header.clear();
+            this.header.putInt(length).putInt((int) this.crc.getValue());
+            this.log.write(this.header.array());
+            this.log.write(this.record.getBuffer(), 0, length);
+            this.logSize += this.header.capacity() + length;
+
+            if (this.syncInterval <= 0)
+                this.sync();
+            else
+                this.unsynced = true;
+        } catch (IOException ex) {
+            throw new RuntimeException(String.format("Could not write to the mutation log in %s", this.directory), ex);
+        }
+
+        // the mutation being logged still holds its lock so compaction waits for it to end
+        if (this.logSize > this.compactionSize && this.logSize > this.snapshotSize)
+            this.compactionDue = true;
+    }
+
+    private synchronized void sync() throws IOException {
+        if (null == this.log) return;
+        this.log.flush();
+        this.logFile.getChannel().force(false);
+        this.unsynced = false;
+    }
+
+    private synchronized void syncInBackground() {
+        if (!this.unsynced) return;
+        try {
+            this.sync();
+        } catch (IOException ex) {
+            this.syncFailure = ex;
+        }
+    }
+
+    private void openLog() throws IOException {
+        final File file = this.logFile(this.generation);
+        this.logSize = file.length();
+        this.logFile = new FileOutputStream(file, true);
+        this.log = new BufferedOutputStream(this.logFile, 1 << 16);
+        if (this.syncInterval > 0 && null == this.syncer) {
+            this.syncer = Executors.newSingleThreadScheduledExecutor(new BasicThreadFactory.Builder().
+                    namingPattern(TinkerMutationLog.class.getSimpleName() + "-sync").daemon(true).build());
+            this.syncer.scheduleWithFixedDelay(this::syncInBackground, this.syncInterval, this.syncInterval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void closeLog() throws IOException {
+        if (null != this.syncer) {
+            this.syncer.shutdown();
+            this.syncer = null;
+        }
+        if (null != this.log) {
+            this.sync();
+            this.log.close();
+            this.log = null;
+            this.logFile = null;
+        }
+    }
+
+    private void load() throws IOException {
+        if (!this.directory.exists() && !this.directory.mkdirs())
+            throw new IOException(String.format("Could not create %s", this.directory));
+
+        final File[] files = this.directory.listFiles();
+        if (null != files) {
+            for (final File file : files) {
+                final Matcher matcher = SNAPSHOT_FILE.matcher(file.getName());
+                if (matcher.matches())
+                    this.generation = Math.max(this.generation, Long.parseLong(matcher.group(1)));
+            }
+        }
+
+        final File snapshot = this.snapshotFile(this.generation);
+        if (snapshot.exists()) {
+            this.readSnapshot(snapshot);
+            this.snapshotSize = snapshot.length();
+        }
+
+        final File logFile = this.logFile(this.generation);
+        if (logFile.exists()) {
+            final long replayed = this.replay(logFile);
+
+            // drop whatever remains of a record that was torn by a crash so that new records follow the last good one
+            if (replayed < logFile.length()) {
+                try (final RandomAccessFile file = new RandomAccessFile(logFile, "rw")) {
+                    file.setLength(replayed);
+                }
+            }
+        }
+
+        this.deleteOtherGenerations();
+        this.advanceCurrentId();
+        this.openLog();
+    }
+
+    private void readSnapshot(final File snapshot) throws IOException {
+        try (final FileChannel channel = FileChannel.open(snapshot.toPath(), StandardOpenOption.READ)) {
+            this.graph.io(IoCore.gryo()).reader().create().readGraph(new MappedInputStream(channel), this.graph);
+        }
+    }
+
+    /**
+     * Applies the records of the log to the graph until the end of the log or the first record that is incomplete or
+     * corrupt.
+     *
+     * @return the length of the log that was replayed
+     */
+    private long replay(final File file) throws IOException {
+        final long length = file.length();
+        long position = 0;
+        try (final DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), 1 << 16))) {
+            while (position + this.header.capacity() <= length) {
+                final int recordLength = in.readInt();
+                final int checksum = in.readInt();
+                if (recordLength <= 0 || position + this.header.capacity() + recordLength > length)
+                    break;
+
+                final byte[] bytes = new byte[recordLength];
+                in.readFully(bytes);
+                this.crc.reset();
+                this.crc.update(bytes, 0, recordLength);
+                if ((int) this.crc.getValue() != checksum)
+                    break;
+
+                this.apply(new Input(bytes));
+                position += this.header.capacity() + recordLength;
+            }
+        } catch (EOFException ignored) {
+            // a torn record at the end of the log
+        }
+        return position;
+    }
+
+    private void apply(final Input input) {
+        final byte type = input.readByte();
+        switch (type) {
+            case ADD_VERTEX: {
+                final Object id = this.read(input);
+                this.graph.addVertex(T.id, id, T.label, input.readString());
+                break;
+            }
+            case ADD_EDGE: {
+                final Object id = this.read(input);
+                final String label = input.readString();
+                final Vertex outVertex = this.vertex(this.read(input));
+                final Vertex inVertex = this.vertex(this.read(input));
+                final int size = input.readInt(true);
+                final Object[] keyValues = new Object[size * 2 + 2];
+                keyValues[0] = T.id;
+                keyValues[1] = id;
+                for (int i = 0; i < size; i++) {
+                    keyValues[i * 2 + 2] = input.readString();
+                    keyValues[i * 2 + 3] = this.read(input);
+                }
+                outVertex.addEdge(label, inVertex, keyValues);
+                break;
+            }
+            case ADD_VERTEX_PROPERTY: {
+                final Vertex vertex = this.vertex(this.read(input));
+                final Object id = this.read(input);
+                final String key = input.readString();
+                final Object value = this.read(input);
+                // any other property with the key must be one of several as replacing it would have been logged
+                vertex.property(vertex.properties(key).hasNext() ? VertexProperty.Cardinality.list : VertexProperty.Cardinality.single,
+                        key, value, T.id, id);
+                break;
+            }
+            case REMOVE_VERTEX_PROPERTY: {
+                final Vertex vertex = this.vertex(this.read(input));
+                this.vertexProperty(vertex, this.read(input)).remove();
+                break;
+            }
+            case SET_META_PROPERTY: {
+                final VertexProperty<?> vertexProperty = this.vertexProperty(this.vertex(this.read(input)), this.read(input));
+                vertexProperty.property(input.readString(), this.read(input));
+                break;
+            }
+            case REMOVE_META_PROPERTY: {
+                final VertexProperty<?> vertexProperty = this.vertexProperty(this.vertex(this.read(input)), this.read(input));
+                vertexProperty.property(input.readString()).remove();
+                break;
+            }
+            case SET_EDGE_PROPERTY: {
+                final Edge edge = this.edge(this.read(input));
+                edge.property(input.readString(), this.read(input));
+                break;
+            }
+            case REMOVE_EDGE_PROPERTY: {
+                final Edge edge = this.edge(this.read(input));
+                edge.property(input.readString()).remove();
+                break;
+            }
+            case REMOVE_VERTEX:
+                this.vertex(this.read(input)).remove();
+                break;
+            case REMOVE_EDGE:
+                this.edge(this.read(input)).remove();
+                break;
+            default:
+                throw new IllegalStateException(String.format("The mutation log contains a record of unknown type %s", type));
+        }
+    }
+
+    private Object read(final Input input) {
+        return this.kryo.readClassAndObject(input);
+    }
+
+    private Vertex vertex(final Object id) {
+        final Vertex vertex = this.graph.vertices.get(id);
+        if (null == vertex)
+            throw new IllegalStateException(String.format("The mutation log refers to vertex %s which does not exist", id));
+        return vertex;
+    }
+
+    private Edge edge(final Object id) {
+        final Edge edge = this.graph.edges.get(id);
+        if (null == edge)
+            throw new IllegalStateException(String.format("The mutation log refers to edge %s which does not exist", id));
+        return edge;
+    }
+
+    private VertexProperty<?> vertexProperty(final Vertex vertex, final Object id) {
+        final Iterator<VertexProperty<Object>> properties = vertex.properties();
+        while (properties.hasNext()) {
+            final VertexProperty<Object> vertexProperty = properties.next();
+            if (vertexProperty.id().equals(id))
+                return vertexProperty;
+        }
+        throw new IllegalStateException(String.format("The mutation log refers to vertex property %s which does not exist", id));
+    }
+
+    /**
+     * Moves the identifier counter of the graph past the numeric identifiers that were loaded so that the identifiers
+     * it generates, including those of vertex properties which are not checked for collisions, stay unique.
+     */
+    private void advanceCurrentId() {
+        long max = this.graph.currentId.get();
+        for (final Vertex vertex : this.graph.vertices.values()) {
+            max = Math.max(max, numeric(vertex.id()));
+            final Iterator<VertexProperty<Object>> properties = vertex.properties();
+            while (properties.hasNext()) {
+                max = Math.max(max, numeric(properties.next().id()));
+            }
+        }
+        for (final Edge edge : this.graph.edges.values()) {
+            max = Math.max(max, numeric(edge.id()));
+        }
+        this.graph.currentId.set(max);
+    }
+
+    private static long numeric(final Object id) {
+        return id instanceof Long || id instanceof Integer ? ((Number) id).longValue() : Long.MIN_VALUE;
+    }
+
+    private void deleteOtherGenerations() throws IOException {
+        final File[] files = this.directory.listFiles();
+        if (null == files) return;
+        for (final File file : files) {
+            final Matcher matcher = GENERATION_FILE.matcher(file.getName());
+            if (matcher.matches() && (Long.parseLong(matcher.group(1)) != this.generation || file.getName().endsWith(".tmp")))
+                Files.delete(file.toPath());
+        }
+    }
+
+    private File snapshotFile(final long generation) {
+        return new File(this.directory, "snapshot." + generation + ".kryo");
+    }
+
+    private File logFile(final long generation) {
+        return new File(this.directory, "mutations." + generation + ".log");
+    }
+
+    /**
+     * Streams a file by mapping it into memory a region at a time, which spares the copy through a heap buffer that
+     * reading it would otherwise take.
+     */
+    private static final class MappedInputStream extends InputStream {
+        private final FileChannel channel;
+        private final long size;
+        private long position = 0;
+        private MappedByteBuffer region = null;
+
+        MappedInputStream(final FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.size = channel.size();
+        }
+
+        @Override
+        public int read() throws IOException {
+            return this.nextRegion() ? this.region.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(final byte[] bytes, final int offset, final int length) throws IOException {
+            if (0 == length) return 0;
+            if (!this.nextRegion()) return -1;
+            final int read = Math.min(length, this.region.remaining());
+            this.region.get(bytes, offset, read);
+            return read;
+        }
+
+        @Override
+        public int available() {
+            return null == this.region ? 0 : this.region.remaining();
+        }
+
+        private boolean nextRegion() throws IOException {
+            if (null != this.region && this.region.hasRemaining())
+                return true;
+            if (this.position >= this.size)
+                return false;
+            final long length = Math.min(MAPPED_REGION_SIZE, this.size - this.position);
+            this.region = this.channel.map(FileChannel.MapMode.READ_ONLY, this.position, length);
+            this.position += length;
+            return true;
+        }
+    }
+}
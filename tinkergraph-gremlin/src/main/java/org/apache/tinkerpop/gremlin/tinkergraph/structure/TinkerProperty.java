@@ -32,6 +32,14 @@ public final class TinkerProperty<V> implements Property<V> {
     protected final Element element;
     protected final String key;
     protected V value;
+    /**
+     * The versions of the property when the graph is transactional, see {@link TinkerElement#version}.
+     */
+    protected volatile TinkerTransaction.Version version = null;
+    /**
+     * The property this one replaced when the graph is transactional, which older snapshots may still see.
+     */
+    protected TinkerProperty<V> previous = null;
 
     public TinkerProperty(final Element element, final String key, final V value) {
         this.element = element;
@@ -79,11 +87,26 @@ public final class TinkerProperty<V> implements Property<V> {
 
     @Override
     public void remove() {
-        if (this.element instanceof Edge) {
-            ((TinkerEdge) this.element).properties.remove(this.key);
-            TinkerHelper.removeIndex((TinkerEdge) this.element, this.key, this.value);
+        final TinkerTransaction transaction = ((TinkerGraph) this.element.graph()).transaction;
+        if (null != transaction && !TinkerHelper.inComputerMode((TinkerGraph) this.element.graph())) {
+            transaction.remove(this);
+        } else if (this.element instanceof Edge) {
+            final TinkerMutationLog mutationLog = TinkerHelper.beginMutation((TinkerGraph) this.element.graph());
+            try {
+                ((TinkerEdge) this.element).properties.remove(this.key);
+                TinkerHelper.removeIndex((TinkerEdge) this.element, this.key, this.value);
+                if (null != mutationLog) mutationLog.removeEdgeProperty((TinkerEdge) this.element, this.key);
+            } finally {
+                TinkerHelper.endMutation(mutationLog);
+            }
         } else {
-            ((TinkerVertexProperty) this.element).properties.remove(this.key);
+            final TinkerMutationLog mutationLog = TinkerHelper.beginMutation((TinkerGraph) this.element.graph());
+            try {
+                ((TinkerVertexProperty) this.element).properties.remove(this.key);
+                if (null != mutationLog) mutationLog.removeMetaProperty((TinkerVertexProperty) this.element, this.key);
+            } finally {
+                TinkerHelper.endMutation(mutationLog);
+            }
         }
     }
 }
@@ -0,0 +1,294 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Columnar storage for vertex properties that have {@link VertexProperty.Cardinality#single} cardinality and no
+ * meta-properties, which is what {@link TinkerGraph#GREMLIN_TINKERGRAPH_COLUMNAR_PROPERTIES} enables. Each key has a
+ * column of arrays indexed by an ordinal that a vertex is assigned the first time one of its properties is stored
+ * here. Primitive values are held unboxed and a {@link VertexProperty} is only created when a property is read, so
+ * a property costs a few array slots rather than a {@link TinkerVertexProperty} along with its list and map entry.
+ * A column is guarded by its own lock so that properties may be written from several threads, as they can be with
+ * the property maps of the vertices.
+ */
+final class TinkerPropertyColumns {
+
+    private final Map<String, Column> columns = new ConcurrentHashMap<>();
+    private final AtomicInteger nextOrdinal = new AtomicInteger(0);
+
+    public boolean contains(final TinkerVertex vertex, final String key) {
+        final Column column = this.columns.get(key);
+        return vertex.ordinal >= 0 && null != column && column.contains(vertex.ordinal);
+    }
+
+    /**
+     * Determines if any property of the vertex is stored in a column.
+     */
+    public boolean containsAny(final TinkerVertex vertex) {
+        if (vertex.ordinal < 0)
+            return false;
+        for (final Column column : this.columns.values()) {
+            if (column.contains(vertex.ordinal))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Gets a view of the property of the vertex for the key or {@code null} if it is not stored in a column.
+     */
+    public <V> VertexProperty<V> get(final TinkerVertex vertex, final String key) {
+        final Column column = this.columns.get(key);
+        return vertex.ordinal < 0 || null == column ? null : column.get(vertex, key);
+    }
+
+    /**
+     * Gets a read-only view of the properties of the vertex, both those in the specified map and those stored in
+     * columns, which never share a key.
+     */
+    public Map<String, List<VertexProperty>> asMap(final TinkerVertex vertex, final Map<String, List<VertexProperty>> properties) {
+        return new PropertiesView(vertex, null == properties ? Collections.emptyMap() : properties);
+    }
+
+    public <V> VertexProperty<V> set(final TinkerVertex vertex, final String key, final Object id, final V value) {
+        if (vertex.ordinal < 0) {
+            synchronized (vertex) {
+                if (vertex.ordinal < 0)
+                    vertex.ordinal = this.nextOrdinal.getAndIncrement();
+            }
+        }
+        this.columns.computeIfAbsent(key, k -> new Column()).set(vertex.ordinal, id, value);
+        return new TinkerColumnVertexProperty<>(id, vertex, key, value);
+    }
+
+    /**
+     * Removes the property of the vertex for the key if it is stored in a column and has the specified identifier.
+     */
+    public boolean remove(final TinkerVertex vertex, final String key, final Object id) {
+        final Column column = this.columns.get(key);
+        return vertex.ordinal >= 0 && null != column && column.remove(vertex.ordinal, id);
+    }
+
+    public void removeAll(final TinkerVertex vertex) {
+        if (vertex.ordinal < 0)
+            return;
+        for (final Column column : this.columns.values()) {
+            column.remove(vertex.ordinal, null);
+        }
+    }
+
+    /**
+     * A view of the properties of a vertex that looks a key up in the map of the vertex and then in the columns, so
+     * that reading a property does not copy the properties of the vertex.
+     */
+    private final class PropertiesView extends AbstractMap<String, List<VertexProperty>> {
+        private final TinkerVertex vertex;
+        private final Map<String, List<VertexProperty>> properties;
+
+        private PropertiesView(final TinkerVertex vertex, final Map<String, List<VertexProperty>> properties) {
+            this.vertex = vertex;
+            this.properties = properties;
+        }
+
+        @Override
+        public List<VertexProperty> get(final Object key) {
+            final List<VertexProperty> list = this.properties.get(key);
+            if (null != list || !(key instanceof String))
+                return list;
+            final VertexProperty property = TinkerPropertyColumns.this.get(this.vertex, (String) key);
+            return null == property ? null : Collections.singletonList(property);
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return null != this.get(key);
+        }
+
+        @Override
+        public Set<Entry<String, List<VertexProperty>>> entrySet() {
+            return new AbstractSet<Entry<String, List<VertexProperty>>>() {
+                @Override
+                public Iterator<Entry<String, List<VertexProperty>>> iterator() {
+                    final Iterator<Entry<String, List<VertexProperty>>> columnEntries = IteratorUtils.filter(
+                            IteratorUtils.map(TinkerPropertyColumns.this.columns.entrySet().iterator(), entry -> {
+                                final VertexProperty property = entry.getValue().get(PropertiesView.this.vertex, entry.getKey());
+                                return null == property ? null : new SimpleImmutableEntry<>(entry.getKey(), Collections.singletonList(property));
+                            }), Objects::nonNull);
+                    return IteratorUtils.concat(PropertiesView.this.properties.entrySet().iterator(), columnEntries);
+                }
+
+                @Override
+                public int size() {
+                    return (int) IteratorUtils.count(this.iterator());
+                }
+            };
+        }
+    }
+
+    /**
+     * The values of a single key. The type of each value is recorded so that numbers keep their exact class while
+     * being stored in a {@code long}. Anything that is not a primitive wrapper, including strings, is kept as a
+     * reference. Identifiers are stored as a {@code long} when they are a {@code Long}, which the default identifier
+     * managers produce.
+     */
+    private static final class Column {
+        private static final byte ABSENT = 0;
+        private static final byte INTEGER = 1;
+        private static final byte LONG = 2;
+        private static final byte DOUBLE = 3;
+        private static final byte FLOAT = 4;
+        private static final byte BOOLEAN = 5;
+        private static final byte SHORT = 6;
+        private static final byte BYTE = 7;
+        private static final byte OBJECT = 8;
+
+        private byte[] types = new byte[0];
+        private long[] values = new long[0];
+        private long[] ids = new long[0];
+        private Object[] objects = null;
+        private Object[] objectIds = null;
+
+        synchronized boolean contains(final int ordinal) {
+            return ordinal < this.types.length && ABSENT != this.types[ordinal];
+        }
+
+        /**
+         * Gets a view of the property at the ordinal or {@code null} if there is none.
+         */
+        synchronized <V> VertexProperty<V> get(final TinkerVertex vertex, final String key) {
+            final int ordinal = vertex.ordinal;
+            if (!this.contains(ordinal))
+                return null;
+            return new TinkerColumnVertexProperty<>(this.getId(ordinal), vertex, key, (V) this.getValue(ordinal));
+        }
+
+        private Object getId(final int ordinal) {
+            return null != this.objectIds && null != this.objectIds[ordinal] ? this.objectIds[ordinal] : (Object) this.ids[ordinal];
+        }
+
+        private Object getValue(final int ordinal) {
+            final long bits = this.values[ordinal];
+            switch (this.types[ordinal]) {
+                case INTEGER:
+                    return (int) bits;
+                case LONG:
+                    return bits;
+                case DOUBLE:
+                    return Double.longBitsToDouble(bits);
+                case FLOAT:
+                    return Float.intBitsToFloat((int) bits);
+                case BOOLEAN:
+                    return 0 != bits;
+                case SHORT:
+                    return (short) bits;
+                case BYTE:
+                    return (byte) bits;
+                default:
+                    return this.objects[ordinal];
+            }
+        }
+
+        synchronized void set(final int ordinal, final Object id, final Object value) {
+            this.ensureCapacity(ordinal);
+
+            if (id instanceof Long) {
+                this.ids[ordinal] = (Long) id;
+                if (null != this.objectIds)
+                    this.objectIds[ordinal] = null;
+            } else {
+                if (null == this.objectIds)
+                    this.objectIds = new Object[this.types.length];
+                this.objectIds[ordinal] = id;
+            }
+
+            if (null != this.objects)
+                this.objects[ordinal] = null;
+            if (value instanceof Integer) {
+                this.types[ordinal] = INTEGER;
+                this.values[ordinal] = (Integer) value;
+            } else if (value instanceof Long) {
+                this.types[ordinal] = LONG;
+                this.values[ordinal] = (Long) value;
+            } else if (value instanceof Double) {
+                this.types[ordinal] = DOUBLE;
+                this.values[ordinal] = Double.doubleToRawLongBits((Double) value);
+            } else if (value instanceof Float) {
+                this.types[ordinal] = FLOAT;
+                this.values[ordinal] = Float.floatToRawIntBits((Float) value);
+            } else if (value instanceof Boolean) {
+                this.types[ordinal] = BOOLEAN;
+                this.values[ordinal] = (Boolean) value ? 1 : 0;
+            } else if (value instanceof Short) {
+                this.types[ordinal] = SHORT;
+                this.values[ordinal] = (Short) value;
+            } else if (value instanceof Byte) {
+                this.types[ordinal] = BYTE;
+                this.values[ordinal] = (Byte) value;
+            } else {
+                if (null == this.objects)
+                    this.objects = new Object[this.types.length];
+                this.types[ordinal] = OBJECT;
+                this.objects[ordinal] = value;
+            }
+        }
+
+        /**
+         * Removes the property at the ordinal if there is one and it has the specified identifier, where a
+         * {@code null} identifier matches any property.
+         */
+        synchronized boolean remove(final int ordinal, final Object id) {
+            if (!this.contains(ordinal) || (null != id && !this.getId(ordinal).equals(id)))
+                return false;
+            this.types[ordinal] = ABSENT;
+            if (null != this.objects)
+                this.objects[ordinal] = null;
+            if (null != this.objectIds)
+                this.objectIds[ordinal] = null;
+            return true;
+        }
+
+        private void ensureCapacity(final int ordinal) {
+            if (ordinal < this.types.length)
+                return;
+            final int capacity = Math.max(ordinal + 1, this.types.length + (this.types.length >> 1));
+            this.types = Arrays.copyOf(this.types, capacity);
+            this.values = Arrays.copyOf(this.values, capacity);
+            this.ids = Arrays.copyOf(this.ids, capacity);
+            if (null != this.objects)
+                this.objects = Arrays.copyOf(this.objects, capacity);
+            if (null != this.objectIds)
+                this.objectIds = Arrays.copyOf(this.objectIds, capacity);
+        }
+    }
+}
@@ -0,0 +1,867 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.util.AbstractThreadLocalTransaction;
+import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
+import org.apache.tinkerpop.gremlin.structure.util.TransactionException;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * The snapshot isolated transactions of a {@link TinkerGraph}, which {@link TinkerGraph#GREMLIN_TINKERGRAPH_TRANSACTIONS}
+ * enables. A transaction reads the graph as it was when the transaction was opened, along with its own changes, and
+ * its changes become visible to other transactions all at once when it commits.
+ * <p/>
+ * Rather than being modified in place, the graph keeps multiple versions of the data. Every vertex, edge, vertex
+ * property and property carries a {@link Version} that records the commit which created it and the commit which
+ * removed it, so a reader decides what it sees by comparing those to the commit its snapshot was taken at and never
+ * has to lock. Setting a property of an edge or vertex property creates a new {@link TinkerProperty} that links to the
+ * one it replaces so that older snapshots can still find the value they saw. Commits are numbered in the order that
+ * they complete and are serialized, but they only have to stamp versions and update indices, so they are short.
+ * <p/>
+ * Changes are made eagerly to the shared structures of the graph, where they remain invisible to other transactions
+ * until the commit. A transaction must hold an element to change it and holding fails immediately with a
+ * {@link TransactionException} if another transaction holds it or committed a change to it since the snapshot was
+ * taken, which makes the first committer win. Adding an edge does not hold its vertices, so the conflict between it
+ * and the removal of one of them is detected when the later of the two commits instead.
+ * <p/>
+ * Versions that no snapshot can see anymore are unlinked from the graph once the transactions that were open when
+ * they were replaced have closed, so transactions should be closed promptly, even when they only read. Indices
+ * reflect the latest commit and are only used by transactions whose snapshot is that commit and which have no
+ * changes of their own, while other transactions scan instead. A {@link org.apache.tinkerpop.gremlin.process.computer.GraphComputer}
+ * and the {@link Graph.Variables} are not transactional, the former reading the latest commit and committing the
+ * properties it writes back to the graph on its own.
+ */
+public final class TinkerTransaction extends AbstractThreadLocalTransaction {
+
+    /**
+     * The version of changes that are not yet committed, which is newer than any snapshot.
+     */
+    private static final long PENDING = Long.MAX_VALUE - 1;
+
+    /**
+     * The removal version of data that has not been removed.
+     */
+    private static final long NEVER = Long.MAX_VALUE;
+
+    private final TinkerGraph graph;
+    private final ThreadLocal<Context> context = new ThreadLocal<>();
+    private final Set<Context> open = ConcurrentHashMap.newKeySet();
+    private final Queue<Garbage> garbage = new ConcurrentLinkedQueue<>();
+    private final Object commitLock = new Object();
+
+    /**
+     * The version of the latest commit, which is the snapshot a transaction opened now would read.
+     */
+    private volatile long committedVersion = 0L;
+
+    /**
+     * The version of the commit that last updated the indices, which is set before the update begins so that a
+     * reader can tell whether an update happened while it was querying an index.
+     */
+    private volatile long indexVersion = 0L;
+
+    TinkerTransaction(final TinkerGraph graph) {
+        super(graph);
+        this.graph = graph;
+
+        // the data loaded so far is shared with the transactions from here on and so has to tolerate concurrent reads
+        graph.vertices.values().forEach(vertex -> concurrent((TinkerVertex) vertex));
+        graph.edges.values().forEach(edge -> ((TinkerEdge) edge).properties = concurrent(((TinkerEdge) edge).properties));
+    }
+
+    @Override
+    protected void doOpen() {
+        final Context context = new Context();
+        // registered before the snapshot is taken so that collection never unlinks a version the snapshot sees
+        this.open.add(context);
+        context.readVersion = this.committedVersion;
+        this.context.set(context);
+    }
+
+    @Override
+    protected void doCommit() throws TransactionException {
+        final Context context = this.context.get();
+        try {
+            if (!context.owned.isEmpty()) {
+                synchronized (this.commitLock) {
+                    this.validate(context);
+                    final long version = this.committedVersion + 1;
+                    this.indexVersion = version;
+                    this.index(context);
+                    this.stamp(context, version);
+                    this.committedVersion = version;
+                }
+            }
+        } catch (TransactionException ex) {
+            this.undo(context);
+            throw ex;
+        } finally {
+            this.finish(context);
+        }
+    }
+
+    @Override
+    protected void doRollback() throws TransactionException {
+        final Context context = this.context.get();
+        try {
+            this.undo(context);
+        } finally {
+            this.finish(context);
+        }
+    }
+
+    @Override
+    public boolean isOpen() {
+        return null != this.context.get();
+    }
+
+    ////////////// READS //////////////////
+
+    /**
+     * Gets the context of the transaction of the current thread, opening one as the read-write behavior of the
+     * transaction dictates. In computer mode the latest commit is read without a transaction.
+     */
+    private Context current() {
+        if (TinkerHelper.inComputerMode(this.graph))
+            return new Context(this.committedVersion);
+        this.readWrite();
+        final Context context = this.context.get();
+        return null == context ? new Context(this.committedVersion) : context;
+    }
+
+    boolean isVisible(final Object versioned) {
+        return isVisible(versionOf(versioned), this.current());
+    }
+
+    <E extends Element> Iterator<E> filter(final Iterator<E> elements) {
+        final Context context = this.current();
+        return IteratorUtils.filter(elements, element -> isVisible(versionOf(element), context));
+    }
+
+    /**
+     * Determines if the indices reflect what the transaction of the current thread sees, which is only the case if
+     * its snapshot is the latest commit, the indices are not being updated and it has not made changes of its own.
+     */
+    boolean isIndexCurrent() {
+        final Context context = this.current();
+        return context.owned.isEmpty() && context.readVersion >= this.indexVersion;
+    }
+
+    <V> VertexProperty<V> property(final TinkerVertex vertex, final String key) {
+        final Context context = this.current();
+        if (!isVisible(vertex.version, context))
+            return VertexProperty.empty();
+
+        final List<VertexProperty> list = visibleProperties(vertex, key, context);
+        if (list.isEmpty())
+            return VertexProperty.empty();
+        else if (list.size() == 1)
+            return list.get(0);
+        else
+            throw Vertex.Exceptions.multiplePropertiesExistForProvidedKey(key);
+    }
+
+    <V> Iterator<VertexProperty<V>> properties(final TinkerVertex vertex, final String... propertyKeys) {
+        final Context context = this.current();
+        final Map<String, List<VertexProperty>> properties = vertex.properties;
+        if (null == properties || !isVisible(vertex.version, context))
+            return Collections.emptyIterator();
+        if (propertyKeys.length == 1)
+            return (Iterator) visibleProperties(vertex, propertyKeys[0], context).iterator();
+
+        final List<VertexProperty> visible = new ArrayList<>();
+        properties.forEach((key, list) -> {
+            if (ElementHelper.keyExists(key, propertyKeys))
+                visible.addAll(visibleProperties(list, context));
+        });
+        return (Iterator) visible.iterator();
+    }
+
+    Map<String, List<VertexProperty>> getProperties(final TinkerVertex vertex) {
+        final Context context = this.current();
+        final Map<String, List<VertexProperty>> properties = vertex.properties;
+        if (null == properties || !isVisible(vertex.version, context))
+            return Collections.emptyMap();
+
+        final Map<String, List<VertexProperty>> visible = new ConcurrentHashMap<>();
+        properties.forEach((key, list) -> {
+            final List<VertexProperty> visibleList = visibleProperties(list, context);
+            if (!visibleList.isEmpty()) visible.put(key, visibleList);
+        });
+        return visible;
+    }
+
+    Set<String> keys(final TinkerVertex vertex) {
+        return this.getProperties(vertex).keySet();
+    }
+
+    /**
+     * Gets the property of an edge or vertex property.
+     */
+    <V> Property<V> property(final TinkerElement element, final String key) {
+        final Context context = this.current();
+        if (!isVisible(element.version, context))
+            return Property.empty();
+        final Map<String, Property> properties = propertiesOf(element);
+        final Property<V> property = null == properties || null == key ? null : resolve(properties.get(key), context);
+        return null == property ? Property.empty() : property;
+    }
+
+    /**
+     * Gets the properties of an edge or vertex property.
+     */
+    <V> Iterator<Property<V>> properties(final TinkerElement element, final String... propertyKeys) {
+        final Context context = this.current();
+        final Map<String, Property> properties = propertiesOf(element);
+        if (null == properties || !isVisible(element.version, context))
+            return Collections.emptyIterator();
+
+        final List<Property<V>> visible = new ArrayList<>();
+        properties.forEach((key, head) -> {
+            if (ElementHelper.keyExists(key, propertyKeys)) {
+                final Property<V> property = resolve(head, context);
+                if (null != property) visible.add(property);
+            }
+        });
+        return visible.iterator();
+    }
+
+    /**
+     * Gets the keys of the properties of an edge or vertex property.
+     */
+    Set<String> keys(final TinkerElement element) {
+        final Set<String> keys = new HashSet<>();
+        this.properties(element).forEachRemaining(property -> keys.add(property.key()));
+        return keys;
+    }
+
+    ////////////// WRITES //////////////////
+
+    Vertex addVertex(final Object id, final String label, final Object... keyValues) {
+        final Context context = this.current();
+        final Object idValue = null == id ? this.graph.vertexIdManager.getNextId(this.graph) : id;
+        final TinkerVertex vertex = new TinkerVertex(idValue, label, this.graph);
+        create(vertex, context);
+        Vertex existing;
+        while (null != (existing = this.graph.vertices.putIfAbsent(idValue, vertex))) {
+            if (!this.reuse(existing, context)) {
+                release(vertex, context);
+                throw isVisible(((TinkerVertex) existing).version, context) ? Graph.Exceptions.vertexWithIdAlreadyExists(idValue) : conflict(existing);
+            }
+        }
+        TinkerHelper.addLabelled(this.graph.vertexLabels, vertex);
+
+        ElementHelper.attachProperties(vertex, VertexProperty.Cardinality.list, keyValues);
+        return vertex;
+    }
+
+    <V> VertexProperty<V> addVertexProperty(final TinkerVertex vertex, final Object id, final String key, final V value, final Object... keyValues) {
+        final Context context = this.current();
+        if (!isVisible(vertex.version, context))
+            throw TinkerElement.elementAlreadyRemoved(Vertex.class, vertex.id);
+        // holding the vertex keeps two transactions from both adding a property for a key of single cardinality
+        acquire(vertex, context);
+
+        final TinkerVertexProperty<V> vertexProperty = new TinkerVertexProperty<>(id, vertex, key, value);
+        create(vertexProperty, context);
+        if (null == vertex.properties) vertex.properties = new ConcurrentHashMap<>();
+        // added within the compute so that collection cannot unlink the list at the same time
+        vertex.properties.compute(key, (k, list) -> {
+            final List<VertexProperty> l = null == list ? new CopyOnWriteArrayList<>() : list;
+            l.add(vertexProperty);
+            return l;
+        });
+        ElementHelper.attachProperties(vertexProperty, keyValues);
+        return vertexProperty;
+    }
+
+    Edge addEdge(final TinkerVertex outVertex, final TinkerVertex inVertex, final String label, final Object id, final Object... keyValues) {
+        final Context context = this.current();
+        if (!isVisible(outVertex.version, context))
+            throw TinkerElement.elementAlreadyRemoved(Vertex.class, outVertex.id);
+        if (!isVisible(inVertex.version, context))
+            throw TinkerElement.elementAlreadyRemoved(Vertex.class, inVertex.id);
+
+        final Object idValue = null == id ? this.graph.edgeIdManager.getNextId(this.graph) : id;
+        final TinkerEdge edge = new TinkerEdge(idValue, outVertex, label, inVertex);
+        create(edge, context);
+        Edge existing;
+        while (null != (existing = this.graph.edges.putIfAbsent(idValue, edge))) {
+            if (!this.reuse(existing, context)) {
+                release(edge, context);
+                throw isVisible(((TinkerEdge) existing).version, context) ? Graph.Exceptions.edgeWithIdAlreadyExists(idValue) : conflict(existing);
+            }
+        }
+        TinkerHelper.addLabelled(this.graph.edgeLabels, edge);
+        ElementHelper.attachProperties(edge, keyValues);
+        addAdjacent(outVertex, Direction.OUT, label, edge);
+        addAdjacent(inVertex, Direction.IN, label, edge);
+        return edge;
+    }
+
+    /**
+     * Sets the property of an edge or vertex property.
+     */
+    <V> Property<V> property(final TinkerElement element, final String key, final V value) {
+        final Context context = this.current();
+        if (!isVisible(element.version, context))
+            throw TinkerElement.elementAlreadyRemoved(element instanceof Edge ? Edge.class : VertexProperty.class, element.id);
+        acquire(element, context);
+
+        final TinkerProperty<V> property = new TinkerProperty<>(element, key, value);
+        create(property, context);
+        Map<String, Property> properties = propertiesOf(element);
+        if (null == properties) {
+            properties = new ConcurrentHashMap<>();
+            if (element instanceof TinkerEdge)
+                ((TinkerEdge) element).properties = properties;
+            else
+                ((TinkerVertexProperty) element).properties = properties;
+        }
+        // the replaced versions stay reachable for the snapshots that still see them
+        property.previous = (TinkerProperty) properties.get(key);
+        properties.put(key, property);
+        return property;
+    }
+
+    void remove(final TinkerProperty property) {
+        final Context context = this.current();
+        final TinkerElement element = (TinkerElement) property.element;
+        final Map<String, Property> properties = propertiesOf(element);
+        if (null == properties || !isVisible(element.version, context) || resolve(properties.get(property.key), context) != property)
+            return;
+
+        acquire(element, context);
+        markRemoved(property, context);
+    }
+
+    /**
+     * Removes a vertex, along with its edges and properties, or an edge or a vertex property.
+     */
+    void remove(final TinkerElement element) {
+        final Context context = this.current();
+        if (!isVisible(element.version, context))
+            return;
+
+        final Version version = acquire(element, context);
+        if (element instanceof TinkerVertex) {
+            final TinkerVertex vertex = (TinkerVertex) element;
+            final List<TinkerEdge> edges = new ArrayList<>();
+            TinkerHelper.getEdges(vertex, Direction.BOTH).forEachRemaining(edges::add);
+            for (final TinkerEdge edge : edges) {
+                // a self-loop is returned twice but is no longer visible the second time
+                if (isVisible(edge.version, context))
+                    acquire(edge, context).removed = PENDING;
+            }
+            if (null != vertex.properties) {
+                for (final List<VertexProperty> list : vertex.properties.values()) {
+                    for (final VertexProperty vertexProperty : visibleProperties(list, context)) {
+                        acquire(vertexProperty, context).removed = PENDING;
+                    }
+                }
+            }
+        }
+        version.removed = PENDING;
+    }
+
+    /**
+     * Runs an indexer over the latest commit with the indices set aside from readers, which is how an index is
+     * created over the data of a transactional graph.
+     */
+    void reindex(final Runnable indexer) {
+        synchronized (this.commitLock) {
+            final long version = this.committedVersion + 1;
+            this.indexVersion = version;
+            final Context current = this.context.get();
+            this.context.set(new Context(this.committedVersion));
+            try {
+                indexer.run();
+            } finally {
+                if (null == current)
+                    this.context.remove();
+                else
+                    this.context.set(current);
+                this.committedVersion = version;
+            }
+        }
+    }
+
+    ////////////// COMMIT, ROLLBACK AND COLLECTION //////////////////
+
+    /**
+     * Fails the commit if it adds an edge to a vertex that a commit since removed or removes a vertex that a commit
+     * since added an edge to, the only conflicts that holding elements does not rule out.
+     */
+    private void validate(final Context context) {
+        final long committed = this.committedVersion;
+        for (final Object versioned : context.owned) {
+            if (versioned instanceof TinkerEdge && PENDING == ((TinkerEdge) versioned).version.created) {
+                final TinkerEdge edge = (TinkerEdge) versioned;
+                if (isRemoved((TinkerVertex) edge.outVertex, committed) || isRemoved((TinkerVertex) edge.inVertex, committed))
+                    throw conflict(edge);
+            } else if (versioned instanceof TinkerVertex && PENDING == ((TinkerVertex) versioned).version.removed) {
+                final TinkerVertex vertex = (TinkerVertex) versioned;
+                for (final Map<String, Set<Edge>> adjacency : Arrays.asList(vertex.outEdges, vertex.inEdges)) {
+                    if (null == adjacency) continue;
+                    for (final Set<Edge> edges : adjacency.values()) {
+                        for (final Edge edge : edges) {
+                            final Version version = ((TinkerEdge) edge).version;
+                            if (null == version || (version.owner != context && version.created <= committed && version.removed > committed))
+                                throw conflict(vertex);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean isRemoved(final TinkerVertex vertex, final long committed) {
+        final Version version = vertex.version;
+        return null != version && version.removed <= committed;
+    }
+
+    /**
+     * Brings the indices up to date with the elements that the transaction changed, which is done before the commit
+     * is visible so that a snapshot of it can use them as soon as it is.
+     */
+    private void index(final Context context) {
+        if (null == this.graph.vertexIndex && null == this.graph.edgeIndex)
+            return;
+
+        final Set<TinkerElement> changed = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (final Object versioned : context.owned) {
+            if (versioned instanceof TinkerVertexProperty)
+                changed.add((TinkerVertex) ((TinkerVertexProperty) versioned).element());
+            else if (versioned instanceof TinkerProperty) {
+                final Element element = ((TinkerProperty) versioned).element;
+                if (element instanceof TinkerEdge) changed.add((TinkerEdge) element);
+            } else
+                changed.add((TinkerElement) versioned);
+        }
+
+        final Context previous = new Context(this.committedVersion);
+        for (final TinkerElement element : changed) {
+            final boolean present = isVisible(element.version, context);
+            if (element instanceof TinkerVertex && null != this.graph.vertexIndex)
+                this.graph.vertexIndex.update((TinkerVertex) element, key -> values(element, key, previous), present);
+            else if (element instanceof TinkerEdge && null != this.graph.edgeIndex)
+                this.graph.edgeIndex.update((TinkerEdge) element, key -> values(element, key, previous), present);
+        }
+    }
+
+    private void stamp(final Context context, final long version) {
+        for (final Object versioned : context.owned) {
+            final Version v = versionOf(versioned);
+            if (PENDING == v.created) {
+                v.created = version;
+                if (versioned instanceof TinkerProperty && null != ((TinkerProperty) versioned).previous)
+                    this.garbage.add(new Garbage(version, versioned));
+            }
+            if (PENDING == v.removed) {
+                v.removed = version;
+                this.garbage.add(new Garbage(version, versioned));
+            }
+            v.modified = version;
+        }
+        // ownership is given up only once everything is stamped so that a writer which takes over finds the stamps
+        for (final Object versioned : context.owned) {
+            versionOf(versioned).owner = null;
+        }
+    }
+
+    private void undo(final Context context) {
+        for (final Object versioned : context.owned) {
+            final Version version = versionOf(versioned);
+            if (PENDING == version.created)
+                this.unlink(versioned, context);
+            else if (PENDING == version.removed)
+                version.removed = NEVER;
+        }
+        for (final Object versioned : context.owned) {
+            versionOf(versioned).owner = null;
+        }
+    }
+
+    private void finish(final Context context) {
+        this.open.remove(context);
+        this.context.remove();
+        this.collect();
+    }
+
+    /**
+     * Unlinks the versions that are no longer visible to any open transaction.
+     */
+    private void collect() {
+        if (this.garbage.isEmpty())
+            return;
+
+        synchronized (this.garbage) {
+            long oldest = this.committedVersion;
+            for (final Context context : this.open) {
+                final long readVersion = context.readVersion;
+                // the snapshot of a transaction that is being opened is not known yet so it could be any version
+                if (readVersion < 0) return;
+                oldest = Math.min(oldest, readVersion);
+            }
+
+            Garbage next;
+            while (null != (next = this.garbage.peek()) && next.version <= oldest) {
+                this.garbage.poll();
+                if (versionOf(next.versioned).removed <= next.version)
+                    this.unlink(next.versioned, null);
+                else
+                    ((TinkerProperty) next.versioned).previous = null;
+            }
+        }
+    }
+
+    /**
+     * Frees the identifier of an element that the transaction both created and removed so that it can be used again,
+     * returning {@code false} if the element still holds it.
+     */
+    private boolean reuse(final Object existing, final Context context) {
+        final Version version = versionOf(existing);
+        if (null == version || version.owner != context || PENDING != version.removed)
+            return false;
+        // older snapshots may still see an element that was committed so it keeps its identifier until it is gone
+        if (PENDING != version.created)
+            throw new TransactionException(String.format("%s was removed by this transaction and its id may only be reused once that is committed", existing));
+        this.unlink(existing, context);
+        context.owned.remove(existing);
+        return true;
+    }
+
+    /**
+     * Removes a version from the structures of the graph, either because its creation was rolled back, in which case
+     * the context is that of the transaction rolling back, or because its removal is no longer visible.
+     */
+    private void unlink(final Object versioned, final Context context) {
+        if (versioned instanceof TinkerVertex) {
+            final TinkerVertex vertex = (TinkerVertex) versioned;
+            this.graph.vertices.remove(vertex.id, vertex);
+            TinkerHelper.removeLabelled(this.graph.vertexLabels, vertex);
+        } else if (versioned instanceof TinkerEdge) {
+            final TinkerEdge edge = (TinkerEdge) versioned;
+            removeAdjacent((TinkerVertex) edge.outVertex, Direction.OUT, edge);
+            removeAdjacent((TinkerVertex) edge.inVertex, Direction.IN, edge);
+            if (null != context) TinkerHelper.removeElementIndex(edge);
+            this.graph.edges.remove(edge.id, edge);
+            TinkerHelper.removeLabelled(this.graph.edgeLabels, edge);
+        } else if (versioned instanceof TinkerVertexProperty) {
+            final TinkerVertexProperty<?> vertexProperty = (TinkerVertexProperty<?>) versioned;
+            final TinkerVertex vertex = (TinkerVertex) vertexProperty.element();
+            if (null != vertex.properties) {
+                vertex.properties.computeIfPresent(vertexProperty.key(), (k, list) -> {
+                    list.remove(vertexProperty);
+                    return list.isEmpty() ? null : list;
+                });
+            }
+        } else {
+            final TinkerProperty<?> property = (TinkerProperty<?>) versioned;
+            final Map<String, Property> properties = propertiesOf((TinkerElement) property.element);
+            if (null == properties)
+                return;
+            if (null == context) {
+                properties.remove(property.key, property);
+            } else {
+                // the versions created by the transaction are all newer than any other for the key
+                properties.computeIfPresent(property.key, (k, head) -> {
+                    TinkerProperty<?> p = (TinkerProperty<?>) head;
+                    while (null != p && null != p.version && p.version.owner == context && PENDING == p.version.created) {
+                        p = p.previous;
+                    }
+                    return p;
+                });
+            }
+        }
+    }
+
+    ////////////// VERSIONS //////////////////
+
+    private static boolean isVisible(final Version version, final Context context) {
+        if (null == version)
+            return true;
+        final boolean owned = version.owner == context;
+        final long created = version.created;
+        if (created > context.readVersion && !(owned && PENDING == created))
+            return false;
+        final long removed = version.removed;
+        return removed > context.readVersion && !(owned && PENDING == removed);
+    }
+
+    /**
+     * Finds the version of a property that a snapshot sees by walking from the latest version to older ones.
+     */
+    private static <V> TinkerProperty<V> resolve(final Property head, final Context context) {
+        for (TinkerProperty<V> property = (TinkerProperty<V>) head; null != property; property = property.previous) {
+            final Version version = property.version;
+            if (null == version)
+                return property;
+            final boolean owned = version.owner == context;
+            final long created = version.created;
+            if (created <= context.readVersion || (owned && PENDING == created)) {
+                final long removed = version.removed;
+                return removed <= context.readVersion || (owned && PENDING == removed) ? null : property;
+            }
+        }
+        return null;
+    }
+
+    private static List<VertexProperty> visibleProperties(final TinkerVertex vertex, final String key, final Context context) {
+        final Map<String, List<VertexProperty>> properties = vertex.properties;
+        final List<VertexProperty> list = null == properties || null == key ? null : properties.get(key);
+        return null == list ? Collections.emptyList() : visibleProperties(list, context);
+    }
+
+    private static List<VertexProperty> visibleProperties(final List<VertexProperty> list, final Context context) {
+        final List<VertexProperty> visible = new ArrayList<>(list.size());
+        for (final VertexProperty vertexProperty : list) {
+            if (isVisible(((TinkerVertexProperty) vertexProperty).version, context))
+                visible.add(vertexProperty);
+        }
+        return visible;
+    }
+
+    private static List<Object> values(final TinkerElement element, final String key, final Context context) {
+        if (!isVisible(element.version, context))
+            return Collections.emptyList();
+        if (element instanceof TinkerVertex) {
+            final List<Object> values = new ArrayList<>();
+            visibleProperties((TinkerVertex) element, key, context).forEach(vertexProperty -> values.add(vertexProperty.value()));
+            return values;
+        } else {
+            final Map<String, Property> properties = propertiesOf(element);
+            final TinkerProperty<?> property = null == properties || null == key ? null : resolve(properties.get(key), context);
+            return null == property ? Collections.emptyList() : Collections.singletonList(property.value());
+        }
+    }
+
+    private static Version versionOf(final Object versioned) {
+        return versioned instanceof TinkerElement ? ((TinkerElement) versioned).version : ((TinkerProperty) versioned).version;
+    }
+
+    private static void create(final Object versioned, final Context context) {
+        final Version version = new Version(PENDING, context);
+        if (versioned instanceof TinkerElement)
+            ((TinkerElement) versioned).version = version;
+        else
+            ((TinkerProperty) versioned).version = version;
+        context.owned.add(versioned);
+    }
+
+    private static void release(final Object versioned, final Context context) {
+        versionOf(versioned).owner = null;
+        context.owned.remove(versioned);
+    }
+
+    /**
+     * Holds an element for the transaction so that it can change it, failing if another transaction holds it or has
+     * changed it since the snapshot was taken.
+     */
+    private static Version acquire(final Object versioned, final Context context) {
+        Version version = versionOf(versioned);
+        if (null == version)
+            version = attach(versioned);
+        if (version.owner == context)
+            return version;
+
+        if (version.modified > context.readVersion || !Version.OWNER.compareAndSet(version, null, context))
+            throw conflict(versioned);
+        context.owned.add(versioned);
+        // a commit stamps the version before it lets go, so a change that raced the check above is seen now
+        if (version.modified > context.readVersion) {
+            release(versioned, context);
+            throw conflict(versioned);
+        }
+        return version;
+    }
+
+    /**
+     * Marks a property of an element that the transaction holds as removed.
+     */
+    private static void markRemoved(final TinkerProperty<?> property, final Context context) {
+        Version version = property.version;
+        if (null == version)
+            version = attach(property);
+        version.owner = context;
+        version.removed = PENDING;
+        context.owned.add(property);
+    }
+
+    /**
+     * Gives data that existed before transactions were enabled, or was loaded without them, the version it
+     * implicitly has, which is created before any commit and never removed.
+     */
+    private static Version attach(final Object versioned) {
+        synchronized (versioned) {
+            Version version = versionOf(versioned);
+            if (null == version) {
+                version = new Version(0L, null);
+                if (versioned instanceof TinkerElement)
+                    ((TinkerElement) versioned).version = version;
+                else
+                    ((TinkerProperty) versioned).version = version;
+            }
+            return version;
+        }
+    }
+
+    private static TransactionException conflict(final Object versioned) {
+        return new TransactionException(String.format("%s was changed by a concurrent transaction", versioned));
+    }
+
+    ////////////// STRUCTURES //////////////////
+
+    private static Map<String, Property> propertiesOf(final TinkerElement element) {
+        return element instanceof TinkerEdge ? ((TinkerEdge) element).properties : ((TinkerVertexProperty) element).properties;
+    }
+
+    private static void addAdjacent(final TinkerVertex vertex, final Direction direction, final String label, final Edge edge) {
+        Map<String, Set<Edge>> adjacency = Direction.OUT == direction ? vertex.outEdges : vertex.inEdges;
+        if (null == adjacency) {
+            // edges are added to a vertex without holding it so the map may be created by two transactions at once
+            synchronized (vertex) {
+                adjacency = Direction.OUT == direction ? vertex.outEdges : vertex.inEdges;
+                if (null == adjacency) {
+                    adjacency = new ConcurrentHashMap<>();
+                    if (Direction.OUT == direction)
+                        vertex.outEdges = adjacency;
+                    else
+                        vertex.inEdges = adjacency;
+                }
+            }
+        }
+        adjacency.computeIfAbsent(label, k -> ConcurrentHashMap.newKeySet()).add(edge);
+    }
+
+    private static void removeAdjacent(final TinkerVertex vertex, final Direction direction, final TinkerEdge edge) {
+        final Map<String, Set<Edge>> adjacency = Direction.OUT == direction ? vertex.outEdges : vertex.inEdges;
+        final Set<Edge> edges = null == adjacency ? null : adjacency.get(edge.label);
+        if (null != edges) edges.remove(edge);
+    }
+
+    private static void concurrent(final TinkerVertex vertex) {
+        if (null != vertex.properties) {
+            final Map<String, List<VertexProperty>> properties = new ConcurrentHashMap<>();
+            vertex.properties.forEach((key, list) -> {
+                list.forEach(vertexProperty -> ((TinkerVertexProperty) vertexProperty).properties =
+                        concurrent(((TinkerVertexProperty) vertexProperty).properties));
+                properties.put(key, new CopyOnWriteArrayList<>(list));
+            });
+            vertex.properties = properties;
+        }
+        vertex.outEdges = concurrentAdjacency(vertex.outEdges);
+        vertex.inEdges = concurrentAdjacency(vertex.inEdges);
+    }
+
+    private static Map<String, Property> concurrent(final Map<String, Property> properties) {
+        return null == properties ? null : new ConcurrentHashMap<>(properties);
+    }
+
+    private static Map<String, Set<Edge>> concurrentAdjacency(final Map<String, Set<Edge>> adjacency) {
+        if (null == adjacency)
+            return null;
+        final Map<String, Set<Edge>> concurrent = new ConcurrentHashMap<>();
+        adjacency.forEach((label, edges) -> {
+            final Set<Edge> set = ConcurrentHashMap.newKeySet();
+            set.addAll(edges);
+            concurrent.put(label, set);
+        });
+        return concurrent;
+    }
+
+    /**
+     * The versions of a vertex, edge, vertex property or property.
+     */
+    static final class Version {
+        private static final AtomicReferenceFieldUpdater<Version, Context> OWNER =
+                AtomicReferenceFieldUpdater.newUpdater(Version.class, Context.class, "owner");
+
+        private volatile long created;
+        private volatile long removed = NEVER;
+
+        /**
+         * The version of the last commit that changed the data, which is how a conflict with a commit that happened
+         * after a snapshot was taken is detected.
+         */
+        private volatile long modified;
+
+        /**
+         * The transaction that holds the data, if any.
+         */
+        private volatile Context owner;
+
+        private Version(final long created, final Context owner) {
+            this.created = created;
+            this.modified = created;
+            this.owner = owner;
+        }
+    }
+
+    /**
+     * The state of an open transaction.
+     */
+    static final class Context {
+        private volatile long readVersion = -1L;
+        private final Set<Object> owned = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        private Context() {
+        }
+
+        /**
+         * Creates a context that reads the specified version without changing anything.
+         */
+        private Context(final long readVersion) {
+            this.readVersion = readVersion;
+        }
+    }
+
+    private static final class Garbage {
+        private final long version;
+        private final Object versioned;
+
+        private Garbage(final long version, final Object versioned) {
+            this.version = version;
+            this.versioned = versioned;
+        }
+    }
+}
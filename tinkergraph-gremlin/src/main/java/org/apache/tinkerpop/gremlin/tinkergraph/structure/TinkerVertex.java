@@ -45,6 +45,17 @@ public final class TinkerVertex extends TinkerElement implements Vertex {
     protected Map<String, List<VertexProperty>> properties;
     protected Map<String, Set<Edge>> outEdges;
     protected Map<String, Set<Edge>> inEdges;
+    /**
+     * The position of the vertex in the {@link TinkerPropertyColumns} of the graph or -1 if none of its properties
+     * have been stored there.
+     */
+    protected volatile int ordinal = -1;
+    /**
+     * The position of the vertex among those of the graph computation it was last part of, which is only meaningful
+     * while the {@link org.apache.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphComputerView} of that
+     * computation is the one of the graph.
+     */
+    protected int computeOrdinal = -1;
     private final TinkerGraph graph;
     private boolean allowNullPropertyValues;
 
@@ -63,13 +74,9 @@ public final class TinkerVertex extends TinkerElement implements Vertex {
     public <V> VertexProperty<V> property(final String key) {
         if (this.removed) return VertexProperty.empty();
         if (TinkerHelper.inComputerMode(this.graph)) {
-            final List<VertexProperty> list = (List) this.graph.graphComputerView.getProperty(this, key);
-            if (list.size() == 0)
-                return VertexProperty.<V>empty();
-            else if (list.size() == 1)
-                return list.get(0);
-            else
-                throw Vertex.Exceptions.multiplePropertiesExistForProvidedKey(key);
+            return this.graph.graphComputerView.getSingleProperty(this, key);
+        } else if (null != this.graph.transaction) {
+            return this.graph.transaction.property(this, key);
         } else {
             if (this.properties != null && this.properties.containsKey(key)) {
                 final List<VertexProperty> list = (List) this.properties.get(key);
@@ -77,6 +84,8 @@ public final class TinkerVertex extends TinkerElement implements Vertex {
                     throw Vertex.Exceptions.multiplePropertiesExistForProvidedKey(key);
                 else
                     return list.get(0);
+            } else if (null != this.graph.vertexColumns && this.graph.vertexColumns.contains(this, key)) {
+                return this.graph.vertexColumns.get(this, key);
             } else
                 return VertexProperty.<V>empty();
         }
@@ -97,6 +106,10 @@ public final class TinkerVertex extends TinkerElement implements Vertex {
             return VertexProperty.empty();
         }
 
+        // the common write of a vertex program replaces the value in place rather than gathering and removing the old
+        if (VertexProperty.Cardinality.single == cardinality && keyValues.length == 0 && TinkerHelper.inComputerMode(this.graph))
+            return (VertexProperty<V>) this.graph.graphComputerView.setProperty(this, key, value);
+
         final Optional<Object> optionalId = ElementHelper.getIdValue(keyValues);
         final Optional<VertexProperty<V>> optionalVertexProperty = ElementHelper.stageVertexProperty(this, cardinality, key, value, keyValues);
         if (optionalVertexProperty.isPresent()) return optionalVertexProperty.get();
@@ -106,30 +119,82 @@ public final class TinkerVertex extends TinkerElement implements Vertex {
             ElementHelper.attachProperties(vertexProperty, keyValues);
             return vertexProperty;
         } else {
-            final Object idValue = optionalId.isPresent() ?
-                    graph.vertexPropertyIdManager.convert(optionalId.get()) :
-                    graph.vertexPropertyIdManager.getNextId(graph);
+            final TinkerMutationLog mutationLog = TinkerHelper.beginMutation(this.graph);
+            try {
+                if (null != this.graph.vertexColumns) {
+                    final VertexProperty.Cardinality card = null == cardinality ? graph.features().vertex().getCardinality(key) : cardinality;
+                    // an identifier alone is allowed so that properties keep to their columns when replayed from a log
+                    if (VertexProperty.Cardinality.single == card &&
+                            keyValues.length == (optionalId.isPresent() ? 2 : 0) &&
+                            (null == this.properties || !this.properties.containsKey(key))) {
+                        final VertexProperty<V> vertexProperty = this.graph.vertexColumns.set(this, key,
+                                optionalId.isPresent() ?
+                                        graph.vertexPropertyIdManager.convert(optionalId.get()) :
+                                        graph.vertexPropertyIdManager.getNextId(graph), value);
+                        TinkerHelper.autoUpdateIndex(this, key, value, null);
+                        if (null != mutationLog) mutationLog.addVertexProperty(vertexProperty);
+                        return vertexProperty;
+                    }
 
-            final VertexProperty<V> vertexProperty = new TinkerVertexProperty<V>(idValue, this, key, value);
+                    // any other property for the key has to live alongside this one
+                    this.materialize(key, null);
+                }
 
-            if (null == this.properties) this.properties = new HashMap<>();
-            final List<VertexProperty> list = this.properties.getOrDefault(key, new ArrayList<>());
-            list.add(vertexProperty);
-            this.properties.put(key, list);
-            TinkerHelper.autoUpdateIndex(this, key, value, null);
-            ElementHelper.attachProperties(vertexProperty, keyValues);
-            return vertexProperty;
+                final Object idValue = optionalId.isPresent() ?
+                        graph.vertexPropertyIdManager.convert(optionalId.get()) :
+                        graph.vertexPropertyIdManager.getNextId(graph);
+                if (null != this.graph.transaction)
+                    return this.graph.transaction.addVertexProperty(this, idValue, key, value, keyValues);
+
+                final VertexProperty<V> vertexProperty = new TinkerVertexProperty<V>(idValue, this, key, value);
+
+                if (null == this.properties) this.properties = new HashMap<>();
+                final List<VertexProperty> list = this.properties.getOrDefault(key, new ArrayList<>());
+                list.add(vertexProperty);
+                this.properties.put(key, list);
+                TinkerHelper.autoUpdateIndex(this, key, value, null);
+                if (null != mutationLog) mutationLog.addVertexProperty(vertexProperty);
+                ElementHelper.attachProperties(vertexProperty, keyValues);
+                return vertexProperty;
+            } finally {
+                TinkerHelper.endMutation(mutationLog);
+            }
         }
     }
 
     @Override
     public Set<String> keys() {
+        if (null != this.graph.vertexColumns && this.graph.vertexColumns.containsAny(this))
+            return Vertex.super.keys();
+        if (null != this.graph.transaction)
+            return TinkerHelper.inComputerMode(this.graph) ? Vertex.super.keys() : this.graph.transaction.keys(this);
         if (null == this.properties) return Collections.emptySet();
         return TinkerHelper.inComputerMode((TinkerGraph) graph()) ?
                 Vertex.super.keys() :
                 this.properties.keySet();
     }
 
+    /**
+     * Moves the property for the key out of the {@link TinkerPropertyColumns} of the graph, if it is held there with
+     * the specified identifier (or any identifier if it is {@code null}), so that it can have meta-properties or
+     * share its key with other properties.
+     *
+     * @return the moved property or {@code null} if there was nothing to move
+     */
+    protected <V> TinkerVertexProperty<V> materialize(final String key, final Object id) {
+        final VertexProperty<V> view = null == this.graph.vertexColumns ? null : this.graph.vertexColumns.get(this, key);
+        if (null == view || (null != id && !id.equals(view.id())))
+            return null;
+
+        this.graph.vertexColumns.remove(this, key, view.id());
+        final TinkerVertexProperty<V> vertexProperty = new TinkerVertexProperty<>(view.id(), this, key, view.value());
+        if (null == this.properties) this.properties = new HashMap<>();
+        final List<VertexProperty> list = this.properties.getOrDefault(key, new ArrayList<>());
+        list.add(vertexProperty);
+        this.properties.put(key, list);
+        return vertexProperty;
+    }
+
     @Override
     public Edge addEdge(final String label, final Vertex vertex, final Object... keyValues) {
         if (null == vertex) throw Graph.Exceptions.argumentCanNotBeNull("vertex");
@@ -139,13 +204,25 @@ public final class TinkerVertex extends TinkerElement implements Vertex {
 
     @Override
     public void remove() {
-        final List<Edge> edges = new ArrayList<>();
-        this.edges(Direction.BOTH).forEachRemaining(edges::add);
-        edges.stream().filter(edge -> !((TinkerEdge) edge).removed).forEach(Edge::remove);
-        this.properties = null;
-        TinkerHelper.removeElementIndex(this);
-        this.graph.vertices.remove(this.id);
-        this.removed = true;
+        if (null != this.graph.transaction) {
+            this.graph.transaction.remove(this);
+            return;
+        }
+        final TinkerMutationLog mutationLog = TinkerHelper.beginMutation(this.graph);
+        try {
+            final List<Edge> edges = new ArrayList<>();
+            this.edges(Direction.BOTH).forEachRemaining(edges::add);
+            edges.stream().filter(edge -> !((TinkerEdge) edge).removed).forEach(Edge::remove);
+            this.properties = null;
+            if (null != this.graph.vertexColumns) this.graph.vertexColumns.removeAll(this);
+            TinkerHelper.removeElementIndex(this);
+            this.graph.vertices.remove(this.id);
+            TinkerHelper.removeLabelled(this.graph.vertexLabels, this);
+            this.removed = true;
+            if (null != mutationLog) mutationLog.removeVertex(this);
+        } finally {
+            TinkerHelper.endMutation(mutationLog);
+        }
     }
 
     @Override
@@ -176,8 +253,12 @@ public final class TinkerVertex extends TinkerElement implements Vertex {
     public <V> Iterator<VertexProperty<V>> properties(final String... propertyKeys) {
         if (this.removed) return Collections.emptyIterator();
         if (TinkerHelper.inComputerMode((TinkerGraph) graph()))
-            return (Iterator) ((TinkerGraph) graph()).graphComputerView.getProperties(TinkerVertex.this).stream().filter(p -> ElementHelper.keyExists(p.key(), propertyKeys)).iterator();
-        else {
+            return (Iterator) ((TinkerGraph) graph()).graphComputerView.getProperties(TinkerVertex.this, propertyKeys).iterator();
+        else if (null != this.graph.transaction)
+            return this.graph.transaction.properties(this, propertyKeys);
+        else if (null != this.graph.vertexColumns && this.graph.vertexColumns.containsAny(this)) {
+            return (Iterator) TinkerHelper.getProperties(this).entrySet().stream().filter(entry -> ElementHelper.keyExists(entry.getKey(), propertyKeys)).flatMap(entry -> entry.getValue().stream()).collect(Collectors.toList()).iterator();
+        } else {
             if (null == this.properties) return Collections.emptyIterator();
             if (propertyKeys.length == 1) {
                 final List<VertexProperty> properties = this.properties.getOrDefault(propertyKeys[0], Collections.emptyList());
@@ -105,11 +105,15 @@ public class TinkerVertexProperty<V> extends TinkerElement implements VertexProp
 
     @Override
     public Set<String> keys() {
+        final TinkerTransaction transaction = ((TinkerGraph) this.vertex.graph()).transaction;
+        if (null != transaction) return transaction.keys(this);
         return null == this.properties ? Collections.emptySet() : this.properties.keySet();
     }
 
     @Override
     public <U> Property<U> property(final String key) {
+        final TinkerTransaction transaction = ((TinkerGraph) this.vertex.graph()).transaction;
+        if (null != transaction) return transaction.property(this, key);
         return null == this.properties ? Property.<U>empty() : this.properties.getOrDefault(key, Property.<U>empty());
     }
 
@@ -122,9 +126,20 @@ public class TinkerVertexProperty<V> extends TinkerElement implements VertexProp
             return Property.empty();
         }
 
+        // the properties that a graph computer adds are not versioned as they are not part of any transaction
+        final TinkerTransaction transaction = ((TinkerGraph) this.vertex.graph()).transaction;
+        if (null != transaction && !TinkerHelper.inComputerMode((TinkerGraph) this.vertex.graph()))
+            return transaction.property(this, key, value);
+
         final Property<U> property = new TinkerProperty<>(this, key, value);
-        if (this.properties == null) this.properties = new HashMap<>();
-        this.properties.put(key, property);
+        final TinkerMutationLog mutationLog = TinkerHelper.beginMutation((TinkerGraph) this.vertex.graph());
+        try {
+            if (this.properties == null) this.properties = new HashMap<>();
+            this.properties.put(key, property);
+            if (null != mutationLog) mutationLog.setMetaProperty(this, key, value);
+        } finally {
+            TinkerHelper.endMutation(mutationLog);
+        }
         return property;
     }
 
@@ -135,26 +150,40 @@ public class TinkerVertexProperty<V> extends TinkerElement implements VertexProp
 
     @Override
     public void remove() {
-        if (null != this.vertex.properties && this.vertex.properties.containsKey(this.key)) {
-            this.vertex.properties.get(this.key).remove(this);
-            if (this.vertex.properties.get(this.key).size() == 0) {
-                this.vertex.properties.remove(this.key);
-                TinkerHelper.removeIndex(this.vertex, this.key, this.value);
+        final TinkerTransaction transaction = ((TinkerGraph) this.vertex.graph()).transaction;
+        if (null != transaction && !TinkerHelper.inComputerMode((TinkerGraph) this.vertex.graph())) {
+            transaction.remove(this);
+            return;
+        }
+
+        final TinkerMutationLog mutationLog = TinkerHelper.beginMutation((TinkerGraph) this.vertex.graph());
+        try {
+            if (null != this.vertex.properties && this.vertex.properties.containsKey(this.key)) {
+                this.vertex.properties.get(this.key).remove(this);
+                if (this.vertex.properties.get(this.key).size() == 0) {
+                    this.vertex.properties.remove(this.key);
+                    TinkerHelper.removeIndex(this.vertex, this.key, this.value);
+                }
+                final AtomicBoolean delete = new AtomicBoolean(true);
+                this.vertex.properties(this.key).forEachRemaining(property -> {
+                    final Object currentPropertyValue = property.value();
+                    if ((currentPropertyValue != null && currentPropertyValue.equals(this.value) || null == currentPropertyValue && null == this.value))
+                        delete.set(false);
+                });
+                if (delete.get()) TinkerHelper.removeIndex(this.vertex, this.key, this.value);
+                this.properties = null;
+                this.removed = true;
+                if (null != mutationLog) mutationLog.removeVertexProperty(this);
             }
-            final AtomicBoolean delete = new AtomicBoolean(true);
-            this.vertex.properties(this.key).forEachRemaining(property -> {
-                final Object currentPropertyValue = property.value();
-                if ((currentPropertyValue != null && currentPropertyValue.equals(this.value) || null == currentPropertyValue && null == this.value))
-                    delete.set(false);
-            });
-            if (delete.get()) TinkerHelper.removeIndex(this.vertex, this.key, this.value);
-            this.properties = null;
-            this.removed = true;
+        } finally {
+            TinkerHelper.endMutation(mutationLog);
         }
     }
 
     @Override
     public <U> Iterator<Property<U>> properties(final String... propertyKeys) {
+        final TinkerTransaction transaction = ((TinkerGraph) this.vertex.graph()).transaction;
+        if (null != transaction) return transaction.properties(this, propertyKeys);
         if (null == this.properties) return Collections.emptyIterator();
         if (propertyKeys.length == 1) {
             final Property<U> property = this.properties.get(propertyKeys[0]);
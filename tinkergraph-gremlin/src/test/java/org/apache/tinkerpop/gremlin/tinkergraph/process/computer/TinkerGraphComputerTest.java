@@ -0,0 +1,560 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.computer;
+
+import org.apache.tinkerpop.gremlin.process.computer.Computer;
+import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
+import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.process.computer.GraphFilter;
+import org.apache.tinkerpop.gremlin.process.computer.Memory;
+import org.apache.tinkerpop.gremlin.process.computer.MemoryComputeKey;
+import org.apache.tinkerpop.gremlin.process.computer.MessageCombiner;
+import org.apache.tinkerpop.gremlin.process.computer.MessageScope;
+import org.apache.tinkerpop.gremlin.process.computer.Messenger;
+import org.apache.tinkerpop.gremlin.process.computer.VertexComputeKey;
+import org.apache.tinkerpop.gremlin.process.computer.VertexProgram;
+import org.apache.tinkerpop.gremlin.process.computer.clustering.connected.ConnectedComponentVertexProgram;
+import org.apache.tinkerpop.gremlin.process.computer.clustering.peerpressure.PeerPressureVertexProgram;
+import org.apache.tinkerpop.gremlin.process.computer.ranking.pagerank.PageRankVertexProgram;
+import org.apache.tinkerpop.gremlin.process.computer.traversal.step.map.ConnectedComponent;
+import org.apache.tinkerpop.gremlin.process.computer.traversal.step.map.ConnectedComponentVertexProgramStep;
+import org.apache.tinkerpop.gremlin.process.computer.util.EmptyMemory;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerFactory;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerVertex;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeThat;
+
+/**
+ * Tests of how {@link TinkerGraphComputer} executes vertex programs, as opposed to the programs themselves which are
+ * covered by the process computer suite.
+ */
+public class TinkerGraphComputerTest {
+
+    @Test
+    public void shouldShareSkewedGraphAmongComputerWorkers() {
+        // not all systems will have 3+ available processors (e.g. travis)
+        assumeThat(Runtime.getRuntime().availableProcessors(), greaterThan(2));
+
+        // a few hubs hold nearly all of the edges, which is the case that fixed shares of the vertices handled badly
+        final TinkerGraph graph = TinkerGraph.open();
+        final List<Vertex> hubs = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            hubs.add(graph.addVertex("hub", i));
+        }
+        for (int i = 0; i < 2001; i++) {
+            final Vertex leaf = graph.addVertex("leaf", i);
+            hubs.forEach(hub -> hub.addEdge("link", leaf));
+        }
+        final GraphTraversalSource g = graph.traversal();
+
+        final Map<Object, Object> expected = g.V().group().by(T.id).by(__.both().count()).next();
+        for (final int workers : Arrays.asList(1, 2, 3)) {
+            final GraphTraversalSource gc = g.withComputer(Computer.compute().workers(workers));
+            assertEquals(2004L, gc.V().count().next().longValue());
+            assertEquals(expected, gc.V().group().by(T.id).by(__.both().count()).next());
+        }
+    }
+
+    @Test
+    public void shouldPassMessagesWithAndWithoutCombiner() throws Exception {
+        final TinkerGraph graph = TinkerGraph.open();
+        final List<Vertex> vertices = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            vertices.add(graph.addVertex(T.id, i));
+        }
+        // two chains, the even and the odd vertices, with the first of each linked to all of the others
+        for (int i = 2; i < 1000; i++) {
+            vertices.get(i - 2).addEdge("next", vertices.get(i));
+            vertices.get(i % 2).addEdge("hub", vertices.get(i));
+        }
+        final GraphTraversalSource g = graph.traversal();
+        final int workers = Math.min(3, Runtime.getRuntime().availableProcessors());
+
+        // connected components sends its messages without a combiner so each vertex gathers them all
+        final ComputerResult result = graph.compute().workers(workers).
+                program(ConnectedComponentVertexProgram.build().create(graph)).submit().get();
+        final Map<Object, Object> components = result.graph().traversal().V().
+                group().by(T.id).by(__.values(ConnectedComponent.component)).next();
+        assertEquals(1000, components.size());
+        components.forEach((id, component) -> assertEquals(String.valueOf((int) id % 2), component));
+
+        // page rank combines the messages to a vertex as they are sent
+        final Map<Object, Object> expected = g.withComputer(Computer.compute().workers(1)).V().pageRank().
+                group().by(T.id).by(__.values(PageRankVertexProgram.PAGE_RANK)).next();
+        final Map<Object, Object> ranks = g.withComputer(Computer.compute().workers(workers)).V().pageRank().
+                group().by(T.id).by(__.values(PageRankVertexProgram.PAGE_RANK)).next();
+        assertEquals(1000, ranks.size());
+        ranks.forEach((id, rank) -> assertEquals((double) expected.get(id), (double) rank, 0.000001d));
+    }
+
+    @Test
+    public void shouldUseUnionFindForConnectedComponentUnlessConfiguredOtherwise() {
+        final TinkerGraph graph = TinkerFactory.createModern();
+        final GraphTraversalSource g = graph.traversal().withComputer();
+        assertTrue(usesUnionFind(g.V().connectedComponent(), graph));
+        assertTrue(usesUnionFind(g.V().connectedComponent().with(ConnectedComponent.unionFind, true), graph));
+        assertFalse(usesUnionFind(g.V().connectedComponent().with(ConnectedComponent.unionFind, false), graph));
+
+        // excluded vertices would otherwise join components through their edges
+        assertFalse(usesUnionFind(graph.traversal().withComputer(Computer.compute().vertices(__.hasLabel("person"))).
+                V().connectedComponent(), graph));
+
+        assertEquals(g.V().connectedComponent().with(ConnectedComponent.unionFind, false).
+                        group().by(T.id).by(ConnectedComponent.component).next(),
+                g.V().connectedComponent().group().by(T.id).by(ConnectedComponent.component).next());
+    }
+
+    private static boolean usesUnionFind(final Traversal<?, ?> traversal, final Graph graph) {
+        traversal.asAdmin().applyStrategies();
+        final ConnectedComponentVertexProgramStep step = TraversalHelper.getFirstStepOfAssignableClass(
+                ConnectedComponentVertexProgramStep.class, traversal.asAdmin()).get();
+        // the union-find version does not pass messages
+        return step.generateProgram(graph, EmptyMemory.instance()).getMessageScopes(EmptyMemory.instance()).isEmpty();
+    }
+
+    @Test
+    public void shouldHoldComputeKeysOfVerticesByOrdinal() {
+        final TinkerGraph graph = TinkerGraph.open();
+        final TinkerVertex a = (TinkerVertex) graph.addVertex(T.id, "a");
+        final TinkerVertex b = (TinkerVertex) graph.addVertex(T.id, "b");
+        final TinkerGraphComputerView view = TinkerHelper.createGraphComputerView(graph, new GraphFilter(),
+                new HashSet<>(Arrays.asList(VertexComputeKey.of("kept", false), VertexComputeKey.of("scratch", true))));
+        try {
+            assertEquals(2, view.getVertexCount());
+            assertEquals(a, view.getVertex(view.getOrdinal(a)));
+            assertEquals(b, view.getVertex(view.getOrdinal(b)));
+
+            // one value is held as is, a second turns the slot into a list and removing them empties it again
+            final Property<Integer> first = view.addProperty(a, "kept", 1);
+            final Property<Integer> second = view.addProperty(a, "kept", 2);
+            view.addProperty(b, "scratch", 3);
+            assertEquals(Arrays.asList(1, 2), values(view.getProperty(a, "kept")));
+            assertEquals(Arrays.asList(3), values(view.getProperty(b, "scratch")));
+            assertEquals(0, view.getProperty(b, "kept").size());
+            first.remove();
+            assertEquals(Arrays.asList(2), values(view.getProperty(a, "kept")));
+            second.remove();
+            assertEquals(0, view.getProperty(a, "kept").size());
+            view.setProperty(a, "kept", 4);
+            view.setProperty(a, "kept", 5);
+            assertEquals(Arrays.asList(5), values(view.getProperty(a, "kept")));
+            assertEquals(Arrays.asList(5), values(view.getProperties(a, "kept", "scratch", "kept")));
+            assertEquals(Arrays.asList(3), values(view.getProperties(b)));
+
+            // a vertex added after the ordinals were given is not part of the view
+            final TinkerVertex c = (TinkerVertex) graph.addVertex(T.id, "c");
+            assertEquals(-1, view.getOrdinal(c));
+            assertEquals(0, view.getProperty(c, "kept").size());
+            assertEquals(0, view.getProperties(c).size());
+            try {
+                view.addProperty(c, "kept", 6);
+                fail("A vertex added after the view was created should not take compute keys");
+            } catch (IllegalStateException ignored) {
+                // expected
+            }
+
+            // the transient key is dropped when the computation completes
+            view.complete();
+            assertEquals(0, view.getProperty(b, "scratch").size());
+            assertEquals(Arrays.asList(5), values(view.getProperty(a, "kept")));
+        } finally {
+            TinkerHelper.dropGraphComputerView(graph);
+        }
+
+        // a later view gives the added vertex an ordinal and holds nothing over from the earlier one
+        final TinkerVertex c = (TinkerVertex) graph.vertices("c").next();
+        final TinkerGraphComputerView next = TinkerHelper.createGraphComputerView(graph, new GraphFilter(),
+                Collections.singleton(VertexComputeKey.of("kept", false)));
+        try {
+            assertEquals(3, next.getVertexCount());
+            assertEquals(c, next.getVertex(next.getOrdinal(c)));
+            assertEquals(0, next.getProperty(a, "kept").size());
+            next.addProperty(c, "kept", 6);
+            assertEquals(Arrays.asList(6), values(next.getProperty(c, "kept")));
+        } finally {
+            TinkerHelper.dropGraphComputerView(graph);
+        }
+    }
+
+    @Test
+    public void shouldWriteAndReadComputeKeysThroughOneViewPerVertex() {
+        final TinkerGraph graph = TinkerGraph.open();
+        final TinkerVertex a = (TinkerVertex) graph.addVertex(T.id, "a");
+        final TinkerGraphComputerView view = TinkerHelper.createGraphComputerView(graph, new GraphFilter(),
+                Collections.singleton(VertexComputeKey.of("kept", false)));
+        final Object persistedId;
+        try {
+            // writes of single values hand back the one view of the slot which reads whatever value is current
+            final Property<Integer> first = view.setProperty(a, "kept", 1);
+            final Property<Integer> second = view.setProperty(a, "kept", 2);
+            assertSame(first, second);
+            assertSame(first, view.getSingleProperty(a, "kept"));
+            assertSame(first, a.property("kept"));
+            assertEquals(2, (int) first.value());
+            assertEquals(first.hashCode(), view.getProperty(a, "kept").get(0).hashCode());
+
+            // a meta-property moves the value into a property of its own that the view goes on standing for
+            final VertexProperty<Integer> property = (VertexProperty<Integer>) first;
+            final Object id = property.id();
+            property.property("meta", "x");
+            assertEquals("x", a.property("kept").value("meta"));
+            assertEquals(id, a.property("kept").id());
+            assertEquals(2, (int) property.value());
+            assertEquals("x", property.value("meta"));
+
+            // a second value turns the slot into a list that keeps the first one under the identifier of its view
+            view.setProperty(a, "kept", 3);
+            view.addProperty(a, "kept", 4);
+            assertEquals(Arrays.asList(3, 4), values(view.getProperty(a, "kept")));
+            assertEquals(3, (int) property.value());
+            property.remove();
+            assertEquals(Arrays.asList(4), values(view.getProperty(a, "kept")));
+            try {
+                property.value();
+                fail("The view of a removed value should not have a value");
+            } catch (IllegalStateException ignored) {
+                // expected
+            }
+
+            // a value written anew is read through the view again and persisted with the identifier it was given
+            view.setProperty(a, "kept", 5);
+            assertSame(first, a.property("kept"));
+            first.remove();
+            assertFalse(a.property("kept").isPresent());
+            view.setProperty(a, "kept", 6);
+            persistedId = view.getSingleProperty(a, "kept").id();
+            view.processResultGraphPersist(GraphComputer.ResultGraph.ORIGINAL, GraphComputer.Persist.VERTEX_PROPERTIES);
+        } finally {
+            TinkerHelper.dropGraphComputerView(graph);
+        }
+        assertEquals(6, (int) a.value("kept"));
+        assertEquals(1, IteratorUtils.count(a.properties("kept")));
+        assertEquals(persistedId, a.property("kept").id());
+    }
+
+    @Test
+    public void shouldPersistComputeKeysAddedAndDroppedByProgram() throws Exception {
+        final TinkerGraph graph = TinkerGraph.open();
+        for (int i = 0; i < 100; i++) {
+            graph.addVertex(T.id, i);
+        }
+        final int workers = Math.min(3, Runtime.getRuntime().availableProcessors());
+
+        final Graph result = graph.compute().workers(workers).program(new ComputeKeyVertexProgram()).
+                result(GraphComputer.ResultGraph.NEW).persist(GraphComputer.Persist.VERTEX_PROPERTIES).submit().get().graph();
+        assertComputeKeys(result, 100);
+        assertEquals(0L, graph.traversal().V().properties().count().next().longValue());
+
+        // vertices added between computations take part in the next one which writes back to the graph
+        for (int i = 100; i < 150; i++) {
+            graph.addVertex(T.id, i);
+        }
+        graph.compute().workers(workers).program(new ComputeKeyVertexProgram()).
+                result(GraphComputer.ResultGraph.ORIGINAL).persist(GraphComputer.Persist.VERTEX_PROPERTIES).submit().get();
+        assertComputeKeys(graph, 150);
+    }
+
+    @Test
+    public void shouldSkipHaltedVerticesInConnectedComponents() throws Exception {
+        final TinkerGraph graph = TinkerGraph.open();
+        // a chain takes many iterations to settle on its least identifier while the pairs settle after the first and
+        // the lone vertex never receives a message, so that they only execute again if halting is ignored
+        Vertex previous = graph.addVertex(T.id, "v199");
+        for (int i = 198; i >= 100; i--) {
+            final Vertex next = graph.addVertex(T.id, "v" + i);
+            previous.addEdge("next", next);
+            previous = next;
+        }
+        for (int i = 0; i < 300; i++) {
+            graph.addVertex(T.id, "p" + i + "a").addEdge("pair", graph.addVertex(T.id, "p" + i + "b"));
+        }
+        graph.addVertex(T.id, "z");
+
+        final Map<Object, AtomicInteger> executions = new ConcurrentHashMap<>();
+        final ComputerResult result = graph.compute().workers(Math.min(3, Runtime.getRuntime().availableProcessors())).
+                program(new ExecutionCountingVertexProgram<>(ConnectedComponentVertexProgram.build().create(graph), executions)).submit().get();
+        final Map<Object, Object> components = result.graph().traversal().V().
+                group().by(T.id).by(__.values(ConnectedComponent.component)).next();
+        assertEquals(701, components.size());
+        components.forEach((id, component) -> {
+            final String vertex = (String) id;
+            assertEquals(vertex.startsWith("v") ? "v100" : vertex.startsWith("p") ? vertex.substring(0, vertex.length() - 1) + "a" : "z", component);
+        });
+
+        // a pair is executed in the first iteration, again as it exchanges its identifiers and once more for the
+        // vertex of the lesser identifier as it is told of it by its neighbor, after which neither changes
+        assertThat(result.memory().getIteration(), greaterThan(90));
+        assertEquals(1, executions.get("z").get());
+        for (int i = 0; i < 300; i++) {
+            assertEquals(3, executions.get("p" + i + "a").get());
+            assertEquals(2, executions.get("p" + i + "b").get());
+        }
+    }
+
+    @Test
+    public void shouldConvergeInFewerIterationsWhenAsynchronous() throws Exception {
+        final TinkerGraph graph = TinkerGraph.open();
+        final Random random = new Random(111L);
+        final List<Vertex> vertices = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            vertices.add(graph.addVertex(T.id, i));
+        }
+        for (int i = 0; i < 2500; i++) {
+            vertices.get(random.nextInt(500)).addEdge("link", vertices.get(random.nextInt(500)));
+        }
+
+        // a single worker reads the messages of the iteration in the same order each time which keeps the number of
+        // iterations of the asynchronous run from varying with how the vertices are shared among the workers
+        final ComputerResult synchronous = graph.compute().workers(1).program(PageRankVertexProgram.build().
+                iterations(100).epsilon(0.0001d).create(graph)).submit().get();
+        final ComputerResult asynchronous = graph.compute().workers(1).program(PageRankVertexProgram.build().
+                iterations(100).epsilon(0.0001d).asynchronous(true).create(graph)).submit().get();
+        assertThat(asynchronous.memory().getIteration(), lessThan(synchronous.memory().getIteration()));
+
+        final Map<Object, Object> expected = synchronous.graph().traversal().V().
+                group().by(T.id).by(__.values(PageRankVertexProgram.PAGE_RANK)).next();
+        final Map<Object, Object> ranks = asynchronous.graph().traversal().V().
+                group().by(T.id).by(__.values(PageRankVertexProgram.PAGE_RANK)).next();
+        assertEquals(500, ranks.size());
+        ranks.forEach((id, rank) -> assertEquals((double) expected.get(id), (double) rank, 0.001d));
+    }
+
+    @Test
+    public void shouldClusterInFewerIterationsWhenAsynchronous() throws Exception {
+        final TinkerGraph graph = TinkerGraph.open();
+        final Random random = new Random(555L);
+        final List<Vertex> vertices = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            vertices.add(graph.addVertex(T.id, i));
+        }
+        // a ring of ten dense communities of twenty vertices, each linked to the next by a single edge
+        for (int i = 0; i < 200; i++) {
+            for (int j = i + 1; j < (i / 20 + 1) * 20; j++) {
+                if (random.nextDouble() < 0.5d)
+                    vertices.get(i).addEdge("link", vertices.get(j));
+            }
+            if (i % 20 == 19)
+                vertices.get(i).addEdge("link", vertices.get((i + 1 + random.nextInt(20)) % 200));
+        }
+
+        final ComputerResult synchronous = graph.compute().workers(1).program(PeerPressureVertexProgram.build().
+                edges(__.bothE().asAdmin()).create(graph)).submit().get();
+        final ComputerResult asynchronous = graph.compute().workers(1).program(PeerPressureVertexProgram.build().
+                edges(__.bothE().asAdmin()).asynchronous(true).create(graph)).submit().get();
+        assertThat(asynchronous.memory().getIteration(), lessThan(synchronous.memory().getIteration()));
+
+        // the clusters may be named differently but both runs find the communities
+        final Set<Set<Object>> expected = new HashSet<>();
+        for (int i = 0; i < 10; i++) {
+            final Set<Object> community = new HashSet<>();
+            for (int j = 0; j < 20; j++) {
+                community.add(i * 20 + j);
+            }
+            expected.add(community);
+        }
+        for (final ComputerResult result : Arrays.asList(synchronous, asynchronous)) {
+            final Map<Object, List<Object>> clusters = result.graph().traversal().V().
+                    <Object, List<Object>>group().by(PeerPressureVertexProgram.CLUSTER).by(T.id).next();
+            assertEquals(expected, clusters.values().stream().map(HashSet<Object>::new).collect(Collectors.toSet()));
+        }
+    }
+
+    private static void assertComputeKeys(final Graph graph, final int vertexCount) {
+        final GraphTraversalSource g = graph.traversal();
+        assertEquals(vertexCount, g.V().count().next().intValue());
+        assertEquals(0L, g.V().properties(ComputeKeyVertexProgram.SCRATCH, ComputeKeyVertexProgram.DROPPED).count().next().longValue());
+        g.V().forEachRemaining(vertex -> {
+            assertEquals(((int) vertex.id()) * 2, (int) vertex.value(ComputeKeyVertexProgram.VISITS));
+            assertEquals(new HashSet<>(Arrays.asList("first", "second")), new HashSet<>(IteratorUtils.list(vertex.values(ComputeKeyVertexProgram.TAGS))));
+        });
+    }
+
+    private static List<Object> values(final List<? extends Property> properties) {
+        final List<Object> values = new ArrayList<>();
+        properties.forEach(property -> values.add(property.value()));
+        return values;
+    }
+
+    /**
+     * Writes a transient key, a key to drop and a list of tags in the first iteration, then folds the transient key
+     * into a kept one and removes the key to drop in the second.
+     */
+    private static class ComputeKeyVertexProgram implements VertexProgram<Object> {
+
+        private static final String VISITS = "visits";
+        private static final String SCRATCH = "scratch";
+        private static final String TAGS = "tags";
+        private static final String DROPPED = "dropped";
+
+        private static final Set<VertexComputeKey> COMPUTE_KEYS = new HashSet<>(Arrays.asList(
+                VertexComputeKey.of(VISITS, false), VertexComputeKey.of(SCRATCH, true), VertexComputeKey.of(TAGS, false),
+                VertexComputeKey.of(DROPPED, false)));
+
+        @Override
+        public void setup(final Memory memory) {
+        }
+
+        @Override
+        public void execute(final Vertex vertex, final Messenger<Object> messenger, final Memory memory) {
+            if (memory.isInitialIteration()) {
+                vertex.property(VertexProperty.Cardinality.single, SCRATCH, vertex.id());
+                vertex.property(VertexProperty.Cardinality.single, DROPPED, vertex.id());
+                vertex.property(VertexProperty.Cardinality.list, TAGS, "first");
+                vertex.property(VertexProperty.Cardinality.list, TAGS, "second");
+            } else {
+                vertex.property(VertexProperty.Cardinality.single, VISITS, 2 * (int) vertex.value(SCRATCH));
+                vertex.property(DROPPED).remove();
+            }
+        }
+
+        @Override
+        public boolean terminate(final Memory memory) {
+            return memory.getIteration() == 1;
+        }
+
+        @Override
+        public Set<VertexComputeKey> getVertexComputeKeys() {
+            return COMPUTE_KEYS;
+        }
+
+        @Override
+        public Set<MessageScope> getMessageScopes(final Memory memory) {
+            return Collections.emptySet();
+        }
+
+        @Override
+        public ComputeKeyVertexProgram clone() {
+            return this;
+        }
+
+        @Override
+        public GraphComputer.ResultGraph getPreferredResultGraph() {
+            return GraphComputer.ResultGraph.NEW;
+        }
+
+        @Override
+        public GraphComputer.Persist getPreferredPersist() {
+            return GraphComputer.Persist.VERTEX_PROPERTIES;
+        }
+    }
+
+    /**
+     * Counts the times that each vertex is executed by the program that it wraps.
+     */
+    private static class ExecutionCountingVertexProgram<M> implements VertexProgram<M> {
+
+        private final VertexProgram<M> vertexProgram;
+        private final Map<Object, AtomicInteger> executions;
+
+        private ExecutionCountingVertexProgram(final VertexProgram<M> vertexProgram, final Map<Object, AtomicInteger> executions) {
+            this.vertexProgram = vertexProgram;
+            this.executions = executions;
+        }
+
+        @Override
+        public void setup(final Memory memory) {
+            this.vertexProgram.setup(memory);
+        }
+
+        @Override
+        public void execute(final Vertex vertex, final Messenger<M> messenger, final Memory memory) {
+            this.executions.computeIfAbsent(vertex.id(), id -> new AtomicInteger()).incrementAndGet();
+            this.vertexProgram.execute(vertex, messenger, memory);
+        }
+
+        @Override
+        public boolean terminate(final Memory memory) {
+            return this.vertexProgram.terminate(memory);
+        }
+
+        @Override
+        public Set<VertexComputeKey> getVertexComputeKeys() {
+            return this.vertexProgram.getVertexComputeKeys();
+        }
+
+        @Override
+        public Set<MemoryComputeKey> getMemoryComputeKeys() {
+            return this.vertexProgram.getMemoryComputeKeys();
+        }
+
+        @Override
+        public Optional<MessageCombiner<M>> getMessageCombiner() {
+            return this.vertexProgram.getMessageCombiner();
+        }
+
+        @Override
+        public Set<MessageScope> getMessageScopes(final Memory memory) {
+            return this.vertexProgram.getMessageScopes(memory);
+        }
+
+        @Override
+        public ExecutionCountingVertexProgram<M> clone() {
+            return new ExecutionCountingVertexProgram<>(this.vertexProgram.clone(), this.executions);
+        }
+
+        @Override
+        public GraphComputer.ResultGraph getPreferredResultGraph() {
+            return this.vertexProgram.getPreferredResultGraph();
+        }
+
+        @Override
+        public GraphComputer.Persist getPreferredPersist() {
+            return this.vertexProgram.getPreferredPersist();
+        }
+
+        @Override
+        public Features getFeatures() {
+            return this.vertexProgram.getFeatures();
+        }
+    }
+}
@@ -23,7 +23,10 @@ import org.apache.commons.configuration2.Configuration;
 import org.apache.tinkerpop.gremlin.GraphHelper;
 import org.apache.tinkerpop.gremlin.TestHelper;
 import org.apache.tinkerpop.gremlin.process.computer.Computer;
+import org.apache.tinkerpop.gremlin.process.traversal.IO;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
 import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.TextP;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
@@ -33,6 +36,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.Rese
 import org.apache.tinkerpop.gremlin.process.traversal.util.Metrics;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalMetrics;
+import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.T;
@@ -51,6 +55,7 @@ import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoClassResolverV1d0;
 import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoMapper;
 import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoVersion;
 import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoWriter;
+import org.apache.tinkerpop.gremlin.structure.util.TransactionException;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import org.apache.tinkerpop.shaded.jackson.databind.ObjectMapper;
 import org.apache.tinkerpop.shaded.kryo.ClassResolver;
@@ -70,6 +75,7 @@ import java.io.FileOutputStream;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -77,7 +83,12 @@ import java.util.Map;
 import java.util.Random;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
@@ -85,8 +96,11 @@ import static org.apache.tinkerpop.gremlin.process.traversal.AnonymousTraversalS
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.core.StringContains.containsString;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -321,6 +335,270 @@ public class TinkerGraphTest {
         }, 0.5)).has("oid", "1").count().next());
     }
 
+    @Test
+    public void shouldUseSortedVertexIndexForRangeQueries() {
+        final TinkerGraph graph = TinkerGraph.open();
+        graph.createIndex("age", Vertex.class, TinkerGraph.IndexType.SORTED);
+        graph.createIndex("name", Vertex.class, TinkerGraph.IndexType.SORTED);
+        for (int i = 0; i < 100; i++) {
+            graph.addVertex("name", "v" + i, "age", i);
+        }
+        graph.addVertex("name", "stringy", "age", "fifty");
+        graph.addVertex("name", "long", "age", 50L);
+
+        final GraphTraversalSource g = graph.traversal();
+
+        // the spy on "name" ensures that only vertices from the range scan on "age" pass through the pipeline
+        assertEquals(10L, g.V().has("age", P.gte(90)).has("name", P.test((t, u) -> {
+            assertThat(Integer.parseInt(((String) t).substring(1)), greaterThan(89));
+            return true;
+        }, "x")).count().next().longValue());
+
+        assertEquals(9L, g.V().has("age", P.gt(90)).count().next().longValue());
+        assertEquals(10L, g.V().has("age", P.lt(10)).count().next().longValue());
+        assertEquals(11L, g.V().has("age", P.lte(10)).count().next().longValue());
+        assertEquals(11L, g.V().has("age", P.between(45, 55)).count().next().longValue());
+        assertEquals(10L, g.V().has("age", P.inside(45, 55)).count().next().longValue());
+        assertEquals(18L, g.V().has("age", P.outside(9, 90)).count().next().longValue());
+        assertEquals(2L, g.V().has("age", 50).count().next().longValue());
+        assertEquals(1L, g.V().has("age", "fifty").count().next().longValue());
+        assertEquals(11L, g.V().has("name", TextP.startingWith("v1")).count().next().longValue());
+        assertEquals(2L, g.V().has("name", TextP.startingWith("s").or(TextP.startingWith("l"))).count().next().longValue());
+
+        assertEquals(10L, TinkerHelper.countVertexIndex(graph, "age", Collections.singletonList(P.gte(90))));
+        assertEquals(11L, TinkerHelper.countVertexIndex(graph, "age", Arrays.asList(P.gte(45), P.lt(55))));
+    }
+
+    @Test
+    public void shouldUpdateSortedVertexIndex() {
+        final TinkerGraph graph = TinkerGraph.open();
+        graph.createIndex("age", Vertex.class, TinkerGraph.IndexType.SORTED);
+        final Vertex marko = graph.addVertex("name", "marko", "age", 29);
+        final Vertex stephen = graph.addVertex("name", "stephen", "age", 35);
+        final Vertex daniel = graph.addVertex(T.label, "person", "name", "daniel");
+        daniel.property(VertexProperty.Cardinality.list, "age", 31);
+        daniel.property(VertexProperty.Cardinality.list, "age", 32);
+
+        final GraphTraversalSource g = graph.traversal();
+        assertEquals(Arrays.asList("daniel", "marko", "stephen"), g.V().has("age", P.gt(0)).order().by("name", Order.asc).values("name").toList());
+
+        marko.property("age", 40);
+        stephen.remove();
+        assertEquals(Collections.singletonList("marko"), g.V().has("age", P.gt(35)).values("name").toList());
+        assertEquals(Collections.singletonList("daniel"), g.V().has("age", P.between(30, 35)).values("name").toList());
+
+        // switching the type of the index rebuilds it
+        graph.createIndex("age", Vertex.class, TinkerGraph.IndexType.HASH);
+        assertEquals(Collections.singletonList("marko"), g.V().has("age", P.gt(35)).values("name").toList());
+        assertEquals(Collections.singletonList("marko"), g.V().has("age", 40).values("name").toList());
+    }
+
+    @Test
+    public void shouldUseSortedEdgeIndexForRangeQueries() {
+        final TinkerGraph graph = TinkerFactory.createModern();
+        graph.createIndex("weight", Edge.class, TinkerGraph.IndexType.SORTED);
+        final GraphTraversalSource g = graph.traversal();
+        assertEquals(2L, g.E().has("weight", P.gte(1.0)).count().next().longValue());
+        assertEquals(4L, g.E().has("weight", P.lt(1.0)).count().next().longValue());
+        assertEquals(2L, g.E().has("weight", P.inside(0.2, 0.5)).count().next().longValue());
+    }
+
+    @Test
+    public void shouldManageCompositeIndices() {
+        final TinkerGraph graph = TinkerGraph.open();
+        graph.createCompositeIndex(Vertex.class, "tenant", "type", "status");
+        graph.createCompositeIndex(Edge.class, "a", "b");
+        graph.createCompositeIndex(Vertex.class, "tenant", "type", "status");
+
+        assertEquals(Collections.singleton(Arrays.asList("tenant", "type", "status")), graph.getCompositeIndexedKeys(Vertex.class));
+        assertEquals(Collections.singleton(Arrays.asList("a", "b")), graph.getCompositeIndexedKeys(Edge.class));
+
+        graph.dropCompositeIndex(Vertex.class, "tenant", "type", "status");
+        graph.dropCompositeIndex(Edge.class, "a", "b");
+        graph.dropCompositeIndex(Edge.class, "better-not-error", "index-does-not-exist");
+        assertEquals(0, graph.getCompositeIndexedKeys(Vertex.class).size());
+        assertEquals(0, graph.getCompositeIndexedKeys(Edge.class).size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotCreateCompositeIndexWithOneKey() {
+        final TinkerGraph graph = TinkerGraph.open();
+        graph.createCompositeIndex(Vertex.class, "tenant");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotCreateCompositeIndexWithDuplicateKeys() {
+        final TinkerGraph graph = TinkerGraph.open();
+        graph.createCompositeIndex(Vertex.class, "tenant", "tenant");
+    }
+
+    @Test
+    public void shouldUseCompositeVertexIndex() {
+        final TinkerGraph graph = TinkerGraph.open();
+        for (int i = 0; i < 300; i++) {
+            graph.addVertex("tenant", i % 3, "type", i % 2 == 0 ? "order" : "invoice", "status", i % 5 == 0 ? "open" : "closed", "i", i);
+        }
+        final Vertex noStatus = graph.addVertex("tenant", 1, "type", "order", "i", 300);
+        graph.createCompositeIndex(Vertex.class, "tenant", "type", "status");
+        graph.createIndex("tenant", Vertex.class);
+
+        final GraphTraversalSource g = graph.traversal();
+
+        // the spy on "i" ensures that only vertices from the composite index lookup pass through the pipeline
+        assertEquals(10L, g.V().has("i", P.test((t, u) -> {
+            final int i = (int) t;
+            assertTrue(i % 3 == 1 && i % 2 == 0 && i % 5 == 0);
+            return true;
+        }, 0)).has("status", "open").has("type", "order").has("tenant", 1).count().next().longValue());
+
+        // prefix lookup on tenant and type still finds the vertex without a status
+        assertEquals(51L, g.V().has("tenant", 1).has("type", "order").has("i", P.test((t, u) -> {
+            final int i = (int) t;
+            assertTrue(i % 3 == 1 && i % 2 == 0 || i == 300);
+            return true;
+        }, 0)).count().next().longValue());
+
+        noStatus.property("status", "open");
+        assertEquals(11L, g.V().has("tenant", 1).has("type", "order").has("status", "open").count().next().longValue());
+        noStatus.property("type", "invoice");
+        assertEquals(10L, g.V().has("tenant", 1).has("type", "order").has("status", "open").count().next().longValue());
+        assertEquals(11L, g.V().has("tenant", 1).has("type", "invoice").has("status", "open").count().next().longValue());
+        noStatus.remove();
+        assertEquals(10L, g.V().has("tenant", 1).has("type", "invoice").has("status", "open").count().next().longValue());
+        g.V().has("tenant", 1).has("type", "invoice").has("status", "open").properties("status").drop().iterate();
+        assertEquals(0L, g.V().has("tenant", 1).has("type", "invoice").has("status", "open").count().next().longValue());
+        assertEquals(50L, g.V().has("tenant", 1).has("type", "invoice").count().next().longValue());
+    }
+
+    @Test
+    public void shouldUseLabelPartitions() {
+        final TinkerGraph graph = TinkerGraph.open();
+        final List<Vertex> rare = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            final Vertex v = graph.addVertex(T.label, i < 10 ? "rare" : "common", "i", i, "name", "v" + i);
+            if (i < 10) rare.add(v);
+        }
+        for (int i = 1; i < rare.size(); i++) {
+            rare.get(i - 1).addEdge("link", rare.get(i), "i", i);
+        }
+        rare.get(0).addEdge("other", rare.get(9), "i", 0);
+
+        final GraphTraversalSource g = graph.traversal();
+
+        // the spy on "i" ensures that only elements from the label partition pass through the pipeline
+        assertEquals(10L, g.V().hasLabel("rare").has("i", P.test((t, u) -> {
+            assertTrue((int) t < 10);
+            return true;
+        }, 0)).count().next().longValue());
+        assertEquals(9L, g.E().hasLabel("link").has("i", P.test((t, u) -> {
+            assertTrue((int) t > 0);
+            return true;
+        }, 0)).count().next().longValue());
+        assertEquals(10L, g.V().hasLabel("rare", "missing").count().next().longValue());
+        assertEquals(1000L, g.V().hasLabel("rare", "common").count().next().longValue());
+        assertEquals(10L, g.V().hasLabel("rare", "common").hasLabel("rare").count().next().longValue());
+        assertEquals(0L, g.V().hasLabel("rare").hasLabel("common").count().next().longValue());
+        assertEquals(10L, g.E().hasLabel("link", "other").count().next().longValue());
+
+        // an index is preferred when it returns fewer elements than the label partition
+        graph.createIndex("name", Vertex.class);
+        assertEquals(1L, g.V().hasLabel("common").has("name", "v500").has("i", P.test((t, u) -> {
+            assertEquals(500, t);
+            return true;
+        }, 0)).count().next().longValue());
+
+        rare.get(0).remove();
+        assertEquals(9L, g.V().hasLabel("rare").count().next().longValue());
+        assertEquals(8L, g.E().hasLabel("link").count().next().longValue());
+        assertEquals(0L, g.E().hasLabel("other").count().next().longValue());
+        assertEquals(8L, g.E().hasLabel("link").toList().size());
+
+        graph.clear();
+        assertEquals(0L, g.V().hasLabel("rare").count().next().longValue());
+        assertEquals(0L, g.E().hasLabel("link").toList().size());
+    }
+
+    @Test
+    public void shouldKeepLabelPartitionsUnderConcurrentAddAndRemove() throws Exception {
+        final TinkerGraph graph = TinkerGraph.open();
+        final GraphTraversalSource g = traversal().withEmbedded(graph);
+        final AtomicInteger missing = new AtomicInteger(0);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    // removing the last vertex of a label drops its partition which races with the next addition
+                    for (int i = 0; i < 50000; i++) {
+                        final Vertex vertex = graph.addVertex(T.label, "churn");
+                        if (!TinkerHelper.getVertices(graph, "churn").containsKey(vertex.id()))
+                            missing.incrementAndGet();
+                        vertex.remove();
+                    }
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(0, missing.get());
+        assertEquals(0L, g.V().hasLabel("churn").count().next().longValue());
+    }
+
+    @Test
+    public void shouldUseMostSelectiveVertexIndex() {
+        final TinkerGraph graph = TinkerGraph.open();
+        for (int i = 0; i < 1000; i++) {
+            graph.addVertex("country", i < 990 ? "us" : "gr", "age", i % 100, "name", "person" + i, "i", i);
+        }
+        graph.createIndex("country", Vertex.class);
+        graph.createIndex("age", Vertex.class, TinkerGraph.IndexType.SORTED);
+        graph.createIndex("name", Vertex.class);
+
+        final GraphTraversalSource g = graph.traversal();
+
+        // the rare equality lookup is chosen over the common one no matter the order of the filters
+        assertEquals(1L, g.V().has("country", "us").has("name", "person42").has("i", P.test((t, u) -> {
+            assertEquals(42, t);
+            return true;
+        }, 0)).count().next().longValue());
+
+        // the range on age covers 10 vertices so it is cheaper than the lookup on "us"
+        assertEquals(10L, g.V().has("country", "us").has("age", P.between(5, 6)).has("i", P.test((t, u) -> {
+            assertEquals(5, (int) t % 100);
+            return true;
+        }, 0)).count().next().longValue());
+
+        // but the lookup on "gr" is cheaper than the range on age
+        assertEquals(5L, g.V().has("age", P.lt(95)).has("country", "gr").has("i", P.test((t, u) -> {
+            assertTrue((int) t >= 990);
+            return true;
+        }, 0)).count().next().longValue());
+
+        // a composite index is weighed against the single key indices too
+        graph.createCompositeIndex(Vertex.class, "country", "age");
+        assertEquals(1L, g.V().has("age", P.gte(0)).has("country", "gr").has("age", 95).has("i", P.test((t, u) -> {
+            assertEquals(995, t);
+            return true;
+        }, 0)).count().next().longValue());
+
+        // an index lookup with no entries is as good as it gets
+        assertEquals(0L, g.V().has("country", "us").has("name", "nobody").count().next().longValue());
+    }
+
+    @Test
+    public void shouldUseCompositeEdgeIndex() {
+        final TinkerGraph graph = TinkerFactory.createModern();
+        graph.createCompositeIndex(Edge.class, "weight", "since");
+        final GraphTraversalSource g = graph.traversal();
+        g.E().has("weight", 1.0).property("since", 2010).iterate();
+        assertEquals(2L, g.E().has("weight", 1.0).count().next().longValue());
+        assertEquals(2L, g.E().has("since", 2010).has("weight", 1.0).count().next().longValue());
+        assertEquals(0L, g.E().has("since", 2011).has("weight", 1.0).count().next().longValue());
+    }
+
     @Test
     public void shouldSerializeTinkerGraphToGryo() throws Exception {
         final TinkerGraph graph = TinkerFactory.createModern();
@@ -393,6 +671,123 @@ public class TinkerGraphTest {
         TinkerGraph.open(conf);
     }
 
+    @Test
+    public void shouldTraverseCompactAdjacency() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_COMPACT_ADJACENCY, true);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        final Vertex hub = graph.addVertex("name", "hub");
+        for (int i = 0; i < 100; i++) {
+            final Vertex v = graph.addVertex("i", i);
+            hub.addEdge(i % 2 == 0 ? "even" : "odd", v, "i", i);
+            v.addEdge("back", hub);
+        }
+        hub.addEdge("self", hub);
+
+        final GraphTraversalSource g = graph.traversal();
+        assertEquals(101L, g.V(hub).outE().count().next().longValue());
+        assertEquals(50L, g.V(hub).out("even").count().next().longValue());
+        assertEquals(100L, g.V(hub).out("even", "odd").count().next().longValue());
+        assertEquals(101L, g.V(hub).in().count().next().longValue());
+        assertEquals(202L, g.V(hub).both().count().next().longValue());
+        assertEquals(1L, g.V(hub).out("self").count().next().longValue());
+
+        // drop while iterating the same adjacency and then make sure the survivors are intact after compaction
+        g.V(hub).outE("even").has("i", P.lt(90)).drop().iterate();
+        assertEquals(5L, g.V(hub).out("even").count().next().longValue());
+        assertEquals(Arrays.asList(90, 92, 94, 96, 98), g.V(hub).out("even").values("i").order().toList());
+        assertEquals(56L, g.V(hub).outE().count().next().longValue());
+        assertEquals(55L, g.V(hub).out().out("back").count().next().longValue());
+
+        // edges added while iterating are not traversed
+        g.V(hub).out("odd").addE("odd").from(__.V(hub)).iterate();
+        assertEquals(100L, g.V(hub).out("odd").count().next().longValue());
+
+        g.V(hub).outE().drop().iterate();
+        assertEquals(0L, g.V(hub).outE().count().next().longValue());
+        hub.addEdge("even", hub);
+        assertEquals(1L, g.V(hub).out("even").count().next().longValue());
+        hub.remove();
+        assertEquals(100L, g.V().count().next().longValue());
+        assertEquals(0L, g.E().count().next().longValue());
+    }
+
+    @Test
+    public void shouldStorePropertiesInColumns() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_COLUMNAR_PROPERTIES, true);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        graph.createIndex("age", Vertex.class);
+        final Vertex v = graph.addVertex("name", "marko", "age", 29, "weight", 0.5d, "big", 10L, "alive", true);
+        graph.addVertex("name", "vadas", "age", 27);
+
+        // values keep their exact type
+        assertEquals(29, v.<Object>value("age"));
+        assertEquals(0.5d, v.<Object>value("weight"));
+        assertEquals(10L, v.<Object>value("big"));
+        assertEquals(true, v.<Object>value("alive"));
+        assertEquals(new HashSet<>(Arrays.asList("name", "age", "weight", "big", "alive")), v.keys());
+        assertEquals(v.property("age").id(), v.property("age").id());
+
+        final GraphTraversalSource g = graph.traversal();
+        assertEquals("marko", g.V().has("age", 29).values("name").next());
+        v.property("age", 30);
+        assertEquals(0L, g.V().has("age", 29).count().next().longValue());
+        assertEquals("marko", g.V().has("age", 30).values("name").next());
+
+        // meta-properties and multi-properties move the property out of its column
+        final VertexProperty<String> name = v.property("name");
+        name.property("since", 2010);
+        assertEquals(2010, (int) v.property("name").value("since"));
+        assertEquals(name.id(), v.property("name").id());
+        v.property(VertexProperty.Cardinality.list, "age", 31);
+        assertEquals(Arrays.asList(30, 31), g.V(v).values("age").order().toList());
+
+        v.property("weight").remove();
+        assertFalse(v.property("weight").isPresent());
+        assertEquals(4, v.keys().size());
+        assertEquals(Arrays.asList(27, 30, 31), g.V().values("age").order().toList());
+
+        v.remove();
+        assertEquals(1L, g.V().count().next().longValue());
+        assertEquals(0L, g.V().has("age", 30).count().next().longValue());
+    }
+
+    @Test
+    public void shouldNotLoseColumnWritesUnderConcurrentWriters() throws Exception {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_COLUMNAR_PROPERTIES, true);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        final List<Vertex> vertices = new ArrayList<>();
+        for (int i = 0; i < 200000; i++) {
+            vertices.add(graph.addVertex());
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                final int thread = t;
+                futures.add(executor.submit(() -> {
+                    // the threads assign ordinals and grow the shared columns while the others write into them
+                    for (int i = thread; i < vertices.size(); i += 4) {
+                        final Vertex vertex = vertices.get(i);
+                        vertex.property("i", i);
+                        vertex.property("name", "v" + i);
+                    }
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        for (int i = 0; i < vertices.size(); i++) {
+            assertEquals(i, (int) vertices.get(i).value("i"));
+            assertEquals("v" + i, vertices.get(i).value("name"));
+        }
+    }
+
     @Test(expected = IllegalStateException.class)
     public void shouldNotModifyAVertexThatWasRemoved() {
         final TinkerGraph graph = TinkerGraph.open();
@@ -507,6 +902,76 @@ public class TinkerGraphTest {
         reloadedGraph.close();
     }
 
+    @Test
+    public void shouldPersistToImage() {
+        final String graphLocation = TestHelper.makeTestDataFile(TinkerGraphTest.class, "shouldPersistToImage.tgi");
+        final File f = new File(graphLocation);
+        if (f.exists() && f.isFile()) f.delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "image");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateModern(graph);
+        graph.close();
+
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        IoTest.assertModernGraph(reloadedGraph, true, false);
+        reloadedGraph.close();
+    }
+
+    @Test
+    public void shouldPersistToImageAndHandleMultiProperties() {
+        final String graphLocation = TestHelper.makeTestDataFile(TinkerGraphTest.class, "shouldPersistToImageMulti.tgi");
+        final File f = new File(graphLocation);
+        if (f.exists() && f.isFile()) f.delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "image");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_COLUMNAR_PROPERTIES, true);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateTheCrew(graph);
+        graph.close();
+
+        // unlike gryo, the image keeps multi-properties without a change to the default cardinality
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        IoTest.assertCrewGraph(reloadedGraph, false);
+        reloadedGraph.close();
+    }
+
+    @Test
+    public void shouldPersistLargeGraphToImage() {
+        final String graphLocation = TestHelper.makeTestDataFile(TinkerGraphTest.class, "shouldPersistLargeGraphToImage.tgi");
+        final File f = new File(graphLocation);
+        if (f.exists() && f.isFile()) f.delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "image");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        final int size = 30000;
+        Vertex previous = graph.addVertex(T.label, "node", "i", 0);
+        for (int i = 1; i < size; i++) {
+            final Vertex vertex = graph.addVertex(T.label, i % 2 == 0 ? "even" : "odd", "i", i, "name", "v" + (i % 100),
+                    "uuid", new UUID(0, i));
+            vertex.addEdge("next", previous, "gap", (long) i);
+            previous = vertex;
+        }
+        graph.close();
+
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        final GraphTraversalSource g = reloadedGraph.traversal();
+        assertEquals(size, g.V().count().next().intValue());
+        assertEquals(size - 1, g.E().count().next().intValue());
+        assertEquals(size / 2 - 1, g.V().hasLabel("even").count().next().intValue());
+        assertEquals(size - 1, g.V().has("i", 0).repeat(__.in("next")).emit().count().next().intValue());
+        assertEquals(new UUID(0, 12345), g.V().has("i", 12345).values("uuid").next());
+        assertEquals(12345L, g.V().has("i", 12345).outE().values("gap").next());
+        assertThat(reloadedGraph.addVertex().id(), is(not(previous.id())));
+        reloadedGraph.close();
+    }
+
     @Test
     public void shouldPersistWithRelativePath() {
         final String graphLocation = TestHelper.convertToRelative(TinkerGraphTest.class,
@@ -527,6 +992,420 @@ public class TinkerGraphTest {
         reloadedGraph.close();
     }
 
+    @Test
+    public void shouldBulkLoad() {
+        final TinkerGraph graph = TinkerGraph.open();
+        graph.createIndex("name", Vertex.class);
+        graph.createIndex("weight", Edge.class);
+        final Vertex existing = graph.addVertex(T.label, "person", "name", "marko");
+
+        final int size = 25000;
+        try (final TinkerBulkLoader loader = graph.bulkLoader(1000)) {
+            Object previous = loader.addVertex(T.id, "first", T.label, "person", "name", "v0");
+            loader.addEdge(existing.id(), "knows", previous, "weight", 0.5d);
+            for (int i = 1; i < size; i++) {
+                final Object id = loader.addVertex(T.label, i % 2 == 0 ? "even" : "odd", "name", "v" + i, "tag", "a", "tag", "b");
+                loader.addEdge(id, "next", previous, "weight", (double) i);
+                previous = id;
+            }
+        }
+
+        final GraphTraversalSource g = graph.traversal();
+        assertEquals(size + 1, g.V().count().next().intValue());
+        assertEquals(size, g.E().count().next().intValue());
+        assertEquals(size / 2 - 1, g.V().hasLabel("even").count().next().intValue());
+        assertEquals(2, g.V().has("name", "v12345").values("tag").count().next().intValue());
+        assertEquals("v12344", g.V().has("name", "v12345").out("next").values("name").next());
+        assertEquals("v12346", g.V().has("name", "v12345").in("next").values("name").next());
+        assertEquals("v12346", g.E().has("weight", 12346d).outV().values("name").next());
+        assertEquals("v0", g.V("first").in("knows").out("knows").values("name").next());
+        assertEquals(1, TinkerHelper.queryVertexIndex(graph, "name", "v24999").size());
+
+        // identifiers were handed out in blocks so new elements must not collide with any of them
+        graph.addVertex().addEdge("self", graph.addVertex());
+        assertEquals(size + 3, g.V().count().next().intValue());
+    }
+
+    @Test
+    public void shouldNotBulkLoadDuplicateVertexIds() {
+        final TinkerGraph graph = TinkerGraph.open();
+        graph.addVertex(T.id, 1);
+        final TinkerBulkLoader loader = graph.bulkLoader();
+        loader.addVertex(T.id, 1);
+        try {
+            loader.flush();
+            fail("The loader should not have accepted a vertex with an identifier already in use");
+        } catch (IllegalArgumentException ex) {
+            assertThat(ex.getMessage(), containsString("already exists"));
+        }
+    }
+
+    @Test
+    public void shouldBulkLoadWithGraphReader() throws Exception {
+        final File modern = TestHelper.generateTempFile(TinkerGraphTest.class, "shouldBulkLoadModern", ".kryo");
+        TinkerFactory.createModern().io(IoCore.gryo()).writeGraph(modern.getAbsolutePath());
+        final TinkerGraph modernGraph = TinkerGraph.open();
+        modernGraph.traversal().io(modern.getAbsolutePath()).with(IO.reader, TinkerBulkGraphReader.class.getName()).read().iterate();
+        IoTest.assertModernGraph(modernGraph, true, false);
+
+        // multi-properties and meta-properties are copied as they are
+        final ByteArrayOutputStream crew = new ByteArrayOutputStream();
+        TinkerFactory.createTheCrew().io(IoCore.gryo()).writer().create().writeGraph(crew, TinkerFactory.createTheCrew());
+        final TinkerGraph crewGraph = TinkerGraph.open();
+        TinkerBulkGraphReader.build().batchSize(2).create().readGraph(new ByteArrayInputStream(crew.toByteArray()), crewGraph);
+        IoTest.assertCrewGraph(crewGraph, false);
+
+        // edges that refer back to a vertex already read are added straight away and the rest once it is read
+        final TinkerGraph chain = TinkerGraph.open();
+        Vertex previous = chain.addVertex(T.id, 0);
+        for (int i = 1; i < 1000; i++) {
+            final Vertex vertex = chain.addVertex(T.id, i);
+            previous.addEdge("next", vertex, "i", i);
+            vertex.addEdge("previous", previous, "i", i);
+            previous = vertex;
+        }
+        final ByteArrayOutputStream chainBytes = new ByteArrayOutputStream();
+        chain.io(IoCore.gryo()).writer().create().writeGraph(chainBytes, chain);
+        final TinkerGraph chainGraph = TinkerGraph.open();
+        TinkerBulkGraphReader.build().batchSize(10).create().readGraph(new ByteArrayInputStream(chainBytes.toByteArray()), chainGraph);
+        assertEquals(1000L, IteratorUtils.count(chainGraph.vertices()));
+        assertEquals(1998L, IteratorUtils.count(chainGraph.edges()));
+        assertEquals(999, (int) chainGraph.traversal().V(998).outE("next").values("i").next());
+        assertEquals(998, chainGraph.traversal().V(999).out("previous").id().next());
+    }
+
+    @Test
+    public void shouldPersistToMutationLog() {
+        final String graphLocation = makeEmptyTestDataDirectory("shouldPersistToMutationLog");
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "wal");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_LOG_SYNC_INTERVAL, 0);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateModern(graph);
+        final Vertex stephen = graph.addVertex(T.label, "person", "name", "stephen", "age", 30);
+        stephen.property("age", 31);
+        stephen.property("status", "active", "since", 2020).property("since", 2021);
+        stephen.addEdge("knows", graph.vertices(1).next(), "weight", 0.5d).property("weight", 0.75d);
+        graph.addVertex(T.label, "person", "name", "daniel").remove();
+
+        // the first graph is never closed as if the process had died, yet nothing is lost with a sync per mutation
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        final Vertex reloaded = reloadedGraph.vertices(stephen.id()).next();
+        assertEquals(31, (int) reloaded.value("age"));
+        assertEquals(2021, (int) reloaded.property("status").value("since"));
+        assertEquals(0.75d, reloaded.edges(Direction.OUT, "knows").next().value("weight"), 0.0001d);
+        assertEquals(7, IteratorUtils.count(reloadedGraph.vertices()));
+        assertEquals(7, IteratorUtils.count(reloadedGraph.edges()));
+
+        reloaded.remove();
+        reloadedGraph.close();
+        graph.close();
+
+        final TinkerGraph modernGraph = TinkerGraph.open(conf);
+        IoTest.assertModernGraph(modernGraph, true, false);
+        modernGraph.close();
+    }
+
+    @Test
+    public void shouldCompactMutationLogAndIgnoreTornRecords() throws Exception {
+        final String graphLocation = makeEmptyTestDataDirectory("shouldCompactMutationLog");
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "wal");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_LOG_COMPACTION_SIZE, 256);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateModern(graph);
+        graph.close();
+
+        final File[] snapshots = new File(graphLocation).listFiles((dir, name) -> name.startsWith("snapshot."));
+        assertEquals(1, snapshots.length);
+        assertThat(snapshots[0].getName(), is(not("snapshot.0.kryo")));
+
+        // a record cut short by a crash is dropped from the end of the log
+        final File[] logs = new File(graphLocation).listFiles((dir, name) -> name.startsWith("mutations."));
+        assertEquals(1, logs.length);
+        try (final FileOutputStream out = new FileOutputStream(logs[0], true)) {
+            out.write(new byte[]{0, 0, 1, 0, 42, 42, 42});
+        }
+
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        IoTest.assertModernGraph(reloadedGraph, true, false);
+        reloadedGraph.addVertex(T.label, "person", "name", "stephen");
+        reloadedGraph.close();
+
+        final TinkerGraph finalGraph = TinkerGraph.open(conf);
+        assertEquals(7, IteratorUtils.count(finalGraph.vertices()));
+        finalGraph.clear();
+        finalGraph.close();
+
+        final TinkerGraph clearedGraph = TinkerGraph.open(conf);
+        assertEquals(0, IteratorUtils.count(clearedGraph.vertices()));
+        clearedGraph.close();
+    }
+
+    @Test
+    public void shouldReopenMutationLogCompactedUnderConcurrentMutations() throws Exception {
+        final String graphLocation = makeEmptyTestDataDirectory("shouldReopenMutationLogCompactedUnderConcurrentMutations");
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "wal");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_LOG_COMPACTION_SIZE, 4096);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        final ExecutorService executor = Executors.newFixedThreadPool(5);
+        final AtomicInteger mutations = new AtomicInteger(0);
+        try {
+            // the log is compacted over and over while the other threads mutate the graph and then left to the
+            // second half of the mutations, so that reopening replays the log that followed a snapshot of a graph
+            // that was in the middle of being mutated
+            final Future<?> compactions = executor.submit(() -> {
+                while (mutations.get() < 4000) {
+                    graph.mutationLog.compact();
+                }
+            });
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                final int thread = t;
+                futures.add(executor.submit(() -> {
+                    Vertex previous = graph.addVertex(T.label, "thread" + thread, "i", -1);
+                    for (int i = 0; i < 2000; i++) {
+                        final Vertex vertex = graph.addVertex(T.label, "thread" + thread, "i", i);
+                        previous.addEdge("next", vertex, "i", i);
+                        if (i % 10 == 0) previous.remove();
+                        previous = vertex;
+                        mutations.incrementAndGet();
+                    }
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+            compactions.get();
+        } finally {
+            executor.shutdownNow();
+        }
+        final long vertexCount = IteratorUtils.count(graph.vertices());
+        final long edgeCount = IteratorUtils.count(graph.edges());
+        graph.close();
+
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        assertEquals(vertexCount, IteratorUtils.count(reloadedGraph.vertices()));
+        assertEquals(edgeCount, IteratorUtils.count(reloadedGraph.edges()));
+        reloadedGraph.close();
+    }
+
+    @Test
+    public void shouldIsolateTransactions() throws Exception {
+        final TinkerGraph graph = openTransactional();
+        final GraphTraversalSource g = graph.traversal();
+        final Vertex marko = graph.addVertex(T.id, 1, "name", "marko");
+        graph.tx().commit();
+
+        final ExecutorService other = Executors.newSingleThreadExecutor();
+        try {
+            // the other thread takes its snapshot before the changes below are committed
+            assertEquals(1L, other.submit(() -> g.V().count().next()).get().longValue());
+
+            final Vertex stephen = graph.addVertex(T.id, 2, "name", "stephen");
+            marko.addEdge("knows", stephen, "weight", 0.5d);
+            marko.property("name", "marko a. rodriguez");
+            assertEquals(2L, g.V().count().next().longValue());
+            assertEquals(1L, other.submit(() -> g.V().count().next()).get().longValue());
+            assertEquals(0L, other.submit(() -> g.E().count().next()).get().longValue());
+            graph.tx().commit();
+
+            // the snapshot of the other thread only moves on once its transaction is closed
+            assertEquals("marko", other.submit(() -> g.V(1).values("name").next()).get());
+            assertEquals(0L, other.submit(() -> g.V(1).out().count().next()).get().longValue());
+            other.submit(() -> graph.tx().rollback()).get();
+            assertEquals("marko a. rodriguez", other.submit(() -> g.V(1).values("name").next()).get());
+            assertEquals("stephen", other.submit(() -> g.V(1).out("knows").values("name").next()).get());
+            assertEquals(0.5d, other.submit(() -> g.E().values("weight").next()).get());
+
+            g.E().property("weight", 1.0d).iterate();
+            g.V(2).property(VertexProperty.Cardinality.list, "alias", "spmallette").iterate();
+            graph.tx().commit();
+            assertEquals(0.5d, other.submit(() -> g.E().values("weight").next()).get());
+            assertEquals(0L, other.submit(() -> g.V(2).values("alias").count().next()).get().longValue());
+            other.submit(() -> graph.tx().commit()).get();
+            assertEquals(1.0d, other.submit(() -> g.E().values("weight").next()).get());
+            assertEquals("spmallette", other.submit(() -> g.V(2).values("alias").next()).get());
+            other.submit(() -> graph.tx().rollback()).get();
+        } finally {
+            other.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldRollbackTransaction() {
+        final TinkerGraph graph = openTransactional();
+        final GraphTraversalSource g = graph.traversal();
+        final Vertex marko = graph.addVertex(T.id, 1, "name", "marko");
+        final Vertex vadas = graph.addVertex(T.id, 2, "name", "vadas");
+        marko.addEdge("knows", vadas, T.id, 3, "weight", 0.5d);
+        final Vertex lop = graph.addVertex(T.id, 4, "name", "lop");
+        marko.addEdge("created", lop, T.id, 5, "weight", 0.4d);
+        graph.tx().commit();
+
+        graph.addVertex(T.id, 6, "name", "josh").addEdge("knows", marko);
+        marko.property("name", "marko a. rodriguez");
+        marko.property(VertexProperty.Cardinality.list, "alias", "okram");
+        vadas.remove();
+        g.E(5).property("weight", 1.0d).iterate();
+        g.E(5).properties("weight").drop().iterate();
+        assertEquals(3, g.V().count().next().intValue());
+        assertFalse(g.E(5).has("weight").hasNext());
+        graph.tx().rollback();
+
+        assertEquals(3, g.V().count().next().intValue());
+        assertEquals(2, g.E().count().next().intValue());
+        assertEquals("marko", g.V(1).values("name").next());
+        assertFalse(g.V(1).has("alias").hasNext());
+        assertEquals("vadas", g.V(1).out("knows").values("name").next());
+        assertEquals(0.4d, g.E(5).values("weight").next());
+
+        // the identifiers of rolled back elements may be used again and removed elements are unlinked once no
+        // transaction can see them
+        graph.addVertex(T.id, 6, "name", "josh");
+        vadas.remove();
+        graph.tx().commit();
+        assertEquals(3, g.V().count().next().intValue());
+        assertEquals(3, TinkerHelper.getVertices(graph).size());
+        assertEquals(1, TinkerHelper.getEdges(graph).size());
+        graph.tx().rollback();
+
+        // an element created and removed by the same transaction gives up its identifier at once
+        graph.addVertex(T.id, 7, "name", "peter").remove();
+        graph.addVertex(T.id, 7, "name", "peter");
+        graph.tx().commit();
+        assertEquals("peter", g.V(7).values("name").next());
+        graph.tx().rollback();
+    }
+
+    @Test
+    public void shouldFailConflictingTransactions() throws Exception {
+        final TinkerGraph graph = openTransactional();
+        final GraphTraversalSource g = graph.traversal();
+        graph.addVertex(T.id, 1, "name", "marko");
+        graph.addVertex(T.id, 2, "name", "vadas");
+        graph.tx().commit();
+
+        final ExecutorService other = Executors.newSingleThreadExecutor();
+        try {
+            // a vertex that another transaction holds cannot be changed
+            other.submit(() -> g.V(1).property("name", "a").iterate()).get();
+            try {
+                g.V(1).property("name", "b").iterate();
+                fail("The vertex is held by another transaction");
+            } catch (TransactionException ignored) {
+            }
+            graph.tx().rollback();
+            other.submit(() -> graph.tx().commit()).get();
+            assertEquals("a", g.V(1).values("name").next());
+            graph.tx().rollback();
+
+            // nor can a vertex that was changed by a commit after the snapshot was taken
+            other.submit(() -> g.V(1).values("name").next()).get();
+            g.V(1).property("name", "b").iterate();
+            graph.tx().commit();
+            try {
+                other.submit(() -> g.V(1).property("name", "c").iterate()).get();
+                fail("The vertex was changed after the snapshot was taken");
+            } catch (ExecutionException ex) {
+                assertTrue(ex.getCause() instanceof TransactionException);
+            }
+            other.submit(() -> graph.tx().rollback()).get();
+
+            // an edge to a vertex that was removed concurrently fails when it is committed
+            other.submit(() -> g.V(2).drop().iterate()).get();
+            g.V(1).addE("knows").to(__.V(2)).iterate();
+            other.submit(() -> graph.tx().commit()).get();
+            try {
+                graph.tx().commit();
+                fail("The vertex of the edge was removed concurrently");
+            } catch (TransactionException ignored) {
+            }
+            assertEquals(1, g.V().count().next().intValue());
+            assertEquals(0, g.E().count().next().intValue());
+            assertEquals("b", g.V(1).values("name").next());
+            graph.tx().rollback();
+        } finally {
+            other.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldUseIndicesWithTransactions() throws Exception {
+        final TinkerGraph graph = openTransactional();
+        graph.createIndex("name", Vertex.class);
+        final GraphTraversalSource g = graph.traversal();
+        graph.addVertex(T.id, 1, "name", "marko");
+        graph.addVertex(T.id, 2, "name", "vadas");
+        graph.tx().commit();
+        assertEquals(1, TinkerHelper.queryVertexIndex(graph, "name", "marko").size());
+
+        final ExecutorService other = Executors.newSingleThreadExecutor();
+        try {
+            assertEquals(1L, other.submit(() -> g.V().has("name", "marko").count().next()).get().longValue());
+
+            // changes are seen by the transaction that made them before they are indexed
+            g.V().has("name", "marko").property("name", "josh").iterate();
+            assertEquals(1, g.V().has("name", "josh").count().next().intValue());
+            assertEquals(0, g.V().has("name", "marko").count().next().intValue());
+            assertEquals(1, TinkerHelper.queryVertexIndex(graph, "name", "marko").size());
+            graph.tx().commit();
+
+            assertEquals(0, TinkerHelper.queryVertexIndex(graph, "name", "marko").size());
+            assertEquals(1, TinkerHelper.queryVertexIndex(graph, "name", "josh").size());
+            assertEquals(1, g.V().has("name", "josh").count().next().intValue());
+
+            // the older snapshot does not use the index that is ahead of it
+            assertEquals(1L, other.submit(() -> g.V().has("name", "marko").count().next()).get().longValue());
+            assertEquals(0L, other.submit(() -> g.V().has("name", "josh").count().next()).get().longValue());
+            other.submit(() -> graph.tx().rollback()).get();
+
+            graph.createIndex("age", Vertex.class);
+            g.V(2).property("age", 27).iterate();
+            graph.tx().commit();
+            assertEquals(1, TinkerHelper.queryVertexIndex(graph, "age", 27).size());
+            assertEquals("vadas", g.V().has("age", P.lt(30)).values("name").next());
+            graph.tx().rollback();
+        } finally {
+            other.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldComputeOverTransactions() {
+        final TinkerGraph graph = openTransactional();
+        final GraphTraversalSource g = graph.traversal();
+        final Vertex marko = graph.addVertex(T.id, 1, "name", "marko");
+        final Vertex vadas = graph.addVertex(T.id, 2, "name", "vadas");
+        marko.addEdge("knows", vadas, T.id, 3);
+        graph.tx().commit();
+
+        // a filtered computation reads the graph before it is in computer mode, which must not leave a transaction open
+        assertEquals(1L, g.withComputer(Computer.compute().vertices(__.has("name", "marko"))).V().count().next().longValue());
+        assertEquals(1L, g.withComputer(Computer.compute().edges(__.outE("knows"))).E().count().next().longValue());
+        graph.tx().rollback();
+
+        vadas.remove();
+        graph.tx().commit();
+        assertEquals(1, TinkerHelper.getVertices(graph).size());
+        assertEquals(0, TinkerHelper.getEdges(graph).size());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldNotCombineTransactionsWithCompactAdjacency() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_TRANSACTIONS, true);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_COMPACT_ADJACENCY, true);
+        TinkerGraph.open(conf);
+    }
+
     @Test
     public void shouldPersistToAnyGraphFormat() {
         final String graphLocation = TestHelper.makeTestDataFile(TinkerGraphTest.class, "shouldPersistToAnyGraphFormat.dat");
@@ -898,6 +1777,72 @@ public class TinkerGraphTest {
         assertEquals(3, g.V(100, "1000", uuid).count().next().intValue());
     }
 
+    @Test
+    public void shouldStreamFullScanWhileGraphIsModified() {
+        final TinkerGraph graph = TinkerGraph.open();
+        final GraphTraversalSource g = traversal().withEmbedded(graph);
+        for (int i = 0; i < 1000; i++) {
+            graph.addVertex("i", i);
+        }
+
+        final Traversal<Vertex, Vertex> t = g.V().has("i", P.gte(0));
+        assertThat(t.hasNext(), is(true));
+        t.next();
+
+        // a streamed scan should tolerate modification of the graph while it is being iterated
+        for (int i = 1000; i < 2000; i++) {
+            graph.addVertex("i", i);
+        }
+        assertThat(IteratorUtils.count(t), greaterThan(998L));
+        assertEquals(1, g.V().has("i", P.gte(0)).limit(1).count().next().intValue());
+    }
+
+    @Test
+    public void shouldNotSnapshotFullScan() {
+        final TinkerGraph graph = TinkerGraph.open();
+        final GraphTraversalSource g = traversal().withEmbedded(graph);
+        for (int i = 0; i < 1000; i++) {
+            graph.addVertex("i", i);
+        }
+
+        final Traversal<Vertex, Vertex> t = g.V().has("i", P.gte(0));
+        t.next();
+
+        // a materialized scan would still return all the vertices removed after it began, while a streamed scan
+        // returns at most those it had already looked ahead to
+        final List<Vertex> vertices = IteratorUtils.list(graph.vertices());
+        vertices.forEach(Vertex::remove);
+        assertThat(IteratorUtils.count(t), lessThanOrEqualTo(2L));
+    }
+
+    @Test
+    public void shouldNotTraverseVerticesAddedByTheFullScanTraversal() {
+        final TinkerGraph graph = TinkerFactory.createModern();
+        final GraphTraversalSource g = traversal().withEmbedded(graph);
+        g.V().addV("person").iterate();
+        assertEquals(12, g.V().count().next().intValue());
+
+        g.V().hasLabel("software").sideEffect(__.addV("software")).iterate();
+        assertEquals(14, g.V().count().next().intValue());
+    }
+
+    private static TinkerGraph openTransactional() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_TRANSACTIONS, true);
+        return TinkerGraph.open(conf);
+    }
+
+    private static String makeEmptyTestDataDirectory(final String name) {
+        final String directory = TestHelper.makeTestDataDirectory(TinkerGraphTest.class, name);
+        final File[] files = new File(directory).listFiles();
+        if (null != files) {
+            for (final File f : files) {
+                f.delete();
+            }
+        }
+        return directory;
+    }
+
     /**
      * Coerces a {@code Color} to a {@link TinkerGraph} during serialization.  Demonstrates how custom serializers
      * can be developed that can coerce one value to another during serialization.